@@ -0,0 +1,63 @@
+package com.airline.admission;
+
+/**
+ * Concurrency limit adapted from observed latency using AIMD.
+ *
+ * Every request that completes under the latency target while the limit is in use adds
+ * roughly one slot per limit's worth of completions (additive increase). A slow or failed
+ * request multiplies the limit by {@code backoffRatio} (multiplicative decrease). This keeps
+ * the number of requests competing for database connections close to what the pool can
+ * serve within the target, instead of letting them queue on the pool until they time out.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetNanos, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Release a slot taken by {@link #tryAcquire()} and feed the outcome back into the limit.
+     *
+     * @param latencyNanos time the request held the slot
+     * @param failed       whether the request failed with a server-side error
+     */
+    public synchronized void release(long latencyNanos, boolean failed) {
+        int concurrent = inFlight--;
+        if (failed || latencyNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (concurrent * 2 >= limit) {
+            // Only grow while the limit is actually being used, otherwise an idle period
+            // would inflate it far beyond what was ever validated.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,86 @@
+package com.airline.admission;
+
+import com.airline.config.ClientKeyResolver;
+import com.airline.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the flight endpoints.
+ *
+ * A request must first take a token from its client's bucket and then a slot from the
+ * adaptive concurrency limit. Rejected requests fail fast with a
+ * {@link ServiceOverloadedException}, which {@code GlobalExceptionHandler} renders as
+ * 503 with a Retry-After header.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+    private static final String ADMITTED_AT = AdmissionControlInterceptor.class.getName() + ".admittedAt";
+
+    private final boolean enabled;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionControlInterceptor(
+        @Value("${airline.admission.enabled:false}") boolean enabled,
+        @Value("${airline.admission.client-rate-per-second:50}") double clientRatePerSecond,
+        @Value("${airline.admission.client-burst:100}") int clientBurst,
+        @Value("${airline.admission.max-tracked-clients:10000}") int maxTrackedClients,
+        @Value("${airline.admission.initial-limit:20}") int initialLimit,
+        @Value("${airline.admission.min-limit:4}") int minLimit,
+        @Value("${airline.admission.max-limit:200}") int maxLimit,
+        @Value("${airline.admission.latency-target-ms:250}") long latencyTargetMs,
+        @Value("${airline.admission.backoff-ratio:0.9}") double backoffRatio) {
+        this.enabled = enabled;
+        this.rateLimiter = new ClientRateLimiter(clientRatePerSecond, clientBurst, maxTrackedClients);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+            TimeUnit.MILLISECONDS.toNanos(latencyTargetMs), backoffRatio);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientKey = ClientKeyResolver.resolve(request);
+        long waitNanos = rateLimiter.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            log.debug("Rate limit exceeded for client {}", clientKey);
+            throw new ServiceOverloadedException("Request rate limit exceeded", toRetryAfterSeconds(waitNanos));
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            log.warn("Shedding request {} {}: concurrency limit {} reached",
+                request.getMethod(), request.getRequestURI(), concurrencyLimiter.getLimit());
+            throw new ServiceOverloadedException("Service is at capacity, please retry later", 1);
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object admittedAt = request.getAttribute(ADMITTED_AT);
+        if (admittedAt == null) {
+            return;
+        }
+        request.removeAttribute(ADMITTED_AT);
+        long latencyNanos = System.nanoTime() - (Long) admittedAt;
+        boolean failed = ex != null || response.getStatus() >= 500;
+        concurrencyLimiter.release(latencyNanos, failed);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.airline.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client. Each client may burst up to {@code burst} requests and is
+ * refilled at {@code ratePerSecond}. At most {@code maxClients} buckets are tracked: once
+ * that many exist, idle buckets are swept, and a new client is rejected until the sweep
+ * frees a slot. Clients already tracked are never evicted, so rotating keys cannot reset them.
+ */
+public class ClientRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final double ratePerNano;
+    private final double burst;
+    private final int maxClients;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // Slots taken in buckets, reserved before a bucket is added so the cap holds under races
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Try to take one token for the client.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientKey) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (!reserveSlot()) {
+                sweep(now);
+                if (!reserveSlot()) {
+                    return Math.max(1, SWEEP_INTERVAL_NANOS - (now - lastSweep.get()));
+                }
+            }
+            Bucket created = new Bucket(burst, now);
+            bucket = buckets.putIfAbsent(clientKey, created);
+            if (bucket == null) {
+                bucket = created;
+            } else {
+                tracked.decrementAndGet();
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    int trackedClients() {
+        return tracked.get();
+    }
+
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = tracked.get();
+            if (current >= maxClients) {
+                return false;
+            }
+        } while (!tracked.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        // A bucket that would be full again carries no state worth keeping.
+        long refillNanos = (long) (burst / ratePerNano);
+        buckets.forEach((key, bucket) -> {
+            if (bucket.idleSince(now) >= refillNanos && buckets.remove(key, bucket)) {
+                tracked.decrementAndGet();
+            }
+        });
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        synchronized long tryAcquire(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0;
+            }
+            return (long) Math.ceil((1.0 - tokens) / ratePerNano);
+        }
+
+        synchronized long idleSince(long now) {
+            return now - lastRefill;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.airline.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs the steps of a saga one after another without blocking a thread between them.
+ *
+ * Each step is continued on the given executor once its future completes, so a thread is
+ * only taken while a step actually runs. A failed attempt is retried after an exponential
+ * backoff on the timer when the step's predicate allows it. When a step fails for good, the
+ * steps completed before it are compensated in reverse order and the saga completes with a
+ * {@link SagaStepException}. A compensation is retried like its step, with the step's
+ * attempts, timeout and backoff; one that still fails is logged and the others still run, so
+ * callers that must not lose a compensation record its outcome in the context.
+ */
+public class SagaRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaRunner.class);
+
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private final long retryBackoffMillis;
+
+    public SagaRunner(Executor executor, ScheduledExecutorService timer, long retryBackoffMillis) {
+        this.executor = executor;
+        this.timer = timer;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    public <C> CompletableFuture<C> run(C context, List<SagaStep<C>> steps) {
+        CompletableFuture<C> result = new CompletableFuture<>();
+        executor.execute(() -> runStep(context, steps, 0, result));
+        return result;
+    }
+
+    private <C> void runStep(C context, List<SagaStep<C>> steps, int index, CompletableFuture<C> result) {
+        if (index == steps.size()) {
+            result.complete(context);
+            return;
+        }
+        SagaStep<C> step = steps.get(index);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        attempt(context, step, step.action(), step.name(), 1, done);
+        done.whenCompleteAsync((ignored, failure) -> {
+            if (failure == null) {
+                runStep(context, steps, index + 1, result);
+                return;
+            }
+            // A remote step that gave up may still have taken effect on the other side
+            int last = step.remote() ? index : index - 1;
+            compensate(context, steps, last, unwrap(failure), result);
+        }, executor);
+    }
+
+    private <C> void attempt(C context, SagaStep<C> step, Function<C, CompletableFuture<?>> action, String name,
+                             int attempt, CompletableFuture<Void> done) {
+        CompletableFuture<?> running = start(action, context);
+        if (step.remote()) {
+            running = running.orTimeout(step.timeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        running.whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                done.complete(null);
+                return;
+            }
+            Throwable cause = unwrap(failure);
+            if (attempt < step.maxAttempts() && step.retryOn().test(cause)) {
+                long backoff = retryBackoffMillis << Math.min(attempt - 1, 16);
+                log.debug("Step {} failed on attempt {}, retrying in {} ms: {}", name, attempt, backoff, cause.toString());
+                timer.schedule(() -> executor.execute(() -> attempt(context, step, action, name, attempt + 1, done)),
+                    backoff, TimeUnit.MILLISECONDS);
+                return;
+            }
+            done.completeExceptionally(new SagaStepException(name, attempt, cause));
+        });
+    }
+
+    private <C> void compensate(C context, List<SagaStep<C>> steps, int index, Throwable failure, CompletableFuture<C> result) {
+        if (index < 0) {
+            result.completeExceptionally(failure);
+            return;
+        }
+        SagaStep<C> step = steps.get(index);
+        if (step.compensation() == null) {
+            compensate(context, steps, index - 1, failure, result);
+            return;
+        }
+        CompletableFuture<Void> undone = new CompletableFuture<>();
+        attempt(context, step, step.compensation(), "undo " + step.name(), 1, undone);
+        undone.whenCompleteAsync((ignored, compensationFailure) -> {
+            if (compensationFailure != null) {
+                log.error("Compensation of step {} failed", step.name(), unwrap(compensationFailure));
+            }
+            compensate(context, steps, index - 1, failure, result);
+        }, executor);
+    }
+
+    /**
+     * Start an action, turning an exception thrown while starting into a failed future.
+     */
+    private static <C> CompletableFuture<?> start(Function<C, CompletableFuture<?>> action, C context) {
+        try {
+            return action.apply(context);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
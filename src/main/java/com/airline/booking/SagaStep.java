@@ -0,0 +1,49 @@
+package com.airline.booking;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One step of a saga: an asynchronous action, the compensation that undoes it, and how long
+ * and how often the action may be tried.
+ *
+ * A local step does its work in a database transaction that enforces the timeout itself, so a
+ * failed attempt has rolled back and left nothing to undo. A remote step calls another system
+ * whose outcome is unknown after a timeout; the runner bounds it with the timeout and, when
+ * every attempt failed, still compensates it in case the last one went through.
+ *
+ * @param name          used in logs and failure messages
+ * @param action        starts the step
+ * @param compensation  undoes a completed step, or null if there is nothing to undo
+ * @param timeoutMillis time allowed for one attempt
+ * @param maxAttempts   attempts before the step fails
+ * @param retryOn       failures worth another attempt
+ * @param remote        whether the runner enforces the timeout and compensates a failed step
+ */
+public record SagaStep<C>(String name,
+                          Function<C, CompletableFuture<?>> action,
+                          Function<C, CompletableFuture<?>> compensation,
+                          long timeoutMillis,
+                          int maxAttempts,
+                          Predicate<Throwable> retryOn,
+                          boolean remote) {
+
+    public SagaStep {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Saga step " + name + " needs at least one attempt");
+        }
+    }
+
+    public static <C> SagaStep<C> local(String name, long timeoutMillis, int maxAttempts, Predicate<Throwable> retryOn,
+                                        Function<C, CompletableFuture<?>> action,
+                                        Function<C, CompletableFuture<?>> compensation) {
+        return new SagaStep<>(name, action, compensation, timeoutMillis, maxAttempts, retryOn, false);
+    }
+
+    public static <C> SagaStep<C> remote(String name, long timeoutMillis, int maxAttempts, Predicate<Throwable> retryOn,
+                                         Function<C, CompletableFuture<?>> action,
+                                         Function<C, CompletableFuture<?>> compensation) {
+        return new SagaStep<>(name, action, compensation, timeoutMillis, maxAttempts, retryOn, true);
+    }
+}
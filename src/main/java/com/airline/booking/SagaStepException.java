@@ -0,0 +1,29 @@
+package com.airline.booking;
+
+/**
+ * Thrown when a saga step failed on its last attempt. The cause is the failure of that attempt.
+ */
+public class SagaStepException extends RuntimeException {
+
+    private final String step;
+    private final int attempts;
+
+    public SagaStepException(String step, int attempts, Throwable cause) {
+        super("Step " + step + " failed after " + attempts + (attempts == 1 ? " attempt: " : " attempts: ")
+            + describe(cause), cause);
+        this.step = step;
+        this.attempts = attempts;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    private static String describe(Throwable cause) {
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
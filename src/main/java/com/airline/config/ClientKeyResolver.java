@@ -0,0 +1,23 @@
+package com.airline.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+/**
+ * Resolves the key that identifies an API client across requests.
+ * Uses the authenticated principal when there is one and falls back to the remote address.
+ * Behind a load balancer the remote address is only the client's when
+ * {@code server.forward-headers-strategy} is set, which takes X-Forwarded-For from trusted
+ * proxies only; a header the client sets itself is never used, since any client could forge it.
+ */
+public final class ClientKeyResolver {
+
+    private ClientKeyResolver() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+}
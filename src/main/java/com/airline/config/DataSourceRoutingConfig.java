@@ -0,0 +1,91 @@
+package com.airline.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write splitting: {@code @Transactional(readOnly = true)} work goes to a replica pool,
+ * writes stay on the primary defined by {@code spring.datasource.*}.
+ *
+ * Enabled with {@code airline.datasource.routing.enabled=true}. In development the replica
+ * pool points at the same H2 database as the primary, so routed reads see every write.
+ */
+@Configuration
+@ConditionalOnProperty(name = "airline.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("airline.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        @Value("${airline.datasource.replica.url}") String url,
+        @Value("${airline.datasource.replica.username:${spring.datasource.username:}}") String username,
+        @Value("${airline.datasource.replica.password:${spring.datasource.password:}}") String password,
+        @Value("${airline.datasource.replica.driver-class-name:${spring.datasource.driverClassName:}}") String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (!driverClassName.isBlank()) {
+            dataSource.setDriverClassName(driverClassName);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        @Value("${airline.datasource.replica.lag-query}") String lagQuery,
+        @Value("${airline.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMillis);
+    }
+
+    /**
+     * Registered as a servlet filter. Open-in-view would hold the connection of the first
+     * transaction for the whole request, so a replica connection taken by a read would also
+     * serve a later write; routing refuses to start with it.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+        @Value("${airline.datasource.routing.read-your-writes-window-ms:5000}") long windowMillis,
+        @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("spring.jpa.open-in-view must be false when airline.datasource.routing.enabled=true");
+        }
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.<Object, Object>of(
+            ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+            ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
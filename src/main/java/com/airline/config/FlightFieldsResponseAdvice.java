@@ -0,0 +1,42 @@
+package com.airline.config;
+
+import com.airline.controller.FlightController;
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} query parameter to flight responses: only the selected
+ * properties of each {@link FlightDTO} are serialized.
+ */
+@ControllerAdvice(assignableTypes = FlightController.class)
+public class FlightFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<FlightField> fields = FlightField.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (FlightField.isAll(fields)) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider().addFilter(FlightDTO.FIELD_FILTER,
+            SimpleBeanPropertyFilter.filterOutAllExcept(FlightField.jsonNames(fields))));
+    }
+}
@@ -0,0 +1,22 @@
+package com.airline.config;
+
+import com.airline.dto.FlightDTO;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson customization. Registers the flight field filter with a serialize-all default,
+ * so flights are written in full unless a request narrows them with {@code ?fields=}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer flightFieldFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+            .addFilter(FlightDTO.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
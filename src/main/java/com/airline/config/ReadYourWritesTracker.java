@@ -0,0 +1,137 @@
+package com.airline.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Read-your-writes stickiness for replica routing.
+ *
+ * After a client's successful write, its requests are pinned to the primary for a short
+ * window so it never reads its own change from a replica that has not replayed it yet.
+ * The time of the write travels with the client in the {@value #LAST_WRITE_COOKIE} cookie,
+ * so the pin holds on whichever instance serves its next request; instances compare it
+ * against their own clock, which only needs to be accurate to well within the window.
+ * The pin is carried on the request thread and consulted by {@link ReplicaRoutingDataSource}.
+ */
+public class ReadYourWritesTracker extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "airline_last_write";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    // Also a POST because the id list may not fit in a query string, but still a read
+    private static final String FLIGHT_LOOKUP_PATH = "/api/v1/flights/lookup";
+
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        if (wroteRecently(request)) {
+            PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        }
+        try {
+            if (!isWrite(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            WriteMarkingResponse marking = new WriteMarkingResponse(response);
+            chain.doFilter(request, marking);
+            marking.markIfSucceeded();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long age = System.currentTimeMillis() - Long.parseLong(cookie.getValue());
+                    // A time too far ahead is not one this service wrote
+                    return age < windowMillis && age > -windowMillis;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method)
+            && !HttpMethod.HEAD.matches(method)
+            && !HttpMethod.OPTIONS.matches(method)
+            && !FLIGHT_LOOKUP_PATH.equals(request.getRequestURI());
+    }
+
+    /**
+     * Sets the cookie once the status of a write is known and before the response is
+     * committed: when the body is about to be written, or after the handler if it wrote none.
+     */
+    private final class WriteMarkingResponse extends HttpServletResponseWrapper {
+
+        private boolean marked;
+
+        private WriteMarkingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void markIfSucceeded() {
+            if (marked || isCommitted() || getStatus() >= 400) {
+                return;
+            }
+            marked = true;
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            addCookie(cookie);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            markIfSucceeded();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            markIfSucceeded();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            markIfSucceeded();
+            super.flushBuffer();
+        }
+    }
+}
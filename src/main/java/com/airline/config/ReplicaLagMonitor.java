@@ -0,0 +1,73 @@
+package com.airline.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Periodically probes the replica and decides whether read-only traffic may use it.
+ *
+ * The lag query (for PostgreSQL:
+ * {@code SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)})
+ * runs on the replica and its single numeric result is read as lag in seconds. A failed
+ * probe, a missing or NULL result, or lag above the limit routes reads to the primary.
+ * Until the first probe succeeds, reads use the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMillis) {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            throw new IllegalArgumentException("airline.datasource.replica.lag-query must be set when routing is enabled");
+        }
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${airline.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean usable;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = Double.NaN;
+                if (resultSet.next()) {
+                    lagSeconds = resultSet.getDouble(1);
+                    if (resultSet.wasNull()) {
+                        lagSeconds = Double.NaN;
+                    }
+                }
+                usable = lagSeconds * 1000 <= maxLagMillis;
+                if (!usable) {
+                    log.warn("Replica lag {}s exceeds {}ms, routing reads to primary", lagSeconds, maxLagMillis);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Replica probe failed, routing reads to primary: {}", e.getMessage());
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            log.info("Replica routing {}", usable ? "enabled" : "disabled");
+        }
+        replicaUsable = usable;
+    }
+}
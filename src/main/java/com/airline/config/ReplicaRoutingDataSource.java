@@ -0,0 +1,36 @@
+package com.airline.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the connection is
+ * obtained after the transaction's read-only flag has been set. Reads stay on the
+ * primary while the replica lags too far behind or while the current request belongs
+ * to a client that wrote recently.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && lagMonitor.isReplicaUsable()
+            && !ReadYourWritesTracker.isPinnedToPrimary()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+}
@@ -0,0 +1,12 @@
+package com.airline.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (replica lag probes, maintenance tasks).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,24 +1,40 @@
-package com.airline.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-/**
- * Web configuration for CORS and other cross-cutting concerns.
- * Allows frontend applications to communicate with the API from different origins.
- */
-@Configuration
-public class WebConfig implements WebMvcConfigurer {
-
-    @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/api/**")
-            .allowedOrigins("*")
-            .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
-            .allowedHeaders("*")
-            .exposedHeaders("X-Total-Count", "X-Page-Number")
-            .maxAge(3600)
-            .allowCredentials(false);
-    }
-}
+package com.airline.config;
+
+import com.airline.admission.AdmissionControlInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web configuration for CORS and other cross-cutting concerns.
+ * Allows frontend applications to communicate with the API from different origins.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public WebConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/api/**")
+            .allowedOrigins("*")
+            .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
+            .allowedHeaders("*")
+            .exposedHeaders("X-Total-Count", "X-Page-Number", "Retry-After", "Idempotent-Replayed")
+            .maxAge(3600)
+            .allowCredentials(false);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (admissionControlInterceptor.isEnabled()) {
+            registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/v1/flights", "/api/v1/flights/**");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.airline.controller;
+
+import com.airline.dto.BookingDTO;
+import com.airline.dto.BookingRequest;
+import com.airline.service.BookingOrchestrator;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/bookings")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BookingController {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingController.class);
+    private final BookingOrchestrator bookingOrchestrator;
+
+    public BookingController(BookingOrchestrator bookingOrchestrator) {
+        this.bookingOrchestrator = bookingOrchestrator;
+    }
+
+    /**
+     * Starts the booking and answers right away; the outcome is polled at the status URL.
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createBooking(@Valid @RequestBody BookingRequest request) {
+        log.info("Request received: POST /api/v1/bookings - Flight: {}, Seats: {}", request.getFlightId(), request.getSeats());
+        BookingDTO booking = bookingOrchestrator.startBooking(request);
+        String statusUrl = "/api/v1/bookings/" + booking.getId();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Booking accepted");
+        response.put("data", booking);
+        response.put("status_url", statusUrl);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .header(HttpHeaders.LOCATION, statusUrl)
+            .body(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BookingDTO> getBooking(@PathVariable Long id) {
+        log.info("Request received: GET /api/v1/bookings/{}", id);
+        return ResponseEntity.ok(bookingOrchestrator.getBooking(id));
+    }
+}
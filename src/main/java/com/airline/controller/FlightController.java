@@ -1,18 +1,30 @@
 package com.airline.controller;
 
 import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightLookupRequest;
+import com.airline.dto.FlightSort;
+import com.airline.service.FlightJsonCache;
 import com.airline.service.FlightService;
+import com.airline.service.FlightWrite;
+import com.airline.service.FlightWriteBatcher;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/flights")
@@ -20,30 +32,70 @@ import java.util.Map;
 public class FlightController {
 
     private static final Logger log = LoggerFactory.getLogger(FlightController.class);
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final FlightService flightService;
+    private final FlightWriteBatcher flightWriteBatcher;
+    private final FlightJsonCache flightJsonCache;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService,
+                            FlightWriteBatcher flightWriteBatcher,
+                            FlightJsonCache flightJsonCache) {
         this.flightService = flightService;
+        this.flightWriteBatcher = flightWriteBatcher;
+        this.flightJsonCache = flightJsonCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<FlightDTO>> getAllFlights() {
-        log.info("Request received: GET /api/v1/flights");
-        List<FlightDTO> flights = flightService.getAllFlights();
+    public ResponseEntity<?> getAllFlights(@RequestParam(value = "fields", required = false) String fields) {
+        log.info("Request received: GET /api/v1/flights - Fields: {}", fields);
+        if (servePreSerialized(fields)) {
+            return json(flightService.getAllFlightsJson());
+        }
+        List<FlightDTO> flights = flightService.getAllFlights(FlightField.parse(fields));
         return ResponseEntity.ok(flights);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FlightDTO> getFlightById(@PathVariable Long id) {
+    public ResponseEntity<?> getFlightById(
+        @PathVariable Long id,
+        @RequestParam(value = "fields", required = false) String fields) {
         log.info("Request received: GET /api/v1/flights/{}", id);
+        if (servePreSerialized(fields)) {
+            return json(flightService.getFlightJsonById(id));
+        }
         FlightDTO flight = flightService.getFlightById(id);
         return ResponseEntity.ok(flight);
     }
 
+    @GetMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookupFlights(@RequestParam("ids") String ids) {
+        log.info("Request received: GET /api/v1/flights/lookup - Ids: {}", ids);
+        return ResponseEntity.ok(lookup(parseIds(ids)));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookupFlights(@Valid @RequestBody FlightLookupRequest request) {
+        log.info("Request received: POST /api/v1/flights/lookup - Ids: {}", request.getIds().size());
+        return ResponseEntity.ok(lookup(request.getIds()));
+    }
+
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createFlight(@Valid @RequestBody FlightDTO flightDTO) {
+    public ResponseEntity<Map<String, Object>> createFlight(
+        @Valid @RequestBody FlightDTO flightDTO,
+        @RequestHeader(value = "Prefer", required = false) String prefer) {
         log.info("Request received: POST /api/v1/flights - Airline: {}", flightDTO.getAirline());
-        FlightDTO createdFlight = flightService.createFlight(flightDTO);
+        FlightDTO createdFlight;
+        if (flightWriteBatcher.isEnabled()) {
+            String ticket = flightWriteBatcher.submit(FlightWrite.create(flightDTO));
+            Optional<FlightDTO> committed = isRespondAsync(prefer) ? Optional.empty() : flightWriteBatcher.await(ticket);
+            if (committed.isEmpty()) {
+                return accepted(ticket);
+            }
+            createdFlight = committed.get();
+        } else {
+            createdFlight = flightService.createFlight(flightDTO);
+        }
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Flight created successfully");
@@ -55,9 +107,20 @@ public class FlightController {
     @PutMapping("/{id}")
     public ResponseEntity<Map<String, Object>> updateFlight(
         @PathVariable Long id,
-        @Valid @RequestBody FlightDTO flightDTO) {
+        @Valid @RequestBody FlightDTO flightDTO,
+        @RequestHeader(value = "Prefer", required = false) String prefer) {
         log.info("Request received: PUT /api/v1/flights/{}", id);
-        FlightDTO updatedFlight = flightService.updateFlight(id, flightDTO);
+        FlightDTO updatedFlight;
+        if (flightWriteBatcher.isEnabled()) {
+            String ticket = flightWriteBatcher.submit(FlightWrite.update(id, flightDTO));
+            Optional<FlightDTO> committed = isRespondAsync(prefer) ? Optional.empty() : flightWriteBatcher.await(ticket);
+            if (committed.isEmpty()) {
+                return accepted(ticket);
+            }
+            updatedFlight = committed.get();
+        } else {
+            updatedFlight = flightService.updateFlight(id, flightDTO);
+        }
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Flight updated successfully");
@@ -77,14 +140,64 @@ public class FlightController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/writes/{ticket}")
+    public ResponseEntity<Map<String, Object>> getWriteStatus(@PathVariable String ticket) {
+        log.info("Request received: GET /api/v1/flights/writes/{}", ticket);
+        CompletableFuture<FlightDTO> write = flightWriteBatcher.status(ticket);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("ticket", ticket);
+        if (!write.isDone()) {
+            response.put("status", "PENDING");
+        } else if (write.isCompletedExceptionally()) {
+            response.put("status", "FAILED");
+            response.put("error", write.exceptionNow().getMessage());
+        } else {
+            response.put("status", "COMPLETED");
+            response.put("data", write.resultNow());
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<FlightDTO>> searchFlights(
+    public ResponseEntity<?> searchFlights(
         @RequestParam(value = "departure_city", required = false) String departureCity,
         @RequestParam(value = "arrival_city", required = false) String arrivalCity,
-        @RequestParam(value = "status", required = false) String status) {
-        log.info("Request received: GET /api/v1/flights/search - Departure: {}, Arrival: {}, Status: {}",
-            departureCity, arrivalCity, status);
-        List<FlightDTO> flights = flightService.searchFlights(departureCity, arrivalCity, status);
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "fields", required = false) String fields,
+        @RequestParam(value = "sort", required = false) String sort,
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @RequestParam(value = "radius_km", required = false) Double radiusKm,
+        @RequestParam(value = "fuzzy", required = false, defaultValue = "false") boolean fuzzy) {
+        log.info("Request received: GET /api/v1/flights/search - Departure: {}, Arrival: {}, Status: {}, Sort: {}, Limit: {}, Radius: {}, Fuzzy: {}",
+            departureCity, arrivalCity, status, sort, limit, radiusKm, fuzzy);
+        FlightSort order = FlightSort.parse(sort);
+        if (servePreSerialized(fields)) {
+            return json(flightService.searchFlightsJson(departureCity, arrivalCity, status, order, limit, radiusKm, fuzzy));
+        }
+        List<FlightDTO> flights = flightService.searchFlights(departureCity, arrivalCity, status,
+            FlightField.parse(fields), order, limit, radiusKm, fuzzy);
+        return ResponseEntity.ok(flights);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<List<FlightDTO>> filterFlights(
+        @RequestParam(value = "status", required = false) List<String> statuses,
+        @RequestParam(value = "airline", required = false) List<String> airlines,
+        @RequestParam(value = "type", required = false) List<String> types,
+        @RequestParam(value = "departure_city", required = false) List<String> departureCities,
+        @RequestParam(value = "arrival_city", required = false) List<String> arrivalCities,
+        @RequestParam(value = "fields", required = false) String fields) {
+        log.info("Request received: GET /api/v1/flights/filter - Status: {}, Airline: {}, Type: {}, Departure: {}, Arrival: {}",
+            statuses, airlines, types, departureCities, arrivalCities);
+        FlightFilter filter = new FlightFilter()
+            .with(FlightFilter.Attribute.STATUS, statuses)
+            .with(FlightFilter.Attribute.AIRLINE, airlines)
+            .with(FlightFilter.Attribute.TYPE, types)
+            .with(FlightFilter.Attribute.DEPARTURE_CITY, departureCities)
+            .with(FlightFilter.Attribute.ARRIVAL_CITY, arrivalCities);
+        List<FlightDTO> flights = flightService.filterFlights(filter, FlightField.parse(fields));
         return ResponseEntity.ok(flights);
     }
 
@@ -103,8 +216,13 @@ public class FlightController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<FlightDTO>> getFlightsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getFlightsByStatus(
+        @PathVariable String status,
+        @RequestParam(value = "fields", required = false) String fields) {
         log.info("Request received: GET /api/v1/flights/status/{}", status);
+        if (servePreSerialized(fields)) {
+            return json(flightService.getFlightsByStatusJson(status));
+        }
         List<FlightDTO> flights = flightService.getFlightsByStatus(status);
         return ResponseEntity.ok(flights);
     }
@@ -118,9 +236,67 @@ public class FlightController {
     }
 
     @GetMapping("/airline/{name}")
-    public ResponseEntity<List<FlightDTO>> getFlightsByAirline(@PathVariable String name) {
-        log.info("Request received: GET /api/v1/flights/airline/{}", name);
-        List<FlightDTO> flights = flightService.getFlightsByAirline(name);
+    public ResponseEntity<List<FlightDTO>> getFlightsByAirline(
+        @PathVariable String name,
+        @RequestParam(value = "fuzzy", required = false, defaultValue = "false") boolean fuzzy) {
+        log.info("Request received: GET /api/v1/flights/airline/{} - Fuzzy: {}", name, fuzzy);
+        List<FlightDTO> flights = flightService.getFlightsByAirline(name, fuzzy);
         return ResponseEntity.ok(flights);
     }
+
+    private Map<String, Object> lookup(List<Long> ids) {
+        FlightService.FlightLookup result = flightService.getFlightsByIds(ids);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", result.flights());
+        response.put("missing_ids", result.missingIds());
+
+        return response;
+    }
+
+    private static List<Long> parseIds(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid flight id: " + id.trim());
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Full representations come from the pre-serialized JSON cache; sparse fieldsets go
+     * through Jackson so the field filter can apply.
+     */
+    private boolean servePreSerialized(String fields) {
+        return flightJsonCache.isEnabled() && (fields == null || fields.isBlank());
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    private static boolean isRespondAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC);
+    }
+
+    private static ResponseEntity<Map<String, Object>> accepted(String ticket) {
+        String statusUrl = "/api/v1/flights/writes/" + ticket;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Flight write accepted");
+        response.put("ticket", ticket);
+        response.put("status_url", statusUrl);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .header(HttpHeaders.LOCATION, statusUrl)
+            .body(response);
+    }
 }
@@ -0,0 +1,58 @@
+package com.airline.controller;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.service.FlightHoldService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/flights/{flightId}/holds")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class FlightHoldController {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightHoldController.class);
+    private final FlightHoldService flightHoldService;
+
+    public FlightHoldController(FlightHoldService flightHoldService) {
+        this.flightHoldService = flightHoldService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createHold(
+        @PathVariable Long flightId,
+        @Valid @RequestBody HoldRequest request) {
+        log.info("Request received: POST /api/v1/flights/{}/holds - Seats: {}", flightId, request.getSeats());
+        FlightHoldDTO hold = flightHoldService.createHold(flightId, request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Hold created successfully");
+        response.put("data", hold);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{holdId}")
+    public ResponseEntity<FlightHoldDTO> getHold(@PathVariable Long flightId, @PathVariable Long holdId) {
+        log.info("Request received: GET /api/v1/flights/{}/holds/{}", flightId, holdId);
+        return ResponseEntity.ok(flightHoldService.getHold(flightId, holdId));
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Map<String, String>> releaseHold(@PathVariable Long flightId, @PathVariable Long holdId) {
+        log.info("Request received: DELETE /api/v1/flights/{}/holds/{}", flightId, holdId);
+        flightHoldService.releaseHold(flightId, holdId);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Hold released successfully");
+
+        return ResponseEntity.ok(response);
+    }
+}
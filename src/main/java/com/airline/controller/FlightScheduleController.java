@@ -0,0 +1,115 @@
+package com.airline.controller;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.FlightInstanceDTO;
+import com.airline.dto.FlightScheduleDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.service.FlightScheduleService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/schedules")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class FlightScheduleController {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightScheduleController.class);
+    private final FlightScheduleService flightScheduleService;
+
+    public FlightScheduleController(FlightScheduleService flightScheduleService) {
+        this.flightScheduleService = flightScheduleService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createSchedule(@Valid @RequestBody FlightScheduleDTO scheduleDTO) {
+        log.info("Request received: POST /api/v1/schedules - Airline: {}", scheduleDTO.getAirline());
+        FlightScheduleDTO createdSchedule = flightScheduleService.createSchedule(scheduleDTO);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Schedule created successfully");
+        response.put("data", createdSchedule);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FlightScheduleDTO>> getAllSchedules() {
+        log.info("Request received: GET /api/v1/schedules");
+        return ResponseEntity.ok(flightScheduleService.getAllSchedules());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FlightScheduleDTO> getScheduleById(@PathVariable Long id) {
+        log.info("Request received: GET /api/v1/schedules/{}", id);
+        return ResponseEntity.ok(flightScheduleService.getScheduleById(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> deleteSchedule(@PathVariable Long id) {
+        log.info("Request received: DELETE /api/v1/schedules/{}", id);
+        flightScheduleService.deleteSchedule(id);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Schedule deleted successfully");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/instances")
+    public ResponseEntity<List<FlightInstanceDTO>> findInstances(
+        @RequestParam(value = "departure_city", required = false) String departureCity,
+        @RequestParam(value = "arrival_city", required = false) String arrivalCity,
+        @RequestParam(value = "from") String from,
+        @RequestParam(value = "to") String to) {
+        log.info("Request received: GET /api/v1/schedules/instances - From: {}, To: {}, Departure: {}, Arrival: {}",
+            from, to, departureCity, arrivalCity);
+        List<FlightInstanceDTO> instances = flightScheduleService.findInstances(
+            departureCity, arrivalCity, parseDate("from", from), parseDate("to", to));
+        return ResponseEntity.ok(instances);
+    }
+
+    @PostMapping("/{id}/instances/{date}")
+    public ResponseEntity<Map<String, Object>> materialize(@PathVariable Long id, @PathVariable String date) {
+        log.info("Request received: POST /api/v1/schedules/{}/instances/{}", id, date);
+        FlightScheduleService.Materialization result = flightScheduleService.materialize(id, parseDate("date", date));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", result.created() ? "Flight created from schedule" : "Flight already exists for this date");
+        response.put("data", result.flight());
+
+        return ResponseEntity.status(result.created() ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+
+    @PostMapping("/{id}/instances/{date}/holds")
+    public ResponseEntity<Map<String, Object>> createHold(
+        @PathVariable Long id,
+        @PathVariable String date,
+        @Valid @RequestBody HoldRequest request) {
+        log.info("Request received: POST /api/v1/schedules/{}/instances/{}/holds - Seats: {}", id, date, request.getSeats());
+        FlightHoldDTO hold = flightScheduleService.createHold(id, parseDate("date", date), request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Hold created successfully");
+        response.put("data", hold);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + " date (expected yyyy-MM-dd): " + value);
+        }
+    }
+}
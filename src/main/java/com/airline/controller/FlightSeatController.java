@@ -0,0 +1,75 @@
+package com.airline.controller;
+
+import com.airline.dto.SeatAssignmentDTO;
+import com.airline.dto.SeatAssignmentRequest;
+import com.airline.dto.SeatMapDTO;
+import com.airline.dto.SeatMapRequest;
+import com.airline.service.SeatMapService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/flights/{flightId}/seats")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class FlightSeatController {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSeatController.class);
+    private final SeatMapService seatMapService;
+
+    public FlightSeatController(SeatMapService seatMapService) {
+        this.seatMapService = seatMapService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SeatMapDTO> getSeatMap(@PathVariable Long flightId) {
+        log.info("Request received: GET /api/v1/flights/{}/seats", flightId);
+        return ResponseEntity.ok(seatMapService.getSeatMap(flightId));
+    }
+
+    @PutMapping
+    public ResponseEntity<Map<String, Object>> configureSeatMap(
+        @PathVariable Long flightId,
+        @Valid @RequestBody SeatMapRequest request) {
+        log.info("Request received: PUT /api/v1/flights/{}/seats - Cabins: {}", flightId, request.getCabins().size());
+        SeatMapDTO seatMap = seatMapService.configureSeatMap(flightId, request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Seat map configured successfully");
+        response.put("data", seatMap);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/assignments")
+    public ResponseEntity<Map<String, Object>> assignSeats(
+        @PathVariable Long flightId,
+        @Valid @RequestBody SeatAssignmentRequest request) {
+        log.info("Request received: POST /api/v1/flights/{}/seats/assignments - Seats: {}, Count: {}, Cabin: {}",
+            flightId, request.getSeats(), request.getCount(), request.getCabinClass());
+        SeatAssignmentDTO assignment = seatMapService.assignSeats(flightId, request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Seats assigned successfully");
+        response.put("data", assignment);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/{seat}")
+    public ResponseEntity<Map<String, String>> releaseSeat(@PathVariable Long flightId, @PathVariable String seat) {
+        log.info("Request received: DELETE /api/v1/flights/{}/seats/{}", flightId, seat);
+        seatMapService.releaseSeat(flightId, seat);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Seat released successfully");
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.airline.controller;
+
+import com.airline.dto.WaitlistEntryDTO;
+import com.airline.dto.WaitlistRequest;
+import com.airline.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/flights/{flightId}/waitlist")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class FlightWaitlistController {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightWaitlistController.class);
+    private final WaitlistService waitlistService;
+
+    public FlightWaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> joinWaitlist(
+        @PathVariable Long flightId,
+        @Valid @RequestBody WaitlistRequest request) {
+        log.info("Request received: POST /api/v1/flights/{}/waitlist - Seats: {}, Tier: {}",
+            flightId, request.getSeats(), request.getTier());
+        WaitlistEntryDTO entry = waitlistService.joinWaitlist(flightId, request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Added to waitlist successfully");
+        response.put("data", entry);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryDTO>> getWaitlist(@PathVariable Long flightId) {
+        log.info("Request received: GET /api/v1/flights/{}/waitlist", flightId);
+        return ResponseEntity.ok(waitlistService.getWaitlist(flightId));
+    }
+
+    @GetMapping("/{entryId}")
+    public ResponseEntity<WaitlistEntryDTO> getEntry(@PathVariable Long flightId, @PathVariable Long entryId) {
+        log.info("Request received: GET /api/v1/flights/{}/waitlist/{}", flightId, entryId);
+        return ResponseEntity.ok(waitlistService.getEntry(flightId, entryId));
+    }
+
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<Map<String, String>> leaveWaitlist(@PathVariable Long flightId, @PathVariable Long entryId) {
+        log.info("Request received: DELETE /api/v1/flights/{}/waitlist/{}", flightId, entryId);
+        waitlistService.leaveWaitlist(flightId, entryId);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Removed from waitlist successfully");
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,31 @@
+package com.airline.controller;
+
+import com.airline.dto.SuggestionDTO;
+import com.airline.service.SuggestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggest")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SuggestController {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestController.class);
+    private final SuggestService suggestService;
+
+    public SuggestController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+        @RequestParam(value = "q", required = false, defaultValue = "") String query,
+        @RequestParam(value = "limit", required = false, defaultValue = "10") int limit) {
+        log.debug("Request received: GET /api/v1/suggest - Query: {}, Limit: {}", query, limit);
+        return ResponseEntity.ok(suggestService.suggest(query, limit));
+    }
+}
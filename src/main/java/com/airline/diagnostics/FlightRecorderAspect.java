@@ -0,0 +1,187 @@
+package com.airline.diagnostics;
+
+import com.airline.dto.FlightFilter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits {@link FlightServiceEvent} and {@link RepositoryCallEvent} around FlightService
+ * methods and Spring Data repository calls.
+ *
+ * When no recording has the events enabled the advice is one {@code isEnabled()} check.
+ * Criteria and row counts are only rendered for events that pass the recording's threshold.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "airline.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderAspect {
+
+    static final String READ_ONLY = "READ_ONLY";
+    static final String READ_WRITE = "READ_WRITE";
+    static final String NONE = "NONE";
+
+    private static final int MAX_CRITERIA_LENGTH = 256;
+
+    private final TransactionAttributeSource transactionAttributeSource = new AnnotationTransactionAttributeSource();
+
+    @Around("execution(public * com.airline.service.FlightService.*(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        FlightServiceEvent event = new FlightServiceEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String transactionMode = transactionMode(method, joinPoint.getTarget());
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method.getName();
+                event.criteria = criteria(joinPoint.getArgs());
+                event.rowCount = failed ? -1 : rowCount(result);
+                event.transactionMode = transactionMode;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String transactionMode = transactionMode(method, joinPoint.getTarget());
+        Object result = null;
+        boolean failed = true;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint.getTarget());
+                event.method = method.getName();
+                event.criteria = criteria(joinPoint.getArgs());
+                event.rowCount = failed ? -1 : rowCount(result);
+                event.transactionMode = transactionMode;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Mode of the transaction the call runs in: the caller's if one is active, otherwise the
+     * one the method's own {@code @Transactional} will open.
+     */
+    private String transactionMode(Method method, Object target) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ_ONLY : READ_WRITE;
+        }
+        Class<?> targetClass = target == null ? method.getDeclaringClass() : AopProxyUtils.ultimateTargetClass(target);
+        TransactionAttribute attribute = transactionAttributeSource.getTransactionAttribute(method, targetClass);
+        if (attribute != null) {
+            return attribute.isReadOnly() ? READ_ONLY : READ_WRITE;
+        }
+        // Derived query methods inherit the class-level @Transactional of the repository implementation
+        Transactional classLevel = AnnotatedElementUtils.findMergedAnnotation(targetClass, Transactional.class);
+        if (classLevel == null) {
+            return NONE;
+        }
+        return classLevel.readOnly() ? READ_ONLY : READ_WRITE;
+    }
+
+    private static String repositoryName(Object target) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : target.getClass().getSimpleName();
+    }
+
+    static String criteria(Object[] args) {
+        StringBuilder criteria = new StringBuilder();
+        for (Object arg : args) {
+            if (criteria.length() > 0) {
+                criteria.append(", ");
+            }
+            criteria.append(describe(arg));
+            if (criteria.length() >= MAX_CRITERIA_LENGTH) {
+                return criteria.substring(0, MAX_CRITERIA_LENGTH);
+            }
+        }
+        return criteria.toString();
+    }
+
+    private static String describe(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean
+            || arg instanceof Enum<?> || arg instanceof TemporalAccessor || arg instanceof Sort) {
+            return String.valueOf(arg);
+        }
+        if (arg instanceof Collection<?> collection) {
+            return collection.size() + " items";
+        }
+        if (arg instanceof Specification<?>) {
+            return "Specification";
+        }
+        if (arg instanceof FlightFilter filter) {
+            return filter.toString();
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    /**
+     * Rows returned or affected; -1 when the result is not a row set (counts, flags, JSON).
+     */
+    static int rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer affected) {
+            return affected;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof byte[]) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,202 @@
+package com.airline.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Actuator endpoint for controlling a Java Flight Recorder recording.
+ *
+ * GET /actuator/flightrecorder shows the current recording, POST /actuator/flightrecorder/start,
+ * /stop and /dump control it, and GET /actuator/flightrecorder/{file} downloads a dump. The
+ * recording uses a JDK settings profile ({@code default} or {@code profile}) so the airline
+ * events can be read next to GC, lock and I/O events.
+ */
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Pattern DUMP_FILE = Pattern.compile("[A-Za-z0-9._-]+\\.jfr");
+
+    private final Path dumpDirectory;
+    private final String defaultSettings;
+    private final Duration eventThreshold;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+    private String recordingSettings;
+
+    public FlightRecorderEndpoint(@Value("${airline.jfr.dump-directory:${java.io.tmpdir}/airline-jfr}") String dumpDirectory,
+                                  @Value("${airline.jfr.settings:default}") String defaultSettings,
+                                  @Value("${airline.jfr.event-threshold-ms:0}") long eventThresholdMillis,
+                                  @Value("${airline.jfr.max-age-minutes:30}") long maxAgeMinutes,
+                                  @Value("${airline.jfr.max-size-mb:250}") long maxSizeMb) {
+        this.dumpDirectory = Paths.get(dumpDirectory);
+        this.defaultSettings = defaultSettings;
+        this.eventThreshold = Duration.ofMillis(eventThresholdMillis);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+        } else {
+            status.put("name", recording.getName());
+            status.put("state", recording.getState());
+            status.put("settings", recordingSettings);
+            status.put("start_time", recording.getStartTime());
+            status.put("stop_time", recording.getStopTime());
+            status.put("size_bytes", recording.getSize());
+        }
+        status.put("dumps", listDumps());
+        return status;
+    }
+
+    /**
+     * {@code start} (optionally with a {@code settings} profile), {@code stop} or {@code dump}.
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> control(@Selector String action,
+                                                                         @Nullable String settings) {
+        return switch (action) {
+            case "start" -> start(settings == null ? defaultSettings : settings);
+            case "stop" -> stop();
+            case "dump" -> dump();
+            default -> error(HttpStatus.BAD_REQUEST, "Unknown action '" + action + "', expected start, stop or dump");
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String file) {
+        if (!DUMP_FILE.matcher(file).matches()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Path path = dumpDirectory.resolve(file);
+        if (!Files.isRegularFile(path)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(path));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private WebEndpointResponse<Map<String, Object>> start(String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return error(HttpStatus.CONFLICT, "Recording " + recording.getName() + " is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            return error(HttpStatus.BAD_REQUEST, "Unknown JFR settings '" + settings + "', expected default or profile");
+        }
+        Recording started = new Recording(configuration);
+        started.setName("airline-" + LocalDateTime.now().format(FILE_TIMESTAMP));
+        started.enable(FlightServiceEvent.class).withThreshold(eventThreshold);
+        started.enable(RepositoryCallEvent.class).withThreshold(eventThreshold);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSizeBytes);
+        started.start();
+        if (recording != null) {
+            recording.close();
+        }
+        recording = started;
+        recordingSettings = settings;
+        log.info("Started flight recording {} with settings {}", started.getName(), settings);
+        return new WebEndpointResponse<>(status());
+    }
+
+    private WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return error(HttpStatus.CONFLICT, "No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}", recording.getName());
+        return new WebEndpointResponse<>(status());
+    }
+
+    /**
+     * Write the recording so far to the dump directory; works while running or after stop.
+     */
+    private WebEndpointResponse<Map<String, Object>> dump() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return error(HttpStatus.NOT_FOUND, "No recording to dump");
+        }
+        String file = recording.getName() + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+        Path path = dumpDirectory.resolve(file);
+        try {
+            Files.createDirectories(dumpDirectory);
+            recording.dump(path);
+            Map<String, Object> dumped = new LinkedHashMap<>();
+            dumped.put("file", file);
+            dumped.put("size_bytes", Files.size(path));
+            dumped.put("download", "/actuator/flightrecorder/" + file);
+            log.info("Dumped flight recording {} to {}", recording.getName(), path);
+            return new WebEndpointResponse<>(dumped);
+        } catch (IOException e) {
+            log.error("Failed to dump flight recording to {}", path, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private List<String> listDumps() {
+        if (!Files.isDirectory(dumpDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> DUMP_FILE.matcher(name).matches())
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static WebEndpointResponse<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("message", message);
+        return new WebEndpointResponse<>(body, status.value());
+    }
+}
@@ -0,0 +1,35 @@
+package com.airline.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one call into {@code FlightService}. Duration comes from the event itself.
+ */
+@Name("com.airline.FlightService")
+@Label("Flight Service Call")
+@Category({"Airline", "Service"})
+@Description("A FlightService method call with its criteria and result size")
+@StackTrace(false)
+public class FlightServiceEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Criteria")
+    String criteria;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 when the result is not a row set")
+    int rowCount;
+
+    @Label("Transaction Mode")
+    String transactionMode;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,104 @@
+package com.airline.dto;
+
+import com.airline.entity.Booking;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for bookings.
+ */
+public class BookingDTO {
+
+    private Long id;
+
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    private Integer seats;
+
+    @JsonProperty("passenger_email")
+    private String passengerEmail;
+
+    private String status;
+
+    private Double amount;
+
+    @JsonProperty("hold_id")
+    private Long holdId;
+
+    @JsonProperty("payment_id")
+    private String paymentId;
+
+    @JsonProperty("failure_reason")
+    private String failureReason;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static BookingDTO fromEntity(Booking booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.id = booking.getId();
+        dto.flightId = booking.getFlightId();
+        dto.seats = booking.getSeats();
+        dto.passengerEmail = booking.getPassengerEmail();
+        dto.status = booking.getStatus().name();
+        dto.amount = booking.getAmount();
+        dto.holdId = booking.getHoldId();
+        dto.paymentId = booking.getPaymentId();
+        dto.failureReason = booking.getFailureReason();
+        dto.createdAt = booking.getCreatedAt();
+        dto.updatedAt = booking.getUpdatedAt();
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.airline.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for booking seats on a flight.
+ */
+public class BookingRequest {
+
+    @NotNull(message = "Flight id cannot be null")
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    @NotNull(message = "Seats cannot be null")
+    @Min(value = 1, message = "At least one seat must be booked")
+    @Max(value = 9, message = "Cannot book more than 9 seats at once")
+    private Integer seats;
+
+    @NotBlank(message = "Passenger email cannot be blank")
+    @Email(message = "Email should be valid")
+    @JsonProperty("passenger_email")
+    private String passengerEmail;
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Integer seats) {
+        this.seats = seats;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    public void setPassengerEmail(String passengerEmail) {
+        this.passengerEmail = passengerEmail;
+    }
+}
@@ -1,6 +1,7 @@
 package com.airline.dto;
 
 import com.airline.entity.Flight;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
@@ -11,9 +12,13 @@ import java.time.LocalDateTime;
  * Data Transfer Object for Flight entity.
  * Used to expose only necessary fields to API clients.
  * Includes Jakarta Validation annotations for input validation.
+ * Serialized through the {@value #FIELD_FILTER} filter so responses can be trimmed to a sparse fieldset.
  */
+@JsonFilter(FlightDTO.FIELD_FILTER)
 public class FlightDTO {
 
+    public static final String FIELD_FILTER = "flightFields";
+
     @JsonProperty("id")
     private Long id;
 
@@ -30,6 +35,9 @@ public class FlightDTO {
     @DecimalMax(value = "999999.99", message = "Price cannot exceed 999999.99")
     private Double price;
 
+    @JsonProperty(value = "fare", access = JsonProperty.Access.READ_ONLY)
+    private Double fare;
+
     @NotBlank(message = "Departure city cannot be blank")
     @Size(min = 2, max = 100, message = "Departure city must be between 2 and 100 characters")
     @JsonProperty("departure_city")
@@ -62,6 +70,14 @@ public class FlightDTO {
     @Email(message = "Email should be valid")
     private String email;
 
+    @Min(value = 1, message = "Seat capacity must be at least 1")
+    @Max(value = 1000, message = "Seat capacity cannot exceed 1000")
+    @JsonProperty("seat_capacity")
+    private Integer seatCapacity;
+
+    @JsonProperty(value = "available_seats", access = JsonProperty.Access.READ_ONLY)
+    private Integer availableSeats;
+
     @JsonProperty("created_at")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
@@ -125,6 +141,14 @@ public class FlightDTO {
         this.price = price;
     }
 
+    public Double getFare() {
+        return fare;
+    }
+
+    public void setFare(Double fare) {
+        this.fare = fare;
+    }
+
     public String getDepartureCity() {
         return departureCity;
     }
@@ -181,6 +205,22 @@ public class FlightDTO {
         this.email = email;
     }
 
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -212,6 +252,8 @@ public class FlightDTO {
             .status(Flight.FlightStatus.valueOf(this.status))
             .imageUrl(this.imageUrl)
             .email(this.email)
+            .seatCapacity(this.seatCapacity)
+            .availableSeats(this.seatCapacity)
             .build();
     }
 
@@ -231,6 +273,8 @@ public class FlightDTO {
         dto.setStatus(flight.getStatus().name());
         dto.setImageUrl(flight.getImageUrl());
         dto.setEmail(flight.getEmail());
+        dto.setSeatCapacity(flight.getSeatCapacity());
+        dto.setAvailableSeats(flight.getAvailableSeats());
         dto.setCreatedAt(flight.getCreatedAt());
         dto.setUpdatedAt(flight.getUpdatedAt());
         return dto;
@@ -246,6 +290,7 @@ public class FlightDTO {
         private String airline;
         private String type;
         private Double price;
+        private Double fare;
         private String departureCity;
         private String arrivalCity;
         private LocalDateTime departureDateTime;
@@ -253,6 +298,8 @@ public class FlightDTO {
         private String status;
         private String imageUrl;
         private String email;
+        private Integer seatCapacity;
+        private Integer availableSeats;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
@@ -276,6 +323,11 @@ public class FlightDTO {
             return this;
         }
 
+        public Builder fare(Double fare) {
+            this.fare = fare;
+            return this;
+        }
+
         public Builder departureCity(String departureCity) {
             this.departureCity = departureCity;
             return this;
@@ -311,6 +363,16 @@ public class FlightDTO {
             return this;
         }
 
+        public Builder seatCapacity(Integer seatCapacity) {
+            this.seatCapacity = seatCapacity;
+            return this;
+        }
+
+        public Builder availableSeats(Integer availableSeats) {
+            this.availableSeats = availableSeats;
+            return this;
+        }
+
         public Builder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -327,6 +389,7 @@ public class FlightDTO {
             dto.airline = this.airline;
             dto.type = this.type;
             dto.price = this.price;
+            dto.fare = this.fare;
             dto.departureCity = this.departureCity;
             dto.arrivalCity = this.arrivalCity;
             dto.departureDateTime = this.departureDateTime;
@@ -334,6 +397,8 @@ public class FlightDTO {
             dto.status = this.status;
             dto.imageUrl = this.imageUrl;
             dto.email = this.email;
+            dto.seatCapacity = this.seatCapacity;
+            dto.availableSeats = this.availableSeats;
             dto.createdAt = this.createdAt;
             dto.updatedAt = this.updatedAt;
             return dto;
@@ -0,0 +1,100 @@
+package com.airline.dto;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable fields of {@link FlightDTO} for sparse fieldsets ({@code ?fields=id,price}).
+ * Each field knows its JSON name and, when it maps to a column, the entity attribute to
+ * select so the projection can be pushed down into SQL.
+ */
+public enum FlightField {
+    ID("id", "id", (dto, value) -> dto.setId((Long) value)),
+    AIRLINE("airline", "airline", (dto, value) -> dto.setAirline((String) value)),
+    TYPE("type", "type", (dto, value) -> dto.setType((String) value)),
+    PRICE("price", "price", (dto, value) -> dto.setPrice((Double) value)),
+    FARE("fare", null, null),
+    DEPARTURE_CITY("departure_city", "departureCity", (dto, value) -> dto.setDepartureCity((String) value)),
+    ARRIVAL_CITY("arrival_city", "arrivalCity", (dto, value) -> dto.setArrivalCity((String) value)),
+    DEPARTURE_DATETIME("departure_datetime", "departureDateTime",
+        (dto, value) -> dto.setDepartureDateTime((LocalDateTime) value)),
+    ARRIVAL_DATETIME("arrival_datetime", "arrivalDateTime",
+        (dto, value) -> dto.setArrivalDateTime((LocalDateTime) value)),
+    STATUS("status", "status", (dto, value) -> dto.setStatus(value == null ? null : ((Enum<?>) value).name())),
+    IMAGE_URL("image_url", "imageUrl", (dto, value) -> dto.setImageUrl((String) value)),
+    EMAIL("email", "email", (dto, value) -> dto.setEmail((String) value)),
+    SEAT_CAPACITY("seat_capacity", "seatCapacity", (dto, value) -> dto.setSeatCapacity((Integer) value)),
+    AVAILABLE_SEATS("available_seats", "availableSeats", (dto, value) -> dto.setAvailableSeats((Integer) value)),
+    CREATED_AT("created_at", "createdAt", (dto, value) -> dto.setCreatedAt((LocalDateTime) value)),
+    UPDATED_AT("updated_at", "updatedAt", (dto, value) -> dto.setUpdatedAt((LocalDateTime) value));
+
+    private final String jsonName;
+    private final String attribute;
+    private final BiConsumer<FlightDTO, Object> setter;
+
+    FlightField(String jsonName, String attribute, BiConsumer<FlightDTO, Object> setter) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+        this.setter = setter;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Entity attribute backing the field, or null for computed fields such as the fare.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isColumn() {
+        return attribute != null;
+    }
+
+    public void apply(FlightDTO dto, Object value) {
+        setter.accept(dto, value);
+    }
+
+    /**
+     * Parse a comma-separated {@code fields} parameter. Null or blank selects every field.
+     */
+    public static Set<FlightField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.unmodifiableSet(EnumSet.allOf(FlightField.class));
+        }
+        Set<FlightField> selected = EnumSet.noneOf(FlightField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromJsonName(trimmed));
+            }
+        }
+        if (selected.isEmpty()) {
+            return Collections.unmodifiableSet(EnumSet.allOf(FlightField.class));
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    public static boolean isAll(Set<FlightField> fields) {
+        return fields.size() == values().length;
+    }
+
+    public static Set<String> jsonNames(Set<FlightField> fields) {
+        return fields.stream().map(FlightField::getJsonName).collect(Collectors.toSet());
+    }
+
+    private static FlightField fromJsonName(String name) {
+        for (FlightField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
@@ -0,0 +1,83 @@
+package com.airline.dto;
+
+import com.airline.entity.Flight;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Combinatorial filter over the low-cardinality flight attributes.
+ * Values of the same attribute are OR-ed together, attributes are AND-ed.
+ * Matching is exact and case-insensitive.
+ */
+public class FlightFilter {
+
+    private final Map<Attribute, Set<String>> criteria = new EnumMap<>(Attribute.class);
+
+    public FlightFilter with(Attribute attribute, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return this;
+        }
+        Set<String> normalized = criteria.computeIfAbsent(attribute, a -> new LinkedHashSet<>());
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                normalized.add(attribute.normalize(value));
+            }
+        }
+        if (normalized.isEmpty()) {
+            criteria.remove(attribute);
+        }
+        return this;
+    }
+
+    public Map<Attribute, Set<String>> getCriteria() {
+        return Collections.unmodifiableMap(criteria);
+    }
+
+    public boolean isEmpty() {
+        return criteria.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return criteria.toString();
+    }
+
+    public enum Attribute {
+        STATUS(flight -> flight.getStatus().name()),
+        AIRLINE(Flight::getAirline),
+        TYPE(Flight::getType),
+        DEPARTURE_CITY(Flight::getDepartureCity),
+        ARRIVAL_CITY(Flight::getArrivalCity);
+
+        private final Function<Flight, String> extractor;
+
+        Attribute(Function<Flight, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        public String valueOf(Flight flight) {
+            return normalize(extractor.apply(flight));
+        }
+
+        public String normalize(String value) {
+            String trimmed = value.trim();
+            if (this == STATUS) {
+                String status = trimmed.toUpperCase(Locale.ROOT);
+                try {
+                    Flight.FlightStatus.valueOf(status);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid flight status: " + value);
+                }
+                return status;
+            }
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.airline.dto;
+
+import com.airline.entity.FlightHold;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for seat holds.
+ */
+public class FlightHoldDTO {
+
+    private Long id;
+
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    private Integer seats;
+
+    private String status;
+
+    @JsonProperty("holder_email")
+    private String holderEmail;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    public static FlightHoldDTO fromEntity(FlightHold hold) {
+        FlightHoldDTO dto = new FlightHoldDTO();
+        dto.id = hold.getId();
+        dto.flightId = hold.getFlightId();
+        dto.seats = hold.getSeats();
+        dto.status = hold.getStatus().name();
+        dto.holderEmail = hold.getHolderEmail();
+        dto.expiresAt = hold.getExpiresAt();
+        dto.createdAt = hold.getCreatedAt();
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
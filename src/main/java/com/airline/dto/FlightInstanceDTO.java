@@ -0,0 +1,150 @@
+package com.airline.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One occurrence of a recurring schedule. A materialized occurrence carries the id and live
+ * state of its flight row; a virtual one is computed from the schedule and has no flight id
+ * until it is first written to or booked.
+ */
+public class FlightInstanceDTO {
+
+    @JsonProperty("schedule_id")
+    private Long scheduleId;
+
+    @JsonProperty("departure_date")
+    private LocalDate departureDate;
+
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    private boolean materialized;
+
+    private String airline;
+
+    private String type;
+
+    private Double price;
+
+    private Double fare;
+
+    @JsonProperty("departure_city")
+    private String departureCity;
+
+    @JsonProperty("arrival_city")
+    private String arrivalCity;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("departure_datetime")
+    private LocalDateTime departureDateTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("arrival_datetime")
+    private LocalDateTime arrivalDateTime;
+
+    private String status;
+
+    @JsonProperty("seat_capacity")
+    private Integer seatCapacity;
+
+    @JsonProperty("available_seats")
+    private Integer availableSeats;
+
+    /**
+     * Occurrence backed by a flight row.
+     */
+    public static FlightInstanceDTO materialized(Long scheduleId, LocalDate departureDate, FlightDTO flight) {
+        FlightInstanceDTO dto = new FlightInstanceDTO();
+        dto.scheduleId = scheduleId;
+        dto.departureDate = departureDate;
+        dto.flightId = flight.getId();
+        dto.materialized = true;
+        dto.airline = flight.getAirline();
+        dto.type = flight.getType();
+        dto.price = flight.getPrice();
+        dto.fare = flight.getFare();
+        dto.departureCity = flight.getDepartureCity();
+        dto.arrivalCity = flight.getArrivalCity();
+        dto.departureDateTime = flight.getDepartureDateTime();
+        dto.arrivalDateTime = flight.getArrivalDateTime();
+        dto.status = flight.getStatus();
+        dto.seatCapacity = flight.getSeatCapacity();
+        dto.availableSeats = flight.getAvailableSeats();
+        return dto;
+    }
+
+    /**
+     * Occurrence computed from its schedule; {@code flight} is the unsaved flight it would become.
+     */
+    public static FlightInstanceDTO virtual(Long scheduleId, LocalDate departureDate, FlightDTO flight) {
+        FlightInstanceDTO dto = materialized(scheduleId, departureDate, flight);
+        dto.flightId = null;
+        dto.materialized = false;
+        return dto;
+    }
+
+    // Getters
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Double getFare() {
+        return fare;
+    }
+
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    public String getArrivalCity() {
+        return arrivalCity;
+    }
+
+    public LocalDateTime getDepartureDateTime() {
+        return departureDateTime;
+    }
+
+    public LocalDateTime getArrivalDateTime() {
+        return arrivalDateTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+}
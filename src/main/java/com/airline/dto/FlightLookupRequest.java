@@ -0,0 +1,22 @@
+package com.airline.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request body for fetching many flights by id, for id lists too long for a query string.
+ */
+public class FlightLookupRequest {
+
+    @NotEmpty(message = "Ids cannot be empty")
+    private List<Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
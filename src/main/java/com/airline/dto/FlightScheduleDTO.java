@@ -0,0 +1,250 @@
+package com.airline.dto;
+
+import com.airline.entity.FlightSchedule;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Data Transfer Object for a recurring flight schedule.
+ * Validation mirrors {@link FlightDTO} for the fields every generated flight inherits.
+ */
+public class FlightScheduleDTO {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @NotBlank(message = "Airline name cannot be blank")
+    @Size(min = 2, max = 100, message = "Airline name must be between 2 and 100 characters")
+    private String airline;
+
+    @NotBlank(message = "Flight type cannot be blank")
+    @Size(min = 1, max = 50, message = "Flight type must be between 1 and 50 characters")
+    private String type;
+
+    @NotNull(message = "Price cannot be null")
+    @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+    @DecimalMax(value = "999999.99", message = "Price cannot exceed 999999.99")
+    private Double price;
+
+    @NotBlank(message = "Departure city cannot be blank")
+    @Size(min = 2, max = 100, message = "Departure city must be between 2 and 100 characters")
+    @JsonProperty("departure_city")
+    private String departureCity;
+
+    @NotBlank(message = "Arrival city cannot be blank")
+    @Size(min = 2, max = 100, message = "Arrival city must be between 2 and 100 characters")
+    @JsonProperty("arrival_city")
+    private String arrivalCity;
+
+    @NotEmpty(message = "Days of week cannot be empty")
+    @JsonProperty("days_of_week")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Departure time cannot be null")
+    @JsonFormat(pattern = "HH:mm")
+    @JsonProperty("departure_time")
+    private LocalTime departureTime;
+
+    @NotNull(message = "Duration cannot be null")
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration cannot exceed 1440 minutes")
+    @JsonProperty("duration_minutes")
+    private Integer durationMinutes;
+
+    @NotNull(message = "Valid from date cannot be null")
+    @JsonProperty("valid_from")
+    private LocalDate validFrom;
+
+    @NotNull(message = "Valid to date cannot be null")
+    @FutureOrPresent(message = "Valid to date cannot be in the past")
+    @JsonProperty("valid_to")
+    private LocalDate validTo;
+
+    @JsonProperty("image_url")
+    private String imageUrl;
+
+    @NotBlank(message = "Admin email cannot be blank")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Min(value = 1, message = "Seat capacity must be at least 1")
+    @Max(value = 1000, message = "Seat capacity cannot exceed 1000")
+    @JsonProperty("seat_capacity")
+    private Integer seatCapacity;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty(value = "created_at", access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    public void setDepartureCity(String departureCity) {
+        this.departureCity = departureCity;
+    }
+
+    public String getArrivalCity() {
+        return arrivalCity;
+    }
+
+    public void setArrivalCity(String arrivalCity) {
+        this.arrivalCity = arrivalCity;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public LocalTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Convert FlightScheduleDTO to FlightSchedule entity.
+     */
+    public FlightSchedule toEntity() {
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setAirline(this.airline);
+        schedule.setType(this.type);
+        schedule.setPrice(this.price);
+        schedule.setDepartureCity(this.departureCity);
+        schedule.setArrivalCity(this.arrivalCity);
+        schedule.setDaysOfWeek(this.daysOfWeek);
+        schedule.setDepartureTime(this.departureTime);
+        schedule.setDurationMinutes(this.durationMinutes);
+        schedule.setValidFrom(this.validFrom);
+        schedule.setValidTo(this.validTo);
+        schedule.setImageUrl(this.imageUrl);
+        schedule.setEmail(this.email);
+        schedule.setSeatCapacity(this.seatCapacity);
+        return schedule;
+    }
+
+    /**
+     * Convert FlightSchedule entity to FlightScheduleDTO.
+     */
+    public static FlightScheduleDTO fromEntity(FlightSchedule schedule) {
+        FlightScheduleDTO dto = new FlightScheduleDTO();
+        dto.setId(schedule.getId());
+        dto.setAirline(schedule.getAirline());
+        dto.setType(schedule.getType());
+        dto.setPrice(schedule.getPrice());
+        dto.setDepartureCity(schedule.getDepartureCity());
+        dto.setArrivalCity(schedule.getArrivalCity());
+        dto.setDaysOfWeek(schedule.getDaysOfWeek());
+        dto.setDepartureTime(schedule.getDepartureTime());
+        dto.setDurationMinutes(schedule.getDurationMinutes());
+        dto.setValidFrom(schedule.getValidFrom());
+        dto.setValidTo(schedule.getValidTo());
+        dto.setImageUrl(schedule.getImageUrl());
+        dto.setEmail(schedule.getEmail());
+        dto.setSeatCapacity(schedule.getSeatCapacity());
+        dto.setCreatedAt(schedule.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.airline.dto;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort orders for flight search ({@code ?sort=price}). All orders are ascending, so
+ * {@code sort=price&limit=20} returns the 20 cheapest flights. Ties are broken by departure
+ * time and then id, which is also the order the in-memory snapshot keeps its rows in.
+ */
+public enum FlightSort {
+    DEPARTURE("departure", "departureDateTime"),
+    PRICE("price", "price"),
+    DURATION("duration", "durationSeconds");
+
+    private final String paramName;
+    private final String attribute;
+
+    FlightSort(String paramName, String attribute) {
+        this.paramName = paramName;
+        this.attribute = attribute;
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    /**
+     * Repository sort including the tie-breakers.
+     */
+    public Sort toSort() {
+        Sort sort = Sort.by(Sort.Direction.ASC, attribute);
+        if (this != DEPARTURE) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, DEPARTURE.attribute));
+        }
+        return sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    /**
+     * Parse the {@code sort} parameter. Null or blank means no explicit order was requested.
+     */
+    public static FlightSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        for (FlightSort value : values()) {
+            if (value.paramName.equalsIgnoreCase(sort.trim())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort: " + sort + ". Expected one of price, duration, departure");
+    }
+}
@@ -0,0 +1,50 @@
+package com.airline.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for placing a seat hold on a flight.
+ */
+public class HoldRequest {
+
+    @NotNull(message = "Seats cannot be null")
+    @Min(value = 1, message = "At least one seat must be held")
+    @Max(value = 9, message = "Cannot hold more than 9 seats at once")
+    private Integer seats;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @JsonProperty("ttl_seconds")
+    private Long ttlSeconds;
+
+    @Email(message = "Email should be valid")
+    @JsonProperty("holder_email")
+    private String holderEmail;
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Integer seats) {
+        this.seats = seats;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public void setHolderEmail(String holderEmail) {
+        this.holderEmail = holderEmail;
+    }
+}
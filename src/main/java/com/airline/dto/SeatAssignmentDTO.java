@@ -0,0 +1,29 @@
+package com.airline.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for seats assigned on a flight.
+ */
+public class SeatAssignmentDTO {
+
+    @JsonProperty("flight_id")
+    private final Long flightId;
+
+    private final List<String> seats;
+
+    public SeatAssignmentDTO(Long flightId, List<String> seats) {
+        this.flightId = flightId;
+        this.seats = seats;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public List<String> getSeats() {
+        return seats;
+    }
+}
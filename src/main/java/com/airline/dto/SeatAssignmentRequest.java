@@ -0,0 +1,50 @@
+package com.airline.dto;
+
+import com.airline.seating.SeatLayout;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for assigning seats: either specific {@code seats}, or a {@code count} of
+ * adjacent seats picked in the given cabin (anywhere when no cabin is given).
+ */
+public class SeatAssignmentRequest {
+
+    @Size(max = 9, message = "Cannot assign more than 9 seats at once")
+    private List<String> seats;
+
+    @Min(value = 1, message = "At least one seat must be assigned")
+    @Max(value = 9, message = "Cannot assign more than 9 seats at once")
+    private Integer count;
+
+    @JsonProperty("cabin_class")
+    private SeatLayout.CabinClass cabinClass;
+
+    public List<String> getSeats() {
+        return seats;
+    }
+
+    public void setSeats(List<String> seats) {
+        this.seats = seats;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public SeatLayout.CabinClass getCabinClass() {
+        return cabinClass;
+    }
+
+    public void setCabinClass(SeatLayout.CabinClass cabinClass) {
+        this.cabinClass = cabinClass;
+    }
+}
@@ -0,0 +1,113 @@
+package com.airline.dto;
+
+import com.airline.seating.SeatLayout;
+import com.airline.seating.SeatMap;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a flight's seat map: cabins with their free seats and the seats taken.
+ */
+public class SeatMapDTO {
+
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    @JsonProperty("total_seats")
+    private int totalSeats;
+
+    @JsonProperty("free_seats")
+    private int freeSeats;
+
+    @JsonProperty("size_bytes")
+    private int sizeBytes;
+
+    private List<CabinDTO> cabins;
+
+    private List<String> occupied;
+
+    public static SeatMapDTO fromSeatMap(Long flightId, SeatMap seatMap) {
+        SeatLayout layout = seatMap.getLayout();
+        SeatMapDTO dto = new SeatMapDTO();
+        dto.flightId = flightId;
+        dto.totalSeats = layout.getTotalSeats();
+        dto.freeSeats = seatMap.freeSeats();
+        dto.sizeBytes = layout.getWords() * Long.BYTES;
+        dto.cabins = new ArrayList<>();
+        for (int i = 0; i < layout.getCabins().size(); i++) {
+            SeatLayout.Cabin cabin = layout.getCabins().get(i);
+            CabinDTO cabinDto = new CabinDTO();
+            cabinDto.cabinClass = cabin.cabinClass();
+            cabinDto.firstRow = layout.firstRow(i);
+            cabinDto.lastRow = layout.lastRow(i);
+            cabinDto.seats = cabin.seats();
+            cabinDto.freeSeats = seatMap.freeSeats(cabin.cabinClass());
+            dto.cabins.add(cabinDto);
+        }
+        dto.occupied = seatMap.occupiedSeats().stream().map(layout::label).toList();
+        return dto;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public int getFreeSeats() {
+        return freeSeats;
+    }
+
+    public int getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public List<CabinDTO> getCabins() {
+        return cabins;
+    }
+
+    public List<String> getOccupied() {
+        return occupied;
+    }
+
+    public static class CabinDTO {
+
+        @JsonProperty("cabin_class")
+        private SeatLayout.CabinClass cabinClass;
+
+        @JsonProperty("first_row")
+        private int firstRow;
+
+        @JsonProperty("last_row")
+        private int lastRow;
+
+        private String seats;
+
+        @JsonProperty("free_seats")
+        private int freeSeats;
+
+        public SeatLayout.CabinClass getCabinClass() {
+            return cabinClass;
+        }
+
+        public int getFirstRow() {
+            return firstRow;
+        }
+
+        public int getLastRow() {
+            return lastRow;
+        }
+
+        public String getSeats() {
+            return seats;
+        }
+
+        public int getFreeSeats() {
+            return freeSeats;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.airline.dto;
+
+import com.airline.seating.SeatLayout;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request body for configuring the cabins of a flight's seat map, front to back.
+ */
+public class SeatMapRequest {
+
+    @NotEmpty(message = "Cabins cannot be empty")
+    @Valid
+    private List<Cabin> cabins;
+
+    public SeatLayout toLayout() {
+        return new SeatLayout(cabins.stream()
+            .map(cabin -> new SeatLayout.Cabin(cabin.getCabinClass(), cabin.getRows(), cabin.getSeats()))
+            .toList());
+    }
+
+    public List<Cabin> getCabins() {
+        return cabins;
+    }
+
+    public void setCabins(List<Cabin> cabins) {
+        this.cabins = cabins;
+    }
+
+    public static class Cabin {
+
+        @NotNull(message = "Cabin class cannot be null")
+        @JsonProperty("cabin_class")
+        private SeatLayout.CabinClass cabinClass;
+
+        @NotNull(message = "Rows cannot be null")
+        @Min(value = 1, message = "A cabin needs at least 1 row")
+        @Max(value = 99, message = "A cabin cannot have more than 99 rows")
+        private Integer rows;
+
+        @NotBlank(message = "Seat letters cannot be blank")
+        private String seats;
+
+        public SeatLayout.CabinClass getCabinClass() {
+            return cabinClass;
+        }
+
+        public void setCabinClass(SeatLayout.CabinClass cabinClass) {
+            this.cabinClass = cabinClass;
+        }
+
+        public Integer getRows() {
+            return rows;
+        }
+
+        public void setRows(Integer rows) {
+            this.rows = rows;
+        }
+
+        public String getSeats() {
+            return seats;
+        }
+
+        public void setSeats(String seats) {
+            this.seats = seats;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.airline.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Autocomplete suggestion: a city or airline and the number of flights using it.
+ */
+public class SuggestionDTO {
+
+    /**
+     * Most flights first, then alphabetical.
+     */
+    public static final Comparator<SuggestionDTO> BY_RANK = Comparator
+        .comparingLong(SuggestionDTO::getFlightCount).reversed()
+        .thenComparing(SuggestionDTO::getValue, String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(SuggestionDTO::getType);
+
+    private final String value;
+
+    private final Type type;
+
+    @JsonProperty("flight_count")
+    private final long flightCount;
+
+    public SuggestionDTO(String value, Type type, long flightCount) {
+        this.value = value;
+        this.type = type;
+        this.flightCount = flightCount;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getFlightCount() {
+        return flightCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SuggestionDTO that)) {
+            return false;
+        }
+        return flightCount == that.flightCount && Objects.equals(value, that.value) && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, type, flightCount);
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + value + "(" + flightCount + ")";
+    }
+
+    public enum Type {
+        CITY,
+        AIRLINE
+    }
+}
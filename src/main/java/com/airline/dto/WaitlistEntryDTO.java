@@ -0,0 +1,98 @@
+package com.airline.dto;
+
+import com.airline.entity.WaitlistEntry;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for waitlist entries.
+ */
+public class WaitlistEntryDTO {
+
+    private Long id;
+
+    @JsonProperty("flight_id")
+    private Long flightId;
+
+    private Integer seats;
+
+    private String tier;
+
+    private String status;
+
+    /**
+     * 1-based place in the queue while the entry is waiting.
+     */
+    private Integer position;
+
+    @JsonProperty("holder_email")
+    private String holderEmail;
+
+    @JsonProperty("hold_id")
+    private Long holdId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    @JsonProperty("promoted_at")
+    private LocalDateTime promotedAt;
+
+    public static WaitlistEntryDTO fromEntity(WaitlistEntry entry, Integer position) {
+        WaitlistEntryDTO dto = new WaitlistEntryDTO();
+        dto.id = entry.getId();
+        dto.flightId = entry.getFlightId();
+        dto.seats = entry.getSeats();
+        dto.tier = entry.getTier().name();
+        dto.status = entry.getStatus().name();
+        dto.position = position;
+        dto.holderEmail = entry.getHolderEmail();
+        dto.holdId = entry.getHoldId();
+        dto.createdAt = entry.getCreatedAt();
+        dto.promotedAt = entry.getPromotedAt();
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPromotedAt() {
+        return promotedAt;
+    }
+}
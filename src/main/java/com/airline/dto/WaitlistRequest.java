@@ -0,0 +1,51 @@
+package com.airline.dto;
+
+import com.airline.entity.WaitlistEntry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for joining the waitlist of a full flight.
+ */
+public class WaitlistRequest {
+
+    @NotNull(message = "Seats cannot be null")
+    @Min(value = 1, message = "At least one seat must be requested")
+    @Max(value = 9, message = "Cannot wait for more than 9 seats at once")
+    private Integer seats;
+
+    private WaitlistEntry.PriorityTier tier = WaitlistEntry.PriorityTier.STANDARD;
+
+    @NotBlank(message = "Holder email cannot be blank")
+    @Email(message = "Email should be valid")
+    @JsonProperty("holder_email")
+    private String holderEmail;
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Integer seats) {
+        this.seats = seats;
+    }
+
+    public WaitlistEntry.PriorityTier getTier() {
+        return tier;
+    }
+
+    public void setTier(WaitlistEntry.PriorityTier tier) {
+        this.tier = tier;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public void setHolderEmail(String holderEmail) {
+        this.holderEmail = holderEmail;
+    }
+}
@@ -0,0 +1,188 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a completed flight, moved out of the hot {@code flight} table by the archiver.
+ * Keeps the original id so archived flights stay addressable by the same URL.
+ * Implements {@link Persistable} so batch inserts with assigned ids skip the merge lookup.
+ */
+@Entity
+@Table(name = "flight_archive", indexes = {
+    @Index(name = "idx_archive_dep_dt", columnList = "dep_dt")
+})
+public class ArchivedFlight implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String airline;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(name = "dep_city", nullable = false, length = 100)
+    private String departureCity;
+
+    @Column(name = "arr_city", nullable = false, length = 100)
+    private String arrivalCity;
+
+    @Column(name = "dep_dt", nullable = false)
+    private LocalDateTime departureDateTime;
+
+    @Column(name = "arr_dt", nullable = false)
+    private LocalDateTime arrivalDateTime;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Flight.FlightStatus status;
+
+    @Column(name = "img")
+    private String imageUrl;
+
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public ArchivedFlight() {
+    }
+
+    /**
+     * Copy a hot flight into its archived form.
+     */
+    public static ArchivedFlight from(Flight flight, LocalDateTime archivedAt) {
+        ArchivedFlight archived = new ArchivedFlight();
+        archived.id = flight.getId();
+        archived.airline = flight.getAirline();
+        archived.type = flight.getType();
+        archived.price = flight.getPrice();
+        archived.departureCity = flight.getDepartureCity();
+        archived.arrivalCity = flight.getArrivalCity();
+        archived.departureDateTime = flight.getDepartureDateTime();
+        archived.arrivalDateTime = flight.getArrivalDateTime();
+        archived.status = flight.getStatus();
+        archived.imageUrl = flight.getImageUrl();
+        archived.email = flight.getEmail();
+        archived.version = flight.getVersion();
+        archived.createdAt = flight.getCreatedAt();
+        archived.updatedAt = flight.getUpdatedAt();
+        archived.archivedAt = archivedAt;
+        return archived;
+    }
+
+    /**
+     * Rebuild a detached Flight so archived rows can be served through the regular DTO mapping.
+     */
+    public Flight toFlight() {
+        return Flight.builder()
+            .id(id)
+            .airline(airline)
+            .type(type)
+            .price(price)
+            .departureCity(departureCity)
+            .arrivalCity(arrivalCity)
+            .departureDateTime(departureDateTime)
+            .arrivalDateTime(arrivalDateTime)
+            .status(status)
+            .imageUrl(imageUrl)
+            .email(email)
+            .version(version)
+            .createdAt(createdAt)
+            .updatedAt(updatedAt)
+            .build();
+    }
+
+    // Getters
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    public String getArrivalCity() {
+        return arrivalCity;
+    }
+
+    public LocalDateTime getDepartureDateTime() {
+        return departureDateTime;
+    }
+
+    public LocalDateTime getArrivalDateTime() {
+        return arrivalDateTime;
+    }
+
+    public Flight.FlightStatus getStatus() {
+        return status;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
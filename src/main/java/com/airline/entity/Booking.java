@@ -0,0 +1,147 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking of seats on a flight.
+ * Created as PENDING and driven to CONFIRMED or FAILED by the booking saga, which records
+ * the hold it reserved the seats with and the payment it charged. A failed booking whose
+ * refund did not go through stays REFUND_PENDING until it does.
+ */
+@Entity
+@Table(name = "booking", indexes = {
+    @Index(name = "idx_booking_status", columnList = "status")
+})
+public class Booking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    @Column(name = "passenger_email", nullable = false, length = 100)
+    private String passengerEmail;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Column
+    private Double amount;
+
+    @Column(name = "hold_id")
+    private Long holdId;
+
+    @Column(name = "payment_id", length = 100)
+    private String paymentId;
+
+    @Column(name = "failure_reason", length = 255)
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public Booking() {
+    }
+
+    public Booking(Long flightId, Integer seats, String passengerEmail) {
+        this.flightId = flightId;
+        this.seats = seats;
+        this.passengerEmail = passengerEmail;
+        this.status = BookingStatus.PENDING;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(Long holdId) {
+        this.holdId = holdId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public enum BookingStatus {
+        PENDING,
+        CONFIRMED,
+        FAILED,
+        REFUND_PENDING
+    }
+}
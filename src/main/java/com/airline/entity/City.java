@@ -0,0 +1,81 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Reference data for a city served by at least one airport, with the coordinates used by
+ * nearby-airport search. {@link Flight#getDepartureCity()} and {@link Flight#getArrivalCity()}
+ * are expected to use {@link #getName()} as spelled here.
+ */
+@Entity
+@Table(name = "city", indexes = {
+    @Index(name = "idx_city_name", columnList = "name")
+})
+public class City {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(length = 100)
+    private String country;
+
+    @Column(name = "iata_code", nullable = false, unique = true, length = 3)
+    private String iataCode;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    // Constructors
+    public City() {
+    }
+
+    public City(String name, String country, String iataCode, Double latitude, Double longitude) {
+        this.name = name;
+        this.country = country;
+        this.iataCode = iataCode;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getIataCode() {
+        return iataCode;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public String toString() {
+        return "City{" +
+            "name='" + name + '\'' +
+            ", iataCode='" + iataCode + '\'' +
+            ", latitude=" + latitude +
+            ", longitude=" + longitude +
+            '}';
+    }
+}
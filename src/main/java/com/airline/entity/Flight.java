@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 @Table(name = "flight", indexes = {
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_dep_city", columnList = "dep_city"),
-    @Index(name = "idx_arr_city", columnList = "arr_city")
+    @Index(name = "idx_arr_city", columnList = "arr_city"),
+    @Index(name = "idx_dep_dt", columnList = "dep_dt"),
+    @Index(name = "idx_arr_dt", columnList = "arr_dt"),
+    @Index(name = "idx_price", columnList = "price"),
+    @Index(name = "idx_duration", columnList = "duration_sec")
 })
 public class Flight {
 
@@ -50,6 +54,19 @@ public class Flight {
     @Column(nullable = false, length = 100)
     private String email;
 
+    @Column(name = "seats_total")
+    private Integer seatCapacity;
+
+    @Column(name = "seats_avail")
+    private Integer availableSeats;
+
+    /**
+     * Arrival minus departure in seconds. Generated by the database, so it is never written
+     * from here and only reflects the stored times after the row is re-read.
+     */
+    @Column(name = "duration_sec", insertable = false, updatable = false)
+    private Integer durationSeconds;
+
     @Version
     private Long version;
 
@@ -178,6 +195,26 @@ public class Flight {
         this.email = email;
     }
 
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -219,6 +256,8 @@ public class Flight {
         private FlightStatus status;
         private String imageUrl;
         private String email;
+        private Integer seatCapacity;
+        private Integer availableSeats;
         private Long version;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
@@ -278,6 +317,16 @@ public class Flight {
             return this;
         }
 
+        public Builder seatCapacity(Integer seatCapacity) {
+            this.seatCapacity = seatCapacity;
+            return this;
+        }
+
+        public Builder availableSeats(Integer availableSeats) {
+            this.availableSeats = availableSeats;
+            return this;
+        }
+
         public Builder version(Long version) {
             this.version = version;
             return this;
@@ -306,6 +355,8 @@ public class Flight {
             flight.status = this.status;
             flight.imageUrl = this.imageUrl;
             flight.email = this.email;
+            flight.seatCapacity = this.seatCapacity;
+            flight.availableSeats = this.availableSeats;
             flight.version = this.version;
             flight.createdAt = this.createdAt;
             flight.updatedAt = this.updatedAt;
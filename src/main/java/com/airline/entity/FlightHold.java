@@ -0,0 +1,97 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Temporary hold on seats of a flight during checkout.
+ * The seats are taken from the flight's inventory when the hold is created and returned
+ * when it is released or expires. A hold converted into a booking keeps its seats.
+ */
+@Entity
+@Table(name = "flight_hold", indexes = {
+    @Index(name = "idx_hold_status", columnList = "status")
+})
+public class FlightHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private HoldStatus status;
+
+    @Column(name = "holder_email", length = 100)
+    private String holderEmail;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public FlightHold() {
+    }
+
+    public FlightHold(Long flightId, Integer seats, String holderEmail, LocalDateTime expiresAt) {
+        this.flightId = flightId;
+        this.seats = seats;
+        this.holderEmail = holderEmail;
+        this.expiresAt = expiresAt;
+        this.status = HoldStatus.ACTIVE;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public enum HoldStatus {
+        ACTIVE,
+        RELEASED,
+        EXPIRED,
+        CONVERTED
+    }
+}
@@ -0,0 +1,253 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Template for a recurring flight: the same route and times on a set of weekdays within a
+ * validity range. One row stands for every occurrence; an occurrence becomes a {@link Flight}
+ * row only when it is first written to or booked (see {@link FlightScheduleInstance}).
+ */
+@Entity
+@Table(name = "flight_schedule", indexes = {
+    @Index(name = "idx_schedule_valid_to", columnList = "valid_to")
+})
+public class FlightSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String airline;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(name = "dep_city", nullable = false, length = 100)
+    private String departureCity;
+
+    @Column(name = "arr_city", nullable = false, length = 100)
+    private String arrivalCity;
+
+    /**
+     * Bit {@code d - 1} is set when the flight operates on ISO day-of-week {@code d} (Monday = 1).
+     */
+    @Column(name = "days_mask", nullable = false)
+    private Integer daysMask;
+
+    @Column(name = "dep_time", nullable = false)
+    private LocalTime departureTime;
+
+    @Column(name = "duration_min", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDate validTo;
+
+    @Column(name = "img", length = 255)
+    private String imageUrl;
+
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "seats_total")
+    private Integer seatCapacity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public FlightSchedule() {
+    }
+
+    /**
+     * Whether the schedule has an occurrence departing on {@code date}.
+     */
+    public boolean operatesOn(LocalDate date) {
+        return !date.isBefore(validFrom) && !date.isAfter(validTo) && runsOn(date.getDayOfWeek());
+    }
+
+    /**
+     * Departure dates of the occurrences between {@code from} and {@code to}, inclusive.
+     */
+    public List<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        LocalDate first = from.isAfter(validFrom) ? from : validFrom;
+        LocalDate last = to.isBefore(validTo) ? to : validTo;
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            if (runsOn(date.getDayOfWeek())) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    private boolean runsOn(DayOfWeek day) {
+        return (daysMask & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    public LocalDateTime departureOn(LocalDate date) {
+        return date.atTime(departureTime);
+    }
+
+    public LocalDateTime arrivalOn(LocalDate date) {
+        return departureOn(date).plusMinutes(durationMinutes);
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (runsOn(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        this.daysMask = mask;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    public void setDepartureCity(String departureCity) {
+        this.departureCity = departureCity;
+    }
+
+    public String getArrivalCity() {
+        return arrivalCity;
+    }
+
+    public void setArrivalCity(String arrivalCity) {
+        this.arrivalCity = arrivalCity;
+    }
+
+    public LocalTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightSchedule{" +
+            "id=" + id +
+            ", airline='" + airline + '\'' +
+            ", departureCity='" + departureCity + '\'' +
+            ", arrivalCity='" + arrivalCity + '\'' +
+            ", daysOfWeek=" + getDaysOfWeek() +
+            ", departureTime=" + departureTime +
+            ", validFrom=" + validFrom +
+            ", validTo=" + validTo +
+            '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Marks an occurrence of a {@link FlightSchedule} that has been turned into a {@link Flight}
+ * row. The primary key makes materialization race-free: two requests for the same occurrence
+ * cannot both insert. A row whose flight has since been deleted stays behind so the date is
+ * not generated again; the row is deleted with its schedule. Implements {@link Persistable} so the insert is not a merge.
+ */
+@Entity
+@Table(name = "flight_schedule_instance")
+@IdClass(FlightScheduleInstance.Key.class)
+public class FlightScheduleInstance implements Persistable<FlightScheduleInstance.Key> {
+
+    @Id
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Id
+    @Column(name = "dep_date")
+    private LocalDate departureDate;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public FlightScheduleInstance() {
+    }
+
+    public FlightScheduleInstance(Long scheduleId, LocalDate departureDate, Long flightId) {
+        this.scheduleId = scheduleId;
+        this.departureDate = departureDate;
+        this.flightId = flightId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    @Override
+    public Key getId() {
+        return new Key(scheduleId, departureDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Composite primary key: schedule and departure date.
+     */
+    public static class Key implements Serializable {
+
+        private Long scheduleId;
+        private LocalDate departureDate;
+
+        public Key() {
+        }
+
+        public Key(Long scheduleId, LocalDate departureDate) {
+            this.scheduleId = scheduleId;
+            this.departureDate = departureDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(scheduleId, key.scheduleId) && Objects.equals(departureDate, key.departureDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheduleId, departureDate);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted seat map of a flight: the cabin layout spec and the occupancy bitset written by
+ * {@link com.airline.seating.SeatMap#toBytes()}. Every write checks and advances the revision,
+ * so a stale copy of the bitset never overwrites a newer one.
+ */
+@Entity
+@Table(name = "flight_seat_map")
+public class FlightSeatMap {
+
+    @Id
+    @Column(name = "flight_id")
+    private Long flightId;
+
+    @Column(nullable = false, length = 500)
+    private String layout;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] occupied;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public FlightSeatMap() {
+    }
+
+    public FlightSeatMap(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    // Getters and Setters
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public String getLayout() {
+        return layout;
+    }
+
+    public void setLayout(String layout) {
+        this.layout = layout;
+    }
+
+    public byte[] getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(byte[] occupied) {
+        this.occupied = occupied;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
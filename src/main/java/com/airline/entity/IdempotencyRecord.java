@@ -0,0 +1,127 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response stored for an {@code Idempotency-Key}, replayed when the same key is seen again.
+ * The row is inserted as {@link State#PENDING} before the request executes, so the primary
+ * key claims the execution across instances, and completed with the response afterwards.
+ * Implements {@link Persistable} so inserting with the client's key skips the merge lookup.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = {
+    @Index(name = "idx_idem_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idem_key", length = 100)
+    private String key;
+
+    @Column(nullable = false, length = 300)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private State state;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(name = "body", length = 1048576)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint, Integer statusCode, String contentType,
+                             byte[] body, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.state = State.COMPLETED;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.body = body;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Claim on a key whose request is executing; {@code expiresAt} bounds how long a crashed
+     * owner can hold it.
+     */
+    public static IdempotencyRecord pending(String key, String fingerprint, LocalDateTime createdAt,
+                                            LocalDateTime expiresAt) {
+        IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, null, null, null, createdAt, expiresAt);
+        record.state = State.PENDING;
+        return record;
+    }
+
+    // Getters
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public enum State {
+        PENDING, COMPLETED
+    }
+}
@@ -0,0 +1,122 @@
+package com.airline.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Customer waiting for seats on a full flight.
+ * Entries are served by priority tier and then in the order they joined; a promoted entry
+ * points at the hold that was placed for it.
+ */
+@Entity
+@Table(name = "flight_waitlist", indexes = {
+    @Index(name = "idx_waitlist_status", columnList = "status"),
+    @Index(name = "idx_waitlist_flight_status", columnList = "flight_id, status")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    @Column(name = "holder_email", nullable = false, length = 100)
+    private String holderEmail;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PriorityTier tier;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+
+    @Column(name = "hold_id")
+    private Long holdId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "promoted_at")
+    private LocalDateTime promotedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public WaitlistEntry() {
+    }
+
+    public WaitlistEntry(Long flightId, Integer seats, String holderEmail, PriorityTier tier) {
+        this.flightId = flightId;
+        this.seats = seats;
+        this.holderEmail = holderEmail;
+        this.tier = tier;
+        this.status = WaitlistStatus.WAITING;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public String getHolderEmail() {
+        return holderEmail;
+    }
+
+    public PriorityTier getTier() {
+        return tier;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPromotedAt() {
+        return promotedAt;
+    }
+
+    /**
+     * Priority tiers, highest first.
+     */
+    public enum PriorityTier {
+        PLATINUM,
+        GOLD,
+        SILVER,
+        STANDARD
+    }
+
+    public enum WaitlistStatus {
+        WAITING,
+        PROMOTED,
+        CANCELLED
+    }
+}
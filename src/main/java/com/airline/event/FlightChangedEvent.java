@@ -0,0 +1,52 @@
+package com.airline.event;
+
+import com.airline.entity.Flight;
+
+/**
+ * Application event published by the service layer whenever a flight row is written.
+ * Listeners that keep in-memory read models in sync should consume it after commit.
+ * Remote events are replays of writes made on another node, received over the invalidation bus.
+ */
+public class FlightChangedEvent {
+
+    private final ChangeType type;
+    private final Flight flight;
+    private final boolean remote;
+
+    public FlightChangedEvent(ChangeType type, Flight flight) {
+        this(type, flight, false);
+    }
+
+    public FlightChangedEvent(ChangeType type, Flight flight, boolean remote) {
+        this.type = type;
+        this.flight = flight;
+        this.remote = remote;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public Long getFlightId() {
+        return flight.getId();
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public boolean isRemoval() {
+        return type == ChangeType.DELETED || type == ChangeType.ARCHIVED;
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        ARCHIVED
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a booking does not exist.
+ */
+public class BookingNotFoundException extends RuntimeException {
+
+    public BookingNotFoundException(Long id) {
+        super("Booking not found with ID: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a seat hold does not exist for the requested flight.
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    public HoldNotFoundException(Long flightId, Long holdId) {
+        super("Hold not found with ID: " + holdId + " for flight: " + flightId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a flight has fewer available seats than requested.
+ */
+public class InsufficientSeatsException extends RuntimeException {
+
+    public InsufficientSeatsException(Long flightId, int requested) {
+        super("Flight " + flightId + " does not have " + requested + " seats available");
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a flight schedule does not exist.
+ */
+public class ScheduleNotFoundException extends RuntimeException {
+
+    public ScheduleNotFoundException(Long scheduleId) {
+        super("Schedule not found with ID: " + scheduleId);
+    }
+}
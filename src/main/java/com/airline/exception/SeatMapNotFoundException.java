@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a flight has no seat map configured.
+ */
+public class SeatMapNotFoundException extends RuntimeException {
+
+    public SeatMapNotFoundException(Long flightId) {
+        super("No seat map configured for flight with ID: " + flightId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.airline.exception;
+
+import com.airline.seating.SeatLayout;
+
+import java.util.List;
+
+/**
+ * Thrown when requested seats are already taken or no block of adjacent free seats is left.
+ */
+public class SeatUnavailableException extends RuntimeException {
+
+    public SeatUnavailableException(Long flightId, List<String> seats) {
+        super("Seats " + String.join(", ", seats) + " on flight " + flightId + " are not available");
+    }
+
+    public SeatUnavailableException(Long flightId, int count, SeatLayout.CabinClass cabinClass) {
+        super("Flight " + flightId + " does not have " + count + " adjacent free seats"
+            + (cabinClass == null ? "" : " in " + cabinClass));
+    }
+}
@@ -0,0 +1,19 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a request is shed because the service is saturated.
+ * Carries the number of seconds the client should wait before retrying.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when a waitlist entry does not exist for the requested flight.
+ */
+public class WaitlistEntryNotFoundException extends RuntimeException {
+
+    public WaitlistEntryNotFoundException(Long flightId, Long entryId) {
+        super("Waitlist entry not found with ID: " + entryId + " for flight: " + flightId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.exception;
+
+/**
+ * Thrown when an asynchronous write ticket is unknown or has already been discarded.
+ */
+public class WriteTicketNotFoundException extends RuntimeException {
+
+    public WriteTicketNotFoundException(String ticket) {
+        super("Write ticket not found: " + ticket);
+    }
+}
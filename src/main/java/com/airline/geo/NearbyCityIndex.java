@@ -0,0 +1,106 @@
+package com.airline.geo;
+
+import com.airline.entity.City;
+import com.airline.repository.CityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory spatial index over the city reference table.
+ *
+ * Expands a city to every city within a radius, so a search for departures "within 150 km
+ * of Berlin" becomes one {@code dep_city IN (...)} query. Cities are looked up by name or
+ * IATA code, case-insensitively. The table is small and changes rarely, so it is loaded at
+ * startup and rebuilt periodically; each rebuild swaps in a new immutable tree.
+ */
+@Component
+public class NearbyCityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearbyCityIndex.class);
+
+    private final CityRepository cityRepository;
+    private final double maxRadiusKm;
+
+    private volatile Index index = new Index(List.of());
+
+    public NearbyCityIndex(CityRepository cityRepository,
+                           @Value("${airline.geo.max-radius-km:500}") double maxRadiusKm) {
+        this.cityRepository = cityRepository;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${airline.geo.refresh-interval-ms:3600000}",
+               fixedDelayString = "${airline.geo.refresh-interval-ms:3600000}")
+    public void reload() {
+        try {
+            index = new Index(cityRepository.findAll());
+            log.info("Nearby city index loaded with {} cities", index.tree.size());
+        } catch (RuntimeException e) {
+            log.warn("Nearby city index load failed, keeping {} cities", index.tree.size(), e);
+        }
+    }
+
+    public int size() {
+        return index.tree.size();
+    }
+
+    /**
+     * Names of the cities within {@code radiusKm} of {@code city}, including the city itself.
+     *
+     * @throws IllegalArgumentException if the city is unknown or the radius is out of range
+     */
+    public Set<String> expand(String city, double radiusKm) {
+        if (!(radiusKm >= 0 && radiusKm <= maxRadiusKm)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        Index current = index;
+        City center = current.lookup(city);
+        if (center == null) {
+            throw new IllegalArgumentException("Unknown city: " + city);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add(center.getName());
+        for (City nearby : current.tree.withinRadius(center.getLatitude(), center.getLongitude(), radiusKm)) {
+            names.add(nearby.getName());
+        }
+        return names;
+    }
+
+    private static final class Index {
+
+        private final SphericalKdTree<City> tree;
+        private final Map<String, City> byKey = new HashMap<>();
+
+        private Index(List<City> cities) {
+            this.tree = new SphericalKdTree<>(cities, City::getLatitude, City::getLongitude);
+            for (City city : cities) {
+                byKey.putIfAbsent(city.getIataCode().toLowerCase(Locale.ROOT), city);
+            }
+            // Names win over IATA codes when both match the same key
+            for (City city : cities) {
+                byKey.put(city.getName().toLowerCase(Locale.ROOT), city);
+            }
+        }
+
+        private City lookup(String city) {
+            return city == null ? null : byKey.get(city.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.airline.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable k-d tree over points on the earth's surface.
+ *
+ * Each point is stored as a unit vector in three dimensions rather than as latitude and
+ * longitude, so there is no special case at the antimeridian or the poles: the straight-line
+ * (chord) distance between two unit vectors grows monotonically with their great-circle
+ * distance, and a radius query becomes a plain Euclidean ball query. The tree is laid out
+ * in arrays with the median of each range at its middle index, so a query touches only
+ * the subtrees whose splitting plane lies within the radius.
+ */
+public class SphericalKdTree<T> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int DIMENSIONS = 3;
+
+    private final List<T> items;
+    private final double[][] points;
+
+    public SphericalKdTree(List<T> items, ToDoubleFunction<T> latitude, ToDoubleFunction<T> longitude) {
+        int size = items.size();
+        Entry<T>[] entries = newEntries(size);
+        for (int i = 0; i < size; i++) {
+            T item = items.get(i);
+            entries[i] = new Entry<>(item, toUnitVector(latitude.applyAsDouble(item), longitude.applyAsDouble(item)));
+        }
+        build(entries, 0, size, 0);
+        List<T> ordered = new ArrayList<>(size);
+        this.points = new double[size][];
+        for (int i = 0; i < size; i++) {
+            ordered.add(entries[i].item);
+            points[i] = entries[i].point;
+        }
+        this.items = List.copyOf(ordered);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Items within {@code radiusKm} great-circle kilometres of the given position, in no
+     * particular order.
+     */
+    public List<T> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<T> result = new ArrayList<>();
+        if (items.isEmpty() || radiusKm < 0) {
+            return result;
+        }
+        double chord = radiusKm >= Math.PI * EARTH_RADIUS_KM
+            ? 2.0
+            : 2.0 * Math.sin(radiusKm / (2.0 * EARTH_RADIUS_KM));
+        search(toUnitVector(latitude, longitude), chord * chord, 0, items.size(), 0, result);
+        return result;
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine).
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void search(double[] target, double maxSquared, int from, int to, int axis, List<T> result) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double[] point = points[mid];
+        if (squaredDistance(point, target) <= maxSquared) {
+            result.add(items.get(mid));
+        }
+        double delta = target[axis] - point[axis];
+        int next = (axis + 1) % DIMENSIONS;
+        if (delta <= 0) {
+            search(target, maxSquared, from, mid, next, result);
+            if (delta * delta <= maxSquared) {
+                search(target, maxSquared, mid + 1, to, next, result);
+            }
+        } else {
+            search(target, maxSquared, mid + 1, to, next, result);
+            if (delta * delta <= maxSquared) {
+                search(target, maxSquared, from, mid, next, result);
+            }
+        }
+    }
+
+    private static <T> void build(Entry<T>[] entries, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        // Sorting the range is O(n log^2 n) overall, which is fine for a reference table
+        // that is rebuilt rarely; the median lands at the middle index.
+        Arrays.sort(entries, from, to, Comparator.comparingDouble(entry -> entry.point[axis]));
+        int mid = (from + to) >>> 1;
+        int next = (axis + 1) % DIMENSIONS;
+        build(entries, from, mid, next);
+        build(entries, mid + 1, to, next);
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] newEntries(int size) {
+        return new Entry[size];
+    }
+
+    private record Entry<T>(T item, double[] point) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.airline.hold;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for large numbers of timeouts.
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above covers
+ * {@code wheelSize} times the span of the one below. A timeout is placed in the lowest
+ * level that can hold its deadline and is cascaded down as the wheel turns, so
+ * scheduling, cancelling and expiring are O(1) regardless of how many timeouts exist.
+ *
+ * The wheel is owned by a single ticker thread. {@link #schedule} only appends to a
+ * lock-free queue that the ticker drains at every tick; cancellation just flags the
+ * timeout and it is dropped when its bucket comes up. Expired payloads are handed to
+ * the callback on the ticker thread, which should therefore return quickly.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(HierarchicalTimingWheel.class);
+
+    private static final int LEVELS = 5;
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private final List<Timeout<T>>[][] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+
+    private final long startMillis;
+    private volatile Thread ticker;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, Consumer<T> onExpire) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.onExpire = onExpire;
+        this.buckets = new List[LEVELS][wheelSize];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new ArrayList<>();
+            }
+        }
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    public synchronized void start(String threadName) {
+        if (ticker != null) {
+            return;
+        }
+        ticker = new Thread(this::run, threadName);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedule the payload to expire at the given wall-clock time. Deadlines in the past
+     * expire on the next tick.
+     */
+    public Timeout<T> schedule(T payload, long deadlineEpochMillis) {
+        long deadlineTick = Math.max(0, ceilDiv(deadlineEpochMillis - startMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(payload, deadlineTick);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        // Tick 0 is the construction time, so timeouts scheduled before start() keep their deadlines
+        long origin = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - startMillis);
+        while (!Thread.currentThread().isInterrupted()) {
+            long wait = origin + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                log.error("Timing wheel tick {} failed", currentTick, e);
+            }
+        }
+    }
+
+    /**
+     * Move the wheel forward by one tick: take in new timeouts, cascade the higher-level
+     * buckets whose span starts now, and fire everything due in the current level-0 bucket.
+     */
+    void advance() {
+        currentTick++;
+        Timeout<T> added;
+        while ((added = pending.poll()) != null) {
+            place(added);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                int slot = (int) ((currentTick >>> (bits * level)) & mask);
+                List<Timeout<T>> bucket = buckets[level][slot];
+                buckets[level][slot] = new ArrayList<>();
+                bucket.forEach(this::place);
+            }
+        }
+        int slot = (int) (currentTick & mask);
+        List<Timeout<T>> due = buckets[0][slot];
+        buckets[0][slot] = new ArrayList<>();
+        due.forEach(this::fire);
+    }
+
+    private void place(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            fire(timeout);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((timeout.deadlineTick >>> (bits * level)) & mask);
+        buckets[level][slot].add(timeout);
+    }
+
+    private void fire(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        try {
+            onExpire.accept(timeout.payload);
+        } catch (RuntimeException e) {
+            log.error("Timeout callback failed for {}", timeout.payload, e);
+        }
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Handle to a scheduled payload.
+     */
+    public static final class Timeout<T> {
+
+        private final T payload;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
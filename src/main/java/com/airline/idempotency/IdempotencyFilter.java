@@ -0,0 +1,271 @@
+package com.airline.idempotency;
+
+import com.airline.config.ClientKeyResolver;
+import com.airline.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the {@code Idempotency-Key} header on mutating flight endpoints.
+ *
+ * The first request with a key runs normally and its response is captured; later requests
+ * with the same key get that response replayed without reaching the controller. Duplicates
+ * arriving while the first one is still running wait for it, on this instance or, by polling
+ * the table, on another one, and get 409 once the wait timeout passes. Server errors are not
+ * stored, so a retry after a 5xx executes again.
+ *
+ * Keys are scoped to the client ({@link ClientKeyResolver}), so two clients choosing the same
+ * key never see each other's responses. The fingerprint covers method, path and a hash of the
+ * body; reusing a key for a different request is rejected with 422.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long waitTimeoutMillis;
+    private final long pollIntervalMillis;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${airline.idempotency.enabled:true}") boolean enabled,
+                             @Value("${airline.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                             @Value("${airline.idempotency.poll-interval-ms:100}") long pollIntervalMillis,
+                             @Value("${airline.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+            || !MUTATING_METHODS.contains(request.getMethod())
+            || !request.getRequestURI().startsWith("/api/v1/flights")
+            || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+        String requestKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (requestKey.isEmpty() || requestKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "Invalid Idempotency Key",
+                "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        // Scoped to the client; hashed so any client key still fits the key column
+        String key = sha256((ClientKeyResolver.resolve(request) + "\n" + requestKey).getBytes(StandardCharsets.UTF_8));
+        BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+        String fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + sha256(buffered.body);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        while (true) {
+            Optional<StoredResponse> stored = store.find(key);
+            if (stored.isPresent()) {
+                replay(request, response, stored.get(), fingerprint);
+                return;
+            }
+            IdempotencyStore.Claim claim = store.tryClaim(key, fingerprint);
+            if (claim.state() == IdempotencyStore.Claim.State.OWNED) {
+                execute(buffered, response, chain, key, fingerprint);
+                return;
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                writeError(request, response, HttpStatus.CONFLICT, "Request In Progress",
+                    "A request with this Idempotency-Key is still being processed");
+                return;
+            }
+            try {
+                if (claim.state() == IdempotencyStore.Claim.State.RUNNING_ELSEWHERE) {
+                    // Held by another instance: poll the table until its response is stored
+                    TimeUnit.NANOSECONDS.sleep(Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis)));
+                    continue;
+                }
+                StoredResponse result = claim.running().get(remainingNanos, TimeUnit.NANOSECONDS);
+                if (result != null) {
+                    replay(request, response, result, fingerprint);
+                    return;
+                }
+                // The first execution failed without a storable response; try to run it ourselves
+            } catch (TimeoutException e) {
+                writeError(request, response, HttpStatus.CONFLICT, "Request In Progress",
+                    "A request with this Idempotency-Key is still being processed");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            byte[] body = wrapper.getContentAsByteArray();
+            if (status < 500 && body.length <= maxBodyBytes) {
+                store.complete(key, fingerprint, status, wrapper.getContentType(), body);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key, null);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse stored,
+                        String fingerprint) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency Key Reused",
+                "Idempotency-Key was already used for a different request");
+            return;
+        }
+        log.debug("Replaying stored response for {}", fingerprint);
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String error, String message) throws IOException {
+        log.warn("Idempotency check failed: {}", message);
+
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setStatus(status.value());
+        errorResponse.setMessage(message);
+        errorResponse.setError(error);
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setPath(request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * Request whose body has been read up front, so it can be hashed and still be read by
+     * the controller.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available right away
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
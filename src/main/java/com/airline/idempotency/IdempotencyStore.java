@@ -0,0 +1,205 @@
+package com.airline.idempotency;
+
+import com.airline.entity.IdempotencyRecord;
+import com.airline.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-level store for idempotent responses: a bounded LRU map in front of the
+ * {@code idempotency_record} table. The table lets keys survive restarts and be shared
+ * between instances; the map keeps the retry storm after a timeout off the database.
+ *
+ * Executions are claimed by inserting a PENDING row, so a duplicate sent to another instance
+ * fails on the primary key instead of running again. A claim expires after the claim TTL,
+ * after which a crashed owner's key can be taken over. Duplicates within this instance wait
+ * on the running execution's future rather than polling the table.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration claimTtl;
+    private final Map<String, StoredResponse> recent;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${airline.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${airline.idempotency.claim-ttl-seconds:60}") long claimTtlSeconds,
+                            @Value("${airline.idempotency.max-entries:10000}") int maxEntries) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.claimTtl = Duration.ofSeconds(claimTtlSeconds);
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Stored response for the key, from memory first and then from the table. Keys whose
+     * request is still executing have none.
+     */
+    public Optional<StoredResponse> find(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse cached;
+        synchronized (recent) {
+            cached = recent.get(key);
+        }
+        if (cached != null && !cached.isExpired(now)) {
+            return Optional.of(cached);
+        }
+        Optional<StoredResponse> stored = repository.findById(key)
+            .filter(record -> record.getState() == IdempotencyRecord.State.COMPLETED)
+            .map(record -> new StoredResponse(record.getFingerprint(), record.getStatusCode(),
+                record.getContentType(), record.getBody(), record.getExpiresAt()))
+            .filter(response -> !response.isExpired(now));
+        stored.ifPresent(response -> remember(key, response));
+        return stored;
+    }
+
+    /**
+     * Claim execution of the key: locally first, so duplicates on this instance can wait on
+     * the future, then durably in the table.
+     */
+    public Claim tryClaim(String key, String fingerprint) {
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, new CompletableFuture<>());
+        if (running != null) {
+            return Claim.runningHere(running);
+        }
+        boolean claimed;
+        try {
+            claimed = insertPending(key, fingerprint);
+        } catch (DataAccessException e) {
+            log.warn("Could not claim idempotency key {} in the database, claiming it in memory only", key, e);
+            claimed = true;
+        }
+        if (claimed) {
+            return Claim.OWNED;
+        }
+        // Completed or still running on another instance; local waiters look again
+        wakeWaiters(key, null);
+        return Claim.RUNNING_ELSEWHERE;
+    }
+
+    /**
+     * Store the response of a claimed execution and wake up waiting duplicates.
+     */
+    public void complete(String key, String fingerprint, int status, String contentType, byte[] body) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse response = new StoredResponse(fingerprint, status, contentType, body, now.plus(ttl));
+        try {
+            int updated = repository.complete(key, status, contentType, body, response.expiresAt(),
+                IdempotencyRecord.State.PENDING, IdempotencyRecord.State.COMPLETED);
+            if (updated == 0) {
+                // Claimed in memory only, or the claim expired and was removed
+                repository.saveAndFlush(new IdempotencyRecord(key, fingerprint, status, contentType, body, now,
+                    response.expiresAt()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Idempotency key {} was claimed by another instance after this claim expired; "
+                + "the request may have executed twice", key);
+        } catch (DataAccessException e) {
+            log.warn("Could not persist idempotency key {}, keeping it in memory only", key, e);
+        }
+        remember(key, response);
+        release(key, response);
+    }
+
+    /**
+     * Give up a claim; waiters receive {@code response}, or {@code null} to make one of them
+     * execute the request itself, in which case the PENDING row is removed as well.
+     */
+    public void release(String key, StoredResponse response) {
+        if (response == null) {
+            try {
+                repository.deleteInState(key, IdempotencyRecord.State.PENDING);
+            } catch (DataAccessException e) {
+                log.warn("Could not release idempotency key {}; it frees up after the claim TTL", key, e);
+            }
+        }
+        wakeWaiters(key, response);
+    }
+
+    @Scheduled(fixedDelayString = "${airline.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            recent.values().removeIf(response -> response.isExpired(now));
+        }
+        int removed = repository.deleteExpired(now);
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    /**
+     * Insert the PENDING row; an expired claim left by a crashed owner is taken over.
+     *
+     * @return false when another execution holds or has completed the key
+     */
+    private boolean insertPending(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                repository.saveAndFlush(IdempotencyRecord.pending(key, fingerprint, now, now.plus(claimTtl)));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (repository.deleteIfExpired(key, IdempotencyRecord.State.PENDING, now) == 0) {
+                    return false;
+                }
+                log.warn("Taking over expired claim on idempotency key {}", key);
+            }
+        }
+        return false;
+    }
+
+    private void wakeWaiters(String key, StoredResponse response) {
+        CompletableFuture<StoredResponse> running = inFlight.remove(key);
+        if (running != null) {
+            running.complete(response);
+        }
+    }
+
+    private void remember(String key, StoredResponse response) {
+        synchronized (recent) {
+            recent.put(key, response);
+        }
+    }
+
+    /**
+     * Outcome of {@link #tryClaim}: the caller owns the key, a duplicate is executing on this
+     * instance ({@code running} completes with its response), or the key is held elsewhere.
+     */
+    public record Claim(State state, CompletableFuture<StoredResponse> running) {
+
+        static final Claim OWNED = new Claim(State.OWNED, null);
+        static final Claim RUNNING_ELSEWHERE = new Claim(State.RUNNING_ELSEWHERE, null);
+
+        static Claim runningHere(CompletableFuture<StoredResponse> running) {
+            return new Claim(State.RUNNING_HERE, running);
+        }
+
+        public enum State {
+            OWNED, RUNNING_HERE, RUNNING_ELSEWHERE
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.airline.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response captured for an idempotency key. The fingerprint (method, path and body hash) guards
+ * against a key being reused for a different request.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+
+    boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
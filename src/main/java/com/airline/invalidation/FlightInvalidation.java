@@ -0,0 +1,28 @@
+package com.airline.invalidation;
+
+/**
+ * Message broadcast to other nodes after a flight write commits.
+ *
+ * @param flightId flight that changed
+ * @param version  version of the flight after the write; receivers drop messages older than what they have seen
+ * @param removed  true when the flight was deleted or archived
+ * @param origin   id of the node that made the write, so it can ignore its own messages
+ */
+public record FlightInvalidation(long flightId, long version, boolean removed, String origin) {
+
+    /**
+     * Compact text form, small enough for a NOTIFY payload.
+     */
+    public String encode() {
+        return flightId + ":" + version + ":" + (removed ? 1 : 0) + ":" + origin;
+    }
+
+    public static FlightInvalidation decode(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        return new FlightInvalidation(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+            "1".equals(parts[2]), parts[3]);
+    }
+}
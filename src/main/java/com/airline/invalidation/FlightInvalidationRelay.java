@@ -0,0 +1,92 @@
+package com.airline.invalidation;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the per-node flight caches coherent across instances.
+ *
+ * Local writes are broadcast on the {@link InvalidationBus} after commit. Messages from
+ * other nodes are checked against the highest version seen for that flight, so late or
+ * reordered messages are dropped; a removal always wins over an update of the same version. The rest are replayed locally as remote
+ * {@link FlightChangedEvent}s: removals evict, updates reload the flight from the primary
+ * and refresh the caches with it.
+ */
+@Component
+public class FlightInvalidationRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightInvalidationRelay.class);
+
+    private final InvalidationBus bus;
+    private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final VersionTracker versions;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public FlightInvalidationRelay(InvalidationBus bus,
+                                   FlightRepository flightRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${airline.invalidation.max-tracked-flights:100000}") int maxTrackedFlights) {
+        this.bus = bus;
+        this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.versions = new VersionTracker(maxTrackedFlights);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        Long version = event.getFlight().getVersion();
+        long current = version == null ? 0 : version;
+        versions.advance(event.getFlightId(), current, event.isRemoval());
+        bus.publish(new FlightInvalidation(event.getFlightId(), current, event.isRemoval(), nodeId));
+    }
+
+    void onInvalidation(FlightInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (!versions.advance(invalidation.flightId(), invalidation.version(), invalidation.removed())) {
+            log.debug("Ignoring stale invalidation {}", invalidation);
+            return;
+        }
+        if (invalidation.removed()) {
+            Flight removed = Flight.builder().id(invalidation.flightId()).version(invalidation.version()).build();
+            eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED, removed, true));
+            return;
+        }
+        // A read-write transaction keeps the reload on the primary, which already has the change
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<Flight> flight = flightRepository.findById(invalidation.flightId());
+            if (flight.isPresent()) {
+                eventPublisher.publishEvent(
+                    new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight.get(), true));
+            } else {
+                Flight removed = Flight.builder().id(invalidation.flightId()).version(invalidation.version()).build();
+                eventPublisher.publishEvent(
+                    new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED, removed, true));
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.airline.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport for flight invalidations between nodes. Implementations deliver every published
+ * message to the subscribers of all nodes, including the publisher's own.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Broadcast a message. Called after the write committed.
+     */
+    void publish(FlightInvalidation invalidation);
+
+    /**
+     * Register a receiver for messages from any node.
+     */
+    void subscribe(Consumer<FlightInvalidation> subscriber);
+}
@@ -0,0 +1,39 @@
+package com.airline.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus that hands each message straight to the subscribers of this JVM.
+ * Used for single-node deployments and for tests that wire several relays to one bus.
+ */
+@Component
+@ConditionalOnProperty(name = "airline.invalidation.bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LoopbackInvalidationBus.class);
+
+    private final List<Consumer<FlightInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(FlightInvalidation invalidation) {
+        for (Consumer<FlightInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Invalidation subscriber failed for {}", invalidation, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<FlightInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,134 @@
+package com.airline.invalidation;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus over PostgreSQL {@code LISTEN/NOTIFY}.
+ *
+ * Publishing runs {@code pg_notify} on a short-lived autocommit connection. A dedicated
+ * listener thread keeps one connection in {@code LISTEN} and hands received payloads to
+ * the subscribers, reconnecting with a delay if the connection is lost. Messages sent while
+ * a node is disconnected are not replayed; the version check on the receiving side keeps
+ * later messages safe to apply.
+ */
+@Component
+@ConditionalOnProperty(name = "airline.invalidation.bus", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final List<Consumer<FlightInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+
+    public PostgresInvalidationBus(DataSource dataSource,
+                                   @Value("${airline.invalidation.channel:flight_invalidation}") String channel,
+                                   @Value("${airline.invalidation.poll-timeout-ms:500}") int pollTimeoutMillis,
+                                   @Value("${airline.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid invalidation channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.listener = new Thread(this::listen, "invalidation-listener");
+        this.listener.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(FlightInvalidation invalidation) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            if (!connection.getAutoCommit()) {
+                connection.setAutoCommit(true);
+            }
+            statement.setString(1, channel);
+            statement.setString(2, invalidation.encode());
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Failed to publish invalidation {}", invalidation, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<FlightInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void listen() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for flight invalidations on channel {}", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!Thread.currentThread().isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Invalidation listener lost its connection, reconnecting in {} ms", reconnectDelayMillis, e);
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        FlightInvalidation invalidation;
+        try {
+            invalidation = FlightInvalidation.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed invalidation: {}", payload);
+            return;
+        }
+        for (Consumer<FlightInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Invalidation subscriber failed for {}", invalidation, e);
+            }
+        }
+    }
+}
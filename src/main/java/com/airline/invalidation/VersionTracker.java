@@ -0,0 +1,41 @@
+package com.airline.invalidation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Highest version seen per flight, bounded to the most recently touched flights.
+ * Used to drop invalidations that arrive late or out of order.
+ *
+ * A delete or archive does not bump the flight's version, so changes are ordered on
+ * (version, removed): a removal wins over an update of the same version and stays as a
+ * tombstone that drops that update if it arrives later.
+ */
+public class VersionTracker {
+
+    private final LinkedHashMap<Long, Long> versions;
+
+    public VersionTracker(int maxEntries) {
+        this.versions = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Record the change if it is newer than the one seen so far.
+     *
+     * @return true when the change advanced and the message should be applied
+     */
+    public synchronized boolean advance(long flightId, long version, boolean removed) {
+        long rank = 2 * version + (removed ? 1 : 0);
+        Long seen = versions.get(flightId);
+        if (seen != null && seen >= rank) {
+            return false;
+        }
+        versions.put(flightId, rank);
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.airline.payment;
+
+/**
+ * Thrown when a payment call fails. Retryable failures (the provider was unavailable) may
+ * succeed when repeated with the same idempotency key; the others, such as a declined card,
+ * will not.
+ */
+public class PaymentException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public PaymentException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,25 @@
+package com.airline.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment provider used by the booking saga.
+ *
+ * Calls are asynchronous: an implementation must not block the calling thread while the
+ * provider works, so a slow provider costs neither a worker thread nor a database connection.
+ * Both operations are idempotent per {@link PaymentRequest#idempotencyKey()}, which makes
+ * retrying a timed-out call safe. Failures complete the future with a {@link PaymentException}.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charge the amount. Repeating a charge with the same key returns the first result.
+     */
+    CompletableFuture<PaymentResult> charge(PaymentRequest request);
+
+    /**
+     * Refund the charge made with the given key. Completes normally when there was nothing to
+     * refund, and a charge with that key arriving later is refused.
+     */
+    CompletableFuture<Void> refund(String idempotencyKey);
+}
@@ -0,0 +1,11 @@
+package com.airline.payment;
+
+/**
+ * A charge for a booking.
+ *
+ * @param idempotencyKey identifies the charge across retries
+ * @param amount         amount in the flight's currency
+ * @param payerEmail     email of the paying customer
+ */
+public record PaymentRequest(String idempotencyKey, double amount, String payerEmail) {
+}
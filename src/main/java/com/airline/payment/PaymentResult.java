@@ -0,0 +1,10 @@
+package com.airline.payment;
+
+/**
+ * A successful charge.
+ *
+ * @param paymentId provider reference of the charge
+ * @param amount    amount charged
+ */
+public record PaymentResult(String paymentId, double amount) {
+}
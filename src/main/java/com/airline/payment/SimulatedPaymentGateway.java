@@ -0,0 +1,106 @@
+package com.airline.payment;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for a payment provider with configurable latency and failure rates.
+ *
+ * Each call completes on a timer after the simulated latency, so waiting for it occupies no
+ * thread. A share of calls fails as if the provider were unavailable (retryable) and a share
+ * of charges is declined (not retryable). Charges are remembered per idempotency key like a
+ * real provider would.
+ */
+@Component
+@ConditionalOnProperty(name = "airline.payments.gateway", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedPaymentGateway.class);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double failureRate;
+    private final double declineRate;
+    private final Map<String, Charge> charges = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payment-simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SimulatedPaymentGateway(@Value("${airline.payments.simulated.latency-ms:300}") long latencyMillis,
+                                   @Value("${airline.payments.simulated.jitter-ms:200}") long jitterMillis,
+                                   @Value("${airline.payments.simulated.failure-rate:0.05}") double failureRate,
+                                   @Value("${airline.payments.simulated.decline-rate:0.02}") double declineRate) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.failureRate = failureRate;
+        this.declineRate = declineRate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> charge(PaymentRequest request) {
+        return respond(() -> {
+            Charge charge = charges.computeIfAbsent(request.idempotencyKey(), key -> ThreadLocalRandom.current().nextDouble() < declineRate
+                ? new Charge(null, request.amount(), false)
+                : new Charge("pay_" + UUID.randomUUID().toString().replace("-", ""), request.amount(), false));
+            if (charge.refunded()) {
+                throw new PaymentException("Charge " + request.idempotencyKey() + " was already refunded", false);
+            }
+            if (charge.paymentId() == null) {
+                throw new PaymentException("Payment declined", false);
+            }
+            log.debug("Charged {} for {} as {}", charge.amount(), request.idempotencyKey(), charge.paymentId());
+            return new PaymentResult(charge.paymentId(), charge.amount());
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> refund(String idempotencyKey) {
+        return respond(() -> {
+            charges.merge(idempotencyKey, new Charge(null, 0, true),
+                (charge, refunded) -> new Charge(charge.paymentId(), charge.amount(), true));
+            log.debug("Refunded {}", idempotencyKey);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> respond(Supplier<T> outcome) {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        timer.schedule(() -> {
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                response.completeExceptionally(new PaymentException("Payment provider unavailable", true));
+                return;
+            }
+            try {
+                response.complete(outcome.get());
+            } catch (RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    private record Charge(String paymentId, double amount, boolean refunded) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline.pricing;
+
+import com.airline.entity.Flight;
+
+/**
+ * Supplies the current load factor (0..1) of a flight to the pricing engine.
+ */
+public interface LoadFactorProvider {
+
+    double loadFactor(Flight flight);
+}
@@ -0,0 +1,12 @@
+package com.airline.pricing;
+
+/**
+ * Inputs a fare is computed from. Two contexts that are equal produce the same fare,
+ * which is what makes computed fares cacheable.
+ *
+ * @param basePrice       the flight's stored price
+ * @param daysToDeparture whole calendar days until departure, never negative
+ * @param loadFactor      share of seats sold or held, between 0 and 1
+ */
+public record PricingContext(double basePrice, long daysToDeparture, double loadFactor) {
+}
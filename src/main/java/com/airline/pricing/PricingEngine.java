@@ -0,0 +1,84 @@
+package com.airline.pricing;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes fares from the base price, days to departure and load factor.
+ *
+ * The computed fare is cached per flight together with the inputs it was derived from:
+ * flight version, days to departure and load factor (in whole percent). On the hot
+ * search path only those inputs are compared; the rules run again only when one of them
+ * changed, i.e. after an update, once a day, or when the load factor moves.
+ */
+@Component
+public class PricingEngine {
+
+    private final List<PricingRule> rules;
+    private final LoadFactorProvider loadFactorProvider;
+    private final Map<Long, CachedFare> fares = new ConcurrentHashMap<>();
+
+    public PricingEngine(LoadFactorProvider loadFactorProvider,
+                         @Value("${airline.pricing.advance-purchase-tiers:60:0.85,30:1.0,14:1.15,7:1.3,0:1.5}")
+                         String advancePurchaseTiers,
+                         @Value("${airline.pricing.load-factor-tiers:0.9:1.4,0.8:1.2,0.5:1.05}")
+                         String loadFactorTiers) {
+        this.loadFactorProvider = loadFactorProvider;
+        this.rules = List.of(
+            TieredPricingRule.advancePurchase(advancePurchaseTiers),
+            TieredPricingRule.loadFactor(loadFactorTiers));
+    }
+
+    /**
+     * Current fare for the flight, served from cache while its inputs are unchanged.
+     * Unsaved flights (no id yet) are priced without the cache.
+     */
+    public double quote(Flight flight) {
+        long version = flight.getVersion() == null ? 0 : flight.getVersion();
+        long days = Math.max(0, ChronoUnit.DAYS.between(LocalDate.now(), flight.getDepartureDateTime().toLocalDate()));
+        double loadFactor = loadFactorProvider.loadFactor(flight);
+        int loadPercent = (int) Math.floor(loadFactor * 100);
+
+        CachedFare cached = flight.getId() == null ? null : fares.get(flight.getId());
+        if (cached != null && cached.matches(version, flight.getPrice(), days, loadPercent)) {
+            return cached.fare;
+        }
+        double fare = compute(new PricingContext(flight.getPrice(), days, loadPercent / 100.0));
+        if (flight.getId() != null) {
+            fares.put(flight.getId(), new CachedFare(version, flight.getPrice(), days, loadPercent, fare));
+        }
+        return fare;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        fares.remove(event.getFlightId());
+    }
+
+    private double compute(PricingContext context) {
+        double fare = context.basePrice();
+        for (PricingRule rule : rules) {
+            fare *= rule.multiplier(context);
+        }
+        return Math.round(fare * 100) / 100.0;
+    }
+
+    private record CachedFare(long version, double basePrice, long daysToDeparture, int loadPercent, double fare) {
+
+        boolean matches(long version, double basePrice, long daysToDeparture, int loadPercent) {
+            return this.version == version
+                && this.basePrice == basePrice
+                && this.daysToDeparture == daysToDeparture
+                && this.loadPercent == loadPercent;
+        }
+    }
+}
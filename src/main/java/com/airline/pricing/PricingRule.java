@@ -0,0 +1,9 @@
+package com.airline.pricing;
+
+/**
+ * A single pricing adjustment, expressed as a multiplier applied to the base price.
+ */
+public interface PricingRule {
+
+    double multiplier(PricingContext context);
+}
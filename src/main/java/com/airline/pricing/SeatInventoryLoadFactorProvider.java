@@ -0,0 +1,22 @@
+package com.airline.pricing;
+
+import com.airline.entity.Flight;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load factor derived from seat inventory: the share of capacity that is held or sold.
+ * Flights without a configured capacity report an empty cabin.
+ */
+@Component
+public class SeatInventoryLoadFactorProvider implements LoadFactorProvider {
+
+    @Override
+    public double loadFactor(Flight flight) {
+        Integer capacity = flight.getSeatCapacity();
+        Integer available = flight.getAvailableSeats();
+        if (capacity == null || capacity <= 0 || available == null) {
+            return 0.0;
+        }
+        return Math.min(1.0, Math.max(0.0, 1.0 - (double) available / capacity));
+    }
+}
@@ -0,0 +1,70 @@
+package com.airline.pricing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Step-function pricing rule configured as {@code threshold:multiplier} pairs, for example
+ * {@code 60:0.85,30:1.0,14:1.15,7:1.3,0:1.5}. The multiplier of the highest threshold that
+ * the input reaches applies; inputs below every threshold keep the base price.
+ */
+public class TieredPricingRule implements PricingRule {
+
+    private final String name;
+    private final ToDoubleFunction<PricingContext> input;
+    private final List<double[]> tiers;
+
+    public TieredPricingRule(String name, ToDoubleFunction<PricingContext> input, String tiers) {
+        this.name = name;
+        this.input = input;
+        this.tiers = parse(name, tiers);
+    }
+
+    /**
+     * Fewer days before departure means a higher price.
+     */
+    public static TieredPricingRule advancePurchase(String tiers) {
+        return new TieredPricingRule("advance-purchase", PricingContext::daysToDeparture, tiers);
+    }
+
+    /**
+     * Fuller flights are more expensive.
+     */
+    public static TieredPricingRule loadFactor(String tiers) {
+        return new TieredPricingRule("load-factor", PricingContext::loadFactor, tiers);
+    }
+
+    @Override
+    public double multiplier(PricingContext context) {
+        double value = input.applyAsDouble(context);
+        for (double[] tier : tiers) {
+            if (value >= tier[0]) {
+                return tier[1];
+            }
+        }
+        return 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static List<double[]> parse(String name, String spec) {
+        List<double[]> parsed = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return parsed;
+        }
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid " + name + " pricing tier: " + pair);
+            }
+            parsed.add(new double[] {Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim())});
+        }
+        parsed.sort(Comparator.comparingDouble((double[] tier) -> tier[0]).reversed());
+        return parsed;
+    }
+}
@@ -0,0 +1,12 @@
+package com.airline.repository;
+
+import com.airline.entity.ArchivedFlight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA Repository for archived (completed) flights.
+ */
+@Repository
+public interface ArchivedFlightRepository extends JpaRepository<ArchivedFlight, Long> {
+}
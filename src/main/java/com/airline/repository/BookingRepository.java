@@ -0,0 +1,26 @@
+package com.airline.repository;
+
+import com.airline.entity.Booking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository for bookings.
+ */
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /**
+     * Find bookings by status created before a cutoff; used to settle bookings whose saga
+     * was interrupted.
+     */
+    List<Booking> findByStatusAndCreatedAtBefore(Booking.BookingStatus status, LocalDateTime cutoff);
+
+    /**
+     * Find bookings by status; used to retry refunds still owed.
+     */
+    List<Booking> findByStatus(Booking.BookingStatus status);
+}
@@ -0,0 +1,12 @@
+package com.airline.repository;
+
+import com.airline.entity.City;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA Repository for city reference data.
+ */
+@Repository
+public interface CityRepository extends JpaRepository<City, Long> {
+}
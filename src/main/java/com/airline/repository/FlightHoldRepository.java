@@ -0,0 +1,36 @@
+package com.airline.repository;
+
+import com.airline.entity.FlightHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for seat holds.
+ */
+@Repository
+public interface FlightHoldRepository extends JpaRepository<FlightHold, Long> {
+
+    /**
+     * Find holds by status; used to re-arm active holds after a restart.
+     */
+    List<FlightHold> findByStatus(FlightHold.HoldStatus status);
+
+    /**
+     * Find a hold belonging to the given flight.
+     */
+    Optional<FlightHold> findByIdAndFlightId(Long id, Long flightId);
+
+    /**
+     * Move an active hold to a final status. Returns 0 when it was already released or expired,
+     * so inventory is returned exactly once even if release and expiry race.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE FlightHold h SET h.status = :status WHERE h.id = :id AND h.status = com.airline.entity.FlightHold.HoldStatus.ACTIVE")
+    int closeActive(@Param("id") Long id, @Param("status") FlightHold.HoldStatus status);
+}
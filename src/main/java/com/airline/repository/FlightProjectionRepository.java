@@ -0,0 +1,28 @@
+package com.airline.repository;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.entity.Flight;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Column-projected flight queries for sparse fieldsets.
+ */
+public interface FlightProjectionRepository {
+
+    /**
+     * Select only the columns behind {@code fields} and map them straight to DTOs.
+     * All fields must be columns; computed fields such as the fare need the full entity.
+     */
+    List<FlightDTO> findProjected(Specification<Flight> spec, Set<FlightField> fields, Sort sort);
+
+    /**
+     * Same as {@link #findProjected(Specification, Set, Sort)} with at most {@code limit} rows,
+     * applied in SQL so the database can stop after the first rows of the sort order.
+     */
+    List<FlightDTO> findProjected(Specification<Flight> spec, Set<FlightField> fields, Sort sort, Integer limit);
+}
@@ -0,0 +1,76 @@
+package com.airline.repository;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.entity.Flight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria-based implementation of {@link FlightProjectionRepository}, picked up by
+ * Spring Data as a fragment of {@link FlightRepository}.
+ */
+public class FlightProjectionRepositoryImpl implements FlightProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public FlightProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<FlightDTO> findProjected(Specification<Flight> spec, Set<FlightField> fields, Sort sort) {
+        return findProjected(spec, fields, sort, null);
+    }
+
+    @Override
+    public List<FlightDTO> findProjected(Specification<Flight> spec, Set<FlightField> fields, Sort sort,
+                                         Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Flight> root = query.from(Flight.class);
+
+        List<FlightField> selected = new ArrayList<>(fields);
+        List<Selection<?>> columns = new ArrayList<>(selected.size());
+        for (FlightField field : selected) {
+            if (!field.isColumn()) {
+                throw new IllegalArgumentException("Field " + field.getJsonName() + " cannot be projected");
+            }
+            columns.add(root.get(field.getAttribute()));
+        }
+        query.multiselect(columns);
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> rows = typedQuery.getResultList();
+        List<FlightDTO> flights = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            FlightDTO dto = new FlightDTO();
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).apply(dto, row.get(i));
+            }
+            flights.add(dto);
+        }
+        return flights;
+    }
+}
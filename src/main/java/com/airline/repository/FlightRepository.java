@@ -1,73 +1,140 @@
-package com.airline.repository;
-
-import com.airline.entity.Flight;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
-
-/**
- * Spring Data JPA Repository for Flight entity.
- * Provides CRUD operations and custom query methods.
- */
-@Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
-
-    /**
-     * Find all flights by departure city.
-     */
-    List<Flight> findByDepartureCity(String departureCity);
-
-    /**
-     * Find all flights by arrival city.
-     */
-    List<Flight> findByArrivalCity(String arrivalCity);
-
-    /**
-     * Find flights by status.
-     */
-    List<Flight> findByStatus(Flight.FlightStatus status);
-
-    /**
-     * Find flights by departure city, arrival city, and status.
-     */
-    List<Flight> findByDepartureCityAndArrivalCityAndStatus(
-        String departureCity,
-        String arrivalCity,
-        Flight.FlightStatus status
-    );
-
-    /**
-     * Custom query to find flights departing after a specific date.
-     */
-    @Query("SELECT f FROM Flight f WHERE f.departureDateTime >= :departureDateTime ORDER BY f.departureDateTime ASC")
-    List<Flight> findFlightsDepartingAfter(@Param("departureDateTime") LocalDateTime departureDateTime);
-
-    /**
-     * Custom query to search flights with flexible criteria.
-     */
-    @Query("SELECT f FROM Flight f WHERE " +
-           "(:departureCity IS NULL OR LOWER(f.departureCity) LIKE LOWER(CONCAT('%', :departureCity, '%'))) AND " +
-           "(:arrivalCity IS NULL OR LOWER(f.arrivalCity) LIKE LOWER(CONCAT('%', :arrivalCity, '%'))) AND " +
-           "(:status IS NULL OR f.status = :status) " +
-           "ORDER BY f.departureDateTime ASC")
-    List<Flight> searchFlights(
-        @Param("departureCity") String departureCity,
-        @Param("arrivalCity") String arrivalCity,
-        @Param("status") Flight.FlightStatus status
-    );
-
-    /**
-     * Find flights by airline name.
-     */
-    List<Flight> findByAirlineContainingIgnoreCase(String airline);
-
-    /**
-     * Check if a flight exists by departure and arrival cities.
-     */
-    boolean existsByDepartureCityAndArrivalCity(String departureCity, String arrivalCity);
-}
+package com.airline.repository;
+
+import com.airline.entity.Flight;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for Flight entity.
+ * Provides CRUD operations and custom query methods.
+ */
+@Repository
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight>,
+        FlightProjectionRepository {
+
+    /**
+     * Find all flights by departure city.
+     */
+    List<Flight> findByDepartureCity(String departureCity);
+
+    /**
+     * Find all flights by arrival city.
+     */
+    List<Flight> findByArrivalCity(String arrivalCity);
+
+    /**
+     * Find flights by status.
+     */
+    List<Flight> findByStatus(Flight.FlightStatus status);
+
+    /**
+     * Find flights by departure city, arrival city, and status.
+     */
+    List<Flight> findByDepartureCityAndArrivalCityAndStatus(
+        String departureCity,
+        String arrivalCity,
+        Flight.FlightStatus status
+    );
+
+    /**
+     * Custom query to find flights departing after a specific date.
+     */
+    @Query("SELECT f FROM Flight f WHERE f.departureDateTime >= :departureDateTime ORDER BY f.departureDateTime ASC")
+    List<Flight> findFlightsDepartingAfter(@Param("departureDateTime") LocalDateTime departureDateTime);
+
+    /**
+     * Custom query to search flights with flexible criteria. City fragments are LIKE patterns
+     * escaped with backslash; pass them through {@link FlightSpecifications#escapeLike} to
+     * match them literally.
+     */
+    @Query("SELECT f FROM Flight f WHERE " +
+           "(:departureCity IS NULL OR LOWER(f.departureCity) LIKE LOWER(CONCAT('%', :departureCity, '%')) ESCAPE '\\') AND " +
+           "(:arrivalCity IS NULL OR LOWER(f.arrivalCity) LIKE LOWER(CONCAT('%', :arrivalCity, '%')) ESCAPE '\\') AND " +
+           "(:status IS NULL OR f.status = :status) " +
+           "ORDER BY f.departureDateTime ASC")
+    List<Flight> searchFlights(
+        @Param("departureCity") String departureCity,
+        @Param("arrivalCity") String arrivalCity,
+        @Param("status") Flight.FlightStatus status
+    );
+
+    /**
+     * Keyset batch of flights that arrived before the cutoff, for archival.
+     */
+    @Query("SELECT f FROM Flight f WHERE f.arrivalDateTime < :cutoff AND f.id > :afterId ORDER BY f.id ASC")
+    List<Flight> findArchivableBatch(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Delete a flight only if it still has the given version, so an update committed after
+     * it was read is never lost. Returns 0 when the flight changed or is gone.
+     */
+    @Modifying
+    @Query("DELETE FROM Flight f WHERE f.id = :id AND f.version = :version")
+    int deleteIfUnchanged(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Atomically take seats from the flight's inventory. Returns 0 when not enough seats are left.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats - :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :id AND f.availableSeats >= :seats")
+    int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    /**
+     * Atomically return seats to the flight's inventory, never above its capacity.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats + :seats, f.version = f.version + 1 " +
+           "WHERE f.id = :id AND f.availableSeats + :seats <= f.seatCapacity")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    /**
+     * Find flights by airline name.
+     */
+    List<Flight> findByAirlineContainingIgnoreCase(String airline);
+
+    /**
+     * Find flights of any of the given airlines, spelled exactly.
+     */
+    List<Flight> findByAirlineIn(Collection<String> airlines);
+
+    /**
+     * Flight counts per departure city starting with a lower-case prefix (LIKE pattern).
+     */
+    @Query("SELECT f.departureCity, COUNT(f) FROM Flight f WHERE LOWER(f.departureCity) LIKE :pattern ESCAPE '\\' " +
+           "GROUP BY f.departureCity")
+    List<Object[]> countByDepartureCityLike(@Param("pattern") String pattern);
+
+    /**
+     * Flight counts per arrival city starting with a lower-case prefix (LIKE pattern).
+     */
+    @Query("SELECT f.arrivalCity, COUNT(f) FROM Flight f WHERE LOWER(f.arrivalCity) LIKE :pattern ESCAPE '\\' " +
+           "GROUP BY f.arrivalCity")
+    List<Object[]> countByArrivalCityLike(@Param("pattern") String pattern);
+
+    /**
+     * Flight counts per airline starting with a lower-case prefix (LIKE pattern).
+     */
+    @Query("SELECT f.airline, COUNT(f) FROM Flight f WHERE LOWER(f.airline) LIKE :pattern ESCAPE '\\' " +
+           "GROUP BY f.airline")
+    List<Object[]> countByAirlineLike(@Param("pattern") String pattern);
+
+    /**
+     * Check if a flight exists by departure and arrival cities.
+     */
+    boolean existsByDepartureCityAndArrivalCity(String departureCity, String arrivalCity);
+}
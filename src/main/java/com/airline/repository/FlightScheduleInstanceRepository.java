@@ -0,0 +1,23 @@
+package com.airline.repository;
+
+import com.airline.entity.FlightScheduleInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository for materialized schedule occurrences.
+ */
+@Repository
+public interface FlightScheduleInstanceRepository
+    extends JpaRepository<FlightScheduleInstance, FlightScheduleInstance.Key> {
+
+    /**
+     * Materialized occurrences of the given schedules departing within the window.
+     */
+    List<FlightScheduleInstance> findByScheduleIdInAndDepartureDateBetween(
+        Collection<Long> scheduleIds, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,31 @@
+package com.airline.repository;
+
+import com.airline.entity.FlightSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository for recurring flight schedules.
+ */
+@Repository
+public interface FlightScheduleRepository extends JpaRepository<FlightSchedule, Long> {
+
+    /**
+     * Schedules valid on at least one day of the window, with the same city criteria as
+     * {@link FlightRepository#searchFlights}.
+     */
+    @Query("SELECT s FROM FlightSchedule s WHERE s.validTo >= :from AND s.validFrom <= :to AND " +
+           "(:departureCity IS NULL OR LOWER(s.departureCity) LIKE LOWER(CONCAT('%', :departureCity, '%'))) AND " +
+           "(:arrivalCity IS NULL OR LOWER(s.arrivalCity) LIKE LOWER(CONCAT('%', :arrivalCity, '%')))")
+    List<FlightSchedule> findValidBetween(
+        @Param("departureCity") String departureCity,
+        @Param("arrivalCity") String arrivalCity,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+}
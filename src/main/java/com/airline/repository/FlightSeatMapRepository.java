@@ -0,0 +1,38 @@
+package com.airline.repository;
+
+import com.airline.entity.FlightSeatMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for flight seat maps.
+ */
+@Repository
+public interface FlightSeatMapRepository extends JpaRepository<FlightSeatMap, Long> {
+
+    /**
+     * The revision of the stored seat map, to tell whether a cached copy is still current.
+     */
+    @Query("SELECT m.revision FROM FlightSeatMap m WHERE m.flightId = :flightId")
+    Optional<Long> findRevision(@Param("flightId") Long flightId);
+
+    /**
+     * Store an occupancy bitset if the stored copy is still at the revision it was changed from.
+     *
+     * @return 1 if stored, 0 if the stored copy has been changed since
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE FlightSeatMap m SET m.occupied = :occupied, m.revision = :revision, m.updatedAt = :updatedAt " +
+           "WHERE m.flightId = :flightId AND m.revision = :expectedRevision")
+    int storeOccupancy(@Param("flightId") Long flightId,
+                       @Param("occupied") byte[] occupied,
+                       @Param("expectedRevision") long expectedRevision,
+                       @Param("revision") long revision,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,97 @@
+package com.airline.repository;
+
+import com.airline.dto.FlightFilter;
+import com.airline.entity.Flight;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPA Specifications for Flight queries that cannot be expressed as derived query methods.
+ */
+public final class FlightSpecifications {
+
+    /**
+     * Escape character used with {@link #escapeLike}.
+     */
+    public static final char LIKE_ESCAPE = '\\';
+
+    private FlightSpecifications() {
+    }
+
+    /**
+     * Escape LIKE wildcards so the value matches literally, with {@code ESCAPE '\\'}.
+     */
+    public static String escapeLike(String value) {
+        return value == null ? null : value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Same criteria as {@link FlightRepository#searchFlights}: case-insensitive literal
+     * substring match on the cities and exact status; null criteria are ignored.
+     */
+    public static Specification<Flight> search(String departureCity, String arrivalCity, Flight.FlightStatus status) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (departureCity != null) {
+                predicates.add(cb.like(cb.lower(root.get("departureCity")),
+                    "%" + escapeLike(departureCity.toLowerCase()) + "%", LIKE_ESCAPE));
+            }
+            if (arrivalCity != null) {
+                predicates.add(cb.like(cb.lower(root.get("arrivalCity")),
+                    "%" + escapeLike(arrivalCity.toLowerCase()) + "%", LIKE_ESCAPE));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Exact match of the cities against sets of city names, as produced by nearby-city
+     * expansion; a null set or status is ignored. The columns are compared without lower()
+     * so the IN lists can use idx_dep_city and idx_arr_city.
+     */
+    public static Specification<Flight> between(Set<String> departureCities, Set<String> arrivalCities,
+                                                Flight.FlightStatus status) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (departureCities != null) {
+                predicates.add(root.get("departureCity").in(departureCities));
+            }
+            if (arrivalCities != null) {
+                predicates.add(root.get("arrivalCity").in(arrivalCities));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * SQL equivalent of {@link FlightFilter}: IN per attribute, AND across attributes.
+     */
+    public static Specification<Flight> matching(FlightFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (Map.Entry<FlightFilter.Attribute, Set<String>> criterion : filter.getCriteria().entrySet()) {
+                Set<String> values = criterion.getValue();
+                switch (criterion.getKey()) {
+                    case STATUS -> predicates.add(root.get("status")
+                        .in(values.stream().map(Flight.FlightStatus::valueOf).toList()));
+                    case AIRLINE -> predicates.add(cb.lower(root.get("airline")).in(values));
+                    case TYPE -> predicates.add(cb.lower(root.get("type")).in(values));
+                    case DEPARTURE_CITY -> predicates.add(cb.lower(root.get("departureCity")).in(values));
+                    case ARRIVAL_CITY -> predicates.add(cb.lower(root.get("arrivalCity")).in(values));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
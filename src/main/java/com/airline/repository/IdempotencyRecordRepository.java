@@ -0,0 +1,60 @@
+package com.airline.repository;
+
+import com.airline.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spring Data JPA Repository for stored idempotent responses.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Store the response of a claimed key. Returns 0 when the claim is gone.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.state = :completed, r.statusCode = :statusCode, " +
+           "r.contentType = :contentType, r.body = :body, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :key AND r.state = :pending")
+    int complete(@Param("key") String key,
+                 @Param("statusCode") int statusCode,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt,
+                 @Param("pending") IdempotencyRecord.State pending,
+                 @Param("completed") IdempotencyRecord.State completed);
+
+    /**
+     * Delete the key's record if it is still in the given state.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :key AND r.state = :state")
+    int deleteInState(@Param("key") String key, @Param("state") IdempotencyRecord.State state);
+
+    /**
+     * Delete the key's record if it is still in the given state and expired before {@code before}.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :key AND r.state = :state AND r.expiresAt < :before")
+    int deleteIfExpired(@Param("key") String key,
+                        @Param("state") IdempotencyRecord.State state,
+                        @Param("before") LocalDateTime before);
+
+    /**
+     * Delete records whose TTL has passed.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,80 @@
+package com.airline.repository;
+
+import com.airline.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for flight waitlists.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    String PROMOTION_ORDER = "ORDER BY CASE w.tier " +
+        "WHEN com.airline.entity.WaitlistEntry.PriorityTier.PLATINUM THEN 0 " +
+        "WHEN com.airline.entity.WaitlistEntry.PriorityTier.GOLD THEN 1 " +
+        "WHEN com.airline.entity.WaitlistEntry.PriorityTier.SILVER THEN 2 " +
+        "ELSE 3 END, w.id";
+
+    /**
+     * Flights with waiting entries; used to resume promotion after a restart.
+     */
+    @Query("SELECT DISTINCT w.flightId FROM WaitlistEntry w " +
+           "WHERE w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.WAITING")
+    List<Long> findFlightIdsWithWaitingEntries();
+
+    /**
+     * Whether anyone is waiting on the flight.
+     */
+    boolean existsByFlightIdAndStatus(Long flightId, WaitlistEntry.WaitlistStatus status);
+
+    /**
+     * Waiting entries of a flight in promotion order: by tier, then by join order.
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.flightId = :flightId " +
+           "AND w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.WAITING " + PROMOTION_ORDER)
+    List<WaitlistEntry> findWaiting(@Param("flightId") Long flightId);
+
+    /**
+     * The first waiting entries of a flight in promotion order, locked until the transaction
+     * ends. Promoters on other instances wait for the lock rather than skipping the rows, so
+     * an entry can never be passed over while another instance is promoting it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.flightId = :flightId " +
+           "AND w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.WAITING " + PROMOTION_ORDER)
+    List<WaitlistEntry> lockWaiting(@Param("flightId") Long flightId, Pageable pageable);
+
+    /**
+     * Find an entry belonging to the given flight.
+     */
+    Optional<WaitlistEntry> findByIdAndFlightId(Long id, Long flightId);
+
+    /**
+     * Mark a waiting entry as promoted to the given hold. Returns 0 when the entry left the
+     * waitlist in the meantime, in which case the hold must be given back.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.PROMOTED, " +
+           "w.holdId = :holdId, w.promotedAt = :promotedAt " +
+           "WHERE w.id = :id AND w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.WAITING")
+    int promote(@Param("id") Long id, @Param("holdId") Long holdId, @Param("promotedAt") LocalDateTime promotedAt);
+
+    /**
+     * Take a waiting entry off the waitlist. Returns 0 when it was already promoted or cancelled.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.CANCELLED " +
+           "WHERE w.id = :id AND w.status = com.airline.entity.WaitlistEntry.WaitlistStatus.WAITING")
+    int cancelWaiting(@Param("id") Long id);
+}
@@ -0,0 +1,268 @@
+package com.airline.seating;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Cabin layout of an aircraft and the placement of its seats in the words of a {@link SeatMap}.
+ *
+ * A layout is a sequence of cabins, each a number of rows with the same seat letters, where a
+ * space marks an aisle ({@code "ABC DEF"}). Rows are numbered from 1 across all cabins. Each
+ * cabin starts on a fresh 64-bit word and a row never straddles two words, so every group of
+ * seats between aisles lies inside a single word and adjacency can be tested with shifts and
+ * masks on that word alone. Seats are identified by their bit position.
+ *
+ * The layout is stored as a compact spec string such as {@code "BUSINESS:4:AC DF;ECONOMY:30:ABC DEF"}.
+ */
+public final class SeatLayout {
+
+    private final List<Cabin> cabins;
+    private final int[] firstRow;
+    private final int[] firstWord;
+    private final int[] width;
+    private final int[] rowsPerWord;
+    private final String[] letters;
+    private final long[] seatMask;
+    private final long[] groupEnd;
+    private final int totalSeats;
+
+    public SeatLayout(List<Cabin> cabins) {
+        if (cabins == null || cabins.isEmpty()) {
+            throw new IllegalArgumentException("Seat layout needs at least one cabin");
+        }
+        this.cabins = List.copyOf(cabins);
+        int count = cabins.size();
+        this.firstRow = new int[count];
+        this.firstWord = new int[count + 1];
+        this.width = new int[count];
+        this.rowsPerWord = new int[count];
+        this.letters = new String[count];
+
+        Set<CabinClass> seen = EnumSet.noneOf(CabinClass.class);
+        int row = 1;
+        int seats = 0;
+        for (int i = 0; i < count; i++) {
+            Cabin cabin = cabins.get(i);
+            validate(cabin);
+            if (!seen.add(cabin.cabinClass())) {
+                throw new IllegalArgumentException("Cabin class " + cabin.cabinClass() + " appears more than once");
+            }
+            letters[i] = cabin.seats().replace(" ", "");
+            width[i] = letters[i].length();
+            rowsPerWord[i] = Long.SIZE / width[i];
+            firstRow[i] = row;
+            firstWord[i + 1] = firstWord[i] + (cabin.rows() + rowsPerWord[i] - 1) / rowsPerWord[i];
+            row += cabin.rows();
+            seats += cabin.rows() * width[i];
+        }
+        this.totalSeats = seats;
+
+        int words = firstWord[count];
+        this.seatMask = new long[words];
+        this.groupEnd = new long[words];
+        for (int i = 0; i < count; i++) {
+            long rowEnds = groupEnds(cabins.get(i).seats());
+            long rowMask = (1L << width[i]) - 1;
+            for (int r = 0; r < cabins.get(i).rows(); r++) {
+                int word = firstWord[i] + r / rowsPerWord[i];
+                int offset = (r % rowsPerWord[i]) * width[i];
+                seatMask[word] |= rowMask << offset;
+                groupEnd[word] |= rowEnds << offset;
+            }
+        }
+    }
+
+    /**
+     * Parse a layout spec of {@code CLASS:rows:letters} entries separated by {@code ;}.
+     */
+    public static SeatLayout parse(String spec) {
+        List<Cabin> cabins = new ArrayList<>();
+        for (String entry : spec.split(";")) {
+            String[] parts = entry.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cabin in seat layout: " + entry);
+            }
+            try {
+                cabins.add(new Cabin(CabinClass.valueOf(parts[0]), Integer.parseInt(parts[1]), parts[2]));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cabin in seat layout: " + entry);
+            }
+        }
+        return new SeatLayout(cabins);
+    }
+
+    public String toSpec() {
+        StringBuilder spec = new StringBuilder();
+        for (Cabin cabin : cabins) {
+            if (!spec.isEmpty()) {
+                spec.append(';');
+            }
+            spec.append(cabin.cabinClass()).append(':').append(cabin.rows()).append(':').append(cabin.seats());
+        }
+        return spec.toString();
+    }
+
+    public List<Cabin> getCabins() {
+        return cabins;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    /**
+     * Number of 64-bit words a seat map of this layout occupies.
+     */
+    public int getWords() {
+        return seatMask.length;
+    }
+
+    public int firstRow(int cabinIndex) {
+        return firstRow[cabinIndex];
+    }
+
+    public int lastRow(int cabinIndex) {
+        return firstRow[cabinIndex] + cabins.get(cabinIndex).rows() - 1;
+    }
+
+    /**
+     * Index of the cabin with the given class, or -1 if the aircraft has none.
+     */
+    public int cabinIndex(CabinClass cabinClass) {
+        for (int i = 0; i < cabins.size(); i++) {
+            if (cabins.get(i).cabinClass() == cabinClass) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Seat for a label such as {@code "12C"}.
+     */
+    public int seat(String label) {
+        String normalized = label == null ? "" : label.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() < 2) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        int row;
+        try {
+            row = Integer.parseInt(normalized.substring(0, normalized.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        char letter = normalized.charAt(normalized.length() - 1);
+        for (int i = 0; i < cabins.size(); i++) {
+            int index = letters[i].indexOf(letter);
+            if (row >= firstRow(i) && row <= lastRow(i) && index >= 0) {
+                int relative = row - firstRow[i];
+                int word = firstWord[i] + relative / rowsPerWord[i];
+                return word * Long.SIZE + (relative % rowsPerWord[i]) * width[i] + index;
+            }
+        }
+        throw new IllegalArgumentException("Seat " + label + " does not exist on this aircraft");
+    }
+
+    /**
+     * Label such as {@code "12C"} for a seat.
+     */
+    public String label(int seat) {
+        int i = cabinOf(seat);
+        int offset = seat % Long.SIZE;
+        int relative = (seat / Long.SIZE - firstWord[i]) * rowsPerWord[i] + offset / width[i];
+        return String.valueOf(firstRow[i] + relative) + letters[i].charAt(offset % width[i]);
+    }
+
+    /**
+     * Index of the cabin a seat belongs to.
+     */
+    public int cabinOf(int seat) {
+        if (!isSeat(seat)) {
+            throw new IllegalArgumentException("No seat at position " + seat);
+        }
+        int word = seat / Long.SIZE;
+        int i = 0;
+        while (word >= firstWord[i + 1]) {
+            i++;
+        }
+        return i;
+    }
+
+    public boolean isSeat(int seat) {
+        return seat >= 0 && seat / Long.SIZE < seatMask.length && (seatMask[seat / Long.SIZE] & (1L << (seat % Long.SIZE))) != 0;
+    }
+
+    int firstWord(int cabinIndex) {
+        return firstWord[cabinIndex];
+    }
+
+    int endWord(int cabinIndex) {
+        return firstWord[cabinIndex + 1];
+    }
+
+    /**
+     * Bits of {@code word} that are seats.
+     */
+    long seatMask(int word) {
+        return seatMask[word];
+    }
+
+    /**
+     * Bits of {@code word} that are the last seat before an aisle or the end of a row.
+     */
+    long groupEnd(int word) {
+        return groupEnd[word];
+    }
+
+    private static void validate(Cabin cabin) {
+        if (cabin.cabinClass() == null) {
+            throw new IllegalArgumentException("Cabin class cannot be null");
+        }
+        if (cabin.rows() < 1) {
+            throw new IllegalArgumentException("Cabin " + cabin.cabinClass() + " needs at least one row");
+        }
+        String seats = cabin.seats();
+        if (seats == null || !seats.matches("[A-Z]+( [A-Z]+)*")) {
+            throw new IllegalArgumentException("Seat letters of cabin " + cabin.cabinClass()
+                + " must be capital letters with single spaces for aisles: " + seats);
+        }
+        String letters = seats.replace(" ", "");
+        if (letters.chars().distinct().count() != letters.length()) {
+            throw new IllegalArgumentException("Seat letters of cabin " + cabin.cabinClass() + " repeat: " + seats);
+        }
+    }
+
+    /**
+     * Bit mask of the seats in a row that are followed by an aisle or end the row.
+     */
+    private static long groupEnds(String seats) {
+        long ends = 0;
+        int position = 0;
+        for (int c = 0; c < seats.length(); c++) {
+            if (seats.charAt(c) == ' ') {
+                continue;
+            }
+            if (c + 1 == seats.length() || seats.charAt(c + 1) == ' ') {
+                ends |= 1L << position;
+            }
+            position++;
+        }
+        return ends;
+    }
+
+    public enum CabinClass {
+        FIRST,
+        BUSINESS,
+        PREMIUM_ECONOMY,
+        ECONOMY
+    }
+
+    /**
+     * Rows of one cabin class sharing the same seat letters.
+     */
+    public record Cabin(CabinClass cabinClass, int rows, String seats) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.airline.seating;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Occupancy of every seat on one flight as a bitset, one bit per seat laid out by a
+ * {@link SeatLayout}.
+ *
+ * All updates are compare-and-set on a single 64-bit word and allocate nothing, so concurrent
+ * selections never block each other and a lost race only retries the word it lost on. A
+ * block of adjacent seats always lies in one word, which lets {@link #reserveAdjacent} find
+ * and take it with shifts, masks and one CAS. The revision counts successful changes so a
+ * persisted copy can be kept from going backwards.
+ */
+public final class SeatMap {
+
+    private final SeatLayout layout;
+    private final AtomicLongArray words;
+    private final AtomicLong revision;
+
+    public SeatMap(SeatLayout layout) {
+        this(layout, null, 0);
+    }
+
+    /**
+     * Restore a seat map from {@link #toBytes()}.
+     */
+    public SeatMap(SeatLayout layout, byte[] occupied, long revision) {
+        this.layout = layout;
+        this.words = new AtomicLongArray(layout.getWords());
+        this.revision = new AtomicLong(revision);
+        if (occupied != null) {
+            for (int i = 0; i < occupied.length && i / Long.BYTES < layout.getWords(); i++) {
+                int word = i / Long.BYTES;
+                long bits = (occupied[i] & 0xFFL) << (8 * (i % Long.BYTES));
+                words.set(word, words.get(word) | (bits & layout.seatMask(word)));
+            }
+        }
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Number of successful changes, including those of the map this one was restored from.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public boolean isOccupied(int seat) {
+        requireSeat(seat);
+        return (words.get(seat / Long.SIZE) & bit(seat)) != 0;
+    }
+
+    /**
+     * Take a single seat.
+     *
+     * @return false if it was already taken
+     */
+    public boolean tryReserve(int seat) {
+        requireSeat(seat);
+        int word = seat / Long.SIZE;
+        long bit = bit(seat);
+        while (true) {
+            long current = words.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | bit)) {
+                revision.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Free a single seat.
+     *
+     * @return false if it was not taken
+     */
+    public boolean release(int seat) {
+        requireSeat(seat);
+        int word = seat / Long.SIZE;
+        long bit = bit(seat);
+        while (true) {
+            long current = words.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current & ~bit)) {
+                revision.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take the front-most block of {@code count} free seats that sit next to each other in one
+     * row without an aisle between them, in the given cabin or anywhere when it is null.
+     *
+     * @return the first seat of the block, the others follow it, or -1 if there is no such block
+     */
+    public int reserveAdjacent(SeatLayout.CabinClass cabinClass, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Seat count must be at least 1");
+        }
+        if (count >= Long.SIZE) {
+            return -1;
+        }
+        int from = 0;
+        int to = layout.getWords();
+        if (cabinClass != null) {
+            int cabin = layout.cabinIndex(cabinClass);
+            if (cabin < 0) {
+                return -1;
+            }
+            from = layout.firstWord(cabin);
+            to = layout.endWord(cabin);
+        }
+        for (int word = from; word < to; word++) {
+            long seats = layout.seatMask(word);
+            long groupEnd = layout.groupEnd(word);
+            while (true) {
+                long current = words.get(word);
+                long starts = blockStarts(~current & seats, groupEnd, count);
+                if (starts == 0) {
+                    break;
+                }
+                int first = Long.numberOfTrailingZeros(starts);
+                long block = ((1L << count) - 1) << first;
+                if (words.compareAndSet(word, current, current | block)) {
+                    revision.incrementAndGet();
+                    return word * Long.SIZE + first;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bits at which a block of {@code count} free seats starts: seat {@code i + count - 1} is
+     * free and seats {@code i} to {@code i + count - 2} are free and not followed by an aisle.
+     */
+    static long blockStarts(long free, long groupEnd, int count) {
+        long linked = free & ~groupEnd;
+        long starts = free >>> (count - 1);
+        for (int k = 0; k < count - 1 && starts != 0; k++) {
+            starts &= linked >>> k;
+        }
+        return starts;
+    }
+
+    public int freeSeats(SeatLayout.CabinClass cabinClass) {
+        int cabin = layout.cabinIndex(cabinClass);
+        return cabin < 0 ? 0 : freeSeats(layout.firstWord(cabin), layout.endWord(cabin));
+    }
+
+    public int freeSeats() {
+        return freeSeats(0, layout.getWords());
+    }
+
+    /**
+     * Occupied seats in seat order.
+     */
+    public List<Integer> occupiedSeats() {
+        List<Integer> occupied = new ArrayList<>();
+        for (int word = 0; word < layout.getWords(); word++) {
+            long bits = words.get(word) & layout.seatMask(word);
+            while (bits != 0) {
+                occupied.add(word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Occupancy as little-endian words; eight bytes per word of the layout.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[layout.getWords() * Long.BYTES];
+        for (int word = 0; word < layout.getWords(); word++) {
+            long bits = words.get(word);
+            for (int b = 0; b < Long.BYTES; b++) {
+                bytes[word * Long.BYTES + b] = (byte) (bits >>> (8 * b));
+            }
+        }
+        return bytes;
+    }
+
+    private int freeSeats(int from, int to) {
+        int free = 0;
+        for (int word = from; word < to; word++) {
+            free += Long.bitCount(~words.get(word) & layout.seatMask(word));
+        }
+        return free;
+    }
+
+    private void requireSeat(int seat) {
+        if (!layout.isSeat(seat)) {
+            throw new IllegalArgumentException("No seat at position " + seat);
+        }
+    }
+
+    private static long bit(int seat) {
+        return 1L << (seat % Long.SIZE);
+    }
+}
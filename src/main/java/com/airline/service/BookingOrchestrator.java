@@ -0,0 +1,346 @@
+package com.airline.service;
+
+import com.airline.booking.SagaRunner;
+import com.airline.booking.SagaStep;
+import com.airline.dto.BookingDTO;
+import com.airline.dto.BookingRequest;
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.entity.Booking;
+import com.airline.entity.Flight;
+import com.airline.exception.BookingNotFoundException;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.exception.ServiceOverloadedException;
+import com.airline.payment.PaymentException;
+import com.airline.payment.PaymentGateway;
+import com.airline.payment.PaymentRequest;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.BookingRepository;
+import com.airline.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Books seats as a saga of three steps: reserve the seats with a hold, charge the payment,
+ * then confirm by converting the hold and marking the booking confirmed.
+ *
+ * A booking request only stores the PENDING booking and returns; the saga runs on a small
+ * fixed pool. Reserve and confirm are short transactions on that pool with the step timeout
+ * as transaction timeout. The payment call is asynchronous, so while the provider works no
+ * thread and no database connection is held. The number of sagas in flight is capped, which
+ * also bounds the pool's queue (a saga has at most one task queued at a time); requests over
+ * the cap are shed with 503.
+ *
+ * If a step fails for good the saga refunds and releases what it took. A refund that still
+ * fails after its attempts leaves the booking REFUND_PENDING, and the settler retries it on
+ * every run until the provider accepts it. Should the process stop mid-saga, the hold expires
+ * on its own and the booking stays PENDING until the settler fails it and refunds it the same way. The database is
+ * shared by all instances, so a PENDING booking may just as well belong to a saga running
+ * elsewhere; one is only settled once it is older than any saga can run, that is the hold TTL
+ * plus every attempt and backoff of the three steps and of their compensations.
+ */
+@Service
+public class BookingOrchestrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingOrchestrator.class);
+
+    private final BookingRepository bookingRepository;
+    private final FlightRepository flightRepository;
+    private final FlightHoldService flightHoldService;
+    private final PricingEngine pricingEngine;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate stepTransaction;
+    private final long holdTtlSeconds;
+    private final long sagaDeadlineMillis;
+    private final Semaphore inFlight;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final SagaRunner sagaRunner;
+    private final List<SagaStep<BookingSaga>> steps;
+
+    public BookingOrchestrator(BookingRepository bookingRepository,
+                               FlightRepository flightRepository,
+                               FlightHoldService flightHoldService,
+                               PricingEngine pricingEngine,
+                               PaymentGateway paymentGateway,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${airline.bookings.executor-threads:4}") int executorThreads,
+                               @Value("${airline.bookings.max-in-flight:500}") int maxInFlight,
+                               @Value("${airline.bookings.hold-ttl-seconds:300}") long holdTtlSeconds,
+                               @Value("${airline.bookings.step-timeout-ms:2000}") long stepTimeoutMillis,
+                               @Value("${airline.bookings.payment-timeout-ms:3000}") long paymentTimeoutMillis,
+                               @Value("${airline.bookings.max-attempts:3}") int maxAttempts,
+                               @Value("${airline.bookings.retry-backoff-ms:200}") long retryBackoffMillis) {
+        this.bookingRepository = bookingRepository;
+        this.flightRepository = flightRepository;
+        this.flightHoldService = flightHoldService;
+        this.pricingEngine = pricingEngine;
+        this.paymentGateway = paymentGateway;
+        this.stepTransaction = new TransactionTemplate(transactionManager);
+        this.stepTransaction.setTimeout((int) Math.max(1, (stepTimeoutMillis + 999) / 1000));
+        this.holdTtlSeconds = holdTtlSeconds;
+        long backoffMillis = retryBackoffMillis * ((1L << Math.min(maxAttempts - 1, 16)) - 1);
+        this.sagaDeadlineMillis = holdTtlSeconds * 1000
+            + maxAttempts * (3 * stepTimeoutMillis + 2 * paymentTimeoutMillis) + 5 * backoffMillis;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(executorThreads, executorThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "booking-saga-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-saga-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sagaRunner = new SagaRunner(executor, timer, retryBackoffMillis);
+        this.steps = List.of(
+            SagaStep.local("reserve", stepTimeoutMillis, maxAttempts, BookingOrchestrator::isTransient,
+                inTransaction(this::reserve), inTransaction(this::release)),
+            SagaStep.remote("payment", paymentTimeoutMillis, maxAttempts, BookingOrchestrator::isRetryablePayment,
+                this::charge, this::refund),
+            SagaStep.local("confirm", stepTimeoutMillis, maxAttempts, BookingOrchestrator::isTransient,
+                inTransaction(this::confirm), null));
+    }
+
+    /**
+     * Fail bookings whose saga stopped with its instance, then retry every refund still owed.
+     * Only bookings older than the saga deadline are taken, so sagas still running on other
+     * instances are left alone.
+     */
+    @Scheduled(fixedDelayString = "${airline.bookings.settle-interval-ms:60000}",
+               initialDelayString = "${airline.bookings.settle-interval-ms:60000}")
+    public void settleInterruptedBookings() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sagaDeadlineMillis, ChronoUnit.MILLIS);
+        List<Booking> pending = bookingRepository.findByStatusAndCreatedAtBefore(Booking.BookingStatus.PENDING, cutoff);
+        int settled = 0;
+        for (Booking booking : pending) {
+            BookingSaga saga = new BookingSaga(booking.getId(), booking.getFlightId(), booking.getSeats(), booking.getPassengerEmail());
+            saga.holdId = booking.getHoldId();
+            // The charge may have gone through before the saga stopped
+            saga.refundDue = true;
+            if (fail(saga, "Interrupted before it completed", true)) {
+                settled++;
+            }
+        }
+        if (settled > 0) {
+            log.info("Settled {} interrupted bookings created before {}", settled, cutoff);
+        }
+        for (Booking booking : bookingRepository.findByStatus(Booking.BookingStatus.REFUND_PENDING)) {
+            Long bookingId = booking.getId();
+            paymentGateway.refund(paymentKey(bookingId)).whenCompleteAsync((ignored, failure) -> {
+                if (failure != null) {
+                    log.warn("Refund of booking {} failed, retrying on the next run: {}", bookingId, failure.toString());
+                } else {
+                    markRefunded(bookingId);
+                }
+            }, executor);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        timer.shutdownNow();
+    }
+
+    public BookingDTO startBooking(BookingRequest request) {
+        log.info("Booking {} seats on flight {} for {}", request.getSeats(), request.getFlightId(), request.getPassengerEmail());
+
+        if (!inFlight.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many bookings in progress", 1);
+        }
+        boolean started = false;
+        try {
+            if (!flightRepository.existsById(request.getFlightId())) {
+                throw new FlightNotFoundException(request.getFlightId());
+            }
+            Booking booking = bookingRepository.save(new Booking(request.getFlightId(), request.getSeats(), request.getPassengerEmail()));
+            BookingSaga saga = new BookingSaga(booking.getId(), booking.getFlightId(), booking.getSeats(), booking.getPassengerEmail());
+            sagaRunner.run(saga, steps).whenComplete((completed, failure) -> {
+                inFlight.release();
+                if (failure != null) {
+                    fail(saga, failure.getMessage(), false);
+                } else {
+                    log.info("Booking {} confirmed", saga.bookingId);
+                }
+            });
+            started = true;
+            return BookingDTO.fromEntity(booking);
+        } finally {
+            if (!started) {
+                inFlight.release();
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BookingDTO getBooking(Long id) {
+        log.info("Fetching booking {}", id);
+        return bookingRepository.findById(id)
+            .map(BookingDTO::fromEntity)
+            .orElseThrow(() -> new BookingNotFoundException(id));
+    }
+
+    private void reserve(BookingSaga saga) {
+        Flight flight = flightRepository.findById(saga.flightId)
+            .orElseThrow(() -> new FlightNotFoundException(saga.flightId));
+        double amount = Math.round(pricingEngine.quote(flight) * saga.seats * 100) / 100.0;
+
+        HoldRequest holdRequest = new HoldRequest();
+        holdRequest.setSeats(saga.seats);
+        holdRequest.setTtlSeconds(holdTtlSeconds);
+        holdRequest.setHolderEmail(saga.passengerEmail);
+        FlightHoldDTO hold = flightHoldService.createHold(saga.flightId, holdRequest);
+
+        Booking booking = booking(saga.bookingId);
+        booking.setHoldId(hold.getId());
+        booking.setAmount(amount);
+        saga.holdId = hold.getId();
+        saga.amount = amount;
+    }
+
+    private void release(BookingSaga saga) {
+        flightHoldService.releaseHold(saga.flightId, saga.holdId);
+    }
+
+    private CompletableFuture<?> refund(BookingSaga saga) {
+        saga.refundDue = true;
+        return paymentGateway.refund(saga.paymentKey()).thenRun(() -> saga.refundDue = false);
+    }
+
+    private void markRefunded(Long bookingId) {
+        try {
+            stepTransaction.executeWithoutResult(status -> {
+                Booking booking = booking(bookingId);
+                if (booking.getStatus() == Booking.BookingStatus.REFUND_PENDING) {
+                    booking.setStatus(Booking.BookingStatus.FAILED);
+                    log.info("Refunded booking {}", bookingId);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to record the refund of booking {}, refunding again on the next run", bookingId, e);
+        }
+    }
+
+    private CompletableFuture<?> charge(BookingSaga saga) {
+        return paymentGateway.charge(new PaymentRequest(saga.paymentKey(), saga.amount, saga.passengerEmail))
+            .thenAccept(payment -> saga.paymentId = payment.paymentId());
+    }
+
+    private void confirm(BookingSaga saga) {
+        if (!flightHoldService.convertHold(saga.flightId, saga.holdId)) {
+            throw new IllegalStateException("Seat hold " + saga.holdId + " expired before the booking was confirmed");
+        }
+        Booking booking = booking(saga.bookingId);
+        booking.setPaymentId(saga.paymentId);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * Record a failed booking unless it is no longer PENDING. The saga has already compensated
+     * its steps; an interrupted booking still has its hold released here. A booking whose
+     * refund is still owed is marked REFUND_PENDING for the settler.
+     *
+     * @return true if the booking was marked FAILED or REFUND_PENDING
+     */
+    private boolean fail(BookingSaga saga, String reason, boolean releaseHold) {
+        try {
+            return Boolean.TRUE.equals(stepTransaction.execute(status -> {
+                Booking booking = booking(saga.bookingId);
+                if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                    return false;
+                }
+                log.warn("Booking {} failed: {}", saga.bookingId, reason);
+                if (releaseHold && saga.holdId != null) {
+                    flightHoldService.releaseHold(saga.flightId, saga.holdId);
+                }
+                booking.setStatus(saga.refundDue ? Booking.BookingStatus.REFUND_PENDING : Booking.BookingStatus.FAILED);
+                booking.setFailureReason(reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason);
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Failed to record the failure of booking {}", saga.bookingId, e);
+            return false;
+        }
+    }
+
+    private Booking booking(Long id) {
+        return bookingRepository.findById(id).orElseThrow(() -> new BookingNotFoundException(id));
+    }
+
+    /**
+     * A local step: runs on the saga pool in its own transaction, bounded by the step timeout.
+     */
+    private Function<BookingSaga, CompletableFuture<?>> inTransaction(Consumer<BookingSaga> work) {
+        return saga -> CompletableFuture.runAsync(() -> stepTransaction.executeWithoutResult(status -> work.accept(saga)), executor);
+    }
+
+    private static String paymentKey(Long bookingId) {
+        return "booking-" + bookingId;
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        return failure instanceof TransientDataAccessException || failure instanceof TransactionTimedOutException;
+    }
+
+    private static boolean isRetryablePayment(Throwable failure) {
+        return failure instanceof TimeoutException
+            || (failure instanceof PaymentException paymentException && paymentException.isRetryable());
+    }
+
+    /**
+     * State of one booking as it moves through the steps. Each step reads what the previous
+     * ones wrote; the futures between the steps make those writes visible.
+     */
+    private static final class BookingSaga {
+
+        private final Long bookingId;
+        private final Long flightId;
+        private final int seats;
+        private final String passengerEmail;
+        private Long holdId;
+        private double amount;
+        private String paymentId;
+        // Set while a refund is owed: from the first refund attempt until one succeeds
+        private volatile boolean refundDue;
+
+        private BookingSaga(Long bookingId, Long flightId, int seats, String passengerEmail) {
+            this.bookingId = bookingId;
+            this.flightId = flightId;
+            this.seats = seats;
+            this.passengerEmail = passengerEmail;
+        }
+
+        private String paymentKey() {
+            return BookingOrchestrator.paymentKey(bookingId);
+        }
+    }
+}
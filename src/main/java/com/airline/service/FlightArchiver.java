@@ -0,0 +1,121 @@
+package com.airline.service;
+
+import com.airline.entity.ArchivedFlight;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.ArchivedFlightRepository;
+import com.airline.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background job that moves completed flights from {@code flight} to {@code flight_archive}.
+ *
+ * Works in small keyset batches ordered by id, each in its own short transaction, and
+ * pauses between batches so it never holds locks long or competes with request traffic.
+ * A flight is only deleted if its version is still the one that was copied to the archive;
+ * flights updated in the meantime stay and are picked up by a later run.
+ * A run stops after {@code max-batches-per-run}; the next scheduled run continues.
+ */
+@Component
+@ConditionalOnProperty(name = "airline.archive.enabled", havingValue = "true")
+public class FlightArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightArchiver.class);
+
+    private final FlightRepository flightRepository;
+    private final ArchivedFlightRepository archivedFlightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long batchPauseMillis;
+    private final long gracePeriodHours;
+
+    public FlightArchiver(FlightRepository flightRepository,
+                          ArchivedFlightRepository archivedFlightRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${airline.archive.batch-size:200}") int batchSize,
+                          @Value("${airline.archive.max-batches-per-run:50}") int maxBatchesPerRun,
+                          @Value("${airline.archive.batch-pause-ms:100}") long batchPauseMillis,
+                          @Value("${airline.archive.grace-period-hours:24}") long gracePeriodHours) {
+        this.flightRepository = flightRepository;
+        this.archivedFlightRepository = archivedFlightRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPauseMillis = batchPauseMillis;
+        this.gracePeriodHours = gracePeriodHours;
+    }
+
+    @Scheduled(fixedDelayString = "${airline.archive.interval-ms:300000}",
+               initialDelayString = "${airline.archive.initial-delay-ms:60000}")
+    public void archiveCompletedFlights() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(gracePeriodHours);
+        long lastId = 0;
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long afterId = lastId;
+            Batch moved = transactionTemplate.execute(status -> archiveBatch(cutoff, afterId));
+            if (moved == null || moved.read() == 0) {
+                break;
+            }
+            archived += moved.archived();
+            lastId = moved.lastId();
+            if (moved.read() < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} flights that arrived before {}", archived, cutoff);
+        }
+    }
+
+    private Batch archiveBatch(LocalDateTime cutoff, long afterId) {
+        List<Flight> flights = flightRepository.findArchivableBatch(cutoff, afterId, PageRequest.of(0, batchSize));
+        if (flights.isEmpty()) {
+            return new Batch(afterId, 0, 0);
+        }
+        List<Flight> unchanged = flights.stream()
+            .filter(flight -> flightRepository.deleteIfUnchanged(flight.getId(), flight.getVersion()) == 1)
+            .toList();
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedFlightRepository.saveAll(unchanged.stream()
+            .map(flight -> ArchivedFlight.from(flight, archivedAt))
+            .toList());
+        unchanged.forEach(flight ->
+            eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.ARCHIVED, flight)));
+        if (unchanged.size() < flights.size()) {
+            log.debug("Skipped {} flights updated while being archived", flights.size() - unchanged.size());
+        }
+        return new Batch(flights.get(flights.size() - 1).getId(), flights.size(), unchanged.size());
+    }
+
+    private record Batch(long lastId, int read, int archived) {
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
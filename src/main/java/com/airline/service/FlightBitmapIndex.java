@@ -0,0 +1,193 @@
+package com.airline.service;
+
+import com.airline.dto.FlightFilter;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmap secondary indexes over the low-cardinality flight attributes.
+ *
+ * One Roaring bitmap is kept per distinct value of each {@link FlightFilter.Attribute}.
+ * The bitmaps hold dense int ordinals rather than flight ids, so ids of any size fit and
+ * the bitmaps stay compact; ordinals of removed flights are reused. A filter resolves to
+ * an ordinal set with bitmap OR/AND operations only, translated back to ids at the end.
+ * The index is loaded once at startup and then maintained incrementally from committed
+ * {@link FlightChangedEvent}s.
+ */
+@Component
+public class FlightBitmapIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightBitmapIndex.class);
+
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<FlightFilter.Attribute, Map<String, RoaringBitmap>> bitmaps =
+        new EnumMap<>(FlightFilter.Attribute.class);
+    private final Map<Integer, String[]> indexedValues = new HashMap<>();
+    private final RoaringBitmap allOrdinals = new RoaringBitmap();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] flightIds = new long[1024];
+    private int nextOrdinal;
+
+    private volatile boolean ready;
+
+    public FlightBitmapIndex(FlightRepository flightRepository,
+                             @Value("${airline.bitmap-index.enabled:false}") boolean enabled) {
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+        for (FlightFilter.Attribute attribute : FlightFilter.Attribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        // Hold the write lock for the whole load so no committed write can slip in between
+        // the repository read and the index becoming visible.
+        lock.writeLock().lock();
+        try {
+            flightRepository.findAll().forEach(this::put);
+            ready = true;
+            log.info("Flight bitmap index loaded with {} flights", allOrdinals.getCardinality());
+        } catch (RuntimeException e) {
+            log.warn("Flight bitmap index load failed, filters will use the database", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.isRemoval()) {
+                remove(event.getFlightId());
+            } else {
+                put(event.getFlight());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Resolve a filter to the ids of the matching flights, in no particular order.
+     */
+    public List<Long> resolve(FlightFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = allOrdinals.clone();
+            for (Map.Entry<FlightFilter.Attribute, Set<String>> criterion : filter.getCriteria().entrySet()) {
+                Map<String, RoaringBitmap> byValue = bitmaps.get(criterion.getKey());
+                RoaringBitmap anyOf = new RoaringBitmap();
+                for (String value : criterion.getValue()) {
+                    RoaringBitmap ids = byValue.get(value);
+                    if (ids != null) {
+                        anyOf.or(ids);
+                    }
+                }
+                result.and(anyOf);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            List<Long> ids = new ArrayList<>(result.getCardinality());
+            result.forEach((int ordinal) -> ids.add(flightIds[ordinal]));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Flight flight) {
+        int ordinal = ordinalOf(flight.getId());
+        removeValues(ordinal);
+        FlightFilter.Attribute[] attributes = FlightFilter.Attribute.values();
+        String[] values = new String[attributes.length];
+        for (FlightFilter.Attribute attribute : attributes) {
+            String value = attribute.valueOf(flight);
+            values[attribute.ordinal()] = value;
+            bitmaps.get(attribute).computeIfAbsent(value, v -> new RoaringBitmap()).add(ordinal);
+        }
+        indexedValues.put(ordinal, values);
+        allOrdinals.add(ordinal);
+    }
+
+    private void remove(Long flightId) {
+        Integer ordinal = ordinals.remove(flightId);
+        if (ordinal == null) {
+            return;
+        }
+        removeValues(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    private void removeValues(int ordinal) {
+        String[] values = indexedValues.remove(ordinal);
+        if (values == null) {
+            return;
+        }
+        for (FlightFilter.Attribute attribute : FlightFilter.Attribute.values()) {
+            Map<String, RoaringBitmap> byValue = bitmaps.get(attribute);
+            String value = values[attribute.ordinal()];
+            RoaringBitmap ids = byValue.get(value);
+            ids.remove(ordinal);
+            if (ids.isEmpty()) {
+                byValue.remove(value);
+            }
+        }
+        allOrdinals.remove(ordinal);
+    }
+
+    private int ordinalOf(Long flightId) {
+        Integer existing = ordinals.get(flightId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = nextOrdinal++;
+            if (ordinal == flightIds.length) {
+                flightIds = Arrays.copyOf(flightIds, flightIds.length * 2);
+            }
+        } else {
+            ordinal = freeOrdinals.pop();
+        }
+        flightIds[ordinal] = flightId;
+        ordinals.put(flightId, ordinal);
+        return ordinal;
+    }
+}
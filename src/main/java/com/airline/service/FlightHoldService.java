@@ -0,0 +1,213 @@
+package com.airline.service;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.entity.FlightHold;
+import com.airline.event.FlightChangedEvent;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.exception.HoldNotFoundException;
+import com.airline.exception.InsufficientSeatsException;
+import com.airline.hold.HierarchicalTimingWheel;
+import com.airline.repository.FlightHoldRepository;
+import com.airline.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Temporary seat holds with automatic expiry.
+ *
+ * Seats are taken from the flight with a single conditional UPDATE and the hold row is
+ * persisted so it survives restarts. Expiry is driven by an in-process timing wheel rather
+ * than by polling the table: each hold is scheduled once, and when it fires the hold's own
+ * flight id and seat count are used to return the inventory, so no scan over holds is needed.
+ * Active holds are re-armed from the table on startup.
+ */
+@Service
+@Transactional
+public class FlightHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightHoldService.class);
+
+    private final FlightHoldRepository holdRepository;
+    private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+    private final HierarchicalTimingWheel<HoldExpiry> wheel;
+    private final ExecutorService expiryExecutor;
+    private final Map<Long, HierarchicalTimingWheel.Timeout<HoldExpiry>> timeouts = new ConcurrentHashMap<>();
+
+    public FlightHoldService(FlightHoldRepository holdRepository,
+                             FlightRepository flightRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${airline.holds.default-ttl-seconds:600}") long defaultTtlSeconds,
+                             @Value("${airline.holds.max-ttl-seconds:3600}") long maxTtlSeconds,
+                             @Value("${airline.holds.tick-ms:100}") long tickMillis,
+                             @Value("${airline.holds.wheel-size:64}") int wheelSize,
+                             @Value("${airline.holds.expiry-threads:2}") int expiryThreads) {
+        this.holdRepository = holdRepository;
+        this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, this::dispatchExpiry);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hold-expiry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void restoreActiveHolds() {
+        List<FlightHold> active = holdRepository.findByStatus(FlightHold.HoldStatus.ACTIVE);
+        active.forEach(this::schedule);
+        wheel.start("hold-timing-wheel");
+        log.info("Hold expiry started with {} active holds", active.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        expiryExecutor.shutdown();
+    }
+
+    public FlightHoldDTO createHold(Long flightId, HoldRequest request) {
+        log.info("Creating hold of {} seats on flight {}", request.getSeats(), flightId);
+
+        long ttlSeconds = request.getTtlSeconds() == null ? defaultTtlSeconds : request.getTtlSeconds();
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new IllegalArgumentException("Hold TTL cannot exceed " + maxTtlSeconds + " seconds");
+        }
+        if (flightRepository.reserveSeats(flightId, request.getSeats()) == 0) {
+            if (!flightRepository.existsById(flightId)) {
+                throw new FlightNotFoundException(flightId);
+            }
+            throw new InsufficientSeatsException(flightId, request.getSeats());
+        }
+        return placeHold(flightId, request.getSeats(), request.getHolderEmail(), ttlSeconds);
+    }
+
+    /**
+     * Hold seats if the flight has them. Unlike {@link #createHold} a shortage is reported as an
+     * empty result rather than an exception, so it does not mark the caller's transaction for
+     * rollback.
+     */
+    public Optional<FlightHoldDTO> tryHold(Long flightId, int seats, String holderEmail, long ttlSeconds) {
+        if (flightRepository.reserveSeats(flightId, seats) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(placeHold(flightId, seats, holderEmail, ttlSeconds));
+    }
+
+    private FlightHoldDTO placeHold(Long flightId, int seats, String holderEmail, long ttlSeconds) {
+        FlightHold hold = holdRepository.save(new FlightHold(
+            flightId, seats, holderEmail, LocalDateTime.now().plusSeconds(ttlSeconds)));
+        publishInventoryChange(flightId);
+        // If the transaction rolls back the hold row never exists and the expiry is a no-op
+        schedule(hold);
+        return FlightHoldDTO.fromEntity(hold);
+    }
+
+    @Transactional(readOnly = true)
+    public FlightHoldDTO getHold(Long flightId, Long holdId) {
+        log.info("Fetching hold {} on flight {}", holdId, flightId);
+        return holdRepository.findByIdAndFlightId(holdId, flightId)
+            .map(FlightHoldDTO::fromEntity)
+            .orElseThrow(() -> new HoldNotFoundException(flightId, holdId));
+    }
+
+    public void releaseHold(Long flightId, Long holdId) {
+        log.info("Releasing hold {} on flight {}", holdId, flightId);
+
+        FlightHold hold = holdRepository.findByIdAndFlightId(holdId, flightId)
+            .orElseThrow(() -> new HoldNotFoundException(flightId, holdId));
+        if (close(hold.getId(), hold.getFlightId(), hold.getSeats(), FlightHold.HoldStatus.RELEASED)) {
+            HierarchicalTimingWheel.Timeout<HoldExpiry> timeout = timeouts.remove(holdId);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Turn an active hold into a sale: the seats stay taken and the hold no longer expires.
+     * The expiry timer is left armed and finds nothing to close, so a rolled back conversion
+     * still expires normally.
+     *
+     * @return false if the hold was released or expired first
+     */
+    public boolean convertHold(Long flightId, Long holdId) {
+        log.info("Converting hold {} on flight {}", holdId, flightId);
+
+        FlightHold hold = holdRepository.findByIdAndFlightId(holdId, flightId)
+            .orElseThrow(() -> new HoldNotFoundException(flightId, holdId));
+        return holdRepository.closeActive(hold.getId(), FlightHold.HoldStatus.CONVERTED) == 1;
+    }
+
+    private void schedule(FlightHold hold) {
+        long deadline = hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HoldExpiry expiry = new HoldExpiry(hold.getId(), hold.getFlightId(), hold.getSeats());
+        timeouts.put(hold.getId(), wheel.schedule(expiry, deadline));
+    }
+
+    /**
+     * Runs on the wheel's ticker thread, so the database work is handed off.
+     */
+    private void dispatchExpiry(HoldExpiry expiry) {
+        timeouts.remove(expiry.holdId());
+        expiryExecutor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    close(expiry.holdId(), expiry.flightId(), expiry.seats(), FlightHold.HoldStatus.EXPIRED));
+            } catch (RuntimeException e) {
+                log.error("Failed to expire hold {}", expiry.holdId(), e);
+            }
+        });
+    }
+
+    /**
+     * Close an active hold and give its seats back. The conditional status update makes
+     * release and expiry race-safe: only the caller that flips the row returns inventory.
+     */
+    private boolean close(Long holdId, Long flightId, int seats, FlightHold.HoldStatus status) {
+        if (holdRepository.closeActive(holdId, status) == 0) {
+            return false;
+        }
+        flightRepository.releaseSeats(flightId, seats);
+        publishInventoryChange(flightId);
+        log.debug("Hold {} on flight {} {}", holdId, flightId, status);
+        return true;
+    }
+
+    private void publishInventoryChange(Long flightId) {
+        flightRepository.findById(flightId).ifPresent(flight ->
+            eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight)));
+    }
+
+    private record HoldExpiry(Long holdId, Long flightId, int seats) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.pricing.PricingEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of serialized flight JSON, one UTF-8 fragment per flight.
+ *
+ * A fragment is valid for the flight version and fare it was rendered with, so a stale
+ * fragment is never served even before the change event arrives; the event just frees the
+ * memory early. List responses are built by concatenating fragments. The cache is an LRU
+ * bounded by total fragment bytes.
+ */
+@Component
+public class FlightJsonCache {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final ObjectMapper objectMapper;
+    private final PricingEngine pricingEngine;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final LinkedHashMap<Long, Fragment> fragments = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+
+    public FlightJsonCache(ObjectMapper objectMapper,
+                           PricingEngine pricingEngine,
+                           @Value("${airline.json-cache.enabled:true}") boolean enabled,
+                           @Value("${airline.json-cache.max-bytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.pricingEngine = pricingEngine;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * JSON object for a single flight.
+     */
+    public byte[] toJson(Flight flight) {
+        long version = flight.getVersion() == null ? 0 : flight.getVersion();
+        double fare = pricingEngine.quote(flight);
+        if (flight.getId() != null) {
+            synchronized (this) {
+                Fragment cached = fragments.get(flight.getId());
+                if (cached != null && cached.version == version && cached.fare == fare) {
+                    return cached.json;
+                }
+            }
+        }
+        byte[] json = serialize(flight, fare);
+        if (flight.getId() != null) {
+            store(flight.getId(), new Fragment(version, fare, json));
+        }
+        return json;
+    }
+
+    /**
+     * JSON array of the flights, concatenated from their fragments.
+     */
+    public byte[] toJsonArray(List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return EMPTY_ARRAY;
+        }
+        List<byte[]> parts = new ArrayList<>(flights.size());
+        int size = flights.size() + 1;
+        for (Flight flight : flights) {
+            byte[] json = toJson(flight);
+            parts.add(json);
+            size += json.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(parts.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        Fragment removed = fragments.remove(event.getFlightId());
+        if (removed != null) {
+            totalBytes -= removed.json.length;
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private byte[] serialize(Flight flight, double fare) {
+        FlightDTO dto = FlightDTO.fromEntity(flight);
+        dto.setFare(fare);
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void store(Long id, Fragment fragment) {
+        if (fragment.json.length > maxBytes) {
+            return;
+        }
+        Fragment previous = fragments.put(id, fragment);
+        totalBytes += fragment.json.length - (previous == null ? 0 : previous.json.length);
+        Iterator<Map.Entry<Long, Fragment>> eldest = fragments.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().json.length;
+            eldest.remove();
+        }
+    }
+
+    private record Fragment(long version, double fare, byte[] json) {
+    }
+}
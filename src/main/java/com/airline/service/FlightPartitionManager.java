@@ -0,0 +1,120 @@
+package com.airline.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Creates monthly range partitions of the {@code flight} table ahead of time.
+ *
+ * Runs once at startup and then on {@code airline.partitioning.cron}, making sure a
+ * partition exists for the current month and the next {@code months-ahead} months. On
+ * databases other than PostgreSQL, or when {@code flight} is not partitioned (H2 in dev),
+ * it does nothing and the plain table is used.
+ *
+ * Flights departing in a month without a partition land in {@code flight_default}, and
+ * PostgreSQL refuses to create a partition whose range still has rows there. For such a
+ * month the default partition is detached, the new partition created, the rows moved into
+ * it and the default re-attached, all in one transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "airline.partitioning.enabled", havingValue = "true")
+public class FlightPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightPartitionManager.class);
+    private static final String PARTITIONED_CHECK =
+        "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+        "WHERE c.relname = 'flight'";
+    private static final String DEFAULT_PARTITION = "flight_default";
+    // Every column but the generated duration_sec
+    private static final String FLIGHT_COLUMNS = "id, airline, type, price, dep_city, arr_city, dep_dt, arr_dt, " +
+        "status, img, email, seats_total, seats_avail, version, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+
+    public FlightPartitionManager(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${airline.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${airline.partitioning.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        if (!isPartitionedPostgres()) {
+            log.info("flight table is not partitioned on this database, skipping partition maintenance");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            createMonthlyPartition(current.plusMonths(offset));
+        }
+    }
+
+    private void createMonthlyPartition(YearMonth month) {
+        String partition = String.format("flight_y%04dm%02d", month.getYear(), month.getMonthValue());
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String create = "CREATE TABLE " + partition + " PARTITION OF flight " +
+            "FOR VALUES FROM ('" + from.toLocalDate() + "') TO ('" + to.toLocalDate() + "')";
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+                return;
+            }
+            Integer stranded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + DEFAULT_PARTITION + " WHERE dep_dt >= ? AND dep_dt < ?", Integer.class, from, to);
+            if (stranded == null || stranded == 0) {
+                jdbcTemplate.execute(create);
+                log.debug("Created flight partition {} [{}, {})", partition, from, to);
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE flight DETACH PARTITION " + DEFAULT_PARTITION);
+                jdbcTemplate.execute(create);
+                jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE dep_dt >= ? AND dep_dt < ? " +
+                    "RETURNING " + FLIGHT_COLUMNS + ") INSERT INTO flight (" + FLIGHT_COLUMNS + ") " +
+                    "SELECT " + FLIGHT_COLUMNS + " FROM moved", from, to);
+                jdbcTemplate.execute("ALTER TABLE flight ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+            });
+            log.info("Created flight partition {} [{}, {}) and moved {} flights into it from {}",
+                partition, from, to, stranded, DEFAULT_PARTITION);
+        } catch (DataAccessException | TransactionException e) {
+            // Retried on the next run; until then the month keeps using the default partition.
+            log.error("Could not create flight partition {} [{}, {})", partition, from, to, e);
+        }
+    }
+
+    private boolean isPartitionedPostgres() {
+        String product = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(PARTITIONED_CHECK, Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.FlightInstanceDTO;
+import com.airline.dto.FlightScheduleDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.entity.Flight;
+import com.airline.entity.FlightSchedule;
+import com.airline.entity.FlightScheduleInstance;
+import com.airline.exception.ScheduleNotFoundException;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightScheduleInstanceRepository;
+import com.airline.repository.FlightScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring flight schedules. A schedule is stored once and its occurrences are expanded on
+ * the fly when a date window is listed; an occurrence becomes a {@link Flight} row only when
+ * it is materialized, which happens on its first write or booking. Once materialized, the
+ * flight row is the source of truth for that date and is managed through the flight API.
+ */
+@Service
+public class FlightScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightScheduleService.class);
+
+    private static final Comparator<FlightInstanceDTO> BY_DEPARTURE = Comparator
+        .comparing(FlightInstanceDTO::getDepartureDateTime)
+        .thenComparing(FlightInstanceDTO::getScheduleId);
+
+    private final FlightScheduleRepository scheduleRepository;
+    private final FlightScheduleInstanceRepository instanceRepository;
+    private final FlightRepository flightRepository;
+    private final FlightService flightService;
+    private final FlightHoldService flightHoldService;
+    private final PricingEngine pricingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxWindowDays;
+
+    public FlightScheduleService(FlightScheduleRepository scheduleRepository,
+                                 FlightScheduleInstanceRepository instanceRepository,
+                                 FlightRepository flightRepository,
+                                 FlightService flightService,
+                                 FlightHoldService flightHoldService,
+                                 PricingEngine pricingEngine,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${airline.schedules.max-window-days:366}") int maxWindowDays) {
+        this.scheduleRepository = scheduleRepository;
+        this.instanceRepository = instanceRepository;
+        this.flightRepository = flightRepository;
+        this.flightService = flightService;
+        this.flightHoldService = flightHoldService;
+        this.pricingEngine = pricingEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    @Transactional
+    public FlightScheduleDTO createSchedule(FlightScheduleDTO scheduleDTO) {
+        log.info("Creating new schedule: {} - {} to {} on {}",
+            scheduleDTO.getAirline(),
+            scheduleDTO.getDepartureCity(),
+            scheduleDTO.getArrivalCity(),
+            scheduleDTO.getDaysOfWeek());
+
+        if (scheduleDTO.getValidTo().isBefore(scheduleDTO.getValidFrom())) {
+            throw new IllegalArgumentException("valid_to cannot be before valid_from");
+        }
+        return FlightScheduleDTO.fromEntity(scheduleRepository.save(scheduleDTO.toEntity()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightScheduleDTO> getAllSchedules() {
+        log.info("Fetching all schedules");
+        return scheduleRepository.findAll()
+            .stream()
+            .map(FlightScheduleDTO::fromEntity)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public FlightScheduleDTO getScheduleById(Long scheduleId) {
+        log.info("Fetching schedule with ID: {}", scheduleId);
+        return FlightScheduleDTO.fromEntity(findSchedule(scheduleId));
+    }
+
+    /**
+     * Delete a schedule. Occurrences that were already materialized keep their flights;
+     * virtual occurrences disappear with the schedule, and the instance rows go with it
+     * through {@code ON DELETE CASCADE}.
+     */
+    @Transactional
+    public void deleteSchedule(Long scheduleId) {
+        log.info("Deleting schedule with ID: {}", scheduleId);
+        scheduleRepository.delete(findSchedule(scheduleId));
+    }
+
+    /**
+     * All occurrences departing between {@code from} and {@code to} (inclusive) of the schedules
+     * matching the city criteria, ordered by departure. Costs three queries regardless of the
+     * window length: the schedules, their materialized occurrences, and those occurrences'
+     * flights. Virtual occurrences are only listed while they still depart in the future; an
+     * occurrence whose flight was deleted is not listed again.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightInstanceDTO> findInstances(String departureCity, String arrivalCity,
+                                                 LocalDate from, LocalDate to) {
+        log.info("Expanding schedules from {} to {} - Departure: {}, Arrival: {}", from, to, departureCity, arrivalCity);
+        validateWindow(from, to);
+
+        List<FlightSchedule> schedules = scheduleRepository.findValidBetween(departureCity, arrivalCity, from, to);
+        if (schedules.isEmpty()) {
+            return List.of();
+        }
+        List<Long> scheduleIds = schedules.stream().map(FlightSchedule::getId).toList();
+        Map<FlightScheduleInstance.Key, Long> flightIds = new HashMap<>();
+        for (FlightScheduleInstance instance
+            : instanceRepository.findByScheduleIdInAndDepartureDateBetween(scheduleIds, from, to)) {
+            flightIds.put(instance.getId(), instance.getFlightId());
+        }
+        Map<Long, Flight> flights = flightRepository.findAllById(flightIds.values())
+            .stream()
+            .collect(Collectors.toMap(Flight::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FlightInstanceDTO> instances = new ArrayList<>();
+        for (FlightSchedule schedule : schedules) {
+            for (LocalDate date : schedule.datesBetween(from, to)) {
+                Long flightId = flightIds.get(new FlightScheduleInstance.Key(schedule.getId(), date));
+                if (flightId != null) {
+                    Flight flight = flights.get(flightId);
+                    if (flight != null) {
+                        instances.add(FlightInstanceDTO.materialized(schedule.getId(), date, toDto(flight)));
+                    }
+                } else if (schedule.departureOn(date).isAfter(now)) {
+                    instances.add(FlightInstanceDTO.virtual(schedule.getId(), date, toDto(flightFor(schedule, date).toEntity())));
+                }
+            }
+        }
+        instances.sort(BY_DEPARTURE);
+        return instances;
+    }
+
+    /**
+     * Turn the occurrence of {@code scheduleId} on {@code date} into a flight row, or return the
+     * flight it already became. Concurrent calls for the same occurrence produce one flight: the
+     * instance row is keyed by schedule and date, so the loser's insert fails, its transaction
+     * (including its flight) rolls back, and it returns the winner's flight instead.
+     */
+    public Materialization materialize(Long scheduleId, LocalDate date) {
+        log.info("Materializing schedule {} on {}", scheduleId, date);
+        FlightSchedule schedule = findSchedule(scheduleId);
+        if (!schedule.operatesOn(date)) {
+            throw new IllegalArgumentException("Schedule " + scheduleId + " does not operate on " + date);
+        }
+        FlightScheduleInstance.Key key = new FlightScheduleInstance.Key(scheduleId, date);
+        FlightScheduleInstance existing = instanceRepository.findById(key).orElse(null);
+        if (existing != null) {
+            return new Materialization(flightService.getFlightById(existing.getFlightId()), false);
+        }
+        if (!schedule.departureOn(date).isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Occurrence on " + date + " has already departed");
+        }
+        try {
+            FlightDTO flight = transactionTemplate.execute(status -> {
+                FlightDTO created = flightService.createFlight(flightFor(schedule, date));
+                instanceRepository.saveAndFlush(new FlightScheduleInstance(scheduleId, date, created.getId()));
+                return created;
+            });
+            return new Materialization(flight, true);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Schedule {} on {} was materialized concurrently", scheduleId, date);
+            FlightScheduleInstance winner = instanceRepository.findById(key).orElseThrow(() -> e);
+            return new Materialization(flightService.getFlightById(winner.getFlightId()), false);
+        }
+    }
+
+    /**
+     * Hold seats on an occurrence, materializing it first if it is still virtual.
+     */
+    public FlightHoldDTO createHold(Long scheduleId, LocalDate date, HoldRequest request) {
+        FlightDTO flight = materialize(scheduleId, date).flight();
+        return flightHoldService.createHold(flight.getId(), request);
+    }
+
+    private FlightSchedule findSchedule(Long scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+            .orElseThrow(() -> new ScheduleNotFoundException(scheduleId));
+    }
+
+    private void validateWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to cannot be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxWindowDays) {
+            throw new IllegalArgumentException("Date window cannot exceed " + maxWindowDays + " days");
+        }
+    }
+
+    /**
+     * The flight the occurrence of {@code schedule} on {@code date} stands for.
+     */
+    private static FlightDTO flightFor(FlightSchedule schedule, LocalDate date) {
+        FlightDTO flight = new FlightDTO();
+        flight.setAirline(schedule.getAirline());
+        flight.setType(schedule.getType());
+        flight.setPrice(schedule.getPrice());
+        flight.setDepartureCity(schedule.getDepartureCity());
+        flight.setArrivalCity(schedule.getArrivalCity());
+        flight.setDepartureDateTime(schedule.departureOn(date));
+        flight.setArrivalDateTime(schedule.arrivalOn(date));
+        flight.setStatus(Flight.FlightStatus.ACTIVE.name());
+        flight.setImageUrl(schedule.getImageUrl());
+        flight.setEmail(schedule.getEmail());
+        flight.setSeatCapacity(schedule.getSeatCapacity());
+        return flight;
+    }
+
+    private FlightDTO toDto(Flight flight) {
+        FlightDTO dto = FlightDTO.fromEntity(flight);
+        dto.setFare(pricingEngine.quote(flight));
+        return dto;
+    }
+
+    /**
+     * The flight an occurrence is backed by and whether this call created it.
+     */
+    public record Materialization(FlightDTO flight, boolean created) {
+    }
+}
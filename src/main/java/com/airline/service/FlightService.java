@@ -1,16 +1,37 @@
 package com.airline.service;
 
 import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightSort;
+import com.airline.entity.ArchivedFlight;
 import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
 import com.airline.exception.FlightNotFoundException;
+import com.airline.geo.NearbyCityIndex;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.ArchivedFlightRepository;
 import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSpecifications;
+import com.airline.suggest.FlightSuggestIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,26 +39,142 @@ import java.util.stream.Collectors;
 public class FlightService {
 
     private static final Logger log = LoggerFactory.getLogger(FlightService.class);
+    private static final int MAX_SEARCH_LIMIT = 1000;
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final int LOOKUP_CHUNK_SIZE = 200;
+
     private final FlightRepository flightRepository;
+    private final ArchivedFlightRepository archivedFlightRepository;
+    private final FlightSnapshot flightSnapshot;
+    private final FlightBitmapIndex flightBitmapIndex;
+    private final PricingEngine pricingEngine;
+    private final FlightJsonCache flightJsonCache;
+    private final NearbyCityIndex nearbyCityIndex;
+    private final FlightSuggestIndex flightSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FlightService(FlightRepository flightRepository) {
+    public FlightService(FlightRepository flightRepository,
+                         ArchivedFlightRepository archivedFlightRepository,
+                         FlightSnapshot flightSnapshot,
+                         FlightBitmapIndex flightBitmapIndex,
+                         PricingEngine pricingEngine,
+                         FlightJsonCache flightJsonCache,
+                         NearbyCityIndex nearbyCityIndex,
+                         FlightSuggestIndex flightSuggestIndex,
+                         ApplicationEventPublisher eventPublisher) {
         this.flightRepository = flightRepository;
+        this.archivedFlightRepository = archivedFlightRepository;
+        this.flightSnapshot = flightSnapshot;
+        this.flightBitmapIndex = flightBitmapIndex;
+        this.pricingEngine = pricingEngine;
+        this.flightJsonCache = flightJsonCache;
+        this.nearbyCityIndex = nearbyCityIndex;
+        this.flightSuggestIndex = flightSuggestIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
     public List<FlightDTO> getAllFlights() {
+        return getAllFlights(FlightField.parse(null));
+    }
+
+    /**
+     * All flights, selecting only the columns behind {@code fields} when that is possible.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightDTO> getAllFlights(Set<FlightField> fields) {
         log.info("Fetching all flights");
+        if (canProject(fields)) {
+            return flightRepository.findProjected(null, fields, Sort.unsorted());
+        }
         return flightRepository.findAll().stream()
-            .map(FlightDTO::fromEntity)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
 
+    /**
+     * All flights as a ready-to-write JSON array, assembled from cached per-flight fragments.
+     */
+    @Transactional(readOnly = true)
+    public byte[] getAllFlightsJson() {
+        log.info("Fetching all flights");
+        return flightJsonCache.toJsonArray(flightRepository.findAll());
+    }
+
     @Transactional(readOnly = true)
     public FlightDTO getFlightById(Long flightId) {
         log.info("Fetching flight with ID: {}", flightId);
-        Flight flight = flightRepository.findById(flightId)
+        return toDto(findFlight(flightId));
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] getFlightJsonById(Long flightId) {
+        log.info("Fetching flight with ID: {}", flightId);
+        return flightJsonCache.toJson(findFlight(flightId));
+    }
+
+    /**
+     * The flights with the given ids in request order, plus the ids that matched nothing.
+     *
+     * Rows come from the snapshot when it is serving, otherwise from one {@code IN} query per
+     * chunk of {@value #LOOKUP_CHUNK_SIZE} ids; ids still missing are looked up in the archive
+     * the same way, so a lookup of live flights costs one statement per chunk at most.
+     * Duplicate ids are answered once.
+     */
+    @Transactional(readOnly = true)
+    public FlightLookup getFlightsByIds(List<Long> flightIds) {
+        log.info("Fetching {} flights by ID", flightIds.size());
+        Set<Long> ids = new LinkedHashSet<>(flightIds);
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_LOOKUP_IDS + " flight ids must be given");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Flight ids cannot be null");
+        }
+
+        Map<Long, Flight> found = HashMap.newHashMap(ids.size());
+        List<Long> misses = new ArrayList<>();
+        if (flightSnapshot.isServing()) {
+            // The snapshot holds every live flight, so its misses can only be archived
+            for (Long id : ids) {
+                Flight flight = flightSnapshot.findById(id);
+                if (flight != null) {
+                    found.put(id, flight);
+                } else {
+                    misses.add(id);
+                }
+            }
+        } else {
+            inChunks(List.copyOf(ids), chunk ->
+                flightRepository.findAllById(chunk).forEach(flight -> found.put(flight.getId(), flight)));
+            ids.stream().filter(id -> !found.containsKey(id)).forEach(misses::add);
+        }
+        inChunks(misses, chunk ->
+            archivedFlightRepository.findAllById(chunk).forEach(archived -> found.put(archived.getId(), archived.toFlight())));
+
+        List<FlightDTO> flights = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Flight flight = found.get(id);
+            if (flight != null) {
+                flights.add(toDto(flight));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new FlightLookup(flights, missingIds);
+    }
+
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> action) {
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            action.accept(ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size())));
+        }
+    }
+
+    private Flight findFlight(Long flightId) {
+        return flightRepository.findById(flightId)
+            .or(() -> archivedFlightRepository.findById(flightId).map(ArchivedFlight::toFlight))
             .orElseThrow(() -> new FlightNotFoundException(flightId));
-        return FlightDTO.fromEntity(flight);
     }
 
     public FlightDTO createFlight(FlightDTO flightDTO) {
@@ -51,12 +188,15 @@ public class FlightService {
             flight.setStatus(Flight.FlightStatus.ACTIVE);
         }
         Flight savedFlight = flightRepository.save(flight);
-        return FlightDTO.fromEntity(savedFlight);
+        eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.CREATED, savedFlight));
+        return toDto(savedFlight);
     }
 
     public FlightDTO updateFlight(Long flightId, FlightDTO flightDTO) {
         log.info("Updating flight with ID: {}", flightId);
 
+        // Parsed before the managed entity is touched: a batch commits even when this write fails
+        Flight.FlightStatus status = Flight.FlightStatus.valueOf(flightDTO.getStatus());
         Flight flight = flightRepository.findById(flightId)
             .orElseThrow(() -> new FlightNotFoundException(flightId));
 
@@ -67,12 +207,51 @@ public class FlightService {
         flight.setArrivalCity(flightDTO.getArrivalCity());
         flight.setDepartureDateTime(flightDTO.getDepartureDateTime());
         flight.setArrivalDateTime(flightDTO.getArrivalDateTime());
-        flight.setStatus(Flight.FlightStatus.valueOf(flightDTO.getStatus()));
+        flight.setStatus(status);
         flight.setImageUrl(flightDTO.getImageUrl());
         flight.setEmail(flightDTO.getEmail());
+        if (flightDTO.getSeatCapacity() != null) {
+            resizeInventory(flight, flightDTO.getSeatCapacity());
+        }
 
         Flight updatedFlight = flightRepository.save(flight);
-        return FlightDTO.fromEntity(updatedFlight);
+        eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, updatedFlight));
+        return toDto(updatedFlight);
+    }
+
+    /**
+     * Apply a batch of writes in one transaction, so the whole batch costs a single commit.
+     * Validation failures of individual writes are returned rather than thrown, so they do
+     * not roll back the rest of the batch; a write validates its input before it changes the
+     * managed entity, so a rejected write leaves nothing behind to flush.
+     */
+    public List<FlightWrite.Result> applyWrites(List<FlightWrite> writes) {
+        log.info("Applying batch of {} flight writes", writes.size());
+
+        List<FlightWrite.Result> results = new ArrayList<>(writes.size());
+        for (FlightWrite write : writes) {
+            try {
+                FlightDTO flight = write.isCreate()
+                    ? createFlight(write.flight())
+                    : updateFlight(write.flightId(), write.flight());
+                results.add(FlightWrite.Result.success(flight));
+            } catch (FlightNotFoundException | IllegalArgumentException e) {
+                results.add(FlightWrite.Result.failure(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Change the seat capacity while keeping seats already held or sold taken.
+     * Holds bump the version too, so a concurrent hold fails this update optimistically.
+     */
+    private void resizeInventory(Flight flight, int newCapacity) {
+        int capacity = flight.getSeatCapacity() == null ? 0 : flight.getSeatCapacity();
+        int available = flight.getAvailableSeats() == null ? 0 : flight.getAvailableSeats();
+        int taken = capacity - available;
+        flight.setSeatCapacity(newCapacity);
+        flight.setAvailableSeats(Math.max(0, newCapacity - taken));
     }
 
     public void deleteFlight(Long flightId) {
@@ -82,27 +261,214 @@ public class FlightService {
             .orElseThrow(() -> new FlightNotFoundException(flightId));
 
         flightRepository.delete(flight);
+        eventPublisher.publishEvent(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED, flight));
         log.info("Flight deleted successfully: {}", flightId);
     }
 
     @Transactional(readOnly = true)
     public List<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status) {
-        log.info("Searching flights with criteria - Departure: {}, Arrival: {}, Status: {}", 
-            departureCity, arrivalCity, status);
+        return searchFlights(departureCity, arrivalCity, status, FlightField.parse(null));
+    }
 
-        Flight.FlightStatus flightStatus = null;
-        if (status != null && !status.isEmpty()) {
-            try {
-                flightStatus = Flight.FlightStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid flight status provided: {}", status);
-                throw new IllegalArgumentException("Invalid flight status: " + status);
+    @Transactional(readOnly = true)
+    public List<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status,
+                                         Set<FlightField> fields) {
+        return searchFlights(departureCity, arrivalCity, status, fields, null, null);
+    }
+
+    /**
+     * Search ordered by {@code sort} (departure when null) and cut to {@code limit} rows (all
+     * when null). The limit is applied in SQL, or by a bounded heap over the snapshot.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status,
+                                         Set<FlightField> fields, FlightSort sort, Integer limit) {
+        return searchFlights(departureCity, arrivalCity, status, fields, sort, limit, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status,
+                                         Set<FlightField> fields, FlightSort sort, Integer limit, Double radiusKm) {
+        return searchFlights(departureCity, arrivalCity, status, fields, sort, limit, radiusKm, false);
+    }
+
+    /**
+     * With {@code radiusKm}, the cities are exact names or IATA codes from the city table and
+     * each is expanded to every city within that radius. With {@code fuzzy}, misspelled cities
+     * are first corrected to the closest known names. Otherwise they are substring matches.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status,
+                                         Set<FlightField> fields, FlightSort sort, Integer limit, Double radiusKm,
+                                         boolean fuzzy) {
+        log.info("Searching flights with criteria - Departure: {}, Arrival: {}, Status: {}, Sort: {}, Limit: {}, Radius: {}, Fuzzy: {}",
+            departureCity, arrivalCity, status, sort, limit, radiusKm, fuzzy);
+
+        Flight.FlightStatus flightStatus = parseStatus(status);
+        validateLimit(limit);
+        Specification<Flight> resolved = resolvedSearch(departureCity, arrivalCity, flightStatus, radiusKm, fuzzy);
+        if ((resolved != null || !flightSnapshot.isServing()) && canProject(fields)) {
+            Specification<Flight> spec = resolved != null
+                ? resolved
+                : FlightSpecifications.search(departureCity, arrivalCity, flightStatus);
+            Sort order = sort == null ? Sort.by(Sort.Direction.ASC, "departureDateTime") : sort.toSort();
+            return flightRepository.findProjected(spec, fields, order, limit);
+        }
+        return findSearchResults(departureCity, arrivalCity, flightStatus, sort, limit, resolved).stream()
+            .map(this::toDto)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] searchFlightsJson(String departureCity, String arrivalCity, String status) {
+        return searchFlightsJson(departureCity, arrivalCity, status, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] searchFlightsJson(String departureCity, String arrivalCity, String status,
+                                    FlightSort sort, Integer limit) {
+        return searchFlightsJson(departureCity, arrivalCity, status, sort, limit, null);
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] searchFlightsJson(String departureCity, String arrivalCity, String status,
+                                    FlightSort sort, Integer limit, Double radiusKm) {
+        return searchFlightsJson(departureCity, arrivalCity, status, sort, limit, radiusKm, false);
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] searchFlightsJson(String departureCity, String arrivalCity, String status,
+                                    FlightSort sort, Integer limit, Double radiusKm, boolean fuzzy) {
+        log.info("Searching flights with criteria - Departure: {}, Arrival: {}, Status: {}, Sort: {}, Limit: {}, Radius: {}, Fuzzy: {}",
+            departureCity, arrivalCity, status, sort, limit, radiusKm, fuzzy);
+        Flight.FlightStatus flightStatus = parseStatus(status);
+        validateLimit(limit);
+        Specification<Flight> resolved = resolvedSearch(departureCity, arrivalCity, flightStatus, radiusKm, fuzzy);
+        return flightJsonCache.toJsonArray(
+            findSearchResults(departureCity, arrivalCity, flightStatus, sort, limit, resolved));
+    }
+
+    private List<Flight> findSearchResults(String departureCity, String arrivalCity, Flight.FlightStatus status,
+                                           FlightSort sort, Integer limit, Specification<Flight> resolved) {
+        if (resolved != null) {
+            return findSorted(resolved, sort, limit);
+        }
+        if (sort == null && limit == null) {
+            return flightSnapshot.isServing()
+                ? flightSnapshot.search(departureCity, arrivalCity, status)
+                : flightRepository.searchFlights(FlightSpecifications.escapeLike(departureCity),
+                    FlightSpecifications.escapeLike(arrivalCity), status);
+        }
+        if (flightSnapshot.isServing()) {
+            return flightSnapshot.search(departureCity, arrivalCity, status,
+                sort == null ? FlightSort.DEPARTURE : sort, limit);
+        }
+        return findSorted(FlightSpecifications.search(departureCity, arrivalCity, status), sort, limit);
+    }
+
+    private List<Flight> findSorted(Specification<Flight> spec, FlightSort sort, Integer limit) {
+        FlightSort order = sort == null ? FlightSort.DEPARTURE : sort;
+        return flightRepository.findBy(spec, query -> {
+            FluentQuery.FetchableFluentQuery<Flight> sorted = query.sortBy(order.toSort());
+            return limit == null ? sorted.all() : sorted.limit(limit).all();
+        });
+    }
+
+    /**
+     * Search on exact city names resolved in memory, or null to fall back to the substring
+     * search. Typos are corrected through the suggest index and radii expanded through the
+     * spatial index; the resulting names are fetched with one IN query per side. Always goes
+     * to the database so the IN lists can use idx_dep_city / idx_arr_city.
+     */
+    private Specification<Flight> resolvedSearch(String departureCity, String arrivalCity, Flight.FlightStatus status,
+                                                 Double radiusKm, boolean fuzzy) {
+        boolean correct = fuzzy && flightSuggestIndex.isReady();
+        if (radiusKm == null && !correct) {
+            return null;
+        }
+        if (departureCity == null && arrivalCity == null) {
+            if (radiusKm != null) {
+                throw new IllegalArgumentException("radius_km requires departure_city or arrival_city");
             }
+            return null;
+        }
+        Set<String> departureCities = resolveCities(departureCity, radiusKm, correct);
+        Set<String> arrivalCities = resolveCities(arrivalCity, radiusKm, correct);
+        if ((departureCities != null && departureCities.isEmpty()) || (arrivalCities != null && arrivalCities.isEmpty())) {
+            // Nothing close enough: the input may still be a substring of a known city
+            return null;
         }
+        return FlightSpecifications.between(departureCities, arrivalCities, status);
+    }
+
+    private Set<String> resolveCities(String city, Double radiusKm, boolean correct) {
+        if (city == null) {
+            return null;
+        }
+        List<String> names = correct ? flightSuggestIndex.resolveCity(city) : List.of(city);
+        if (radiusKm == null) {
+            return new LinkedHashSet<>(names);
+        }
+        Set<String> expanded = new LinkedHashSet<>();
+        for (String name : names.isEmpty() ? List.of(city) : names) {
+            for (String nearby : nearbyCityIndex.expand(name, radiusKm)) {
+                // The city table may spell a name differently from flight, e.g. in another case
+                expanded.add(nearby);
+                if (flightSuggestIndex.isReady()) {
+                    expanded.addAll(flightSuggestIndex.citySpellings(nearby));
+                }
+            }
+        }
+        return expanded;
+    }
 
-        List<Flight> flights = flightRepository.searchFlights(departureCity, arrivalCity, flightStatus);
+    private void validateLimit(Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_SEARCH_LIMIT)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+    }
+
+    private Flight.FlightStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return Flight.FlightStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid flight status provided: {}", status);
+            throw new IllegalArgumentException("Invalid flight status: " + status);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<FlightDTO> filterFlights(FlightFilter filter) {
+        return filterFlights(filter, FlightField.parse(null));
+    }
+
+    /**
+     * Flights matching the filter by departure time. With the bitmap index ready the matching
+     * ids are loaded one {@code IN} query per chunk of {@value #LOOKUP_CHUNK_SIZE} ids, so a
+     * broad filter never binds more parameters than a lookup does.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightDTO> filterFlights(FlightFilter filter, Set<FlightField> fields) {
+        log.info("Filtering flights with criteria: {}", filter);
+
+        List<Flight> flights;
+        if (flightBitmapIndex.isReady()) {
+            List<Flight> matches = new ArrayList<>();
+            inChunks(flightBitmapIndex.resolve(filter), chunk -> matches.addAll(flightRepository.findAllById(chunk)));
+            flights = matches;
+            flights.sort(Comparator.comparing(Flight::getDepartureDateTime));
+        } else if (canProject(fields)) {
+            return flightRepository.findProjected(FlightSpecifications.matching(filter),
+                fields, Sort.by(Sort.Direction.ASC, "departureDateTime"));
+        } else {
+            flights = flightRepository.findAll(FlightSpecifications.matching(filter),
+                Sort.by(Sort.Direction.ASC, "departureDateTime"));
+        }
         return flights.stream()
-            .map(FlightDTO::fromEntity)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
 
@@ -110,7 +476,7 @@ public class FlightService {
     public List<FlightDTO> getFlightsByDepartureCity(String departureCity) {
         log.info("Fetching flights from: {}", departureCity);
         return flightRepository.findByDepartureCity(departureCity).stream()
-            .map(FlightDTO::fromEntity)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
 
@@ -118,37 +484,88 @@ public class FlightService {
     public List<FlightDTO> getFlightsByArrivalCity(String arrivalCity) {
         log.info("Fetching flights to: {}", arrivalCity);
         return flightRepository.findByArrivalCity(arrivalCity).stream()
-            .map(FlightDTO::fromEntity)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<FlightDTO> getFlightsByStatus(String status) {
         log.info("Fetching flights with status: {}", status);
-        try {
-            Flight.FlightStatus flightStatus = Flight.FlightStatus.valueOf(status.toUpperCase());
-            return flightRepository.findByStatus(flightStatus).stream()
-                .map(FlightDTO::fromEntity)
-                .collect(Collectors.toList());
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid flight status provided: {}", status);
+        return findByStatus(status).stream()
+            .map(this::toDto)
+            .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] getFlightsByStatusJson(String status) {
+        log.info("Fetching flights with status: {}", status);
+        return flightJsonCache.toJsonArray(findByStatus(status));
+    }
+
+    private List<Flight> findByStatus(String status) {
+        Flight.FlightStatus flightStatus = parseStatus(status);
+        if (flightStatus == null) {
             throw new IllegalArgumentException("Invalid flight status: " + status);
         }
+        return flightSnapshot.isServing()
+            ? flightSnapshot.findByStatus(flightStatus)
+            : flightRepository.findByStatus(flightStatus);
     }
 
     @Transactional(readOnly = true)
     public List<FlightDTO> getFlightsDepartingAfter(LocalDateTime departureDateTime) {
         log.info("Fetching flights departing after: {}", departureDateTime);
-        return flightRepository.findFlightsDepartingAfter(departureDateTime).stream()
-            .map(FlightDTO::fromEntity)
+        List<Flight> flights = flightSnapshot.isServing()
+            ? flightSnapshot.findDepartingAfter(departureDateTime)
+            : flightRepository.findFlightsDepartingAfter(departureDateTime);
+        return flights.stream()
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<FlightDTO> getFlightsByAirline(String airline) {
-        log.info("Fetching flights by airline: {}", airline);
-        return flightRepository.findByAirlineContainingIgnoreCase(airline).stream()
-            .map(FlightDTO::fromEntity)
+        return getFlightsByAirline(airline, false);
+    }
+
+    /**
+     * With {@code fuzzy}, a misspelled airline is corrected to the closest known names and
+     * looked up exactly; when nothing is close enough this is the usual substring match.
+     */
+    @Transactional(readOnly = true)
+    public List<FlightDTO> getFlightsByAirline(String airline, boolean fuzzy) {
+        log.info("Fetching flights by airline: {}, Fuzzy: {}", airline, fuzzy);
+        List<String> airlines = fuzzy && flightSuggestIndex.isReady()
+            ? flightSuggestIndex.resolveAirline(airline)
+            : List.of();
+        List<Flight> flights = airlines.isEmpty()
+            ? flightRepository.findByAirlineContainingIgnoreCase(airline)
+            : flightRepository.findByAirlineIn(airlines);
+        return flights.stream()
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
+
+    /**
+     * A sparse fieldset made only of columns can be selected directly in SQL;
+     * the fare is computed from the full entity.
+     */
+    private boolean canProject(Set<FlightField> fields) {
+        return !FlightField.isAll(fields) && fields.stream().allMatch(FlightField::isColumn);
+    }
+
+    /**
+     * Map to the API representation, including the current computed fare.
+     */
+    private FlightDTO toDto(Flight flight) {
+        FlightDTO dto = FlightDTO.fromEntity(flight);
+        dto.setFare(pricingEngine.quote(flight));
+        return dto;
+    }
+
+    /**
+     * Result of {@link #getFlightsByIds}: found flights in request order and the ids not found.
+     */
+    public record FlightLookup(List<FlightDTO> flights, List<Long> missingIds) {
+    }
 }
@@ -0,0 +1,493 @@
+package com.airline.service;
+
+import com.airline.dto.FlightSort;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSpecifications;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-process read model holding all flights in primitive columnar arrays.
+ *
+ * Rows are kept sorted by departure time so scans return results in the same order
+ * as the repository queries. The snapshot is loaded from the database once at startup;
+ * after that each committed write is applied in the background as a delta from its
+ * {@link FlightChangedEvent}, copying the columns and shifting the touched rows into place.
+ * While deltas are pending {@link #isServing()} returns false and callers fall back to SQL.
+ *
+ * City substrings are matched literally; the SQL paths escape LIKE wildcards with
+ * {@link FlightSpecifications#escapeLike} so both give the same answer.
+ */
+@Component
+public class FlightSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSnapshot.class);
+    private static final Comparator<Flight> ROW_ORDER =
+        Comparator.comparing(Flight::getDepartureDateTime).thenComparing(Flight::getId);
+    // Ids are never reused; past this many removals the next refresh reloads and forgets them.
+    private static final int MAX_REMOVED_IDS = 100_000;
+
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final Queue<FlightChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+    // Only touched on the refresh thread: rejects a late update of a flight already removed
+    private final Set<Long> removedIds = new HashSet<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flight-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Columns columns;
+
+    public FlightSnapshot(FlightRepository flightRepository,
+                          @Value("${airline.snapshot.enabled:false}") boolean enabled) {
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            scheduleRefresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (enabled) {
+            // Queued before the generation moves, so a refresh that sees the generation sees the change
+            pendingChanges.add(event);
+            writeGeneration.incrementAndGet();
+            scheduleRefresh();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * True when the snapshot is enabled and reflects every committed write.
+     */
+    public boolean isServing() {
+        Columns current = columns;
+        return enabled && current != null && current.generation == writeGeneration.get();
+    }
+
+    /**
+     * Same semantics as {@link FlightRepository#searchFlights}: case-insensitive substring
+     * match on cities, exact match on status, ordered by departure time.
+     */
+    public List<Flight> search(String departureCity, String arrivalCity, Flight.FlightStatus status) {
+        Columns c = columns;
+        boolean[] depMatch = departureCity == null ? null : c.cities.matchContaining(departureCity);
+        boolean[] arrMatch = arrivalCity == null ? null : c.cities.matchContaining(arrivalCity);
+        int statusOrdinal = status == null ? -1 : status.ordinal();
+
+        List<Flight> result = new ArrayList<>();
+        for (int i = 0; i < c.size; i++) {
+            if (matches(c, i, depMatch, arrMatch, statusOrdinal)) {
+                result.add(c.rows[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same matches as {@link #search(String, String, Flight.FlightStatus)}, ordered by
+     * {@code sort} and cut to {@code limit} rows (null for all). Rows are already in departure
+     * order, so departure sorts stop at the limit; other sorts keep the best {@code limit}
+     * rows in a bounded max-heap during the scan instead of sorting every match.
+     */
+    public List<Flight> search(String departureCity, String arrivalCity, Flight.FlightStatus status,
+                               FlightSort sort, Integer limit) {
+        Columns c = columns;
+        boolean[] depMatch = departureCity == null ? null : c.cities.matchContaining(departureCity);
+        boolean[] arrMatch = arrivalCity == null ? null : c.cities.matchContaining(arrivalCity);
+        int statusOrdinal = status == null ? -1 : status.ordinal();
+        int max = limit == null ? c.size : Math.min(limit, c.size);
+
+        if (sort == FlightSort.DEPARTURE) {
+            List<Flight> result = new ArrayList<>(max);
+            for (int i = 0; i < c.size && result.size() < max; i++) {
+                if (matches(c, i, depMatch, arrMatch, statusOrdinal)) {
+                    result.add(c.rows[i]);
+                }
+            }
+            return result;
+        }
+
+        int[] heap = new int[max];
+        int size = 0;
+        for (int i = 0; i < c.size && max > 0; i++) {
+            if (!matches(c, i, depMatch, arrMatch, statusOrdinal)) {
+                continue;
+            }
+            if (size < max) {
+                heap[size] = i;
+                siftUp(c, sort, heap, size++);
+            } else if (compare(c, sort, i, heap[0]) < 0) {
+                heap[0] = i;
+                siftDown(c, sort, heap, size);
+            }
+        }
+        // Pop the worst remaining row into the last free slot until the heap is empty
+        Flight[] result = new Flight[size];
+        for (int end = size - 1; end >= 0; end--) {
+            result[end] = c.rows[heap[0]];
+            heap[0] = heap[end];
+            siftDown(c, sort, heap, end);
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * The flight with {@code id}, or null if the snapshot has no such row.
+     */
+    public Flight findById(Long id) {
+        return columns.rowsById.get(id);
+    }
+
+    public List<Flight> findByStatus(Flight.FlightStatus status) {
+        Columns c = columns;
+        byte statusOrdinal = (byte) status.ordinal();
+        List<Flight> result = new ArrayList<>();
+        for (int i = 0; i < c.size; i++) {
+            if (c.status[i] == statusOrdinal) {
+                result.add(c.rows[i]);
+            }
+        }
+        return result;
+    }
+
+    public List<Flight> findDepartingAfter(LocalDateTime departureDateTime) {
+        Columns c = columns;
+        // Departures are stored at second precision, so round a fractional bound up.
+        long bound = toEpochSecond(departureDateTime) + (departureDateTime.getNano() > 0 ? 1 : 0);
+        int low = 0;
+        int high = c.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (c.departure[mid] < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Flight> result = new ArrayList<>(c.size - low);
+        for (int i = low; i < c.size; i++) {
+            result.add(c.rows[i]);
+        }
+        return result;
+    }
+
+    private static boolean matches(Columns c, int row, boolean[] depMatch, boolean[] arrMatch, int statusOrdinal) {
+        return (depMatch == null || depMatch[c.depCity[row]])
+            && (arrMatch == null || arrMatch[c.arrCity[row]])
+            && (statusOrdinal < 0 || c.status[row] == statusOrdinal);
+    }
+
+    /**
+     * Orders rows by the sort key, then by row position (departure, id) like the SQL tie-breakers.
+     */
+    private static int compare(Columns c, FlightSort sort, int a, int b) {
+        int byKey = switch (sort) {
+            case PRICE -> Double.compare(c.price[a], c.price[b]);
+            case DURATION -> Long.compare(c.arrival[a] - c.departure[a], c.arrival[b] - c.departure[b]);
+            case DEPARTURE -> 0;
+        };
+        return byKey != 0 ? byKey : Integer.compare(a, b);
+    }
+
+    private static void siftUp(Columns c, FlightSort sort, int[] heap, int index) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(c, sort, row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(Columns c, FlightSort sort, int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(c, sort, heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compare(c, sort, row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshScheduled.set(false);
+                refresh();
+            });
+        }
+    }
+
+    private void refresh() {
+        long generation = writeGeneration.get();
+        List<FlightChangedEvent> changes = new ArrayList<>();
+        for (FlightChangedEvent change; (change = pendingChanges.poll()) != null; ) {
+            changes.add(change);
+        }
+        Columns current = columns;
+        if (current == null || removedIds.size() > MAX_REMOVED_IDS) {
+            // Every polled change was committed before the load starts, so the load includes it
+            load(generation);
+            return;
+        }
+        try {
+            columns = current.apply(changes, removedIds, generation);
+            log.debug("Flight snapshot applied {} changes at generation {}", changes.size(), generation);
+        } catch (RuntimeException e) {
+            log.warn("Flight snapshot delta failed, reloading from the database", e);
+            load(generation);
+        }
+    }
+
+    private void load(long generation) {
+        try {
+            List<Flight> flights = new ArrayList<>(flightRepository.findAll());
+            flights.sort(ROW_ORDER);
+            removedIds.clear();
+            columns = new Columns(generation, flights);
+            log.debug("Flight snapshot loaded with {} rows at generation {}", flights.size(), generation);
+        } catch (RuntimeException e) {
+            log.warn("Flight snapshot load failed, queries will use the database", e);
+        }
+    }
+
+    private static long version(Flight flight) {
+        return flight.getVersion() == null ? 0 : flight.getVersion();
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Column set, either loaded from a single repository read or copied from the previous
+     * set with deltas applied. Never changed once published through {@link #columns}.
+     * Arrays may have spare capacity past {@code size}.
+     */
+    private static final class Columns {
+        private final long generation;
+        private int size;
+        private final Flight[] rows;
+        private final Map<Long, Flight> rowsById;
+        private final long[] departure;
+        private final long[] arrival;
+        private final int[] depCity;
+        private final int[] arrCity;
+        private final int[] airline;
+        private final byte[] status;
+        private final double[] price;
+        private final Dictionary cities;
+        private final Dictionary airlines;
+
+        private Columns(long generation, List<Flight> flights) {
+            this(generation, flights.size(), new Dictionary(), new Dictionary());
+            for (Flight flight : flights) {
+                rowsById.put(flight.getId(), flight);
+                set(size++, flight);
+            }
+        }
+
+        private Columns(long generation, int capacity, Dictionary cities, Dictionary airlines) {
+            this.generation = generation;
+            this.rows = new Flight[capacity];
+            this.departure = new long[capacity];
+            this.arrival = new long[capacity];
+            this.depCity = new int[capacity];
+            this.arrCity = new int[capacity];
+            this.airline = new int[capacity];
+            this.status = new byte[capacity];
+            this.price = new double[capacity];
+            this.rowsById = HashMap.newHashMap(capacity);
+            this.cities = cities;
+            this.airlines = airlines;
+        }
+
+        /**
+         * A copy of these columns with the changes applied in order. Upserts older than the
+         * row already held, or of flights already removed, are skipped.
+         */
+        Columns apply(List<FlightChangedEvent> changes, Set<Long> removedIds, long generation) {
+            Columns next = new Columns(generation, size + changes.size(), cities.copy(), airlines.copy());
+            System.arraycopy(rows, 0, next.rows, 0, size);
+            System.arraycopy(departure, 0, next.departure, 0, size);
+            System.arraycopy(arrival, 0, next.arrival, 0, size);
+            System.arraycopy(depCity, 0, next.depCity, 0, size);
+            System.arraycopy(arrCity, 0, next.arrCity, 0, size);
+            System.arraycopy(airline, 0, next.airline, 0, size);
+            System.arraycopy(status, 0, next.status, 0, size);
+            System.arraycopy(price, 0, next.price, 0, size);
+            next.rowsById.putAll(rowsById);
+            next.size = size;
+            for (FlightChangedEvent change : changes) {
+                Long id = change.getFlightId();
+                Flight held = next.rowsById.get(id);
+                if (change.isRemoval()) {
+                    removedIds.add(id);
+                    if (held != null) {
+                        next.remove(held);
+                    }
+                } else if (!removedIds.contains(id) && (held == null || version(held) <= version(change.getFlight()))) {
+                    if (held != null) {
+                        next.remove(held);
+                    }
+                    next.insert(change.getFlight());
+                }
+            }
+            return next;
+        }
+
+        private void remove(Flight flight) {
+            int index = indexOf(flight);
+            int tail = size - index - 1;
+            System.arraycopy(rows, index + 1, rows, index, tail);
+            System.arraycopy(departure, index + 1, departure, index, tail);
+            System.arraycopy(arrival, index + 1, arrival, index, tail);
+            System.arraycopy(depCity, index + 1, depCity, index, tail);
+            System.arraycopy(arrCity, index + 1, arrCity, index, tail);
+            System.arraycopy(airline, index + 1, airline, index, tail);
+            System.arraycopy(status, index + 1, status, index, tail);
+            System.arraycopy(price, index + 1, price, index, tail);
+            rows[--size] = null;
+            rowsById.remove(flight.getId());
+        }
+
+        private void insert(Flight flight) {
+            int found = Arrays.binarySearch(rows, 0, size, flight, ROW_ORDER);
+            int index = found >= 0 ? found : -found - 1;
+            int tail = size - index;
+            System.arraycopy(rows, index, rows, index + 1, tail);
+            System.arraycopy(departure, index, departure, index + 1, tail);
+            System.arraycopy(arrival, index, arrival, index + 1, tail);
+            System.arraycopy(depCity, index, depCity, index + 1, tail);
+            System.arraycopy(arrCity, index, arrCity, index + 1, tail);
+            System.arraycopy(airline, index, airline, index + 1, tail);
+            System.arraycopy(status, index, status, index + 1, tail);
+            System.arraycopy(price, index, price, index + 1, tail);
+            set(index, flight);
+            size++;
+            rowsById.put(flight.getId(), flight);
+        }
+
+        private int indexOf(Flight flight) {
+            int index = Arrays.binarySearch(rows, 0, size, flight, ROW_ORDER);
+            if (index >= 0 && rows[index] == flight) {
+                return index;
+            }
+            // The held instance should not change, but never trust the sort key of a shared entity
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == flight) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Flight " + flight.getId() + " is indexed but not in the rows");
+        }
+
+        private void set(int row, Flight flight) {
+            rows[row] = flight;
+            departure[row] = toEpochSecond(flight.getDepartureDateTime());
+            arrival[row] = toEpochSecond(flight.getArrivalDateTime());
+            depCity[row] = cities.intern(flight.getDepartureCity());
+            arrCity[row] = cities.intern(flight.getArrivalCity());
+            airline[row] = airlines.intern(flight.getAirline());
+            status[row] = (byte) flight.getStatus().ordinal();
+            price[row] = flight.getPrice();
+        }
+    }
+
+    /**
+     * Maps distinct string values to dense int ids so predicates are evaluated once per
+     * distinct value instead of once per row.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids;
+        private final List<String> lowerCaseValues;
+
+        Dictionary() {
+            this(new HashMap<>(), new ArrayList<>());
+        }
+
+        private Dictionary(Map<String, Integer> ids, List<String> lowerCaseValues) {
+            this.ids = ids;
+            this.lowerCaseValues = lowerCaseValues;
+        }
+
+        /**
+         * A private copy for the next column set, so published sets are never written to.
+         */
+        Dictionary copy() {
+            return new Dictionary(new HashMap<>(ids), new ArrayList<>(lowerCaseValues));
+        }
+
+        int intern(String value) {
+            return ids.computeIfAbsent(value, v -> {
+                lowerCaseValues.add(v.toLowerCase(Locale.ROOT));
+                return lowerCaseValues.size() - 1;
+            });
+        }
+
+        boolean[] matchContaining(String fragment) {
+            String needle = fragment.toLowerCase(Locale.ROOT);
+            boolean[] matches = new boolean[lowerCaseValues.size()];
+            for (int id = 0; id < matches.length; id++) {
+                matches[id] = lowerCaseValues.get(id).contains(needle);
+            }
+            return matches;
+        }
+    }
+}
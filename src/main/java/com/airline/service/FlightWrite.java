@@ -0,0 +1,35 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+
+/**
+ * A queued flight mutation: a create when {@code flightId} is null, otherwise an update.
+ */
+public record FlightWrite(Long flightId, FlightDTO flight) {
+
+    public static FlightWrite create(FlightDTO flight) {
+        return new FlightWrite(null, flight);
+    }
+
+    public static FlightWrite update(Long flightId, FlightDTO flight) {
+        return new FlightWrite(flightId, flight);
+    }
+
+    public boolean isCreate() {
+        return flightId == null;
+    }
+
+    /**
+     * Outcome of one write within a batch: the saved flight or the error it failed with.
+     */
+    public record Result(FlightDTO flight, RuntimeException error) {
+
+        static Result success(FlightDTO flight) {
+            return new Result(flight, null);
+        }
+
+        static Result failure(RuntimeException error) {
+            return new Result(null, error);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.exception.ServiceOverloadedException;
+import com.airline.exception.WriteTicketNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional group-commit write path for flight creates and updates.
+ *
+ * Writes are put on a bounded queue and a single writer thread drains it into batches of up
+ * to {@code max-batch-size} writes or {@code max-delay-ms}, whichever comes first. Each batch
+ * is applied by {@link FlightService#applyWrites} in one transaction, so the commit (and its
+ * fsync) is paid once per batch instead of once per write. If the batch transaction fails as
+ * a whole, its writes are retried one by one so only the offending write fails.
+ *
+ * Every submission gets a ticket whose status stays queryable for {@code ticket-retention-seconds}.
+ */
+@Component
+public class FlightWriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightWriteBatcher.class);
+
+    private final FlightService flightService;
+    private final boolean enabled;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long awaitTimeoutMillis;
+    private final long ticketRetentionSeconds;
+    private final Map<String, PendingWrite> tickets = new ConcurrentHashMap<>();
+    private final Thread writer;
+
+    public FlightWriteBatcher(FlightService flightService,
+                              @Value("${airline.write-batching.enabled:false}") boolean enabled,
+                              @Value("${airline.write-batching.queue-capacity:10000}") int queueCapacity,
+                              @Value("${airline.write-batching.max-batch-size:100}") int maxBatchSize,
+                              @Value("${airline.write-batching.max-delay-ms:5}") long maxDelayMillis,
+                              @Value("${airline.write-batching.await-timeout-ms:5000}") long awaitTimeoutMillis,
+                              @Value("${airline.write-batching.ticket-retention-seconds:600}") long ticketRetentionSeconds) {
+        this.flightService = flightService;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.ticketRetentionSeconds = ticketRetentionSeconds;
+        this.writer = new Thread(this::run, "flight-write-batcher");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a write and return its ticket. Fails fast with 503 when the queue is full.
+     */
+    public String submit(FlightWrite write) {
+        PendingWrite pending = new PendingWrite(UUID.randomUUID().toString(), write);
+        tickets.put(pending.ticket, pending);
+        if (!queue.offer(pending)) {
+            tickets.remove(pending.ticket);
+            throw new ServiceOverloadedException("Write queue is full, please retry later", 1);
+        }
+        return pending.ticket;
+    }
+
+    /**
+     * Wait for the ticket's write to be committed. Returns empty if it is still queued after
+     * {@code await-timeout-ms}; the write then completes in the background.
+     */
+    public Optional<FlightDTO> await(String ticket) {
+        PendingWrite pending = find(ticket);
+        try {
+            return Optional.of(pending.result.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Current state of a ticket's write.
+     */
+    public CompletableFuture<FlightDTO> status(String ticket) {
+        return find(ticket).result;
+    }
+
+    @Scheduled(fixedDelayString = "${airline.write-batching.ticket-purge-interval-ms:60000}")
+    public void purgeTickets() {
+        Instant cutoff = Instant.now().minusSeconds(ticketRetentionSeconds);
+        tickets.values().removeIf(pending -> pending.result.isDone() && pending.submittedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    private PendingWrite find(String ticket) {
+        PendingWrite pending = tickets.get(ticket);
+        if (pending == null) {
+            throw new WriteTicketNotFoundException(ticket);
+        }
+        return pending;
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.addAll(queue);
+            batch.forEach(pending -> pending.result.completeExceptionally(
+                new ServiceOverloadedException("Service is shutting down, please retry", 1)));
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            List<FlightWrite.Result> results = flightService.applyWrites(batch.stream().map(p -> p.write).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), results.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} flight writes failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingWrite pending : batch) {
+                try {
+                    complete(pending, flightService.applyWrites(List.of(pending.write)).get(0));
+                } catch (RuntimeException individual) {
+                    pending.result.completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    private void complete(PendingWrite pending, FlightWrite.Result result) {
+        if (result.error() != null) {
+            pending.result.completeExceptionally(result.error());
+        } else {
+            pending.result.complete(result.flight());
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private final String ticket;
+        private final FlightWrite write;
+        private final Instant submittedAt = Instant.now();
+        private final CompletableFuture<FlightDTO> result = new CompletableFuture<>();
+
+        private PendingWrite(String ticket, FlightWrite write) {
+            this.ticket = ticket;
+            this.write = write;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.airline.service;
+
+import com.airline.dto.SeatAssignmentDTO;
+import com.airline.dto.SeatAssignmentRequest;
+import com.airline.dto.SeatMapDTO;
+import com.airline.dto.SeatMapRequest;
+import com.airline.entity.FlightSeatMap;
+import com.airline.event.FlightChangedEvent;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.exception.SeatMapNotFoundException;
+import com.airline.exception.SeatUnavailableException;
+import com.airline.exception.ServiceOverloadedException;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSeatMapRepository;
+import com.airline.seating.SeatLayout;
+import com.airline.seating.SeatMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat selection on per-flight {@link SeatMap} bitsets.
+ *
+ * A flight's seat map is loaded once and kept in memory. A read only looks up the stored
+ * revision, by primary key, and reloads the map when another instance has moved it on. A
+ * change is made on the cached map and the whole bitset (a few dozen bytes) is
+ * written back with a compare-and-set on the revision the cached copy was loaded or last
+ * stored at. Changes to one flight are serialized on its cached map, just as they would be on
+ * the row lock of the update. When the stored revision has moved on, another instance changed
+ * the seats: the change is undone, the cached copy dropped, and the change is applied again
+ * to a fresh copy, where a seat the other instance took is reported as unavailable. A seat
+ * that only looks taken (or free, for a release) on the cached copy is checked against the
+ * stored revision the same way before the change is refused.
+ */
+@Service
+@Transactional
+public class SeatMapService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatMapService.class);
+
+    private static final int MAX_STORE_ATTEMPTS = 5;
+
+    private final FlightSeatMapRepository seatMapRepository;
+    private final FlightRepository flightRepository;
+    private final Map<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public SeatMapService(FlightSeatMapRepository seatMapRepository, FlightRepository flightRepository) {
+        this.seatMapRepository = seatMapRepository;
+        this.flightRepository = flightRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.isRemoval() || event.isRemote()) {
+            seatMaps.remove(event.getFlightId());
+        }
+    }
+
+    /**
+     * Create or replace the cabin layout of a flight. A layout can only be replaced while no
+     * seat is assigned.
+     */
+    public SeatMapDTO configureSeatMap(Long flightId, SeatMapRequest request) {
+        log.info("Configuring seat map of flight {}", flightId);
+
+        if (!flightRepository.existsById(flightId)) {
+            throw new FlightNotFoundException(flightId);
+        }
+        SeatLayout layout = request.toLayout();
+        FlightSeatMap stored = seatMapRepository.findById(flightId).orElseGet(() -> new FlightSeatMap(flightId));
+        long revision = 0;
+        if (stored.getLayout() != null) {
+            SeatMap current = new SeatMap(SeatLayout.parse(stored.getLayout()), stored.getOccupied(), stored.getRevision());
+            if (current.freeSeats() < current.getLayout().getTotalSeats()) {
+                throw new IllegalArgumentException("Seat map of flight " + flightId + " has assigned seats and cannot be replaced");
+            }
+            revision = stored.getRevision() + 1;
+        }
+        SeatMap seatMap = new SeatMap(layout, null, revision);
+        stored.setLayout(layout.toSpec());
+        stored.setOccupied(seatMap.toBytes());
+        stored.setRevision(revision);
+        seatMapRepository.save(stored);
+        seatMaps.put(flightId, seatMap);
+        return SeatMapDTO.fromSeatMap(flightId, seatMap);
+    }
+
+    @Transactional(readOnly = true)
+    public SeatMapDTO getSeatMap(Long flightId) {
+        log.info("Fetching seat map of flight {}", flightId);
+        SeatMap cached = seatMaps.get(flightId);
+        if (cached != null) {
+            evictIfStale(flightId, cached);
+        }
+        return SeatMapDTO.fromSeatMap(flightId, seatMap(flightId));
+    }
+
+    public SeatAssignmentDTO assignSeats(Long flightId, SeatAssignmentRequest request) {
+        if (request.getSeats() != null && !request.getSeats().isEmpty()) {
+            log.info("Assigning seats {} on flight {}", request.getSeats(), flightId);
+        } else if (request.getCount() != null) {
+            log.info("Assigning {} adjacent seats in {} on flight {}", request.getCount(), request.getCabinClass(), flightId);
+        } else {
+            throw new IllegalArgumentException("Either seats or count must be given");
+        }
+
+        for (int attempt = 0; attempt < MAX_STORE_ATTEMPTS; attempt++) {
+            SeatMap seatMap = seatMap(flightId);
+            synchronized (seatMap) {
+                if (seatMaps.get(flightId) != seatMap) {
+                    continue;
+                }
+                long storedRevision = seatMap.getRevision();
+                List<Integer> seats;
+                try {
+                    seats = reserve(flightId, seatMap, request);
+                } catch (SeatUnavailableException e) {
+                    if (attempt + 1 < MAX_STORE_ATTEMPTS && evictIfStale(flightId, seatMap)) {
+                        continue;
+                    }
+                    throw e;
+                }
+                if (store(flightId, seatMap, storedRevision)) {
+                    return new SeatAssignmentDTO(flightId, seats.stream().map(seatMap.getLayout()::label).toList());
+                }
+            }
+        }
+        throw contended(flightId);
+    }
+
+    public void releaseSeat(Long flightId, String seatLabel) {
+        log.info("Releasing seat {} on flight {}", seatLabel, flightId);
+
+        for (int attempt = 0; attempt < MAX_STORE_ATTEMPTS; attempt++) {
+            SeatMap seatMap = seatMap(flightId);
+            synchronized (seatMap) {
+                if (seatMaps.get(flightId) != seatMap) {
+                    continue;
+                }
+                long storedRevision = seatMap.getRevision();
+                int seat = seatMap.getLayout().seat(seatLabel);
+                if (!seatMap.release(seat)) {
+                    if (attempt + 1 < MAX_STORE_ATTEMPTS && evictIfStale(flightId, seatMap)) {
+                        continue;
+                    }
+                    throw new IllegalArgumentException("Seat " + seatMap.getLayout().label(seat) + " on flight " + flightId + " is not assigned");
+                }
+                if (store(flightId, seatMap, storedRevision)) {
+                    return;
+                }
+            }
+        }
+        throw contended(flightId);
+    }
+
+    /**
+     * Take the requested seats on the cached map. Seats taken before one turned out to be
+     * unavailable are given back.
+     */
+    private List<Integer> reserve(Long flightId, SeatMap seatMap, SeatAssignmentRequest request) {
+        SeatLayout layout = seatMap.getLayout();
+        List<Integer> seats = new ArrayList<>();
+
+        if (request.getSeats() != null && !request.getSeats().isEmpty()) {
+            List<Integer> requested = request.getSeats().stream().map(layout::seat).distinct().toList();
+            for (int seat : requested) {
+                if (!seatMap.tryReserve(seat)) {
+                    seats.forEach(seatMap::release);
+                    throw new SeatUnavailableException(flightId, List.of(layout.label(seat)));
+                }
+                seats.add(seat);
+            }
+        } else {
+            if (request.getCabinClass() != null && layout.cabinIndex(request.getCabinClass()) < 0) {
+                throw new IllegalArgumentException("Flight " + flightId + " has no " + request.getCabinClass() + " cabin");
+            }
+            int first = seatMap.reserveAdjacent(request.getCabinClass(), request.getCount());
+            if (first < 0) {
+                throw new SeatUnavailableException(flightId, request.getCount(), request.getCabinClass());
+            }
+            for (int seat = first; seat < first + request.getCount(); seat++) {
+                seats.add(seat);
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Write the bitset back if the stored copy is still at {@code storedRevision}. Otherwise,
+     * or if the write fails, the cached map no longer matches the stored one and is dropped;
+     * the caller applies its change again to a fresh copy.
+     *
+     * @return true if stored
+     */
+    private boolean store(Long flightId, SeatMap seatMap, long storedRevision) {
+        boolean stored = false;
+        try {
+            stored = seatMapRepository.storeOccupancy(flightId, seatMap.toBytes(), storedRevision,
+                seatMap.getRevision(), LocalDateTime.now()) == 1;
+        } finally {
+            if (!stored) {
+                seatMaps.remove(flightId, seatMap);
+            }
+        }
+        if (!stored) {
+            log.debug("Seat map of flight {} was changed by another instance, reloading", flightId);
+        }
+        return stored;
+    }
+
+    /**
+     * Drop the cached map if the stored one is at another revision, that is another instance
+     * changed the seats since it was loaded.
+     *
+     * @return true if dropped; the caller reloads it
+     */
+    private boolean evictIfStale(Long flightId, SeatMap seatMap) {
+        long revision;
+        synchronized (seatMap) {
+            revision = seatMap.getRevision();
+        }
+        boolean stale = seatMapRepository.findRevision(flightId).map(stored -> stored != revision).orElse(false);
+        if (stale) {
+            log.debug("Seat map of flight {} was changed by another instance, reloading", flightId);
+            seatMaps.remove(flightId, seatMap);
+        }
+        return stale;
+    }
+
+    private ServiceOverloadedException contended(Long flightId) {
+        return new ServiceOverloadedException("Seat map of flight " + flightId + " is changing too quickly, try again", 1);
+    }
+
+    private SeatMap seatMap(Long flightId) {
+        SeatMap seatMap = seatMaps.get(flightId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        FlightSeatMap stored = seatMapRepository.findById(flightId).orElseThrow(() ->
+            flightRepository.existsById(flightId) ? new SeatMapNotFoundException(flightId) : new FlightNotFoundException(flightId));
+        SeatMap loaded = new SeatMap(SeatLayout.parse(stored.getLayout()), stored.getOccupied(), stored.getRevision());
+        SeatMap raced = seatMaps.putIfAbsent(flightId, loaded);
+        return raced != null ? raced : loaded;
+    }
+}
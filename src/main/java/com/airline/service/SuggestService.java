@@ -0,0 +1,80 @@
+package com.airline.service;
+
+import com.airline.dto.SuggestionDTO;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSpecifications;
+import com.airline.suggest.FlightSuggestIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * City and airline autocomplete. Served from the in-memory {@link FlightSuggestIndex};
+ * while it is loading or disabled, prefix queries run against the database instead. Only
+ * that fallback opens a (read-only) transaction, so keystrokes answered from memory never
+ * take a connection.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private final FlightSuggestIndex flightSuggestIndex;
+    private final FlightRepository flightRepository;
+    private final TransactionTemplate readTransaction;
+    private final int maxLimit;
+
+    public SuggestService(FlightSuggestIndex flightSuggestIndex,
+                          FlightRepository flightRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${airline.suggest.max-limit:50}") int maxLimit) {
+        this.flightSuggestIndex = flightSuggestIndex;
+        this.flightRepository = flightRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+        String query = prefix == null ? "" : prefix.trim();
+        if (flightSuggestIndex.isReady()) {
+            return flightSuggestIndex.suggest(query, limit);
+        }
+        log.debug("Suggest index not ready, querying the database for prefix '{}'", query);
+        return readTransaction.execute(status -> suggestFromDatabase(query, limit));
+    }
+
+    private List<SuggestionDTO> suggestFromDatabase(String query, int limit) {
+        String pattern = FlightSpecifications.escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+        Map<String, Long> cities = new LinkedHashMap<>();
+        addCounts(cities, flightRepository.countByDepartureCityLike(pattern));
+        addCounts(cities, flightRepository.countByArrivalCityLike(pattern));
+        Map<String, Long> airlines = new LinkedHashMap<>();
+        addCounts(airlines, flightRepository.countByAirlineLike(pattern));
+
+        List<SuggestionDTO> suggestions = new ArrayList<>(cities.size() + airlines.size());
+        cities.forEach((city, count) -> suggestions.add(new SuggestionDTO(city, SuggestionDTO.Type.CITY, count)));
+        airlines.forEach((airline, count) ->
+            suggestions.add(new SuggestionDTO(airline, SuggestionDTO.Type.AIRLINE, count)));
+        suggestions.sort(SuggestionDTO.BY_RANK);
+        return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    private static void addCounts(Map<String, Long> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.airline.service;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.WaitlistEntryDTO;
+import com.airline.dto.WaitlistRequest;
+import com.airline.entity.Flight;
+import com.airline.entity.WaitlistEntry;
+import com.airline.event.FlightChangedEvent;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.exception.WaitlistEntryNotFoundException;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.WaitlistEntryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Waitlists for full flights with automatic promotion to seat holds.
+ *
+ * Entries live in {@code flight_waitlist} and are served by tier and then by join order, read
+ * straight from the table so entries joined on any instance are seen by every promoter.
+ * Whenever a flight gains free seats (a hold is released or expires, or the flight is
+ * reactivated) it is marked for promotion. Marks are coalesced for a short delay and then
+ * served by a single promoter thread in one transaction per flight, so a mass cancellation
+ * costs one transaction per flight rather than one per freed seat. A flight whose promotion
+ * fails stays marked and is retried with an exponential backoff. The entries being promoted are
+ * locked in queue order, which keeps promoters on other instances from serving the same
+ * flight at the same time. Promotion is strictly in queue order: an entry that needs more
+ * seats than are free blocks the entries behind it.
+ */
+@Service
+@Transactional
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final FlightRepository flightRepository;
+    private final FlightHoldService flightHoldService;
+    private final TransactionTemplate transactionTemplate;
+    private final long promotionDelayMillis;
+    private final int maxBatchSize;
+    private final long holdTtlSeconds;
+    private final Set<Long> pendingFlights = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean promotionScheduled = new AtomicBoolean();
+    // Runs in a row with a failed flight; only touched by the promoter thread
+    private int failedRuns;
+    private final ScheduledExecutorService promoter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-promoter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WaitlistService(WaitlistEntryRepository waitlistRepository,
+                           FlightRepository flightRepository,
+                           FlightHoldService flightHoldService,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${airline.waitlist.promotion-delay-ms:200}") long promotionDelayMillis,
+                           @Value("${airline.waitlist.max-batch-size:500}") int maxBatchSize,
+                           @Value("${airline.waitlist.hold-ttl-seconds:900}") long holdTtlSeconds) {
+        this.waitlistRepository = waitlistRepository;
+        this.flightRepository = flightRepository;
+        this.flightHoldService = flightHoldService;
+        this.transactionTemplate = transactionTemplate;
+        this.promotionDelayMillis = promotionDelayMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.holdTtlSeconds = holdTtlSeconds;
+    }
+
+    /**
+     * Seats freed while the instance was down are promoted once it is back.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void resumePromotion() {
+        List<Long> flightIds = waitlistRepository.findFlightIdsWithWaitingEntries();
+        pendingFlights.addAll(flightIds);
+        if (!flightIds.isEmpty()) {
+            schedulePromotion();
+        }
+        log.info("Waitlists resumed on {} flights", flightIds.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promoter.shutdownNow();
+    }
+
+    /**
+     * Seats are freed by holds and flight updates on this instance, which publish the event
+     * locally; the same change relayed from another instance is promoted there.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.isRemote() || event.isRemoval()) {
+            return;
+        }
+        if (isBookable(event.getFlight()) && freeSeats(event.getFlight()) > 0) {
+            requestPromotion(event.getFlightId());
+        }
+    }
+
+    public WaitlistEntryDTO joinWaitlist(Long flightId, WaitlistRequest request) {
+        log.info("Adding {} to the waitlist of flight {} for {} seats ({})",
+            request.getHolderEmail(), flightId, request.getSeats(), request.getTier());
+
+        Flight flight = flightRepository.findById(flightId)
+            .orElseThrow(() -> new FlightNotFoundException(flightId));
+        if (flight.getSeatCapacity() == null) {
+            throw new IllegalArgumentException("Flight " + flightId + " does not track seat inventory");
+        }
+        int freeSeats = freeSeats(flight);
+        if (isBookable(flight) && freeSeats >= request.getSeats()
+            && !waitlistRepository.existsByFlightIdAndStatus(flightId, WaitlistEntry.WaitlistStatus.WAITING)) {
+            throw new IllegalArgumentException("Flight " + flightId + " has " + freeSeats
+                + " seats available; place a hold instead");
+        }
+
+        WaitlistEntry.PriorityTier tier = request.getTier() == null ? WaitlistEntry.PriorityTier.STANDARD : request.getTier();
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(flightId, request.getSeats(), request.getHolderEmail(), tier));
+        if (freeSeats > 0) {
+            // Marked only once the row is committed, so the promoter never runs before it can see it
+            afterCommit(() -> requestPromotion(flightId));
+        }
+        return WaitlistEntryDTO.fromEntity(entry, position(flightId, entry.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getWaitlist(Long flightId) {
+        log.info("Fetching waitlist of flight {}", flightId);
+
+        if (!flightRepository.existsById(flightId)) {
+            throw new FlightNotFoundException(flightId);
+        }
+        List<WaitlistEntry> waiting = waitlistRepository.findWaiting(flightId);
+        List<WaitlistEntryDTO> entries = new ArrayList<>(waiting.size());
+        for (WaitlistEntry entry : waiting) {
+            entries.add(WaitlistEntryDTO.fromEntity(entry, entries.size() + 1));
+        }
+        return entries;
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistEntryDTO getEntry(Long flightId, Long entryId) {
+        log.info("Fetching waitlist entry {} on flight {}", entryId, flightId);
+
+        WaitlistEntry entry = waitlistRepository.findByIdAndFlightId(entryId, flightId)
+            .orElseThrow(() -> new WaitlistEntryNotFoundException(flightId, entryId));
+        Integer position = null;
+        if (entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING) {
+            position = position(flightId, entryId);
+        }
+        return WaitlistEntryDTO.fromEntity(entry, position);
+    }
+
+    public void leaveWaitlist(Long flightId, Long entryId) {
+        log.info("Removing entry {} from the waitlist of flight {}", entryId, flightId);
+
+        waitlistRepository.findByIdAndFlightId(entryId, flightId)
+            .orElseThrow(() -> new WaitlistEntryNotFoundException(flightId, entryId));
+        if (waitlistRepository.cancelWaiting(entryId) == 0) {
+            throw new IllegalArgumentException("Waitlist entry " + entryId + " is no longer waiting");
+        }
+    }
+
+    /**
+     * Mark a flight for promotion. Marks arriving within the delay share one run.
+     */
+    private void requestPromotion(Long flightId) {
+        pendingFlights.add(flightId);
+        schedulePromotion();
+    }
+
+    private void schedulePromotion() {
+        schedulePromotion(promotionDelayMillis);
+    }
+
+    private void schedulePromotion(long delayMillis) {
+        if (promotionScheduled.compareAndSet(false, true)) {
+            promoter.schedule(this::promotePending, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs on the promoter thread. Every pending flight is served in its own transaction, up
+     * to {@code max-batch-size} promotions per run; flights left over are served by the next
+     * run. A flight that fails is marked again and the next run waits twice as long as the
+     * last, up to {@value #MAX_BACKOFF_SHIFT} doublings, until a run succeeds.
+     */
+    private void promotePending() {
+        promotionScheduled.set(false);
+        List<Long> flightIds = new ArrayList<>(pendingFlights);
+        pendingFlights.removeAll(flightIds);
+        int total = 0;
+        List<Long> failed = new ArrayList<>();
+        for (Long flightId : flightIds) {
+            int limit = maxBatchSize - total;
+            if (limit <= 0) {
+                pendingFlights.add(flightId);
+                continue;
+            }
+            try {
+                Integer count = transactionTemplate.execute(status -> promote(flightId, limit));
+                int promoted = count == null ? 0 : count;
+                total += promoted;
+                if (promoted == limit) {
+                    pendingFlights.add(flightId);
+                }
+            } catch (RuntimeException e) {
+                // Nothing was promoted on this flight; its entries are still waiting in the table
+                log.error("Failed to promote waitlist entries on flight {}", flightId, e);
+                failed.add(flightId);
+            }
+        }
+        if (total > 0) {
+            log.info("Promoted {} waitlist entries on {} flights", total, flightIds.size() - failed.size());
+        }
+        pendingFlights.addAll(failed);
+        failedRuns = failed.isEmpty() ? 0 : failedRuns + 1;
+        if (!pendingFlights.isEmpty()) {
+            schedulePromotion(promotionDelayMillis << Math.min(failedRuns, MAX_BACKOFF_SHIFT));
+        }
+    }
+
+    /**
+     * Promote up to {@code limit} entries of a flight in queue order.
+     *
+     * @return the number promoted; when it is {@code limit} more entries may be waiting
+     */
+    private int promote(Long flightId, int limit) {
+        Optional<Flight> flight = flightRepository.findById(flightId);
+        if (flight.isEmpty() || !isBookable(flight.get())) {
+            return 0;
+        }
+        int promoted = 0;
+        for (WaitlistEntry entry : waitlistRepository.lockWaiting(flightId, PageRequest.of(0, limit))) {
+            Optional<FlightHoldDTO> hold = flightHoldService.tryHold(flightId, entry.getSeats(), entry.getHolderEmail(), holdTtlSeconds);
+            if (hold.isEmpty()) {
+                break;
+            }
+            promoted++;
+            if (waitlistRepository.promote(entry.getId(), hold.get().getId(), LocalDateTime.now()) == 0) {
+                // The entry left the waitlist while it was being promoted
+                flightHoldService.releaseHold(flightId, hold.get().getId());
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Position of a waiting entry, 1 for the next one to be promoted.
+     */
+    private int position(Long flightId, Long entryId) {
+        List<WaitlistEntry> waiting = waitlistRepository.findWaiting(flightId);
+        for (int i = 0; i < waiting.size(); i++) {
+            if (waiting.get(i).getId().equals(entryId)) {
+                return i + 1;
+            }
+        }
+        return waiting.size() + 1;
+    }
+
+    private static int freeSeats(Flight flight) {
+        return flight.getAvailableSeats() == null ? 0 : flight.getAvailableSeats();
+    }
+
+    private static boolean isBookable(Flight flight) {
+        return flight.getStatus() != Flight.FlightStatus.CANCELLED && flight.getStatus() != Flight.FlightStatus.INACTIVE;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.airline.suggest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree of strings under Levenshtein distance.
+ *
+ * Every child hangs off its parent at the edit distance between the two, so by the triangle
+ * inequality a query for terms within {@code k} edits of {@code q} only needs to descend into
+ * children at distance {@code d - k .. d + k}, where {@code d} is the distance from {@code q}
+ * to the parent. For short names and {@code k <= 2} that visits a small fraction of the tree.
+ *
+ * Terms can be added but not removed; callers filter out retired terms and rebuild the tree
+ * when enough of them have accumulated. Not thread-safe; callers synchronize.
+ */
+public class BkTree {
+
+    private Node root;
+    private int size;
+
+    public void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Terms within {@code maxDistance} edits of {@code query}, in no particular order.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance (insertions, deletions and substitutions) in O(n*m) time and
+     * O(min(n, m)) space.
+     */
+    static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    public record Match(String term, int distance) {
+    }
+
+    private static final class Node {
+
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+}
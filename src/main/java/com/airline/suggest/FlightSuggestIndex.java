@@ -0,0 +1,245 @@
+package com.airline.suggest;
+
+import com.airline.dto.SuggestionDTO;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocomplete and typo-tolerant lookup over the cities and airlines present in {@code flight}.
+ *
+ * Cities (departure and arrival) and airlines are kept in two {@link PrefixTrie}s whose
+ * counts are the number of flights using the value, next to a {@link BkTree} of the same
+ * terms for edit-distance lookups. Both are loaded once at startup and then adjusted from
+ * committed {@link FlightChangedEvent}s, remembering the values each flight was counted
+ * under so updates and deletes take back the right terms.
+ *
+ * The trie matches case-insensitively, but {@code flight} may spell one city several ways
+ * ("Berlin", "BERLIN"), so every spelling in use is kept per term and a resolved term stands
+ * for all of them; the exact IN lookups built from it then find every flight.
+ */
+@Component
+public class FlightSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSuggestIndex.class);
+
+    private static final int DEPARTURE_CITY = 0;
+    private static final int ARRIVAL_CITY = 1;
+    private static final int AIRLINE = 2;
+
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+    private final int maxEdits;
+    private final Vocabulary cities = new Vocabulary();
+    private final Vocabulary airlines = new Vocabulary();
+    private final Map<Long, String[]> indexedValues = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public FlightSuggestIndex(FlightRepository flightRepository,
+                              @Value("${airline.suggest.enabled:true}") boolean enabled,
+                              @Value("${airline.suggest.fuzzy-max-edits:2}") int maxEdits) {
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+        this.maxEdits = maxEdits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flightRepository.findAll().forEach(this::put);
+            ready = true;
+            log.info("Suggest index loaded with {} cities and {} airlines", cities.trie.size(), airlines.trie.size());
+        } catch (RuntimeException e) {
+            log.warn("Suggest index load failed, suggestions will use the database", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isRemoval()) {
+            remove(event.getFlightId());
+        } else {
+            put(event.getFlight());
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Up to {@code limit} cities and airlines starting with {@code prefix}, most flights first.
+     */
+    public synchronized List<SuggestionDTO> suggest(String prefix, int limit) {
+        List<SuggestionDTO> suggestions = new ArrayList<>(2 * limit);
+        for (PrefixTrie.Match match : cities.trie.top(prefix, limit)) {
+            suggestions.add(new SuggestionDTO(match.term(), SuggestionDTO.Type.CITY, match.count()));
+        }
+        for (PrefixTrie.Match match : airlines.trie.top(prefix, limit)) {
+            suggestions.add(new SuggestionDTO(match.term(), SuggestionDTO.Type.AIRLINE, match.count()));
+        }
+        suggestions.sort(SuggestionDTO.BY_RANK);
+        return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    /**
+     * City names as spelled in {@code flight} that {@code city} most likely means: the city
+     * itself when it is known, otherwise the known cities at the smallest edit distance within
+     * the allowed number of edits, most flights first. Every spelling of a matched city is
+     * included. Empty when nothing is close enough.
+     */
+    public synchronized List<String> resolveCity(String city) {
+        return cities.resolve(city, allowedEdits(city));
+    }
+
+    /**
+     * Airline names as spelled in {@code flight} that {@code airline} most likely means.
+     *
+     * @see #resolveCity(String)
+     */
+    public synchronized List<String> resolveAirline(String airline) {
+        return airlines.resolve(airline, allowedEdits(airline));
+    }
+
+    /**
+     * Every spelling of {@code city} in {@code flight}, compared case-insensitively; empty
+     * when no flight uses the city.
+     */
+    public synchronized List<String> citySpellings(String city) {
+        return cities.resolve(city, 0);
+    }
+
+    /**
+     * One edit for short names and up to {@code maxEdits} from six characters on, so that
+     * "Rome" cannot turn into "Rota" but "Frankfrut" still finds "Frankfurt".
+     */
+    private int allowedEdits(String term) {
+        int length = term == null ? 0 : term.trim().length();
+        if (length < 3) {
+            return 0;
+        }
+        return length < 6 ? Math.min(1, maxEdits) : maxEdits;
+    }
+
+    private void put(Flight flight) {
+        remove(flight.getId());
+        String[] values = {flight.getDepartureCity(), flight.getArrivalCity(), flight.getAirline()};
+        cities.adjust(values[DEPARTURE_CITY], 1);
+        cities.adjust(values[ARRIVAL_CITY], 1);
+        airlines.adjust(values[AIRLINE], 1);
+        indexedValues.put(flight.getId(), values);
+    }
+
+    private void remove(Long flightId) {
+        String[] values = indexedValues.remove(flightId);
+        if (values == null) {
+            return;
+        }
+        cities.adjust(values[DEPARTURE_CITY], -1);
+        cities.adjust(values[ARRIVAL_CITY], -1);
+        airlines.adjust(values[AIRLINE], -1);
+    }
+
+    /**
+     * Prefix trie and BK-tree over the same terms, plus the spellings in use per term. The
+     * BK-tree cannot delete, so retired terms stay in it, are filtered out against the trie,
+     * and the tree is rebuilt once they outnumber the live terms.
+     */
+    private static final class Vocabulary {
+
+        private final PrefixTrie trie = new PrefixTrie();
+        private final Map<String, Map<String, Integer>> spellings = new HashMap<>();
+        private BkTree tree = new BkTree();
+        private int retired;
+
+        private void adjust(String term, int delta) {
+            if (term == null || term.isBlank()) {
+                return;
+            }
+            String key = PrefixTrie.normalize(term);
+            Map<String, Integer> counts = spellings.computeIfAbsent(key, k -> new HashMap<>(2));
+            if (counts.merge(term.trim(), delta, Integer::sum) <= 0) {
+                counts.remove(term.trim());
+            }
+            if (counts.isEmpty()) {
+                spellings.remove(key);
+            }
+            int previous = trie.count(term);
+            int current = trie.adjust(term, delta);
+            if (previous == 0 && current > 0) {
+                tree.add(PrefixTrie.normalize(term));
+            } else if (previous > 0 && current == 0 && ++retired > trie.size()) {
+                rebuildTree();
+            }
+        }
+
+        private List<String> resolve(String term, int edits) {
+            if (term == null || term.isBlank()) {
+                return List.of();
+            }
+            PrefixTrie.Match exact = trie.get(term);
+            if (exact != null) {
+                return spellingsOf(exact.term());
+            }
+            if (edits == 0) {
+                return List.of();
+            }
+            int closest = Integer.MAX_VALUE;
+            List<PrefixTrie.Match> matches = new ArrayList<>();
+            for (BkTree.Match candidate : tree.search(PrefixTrie.normalize(term), edits)) {
+                PrefixTrie.Match live = trie.get(candidate.term());
+                if (live == null || candidate.distance() > closest) {
+                    continue;
+                }
+                if (candidate.distance() < closest) {
+                    closest = candidate.distance();
+                    matches.clear();
+                }
+                matches.add(live);
+            }
+            matches.sort(Comparator.comparingInt(PrefixTrie.Match::count).reversed()
+                .thenComparing(PrefixTrie.Match::term));
+            return matches.stream().flatMap(match -> spellingsOf(match.term()).stream()).toList();
+        }
+
+        /**
+         * The spellings of a live term, most used first.
+         */
+        private List<String> spellingsOf(String term) {
+            Map<String, Integer> counts = spellings.getOrDefault(PrefixTrie.normalize(term), Map.of());
+            return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        }
+
+        private void rebuildTree() {
+            BkTree rebuilt = new BkTree();
+            for (PrefixTrie.Match live : trie.top("", trie.size())) {
+                rebuilt.add(PrefixTrie.normalize(live.term()));
+            }
+            tree = rebuilt;
+            retired = 0;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.airline.suggest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix trie of terms with a count each, answering "top K terms starting with p by count".
+ *
+ * Terms are matched case-insensitively and reported with the spelling they were first added
+ * with. Every node also keeps the highest count anywhere below it, so a top-K query is a
+ * best-first walk that only expands subtrees which can still beat the K-th result, instead
+ * of visiting every completion of the prefix. Counts are adjusted incrementally; a term whose
+ * count reaches zero is pruned along with any branch left empty.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class PrefixTrie {
+
+    private static final Comparator<Candidate> BY_RANK = Comparator
+        .comparingInt((Candidate candidate) -> candidate.rank).reversed()
+        .thenComparing(candidate -> candidate.match == null ? 0 : 1)
+        .thenComparing(candidate -> candidate.key);
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Add {@code delta} (which may be negative) to the count of {@code term}.
+     *
+     * @return the term's new count
+     */
+    public int adjust(String term, int delta) {
+        if (term == null || term.isBlank()) {
+            return 0;
+        }
+        if (delta == 0) {
+            return count(term);
+        }
+        String key = normalize(term);
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                if (delta < 0) {
+                    return 0;
+                }
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+            path.add(node);
+        }
+        int previous = node.count;
+        node.count = Math.max(0, previous + delta);
+        if (previous == 0 && node.count > 0) {
+            node.term = term.trim();
+            size++;
+        } else if (previous > 0 && node.count == 0) {
+            node.term = null;
+            size--;
+        }
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node current = path.get(depth);
+            current.refreshBest();
+            if (depth > 0 && current.count == 0 && current.children.isEmpty()) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+            }
+        }
+        return node.count;
+    }
+
+    public int count(String term) {
+        Node node = node(normalize(term));
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * The term as first spelled and its count, or null if it is not present.
+     */
+    public Match get(String term) {
+        Node node = node(normalize(term));
+        return node == null || node.count == 0 ? null : new Match(node.term, node.count);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Up to {@code limit} terms starting with {@code prefix}, highest count first and
+     * alphabetical among equal counts.
+     */
+    public List<Match> top(String prefix, int limit) {
+        List<Match> result = new ArrayList<>(Math.min(limit, 16));
+        String key = prefix == null ? "" : normalize(prefix);
+        Node start = node(key);
+        if (start == null || limit <= 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BY_RANK);
+        queue.add(new Candidate(start.best, key, start, null));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.match != null) {
+                result.add(candidate.match);
+                continue;
+            }
+            Node node = candidate.node;
+            if (node.count > 0) {
+                queue.add(new Candidate(node.count, candidate.key, null, new Match(node.term, node.count)));
+            }
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                queue.add(new Candidate(child.getValue().best, candidate.key + child.getKey(), child.getValue(), null));
+            }
+        }
+        return result;
+    }
+
+    private Node node(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Match(String term, int count) {
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private int count;
+        private int best;
+        private String term;
+
+        private void refreshBest() {
+            int max = count;
+            for (Node child : children.values()) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+
+    /**
+     * Either an unexpanded node (ranked by the best count below it) or a finished match.
+     * Nodes sort ahead of matches with the same rank so equal counts come out alphabetically.
+     */
+    private record Candidate(int rank, String key, Node node, Match match) {
+    }
+}
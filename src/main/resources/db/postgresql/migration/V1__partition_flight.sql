@@ -0,0 +1,76 @@
+-- One-off migration for PostgreSQL databases created before the flight table was partitioned.
+-- Run it once, before deploying, in a single transaction:
+--
+--   psql -v ON_ERROR_STOP=1 -1 -f V1__partition_flight.sql airlinedb
+--
+-- db/postgresql/schema.sql only creates missing objects; it cannot turn the plain flight table
+-- into a partitioned one, so startup fails on an unmigrated database. The migration is recorded
+-- in schema_migration, and running it a second time fails on the primary key instead of
+-- renaming the partitioned table.
+
+CREATE TABLE IF NOT EXISTS schema_migration (
+    version INTEGER PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+INSERT INTO schema_migration (version, description) VALUES (1, 'partition flight by dep_dt');
+
+LOCK TABLE flight IN ACCESS EXCLUSIVE MODE;
+
+-- Columns added since the baseline
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS seats_total INTEGER;
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS seats_avail INTEGER;
+
+-- Keep the old table until the copy is verified; free the names the partitioned table takes
+DROP INDEX IF EXISTS idx_status;
+DROP INDEX IF EXISTS idx_dep_city;
+DROP INDEX IF EXISTS idx_arr_city;
+DROP INDEX IF EXISTS idx_airline;
+ALTER TABLE flight RENAME CONSTRAINT flight_pkey TO flight_unpartitioned_pkey;
+ALTER TABLE flight RENAME TO flight_unpartitioned;
+
+CREATE TABLE flight (
+    id BIGSERIAL NOT NULL,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    dep_dt TIMESTAMP(6) NOT NULL,
+    arr_dt TIMESTAMP(6) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    seats_total INTEGER,
+    seats_avail INTEGER,
+    duration_sec INTEGER GENERATED ALWAYS AS (EXTRACT(EPOCH FROM (arr_dt - dep_dt))::INTEGER) STORED,
+    version BIGINT DEFAULT 0,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, dep_dt)
+) PARTITION BY RANGE (dep_dt);
+
+CREATE TABLE flight_default PARTITION OF flight DEFAULT;
+
+CREATE INDEX idx_status ON flight(status);
+CREATE INDEX idx_dep_city ON flight(dep_city);
+CREATE INDEX idx_arr_city ON flight(arr_city);
+CREATE INDEX idx_airline ON flight(airline);
+CREATE INDEX idx_dep_dt ON flight(dep_dt);
+CREATE INDEX idx_arr_dt ON flight(arr_dt);
+CREATE INDEX idx_price ON flight(price);
+CREATE INDEX idx_duration ON flight(duration_sec);
+
+-- Rows land in flight_default; FlightPartitionManager moves them into monthly partitions
+-- when it creates those at startup
+INSERT INTO flight (id, airline, type, price, dep_city, arr_city, dep_dt, arr_dt, status, img, email,
+                    seats_total, seats_avail, version, created_at, updated_at)
+SELECT id, airline, type, price, dep_city, arr_city, dep_dt, arr_dt, status, img, email,
+       seats_total, seats_avail, version, created_at, updated_at
+FROM flight_unpartitioned;
+
+-- New ids continue after the copied ones
+SELECT setval(pg_get_serial_sequence('flight', 'id'), (SELECT COALESCE(MAX(id), 0) + 1 FROM flight), false);
+
+-- After verifying the copy: DROP TABLE flight_unpartitioned;
@@ -0,0 +1,192 @@
+-- Database initialization script for PostgreSQL (Production)
+-- Idempotent: safe to run on every startup.
+-- The flight table is range-partitioned by departure date (monthly). Future partitions
+-- are created ahead of time by FlightPartitionManager; the default partition only
+-- catches rows outside the managed window.
+-- Databases created before partitioning must run migration/V1__partition_flight.sql once
+-- first: CREATE TABLE IF NOT EXISTS leaves the old plain flight table in place.
+
+CREATE TABLE IF NOT EXISTS flight (
+    id BIGSERIAL NOT NULL,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    dep_dt TIMESTAMP(6) NOT NULL,
+    arr_dt TIMESTAMP(6) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    seats_total INTEGER,
+    seats_avail INTEGER,
+    duration_sec INTEGER GENERATED ALWAYS AS (EXTRACT(EPOCH FROM (arr_dt - dep_dt))::INTEGER) STORED,
+    version BIGINT DEFAULT 0,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, dep_dt)
+) PARTITION BY RANGE (dep_dt);
+
+CREATE TABLE IF NOT EXISTS flight_default PARTITION OF flight DEFAULT;
+
+-- Indexes on the partitioned parent are created on every partition
+CREATE INDEX IF NOT EXISTS idx_status ON flight(status);
+CREATE INDEX IF NOT EXISTS idx_dep_city ON flight(dep_city);
+CREATE INDEX IF NOT EXISTS idx_arr_city ON flight(arr_city);
+CREATE INDEX IF NOT EXISTS idx_airline ON flight(airline);
+CREATE INDEX IF NOT EXISTS idx_dep_dt ON flight(dep_dt);
+CREATE INDEX IF NOT EXISTS idx_arr_dt ON flight(arr_dt);
+CREATE INDEX IF NOT EXISTS idx_price ON flight(price);
+CREATE INDEX IF NOT EXISTS idx_duration ON flight(duration_sec);
+
+-- Completed flights moved out of the hot table by FlightArchiver
+CREATE TABLE IF NOT EXISTS flight_archive (
+    id BIGINT PRIMARY KEY,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    dep_dt TIMESTAMP(6) NOT NULL,
+    arr_dt TIMESTAMP(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    version BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_archive_dep_dt ON flight_archive(dep_dt);
+
+-- Temporary seat holds; expiry is driven in-process by FlightHoldService
+CREATE TABLE IF NOT EXISTS flight_hold (
+    id BIGSERIAL PRIMARY KEY,
+    flight_id BIGINT NOT NULL,
+    seats INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    holder_email VARCHAR(100),
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_hold_status ON flight_hold(status);
+
+-- Responses stored per Idempotency-Key for replaying retried mutations; a PENDING row claims
+-- the key while its request executes
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    idem_key VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(300) NOT NULL,
+    state VARCHAR(20) NOT NULL,
+    status_code INTEGER,
+    content_type VARCHAR(100),
+    body BYTEA,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idem_expires_at ON idempotency_record(expires_at);
+
+-- City reference data with coordinates for nearby-airport search (NearbyCityIndex)
+CREATE TABLE IF NOT EXISTS city (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    country VARCHAR(100),
+    iata_code VARCHAR(3) NOT NULL UNIQUE,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_city_name ON city(name);
+
+-- Recurring schedule templates; occurrences are expanded on read (FlightScheduleService)
+CREATE TABLE IF NOT EXISTS flight_schedule (
+    id BIGSERIAL PRIMARY KEY,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    days_mask INTEGER NOT NULL,
+    dep_time TIME NOT NULL,
+    duration_min INTEGER NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_to DATE NOT NULL,
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    seats_total INTEGER,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_schedule_valid_to ON flight_schedule(valid_to);
+
+-- Occurrences of a schedule that have been materialized into flight rows. Kept apart from
+-- flight because a unique key on the partitioned flight table would have to include dep_dt.
+-- Removed with the schedule.
+CREATE TABLE IF NOT EXISTS flight_schedule_instance (
+    schedule_id BIGINT NOT NULL REFERENCES flight_schedule(id) ON DELETE CASCADE,
+    dep_date DATE NOT NULL,
+    flight_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (schedule_id, dep_date)
+);
+
+-- Seat map per flight: cabin layout spec and occupancy bitset (8 bytes per 64 seats)
+CREATE TABLE IF NOT EXISTS flight_seat_map (
+    flight_id BIGINT PRIMARY KEY,
+    layout VARCHAR(500) NOT NULL,
+    occupied BYTEA NOT NULL,
+    revision BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+-- Waitlist entries per flight; served by tier and join order straight from the table and promoted to holds
+CREATE TABLE IF NOT EXISTS flight_waitlist (
+    id BIGSERIAL PRIMARY KEY,
+    flight_id BIGINT NOT NULL,
+    seats INTEGER NOT NULL,
+    holder_email VARCHAR(100) NOT NULL,
+    tier VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    hold_id BIGINT,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    promoted_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_status ON flight_waitlist(status);
+CREATE INDEX IF NOT EXISTS idx_waitlist_flight_status ON flight_waitlist(flight_id, status);
+
+-- Bookings driven through reserve, payment and confirm by the booking saga
+CREATE TABLE IF NOT EXISTS booking (
+    id BIGSERIAL PRIMARY KEY,
+    flight_id BIGINT NOT NULL,
+    seats INTEGER NOT NULL,
+    passenger_email VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    amount DOUBLE PRECISION,
+    hold_id BIGINT,
+    payment_id VARCHAR(100),
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_status ON booking(status);
+
+INSERT INTO city (name, country, iata_code, latitude, longitude) VALUES
+('Berlin', 'Germany', 'BER', 52.5200, 13.4050),
+('Leipzig', 'Germany', 'LEJ', 51.3397, 12.3731),
+('Dresden', 'Germany', 'DRS', 51.0504, 13.7373),
+('Szczecin', 'Poland', 'SZZ', 53.4285, 14.5528),
+('Rostock', 'Germany', 'RLG', 54.0887, 12.1405),
+('Hamburg', 'Germany', 'HAM', 53.5511, 9.9937),
+('Munich', 'Germany', 'MUC', 48.1351, 11.5820),
+('Frankfurt', 'Germany', 'FRA', 50.1109, 8.6821),
+('Amsterdam', 'Netherlands', 'AMS', 52.3676, 4.9041),
+('Rotterdam', 'Netherlands', 'RTM', 51.9244, 4.4777),
+('Vienna', 'Austria', 'VIE', 48.2082, 16.3738),
+('Rome', 'Italy', 'ROM', 41.9028, 12.4964),
+('New York', 'United States', 'NYC', 40.7128, -74.0060),
+('Shanghai', 'China', 'SHA', 31.2304, 121.4737)
+ON CONFLICT (iata_code) DO NOTHING;
@@ -2,6 +2,15 @@
 -- This script will be executed automatically on application startup
 
 DROP TABLE IF EXISTS flight;
+DROP TABLE IF EXISTS flight_archive;
+DROP TABLE IF EXISTS flight_hold;
+DROP TABLE IF EXISTS idempotency_record;
+DROP TABLE IF EXISTS city;
+DROP TABLE IF EXISTS flight_schedule_instance;
+DROP TABLE IF EXISTS flight_schedule;
+DROP TABLE IF EXISTS flight_seat_map;
+DROP TABLE IF EXISTS flight_waitlist;
+DROP TABLE IF EXISTS booking;
 
 CREATE TABLE flight (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -15,21 +24,174 @@ CREATE TABLE flight (
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     img VARCHAR(255),
     email VARCHAR(100) NOT NULL,
+    seats_total INT,
+    seats_avail INT,
+    duration_sec INT GENERATED ALWAYS AS (DATEDIFF('SECOND', dep_dt, arr_dt)),
     version BIGINT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
 );
 
+-- Completed flights moved out of the hot table by FlightArchiver
+CREATE TABLE flight_archive (
+    id BIGINT PRIMARY KEY,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    dep_dt TIMESTAMP NOT NULL,
+    arr_dt TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    version BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Temporary seat holds; expiry is driven in-process by FlightHoldService
+CREATE TABLE flight_hold (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    flight_id BIGINT NOT NULL,
+    seats INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    holder_email VARCHAR(100),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Responses stored per Idempotency-Key for replaying retried mutations; a PENDING row claims
+-- the key while its request executes
+CREATE TABLE idempotency_record (
+    idem_key VARCHAR(100) PRIMARY KEY,
+    fingerprint VARCHAR(300) NOT NULL,
+    state VARCHAR(20) NOT NULL,
+    status_code INT,
+    content_type VARCHAR(100),
+    body VARBINARY(1048576),
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- City reference data with coordinates for nearby-airport search (NearbyCityIndex)
+CREATE TABLE city (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    country VARCHAR(100),
+    iata_code VARCHAR(3) NOT NULL UNIQUE,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+);
+
+-- Recurring schedule templates; occurrences are expanded on read (FlightScheduleService)
+CREATE TABLE flight_schedule (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    airline VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    dep_city VARCHAR(100) NOT NULL,
+    arr_city VARCHAR(100) NOT NULL,
+    days_mask INT NOT NULL,
+    dep_time TIME NOT NULL,
+    duration_min INT NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_to DATE NOT NULL,
+    img VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    seats_total INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Occurrences of a schedule that have been materialized into flight rows; removed with the schedule
+CREATE TABLE flight_schedule_instance (
+    schedule_id BIGINT NOT NULL REFERENCES flight_schedule(id) ON DELETE CASCADE,
+    dep_date DATE NOT NULL,
+    flight_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (schedule_id, dep_date)
+);
+
+CREATE TABLE flight_seat_map (
+    flight_id BIGINT PRIMARY KEY,
+    layout VARCHAR(500) NOT NULL,
+    occupied VARBINARY(1024) NOT NULL,
+    revision BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE flight_waitlist (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    flight_id BIGINT NOT NULL,
+    seats INT NOT NULL,
+    holder_email VARCHAR(100) NOT NULL,
+    tier VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    hold_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    promoted_at TIMESTAMP
+);
+
+CREATE TABLE booking (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    flight_id BIGINT NOT NULL,
+    seats INT NOT NULL,
+    passenger_email VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    amount DOUBLE,
+    hold_id BIGINT,
+    payment_id VARCHAR(100),
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
 -- Create indexes for better query performance
 CREATE INDEX idx_status ON flight(status);
 CREATE INDEX idx_dep_city ON flight(dep_city);
 CREATE INDEX idx_arr_city ON flight(arr_city);
 CREATE INDEX idx_airline ON flight(airline);
+CREATE INDEX idx_dep_dt ON flight(dep_dt);
+CREATE INDEX idx_arr_dt ON flight(arr_dt);
+CREATE INDEX idx_price ON flight(price);
+CREATE INDEX idx_duration ON flight(duration_sec);
+CREATE INDEX idx_archive_dep_dt ON flight_archive(dep_dt);
+CREATE INDEX idx_hold_status ON flight_hold(status);
+CREATE INDEX idx_idem_expires_at ON idempotency_record(expires_at);
+CREATE INDEX idx_city_name ON city(name);
+CREATE INDEX idx_schedule_valid_to ON flight_schedule(valid_to);
+CREATE INDEX idx_waitlist_status ON flight_waitlist(status);
+CREATE INDEX idx_waitlist_flight_status ON flight_waitlist(flight_id, status);
+CREATE INDEX idx_booking_status ON booking(status);
 
 -- Insert sample data for development
-INSERT INTO flight (airline, type, price, dep_city, arr_city, dep_dt, arr_dt, status, img, email) VALUES
-('Lufthansa', 'Boeing 737', 299.99, 'Berlin', 'Munich', CURRENT_TIMESTAMP + INTERVAL '7' DAY, CURRENT_TIMESTAMP + INTERVAL '7' DAY + INTERVAL '2' HOUR, 'ACTIVE', 'https://example.com/lufthansa.jpg', 'admin@lufthansa.com'),
-('Lufthansa', 'Airbus A320', 199.99, 'Berlin', 'Frankfurt', CURRENT_TIMESTAMP + INTERVAL '5' DAY, CURRENT_TIMESTAMP + INTERVAL '5' DAY + INTERVAL '90' MINUTE, 'ACTIVE', 'https://example.com/airbus.jpg', 'admin@lufthansa.com'),
-('Ryanair', 'Boeing 737', 89.99, 'Berlin', 'Rome', CURRENT_TIMESTAMP + INTERVAL '10' DAY, CURRENT_TIMESTAMP + INTERVAL '10' DAY + INTERVAL '3' HOUR, 'ACTIVE', 'https://example.com/ryanair.jpg', 'admin@ryanair.com'),
-('KLM', 'Airbus A350', 349.99, 'Amsterdam', 'New York', CURRENT_TIMESTAMP + INTERVAL '14' DAY, CURRENT_TIMESTAMP + INTERVAL '14' DAY + INTERVAL '8' HOUR, 'ACTIVE', 'https://example.com/klm.jpg', 'admin@klm.com'),
-('Lufthansa', 'Boeing 777', 599.99, 'Munich', 'Shanghai', CURRENT_TIMESTAMP + INTERVAL '20' DAY, CURRENT_TIMESTAMP + INTERVAL '20' DAY + INTERVAL '12' HOUR, 'DELAYED', 'https://example.com/boeing777.jpg', 'admin@lufthansa.com');
+INSERT INTO flight (airline, type, price, dep_city, arr_city, dep_dt, arr_dt, status, img, email, seats_total, seats_avail) VALUES
+('Lufthansa', 'Boeing 737', 299.99, 'Berlin', 'Munich', CURRENT_TIMESTAMP + INTERVAL '7' DAY, CURRENT_TIMESTAMP + INTERVAL '7' DAY + INTERVAL '2' HOUR, 'ACTIVE', 'https://example.com/lufthansa.jpg', 'admin@lufthansa.com', 180, 180),
+('Lufthansa', 'Airbus A320', 199.99, 'Berlin', 'Frankfurt', CURRENT_TIMESTAMP + INTERVAL '5' DAY, CURRENT_TIMESTAMP + INTERVAL '5' DAY + INTERVAL '90' MINUTE, 'ACTIVE', 'https://example.com/airbus.jpg', 'admin@lufthansa.com', 150, 150),
+('Ryanair', 'Boeing 737', 89.99, 'Berlin', 'Rome', CURRENT_TIMESTAMP + INTERVAL '10' DAY, CURRENT_TIMESTAMP + INTERVAL '10' DAY + INTERVAL '3' HOUR, 'ACTIVE', 'https://example.com/ryanair.jpg', 'admin@ryanair.com', 189, 189),
+('KLM', 'Airbus A350', 349.99, 'Amsterdam', 'New York', CURRENT_TIMESTAMP + INTERVAL '14' DAY, CURRENT_TIMESTAMP + INTERVAL '14' DAY + INTERVAL '8' HOUR, 'ACTIVE', 'https://example.com/klm.jpg', 'admin@klm.com', 300, 300),
+('Lufthansa', 'Boeing 777', 599.99, 'Munich', 'Shanghai', CURRENT_TIMESTAMP + INTERVAL '20' DAY, CURRENT_TIMESTAMP + INTERVAL '20' DAY + INTERVAL '12' HOUR, 'DELAYED', 'https://example.com/boeing777.jpg', 'admin@lufthansa.com', 360, 360),
+('Eurowings', 'Airbus A319', 119.99, 'Leipzig', 'Vienna', CURRENT_TIMESTAMP + INTERVAL '6' DAY, CURRENT_TIMESTAMP + INTERVAL '6' DAY + INTERVAL '75' MINUTE, 'ACTIVE', 'https://example.com/eurowings.jpg', 'admin@eurowings.com', 144, 144);
+
+INSERT INTO flight_schedule (airline, type, price, dep_city, arr_city, days_mask, dep_time, duration_min, valid_from, valid_to, img, email, seats_total) VALUES
+('Lufthansa', 'Airbus A321', 149.99, 'Hamburg', 'Munich', 31, TIME '07:15:00', 80, CURRENT_DATE, CURRENT_DATE + INTERVAL '180' DAY, 'https://example.com/lufthansa.jpg', 'admin@lufthansa.com', 200);
+
+INSERT INTO flight_seat_map (flight_id, layout, occupied, revision, updated_at) VALUES
+(1, 'ECONOMY:30:ABC DEF', X'000000000000000000000000000000000000000000000000', 0, CURRENT_TIMESTAMP);
+
+INSERT INTO city (name, country, iata_code, latitude, longitude) VALUES
+('Berlin', 'Germany', 'BER', 52.5200, 13.4050),
+('Leipzig', 'Germany', 'LEJ', 51.3397, 12.3731),
+('Dresden', 'Germany', 'DRS', 51.0504, 13.7373),
+('Szczecin', 'Poland', 'SZZ', 53.4285, 14.5528),
+('Rostock', 'Germany', 'RLG', 54.0887, 12.1405),
+('Hamburg', 'Germany', 'HAM', 53.5511, 9.9937),
+('Munich', 'Germany', 'MUC', 48.1351, 11.5820),
+('Frankfurt', 'Germany', 'FRA', 50.1109, 8.6821),
+('Amsterdam', 'Netherlands', 'AMS', 52.3676, 4.9041),
+('Rotterdam', 'Netherlands', 'RTM', 51.9244, 4.4777),
+('Vienna', 'Austria', 'VIE', 48.2082, 16.3738),
+('Rome', 'Italy', 'ROM', 41.9028, 12.4964),
+('New York', 'United States', 'NYC', 40.7128, -74.0060),
+('Shanghai', 'China', 'SHA', 31.2304, 121.4737);
@@ -0,0 +1,38 @@
+package com.airline.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+/**
+ * Codec setup for the reactive routes. JSON bodies keep the configured indentation, but an
+ * NDJSON stream is one document per line, so indentation is turned off for it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCodecConfig {
+
+    @Bean
+    public CodecCustomizer ndjsonCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper) {
+            @Override
+            protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType,
+                                                   ResolvableType elementType, Map<String, Object> hints) {
+                ObjectWriter customized = super.customizeWriter(writer, mimeType, elementType, hints);
+                return mimeType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(mimeType)
+                    ? customized.without(SerializationFeature.INDENT_OUTPUT)
+                    : customized;
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.airline.reactive;
+
+import com.airline.exception.ErrorResponse;
+import com.airline.exception.FlightNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Error bodies of {@link com.airline.config.GlobalExceptionHandler} for the reactive routes.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    @ExceptionHandler(FlightNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleFlightNotFoundException(
+        FlightNotFoundException ex,
+        ServerWebExchange exchange) {
+
+        log.warn("Flight not found: {}", ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex.getMessage(), "Flight Not Found", exchange);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+        IllegalArgumentException ex,
+        ServerWebExchange exchange) {
+
+        log.warn("Invalid argument: {}", ex.getMessage());
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage(), "Invalid Argument", exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+        Exception ex,
+        ServerWebExchange exchange) {
+
+        log.error("An unexpected error occurred: ", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred",
+            ex.getClass().getSimpleName(), exchange);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message, String error,
+                                                       ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setStatus(status.value());
+        errorResponse.setMessage(message);
+        errorResponse.setError(error);
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setPath(exchange.getRequest().getPath().value());
+
+        return new ResponseEntity<>(errorResponse, status);
+    }
+}
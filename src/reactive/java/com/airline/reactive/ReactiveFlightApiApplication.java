@@ -0,0 +1,45 @@
+package com.airline.reactive;
+
+import com.airline.config.JacksonConfig;
+import com.airline.pricing.PricingEngine;
+import com.airline.pricing.SeatInventoryLoadFactorProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking read API for the flight GET routes: WebFlux on Netty over R2DBC.
+ *
+ * Only built with {@code -Preactive}. It runs as its own process next to the servlet
+ * application, reading the same database (the replica in production), and serves the same
+ * {@link com.airline.dto.FlightDTO} wire format with fares from the same {@link PricingEngine}.
+ * Configuration comes from {@code reactive.properties} rather than {@code application.properties},
+ * and JDBC/JPA auto-configuration is switched off.
+ *
+ * The beans in this package are conditional on a reactive web application, so the servlet
+ * application's component scan skips them when both are on the classpath.
+ */
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    DataSourceTransactionManagerAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({JacksonConfig.class, PricingEngine.class, SeatInventoryLoadFactorProvider.class})
+public class ReactiveFlightApiApplication {
+
+    public static void main(String[] args) {
+        application().run(args);
+    }
+
+    public static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(ReactiveFlightApiApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .properties("spring.config.name=reactive");
+    }
+}
@@ -0,0 +1,108 @@
+package com.airline.reactive;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The GET routes of {@link com.airline.controller.FlightController} on WebFlux.
+ *
+ * List routes answer {@code application/json} with a JSON array, or {@code application/x-ndjson}
+ * with one flight per line, written as rows arrive and only as fast as the client reads.
+ */
+@RestController
+@RequestMapping("/api/v1/flights")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFlightController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveFlightController.class);
+    private final ReactiveFlightService flightService;
+
+    public ReactiveFlightController(ReactiveFlightService flightService) {
+        this.flightService = flightService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getAllFlights() {
+        log.info("Request received: GET /api/v1/flights");
+        return flightService.getAllFlights();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<FlightDTO> getFlightById(@PathVariable Long id) {
+        log.info("Request received: GET /api/v1/flights/{}", id);
+        return flightService.getFlightById(id);
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> searchFlights(
+        @RequestParam(value = "departure_city", required = false) String departureCity,
+        @RequestParam(value = "arrival_city", required = false) String arrivalCity,
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "sort", required = false) String sort,
+        @RequestParam(value = "limit", required = false) Integer limit) {
+        log.info("Request received: GET /api/v1/flights/search - Departure: {}, Arrival: {}, Status: {}, Sort: {}, Limit: {}",
+            departureCity, arrivalCity, status, sort, limit);
+        return flightService.searchFlights(departureCity, arrivalCity, status, FlightSort.parse(sort), limit);
+    }
+
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> filterFlights(
+        @RequestParam(value = "status", required = false) List<String> statuses,
+        @RequestParam(value = "airline", required = false) List<String> airlines,
+        @RequestParam(value = "type", required = false) List<String> types,
+        @RequestParam(value = "departure_city", required = false) List<String> departureCities,
+        @RequestParam(value = "arrival_city", required = false) List<String> arrivalCities) {
+        log.info("Request received: GET /api/v1/flights/filter - Status: {}, Airline: {}, Type: {}, Departure: {}, Arrival: {}",
+            statuses, airlines, types, departureCities, arrivalCities);
+        FlightFilter filter = new FlightFilter()
+            .with(FlightFilter.Attribute.STATUS, statuses)
+            .with(FlightFilter.Attribute.AIRLINE, airlines)
+            .with(FlightFilter.Attribute.TYPE, types)
+            .with(FlightFilter.Attribute.DEPARTURE_CITY, departureCities)
+            .with(FlightFilter.Attribute.ARRIVAL_CITY, arrivalCities);
+        return flightService.filterFlights(filter);
+    }
+
+    @GetMapping(value = "/departure-city/{city}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getFlightsByDepartureCity(@PathVariable String city) {
+        log.info("Request received: GET /api/v1/flights/departure-city/{}", city);
+        return flightService.getFlightsByDepartureCity(city);
+    }
+
+    @GetMapping(value = "/arrival-city/{city}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getFlightsByArrivalCity(@PathVariable String city) {
+        log.info("Request received: GET /api/v1/flights/arrival-city/{}", city);
+        return flightService.getFlightsByArrivalCity(city);
+    }
+
+    @GetMapping(value = "/status/{status}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getFlightsByStatus(@PathVariable String status) {
+        log.info("Request received: GET /api/v1/flights/status/{}", status);
+        return flightService.getFlightsByStatus(status);
+    }
+
+    @GetMapping(value = "/departing-after/{dateTime}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getFlightsDepartingAfter(@PathVariable String dateTime) {
+        log.info("Request received: GET /api/v1/flights/departing-after/{}", dateTime);
+        LocalDateTime departureDateTime = LocalDateTime.parse(dateTime);
+        return flightService.getFlightsDepartingAfter(departureDateTime);
+    }
+
+    @GetMapping(value = "/airline/{name}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<FlightDTO> getFlightsByAirline(@PathVariable String name) {
+        log.info("Request received: GET /api/v1/flights/airline/{}", name);
+        return flightService.getFlightsByAirline(name);
+    }
+}
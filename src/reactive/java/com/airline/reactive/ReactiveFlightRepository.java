@@ -0,0 +1,182 @@
+package com.airline.reactive;
+
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightSort;
+import com.airline.entity.Flight;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * R2DBC counterparts of the {@link com.airline.repository.FlightRepository} reads used by the
+ * GET routes, with the same matching rules.
+ *
+ * Results stream row by row. Every statement is executed with a fetch size, so the driver
+ * pulls rows from the server in batches as the subscriber requests them instead of buffering
+ * the whole result; a slow client slows the cursor down rather than filling the heap.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFlightRepository {
+
+    private static final String SELECT = "SELECT id, airline, type, price, dep_city, arr_city, dep_dt, arr_dt, " +
+        "status, img, email, seats_total, seats_avail, version, created_at, updated_at FROM flight";
+
+    private static final String SELECT_ARCHIVED = "SELECT id, airline, type, price, dep_city, arr_city, dep_dt, arr_dt, " +
+        "status, img, email, CAST(NULL AS INT) AS seats_total, CAST(NULL AS INT) AS seats_avail, version, " +
+        "created_at, updated_at FROM flight_archive";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveFlightRepository(DatabaseClient databaseClient,
+                                    @Value("${airline.reactive.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<Flight> findAll() {
+        return query(SELECT, Map.of());
+    }
+
+    /**
+     * Live flight by id, falling back to the archive like {@code FlightService.getFlightById}.
+     */
+    public Mono<Flight> findById(Long id) {
+        return query(SELECT + " WHERE id = :id", Map.of("id", id)).next()
+            .switchIfEmpty(Mono.defer(() -> query(SELECT_ARCHIVED + " WHERE id = :id", Map.of("id", id)).next()));
+    }
+
+    public Flux<Flight> findByDepartureCity(String departureCity) {
+        return query(SELECT + " WHERE dep_city = :city", Map.of("city", departureCity));
+    }
+
+    public Flux<Flight> findByArrivalCity(String arrivalCity) {
+        return query(SELECT + " WHERE arr_city = :city", Map.of("city", arrivalCity));
+    }
+
+    public Flux<Flight> findByStatus(Flight.FlightStatus status) {
+        return query(SELECT + " WHERE status = :status", Map.of("status", status.name()));
+    }
+
+    public Flux<Flight> findFlightsDepartingAfter(LocalDateTime departureDateTime) {
+        return query(SELECT + " WHERE dep_dt >= :departure ORDER BY dep_dt ASC", Map.of("departure", departureDateTime));
+    }
+
+    public Flux<Flight> findByAirlineContainingIgnoreCase(String airline) {
+        return query(SELECT + " WHERE LOWER(airline) LIKE :pattern ESCAPE '\\'",
+            Map.of("pattern", "%" + escapeLike(airline.toLowerCase(Locale.ROOT)) + "%"));
+    }
+
+    /**
+     * Same criteria as {@code FlightRepository.searchFlights}: case-insensitive substring match
+     * on the cities and exact status, null criteria ignored, ordered by {@code sort} (departure
+     * when null) with the {@link FlightSort} tie-breakers, and cut to {@code limit} rows in SQL.
+     */
+    public Flux<Flight> search(String departureCity, String arrivalCity, Flight.FlightStatus status,
+                               FlightSort sort, Integer limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (departureCity != null) {
+            predicates.add("LOWER(dep_city) LIKE :departureCity ESCAPE '\\'");
+            params.put("departureCity", "%" + escapeLike(departureCity.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (arrivalCity != null) {
+            predicates.add("LOWER(arr_city) LIKE :arrivalCity ESCAPE '\\'");
+            params.put("arrivalCity", "%" + escapeLike(arrivalCity.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (status != null) {
+            predicates.add("status = :status");
+            params.put("status", status.name());
+        }
+        StringBuilder sql = new StringBuilder(SELECT).append(where(predicates)).append(orderBy(sort));
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            params.put("limit", limit);
+        }
+        return query(sql.toString(), params);
+    }
+
+    /**
+     * SQL equivalent of {@link FlightFilter}: IN per attribute, AND across attributes.
+     */
+    public Flux<Flight> filter(FlightFilter filter) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (Map.Entry<FlightFilter.Attribute, Set<String>> criterion : filter.getCriteria().entrySet()) {
+            String param = criterion.getKey().name().toLowerCase(Locale.ROOT);
+            String column = switch (criterion.getKey()) {
+                case STATUS -> "status";
+                case AIRLINE -> "LOWER(airline)";
+                case TYPE -> "LOWER(type)";
+                case DEPARTURE_CITY -> "LOWER(dep_city)";
+                case ARRIVAL_CITY -> "LOWER(arr_city)";
+            };
+            predicates.add(column + " IN (:" + param + ")");
+            params.put(param, List.copyOf(criterion.getValue()));
+        }
+        return query(SELECT + where(predicates), params);
+    }
+
+    private Flux<Flight> query(String sql, Map<String, Object> params) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+            .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(ReactiveFlightRepository::toFlight).all();
+    }
+
+    private static String where(List<String> predicates) {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static String orderBy(FlightSort sort) {
+        if (sort == null || sort == FlightSort.DEPARTURE) {
+            return " ORDER BY dep_dt ASC, id ASC";
+        }
+        String column = sort == FlightSort.PRICE ? "price" : "duration_sec";
+        return " ORDER BY " + column + " ASC, dep_dt ASC, id ASC";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Numeric columns are read untyped because H2 returns DECIMAL prices as BigDecimal
+     * and PostgreSQL returns DOUBLE PRECISION as Double.
+     */
+    private static Flight toFlight(Readable row) {
+        return Flight.builder()
+            .id(row.get("id", Long.class))
+            .airline(row.get("airline", String.class))
+            .type(row.get("type", String.class))
+            .price(((Number) row.get("price")).doubleValue())
+            .departureCity(row.get("dep_city", String.class))
+            .arrivalCity(row.get("arr_city", String.class))
+            .departureDateTime(row.get("dep_dt", LocalDateTime.class))
+            .arrivalDateTime(row.get("arr_dt", LocalDateTime.class))
+            .status(Flight.FlightStatus.valueOf(row.get("status", String.class)))
+            .imageUrl(row.get("img", String.class))
+            .email(row.get("email", String.class))
+            .seatCapacity(row.get("seats_total", Integer.class))
+            .availableSeats(row.get("seats_avail", Integer.class))
+            .version(row.get("version", Long.class))
+            .createdAt(row.get("created_at", LocalDateTime.class))
+            .updatedAt(row.get("updated_at", LocalDateTime.class))
+            .build();
+    }
+}
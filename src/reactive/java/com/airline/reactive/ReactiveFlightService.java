@@ -0,0 +1,120 @@
+package com.airline.reactive;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightSort;
+import com.airline.entity.Flight;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.pricing.PricingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of the read side of {@link com.airline.service.FlightService}: the same
+ * validation and {@link FlightDTO} mapping, without the in-memory snapshot, sparse fieldsets,
+ * radius or fuzzy search, which stay on the servlet stack.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFlightService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveFlightService.class);
+    private static final int MAX_SEARCH_LIMIT = 1000;
+
+    private final ReactiveFlightRepository flightRepository;
+    private final PricingEngine pricingEngine;
+
+    public ReactiveFlightService(ReactiveFlightRepository flightRepository, PricingEngine pricingEngine) {
+        this.flightRepository = flightRepository;
+        this.pricingEngine = pricingEngine;
+    }
+
+    public Flux<FlightDTO> getAllFlights() {
+        log.info("Fetching all flights");
+        return flightRepository.findAll().map(this::toDto);
+    }
+
+    public Mono<FlightDTO> getFlightById(Long flightId) {
+        log.info("Fetching flight with ID: {}", flightId);
+        return flightRepository.findById(flightId)
+            .switchIfEmpty(Mono.error(() -> new FlightNotFoundException(flightId)))
+            .map(this::toDto);
+    }
+
+    public Flux<FlightDTO> searchFlights(String departureCity, String arrivalCity, String status,
+                                         FlightSort sort, Integer limit) {
+        log.info("Searching flights with criteria - Departure: {}, Arrival: {}, Status: {}, Sort: {}, Limit: {}",
+            departureCity, arrivalCity, status, sort, limit);
+        return Flux.defer(() -> {
+            Flight.FlightStatus flightStatus = parseStatus(status);
+            validateLimit(limit);
+            return flightRepository.search(departureCity, arrivalCity, flightStatus, sort, limit);
+        }).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> filterFlights(FlightFilter filter) {
+        log.info("Filtering flights by {}", filter);
+        return flightRepository.filter(filter).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> getFlightsByDepartureCity(String departureCity) {
+        log.info("Fetching flights from: {}", departureCity);
+        return flightRepository.findByDepartureCity(departureCity).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> getFlightsByArrivalCity(String arrivalCity) {
+        log.info("Fetching flights to: {}", arrivalCity);
+        return flightRepository.findByArrivalCity(arrivalCity).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> getFlightsByStatus(String status) {
+        log.info("Fetching flights with status: {}", status);
+        return Flux.defer(() -> {
+            Flight.FlightStatus flightStatus = parseStatus(status);
+            if (flightStatus == null) {
+                throw new IllegalArgumentException("Invalid flight status: " + status);
+            }
+            return flightRepository.findByStatus(flightStatus);
+        }).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> getFlightsDepartingAfter(LocalDateTime departureDateTime) {
+        log.info("Fetching flights departing after: {}", departureDateTime);
+        return flightRepository.findFlightsDepartingAfter(departureDateTime).map(this::toDto);
+    }
+
+    public Flux<FlightDTO> getFlightsByAirline(String airline) {
+        log.info("Fetching flights by airline: {}", airline);
+        return flightRepository.findByAirlineContainingIgnoreCase(airline).map(this::toDto);
+    }
+
+    private Flight.FlightStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return Flight.FlightStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid flight status provided: {}", status);
+            throw new IllegalArgumentException("Invalid flight status: " + status);
+        }
+    }
+
+    private static void validateLimit(Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_SEARCH_LIMIT)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+    }
+
+    private FlightDTO toDto(Flight flight) {
+        FlightDTO dto = FlightDTO.fromEntity(flight);
+        dto.setFare(pricingEngine.quote(flight));
+        return dto;
+    }
+}
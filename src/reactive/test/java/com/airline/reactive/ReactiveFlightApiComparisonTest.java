@@ -0,0 +1,262 @@
+package com.airline.reactive;
+
+import com.airline.AirlineReservationApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the servlet and the reactive application side by side in one JVM on the same H2
+ * database; the reactive one skips schema initialization and reads the servlet one's data.
+ *
+ * Every GET route both stacks serve must return the same JSON. The load comparison drives
+ * both with the same concurrent search traffic and prints throughput and latency percentiles;
+ * it is machine-dependent and only runs with {@code -Dairline.loadtest=true}, e.g.
+ * {@code mvn -Preactive test -Dtest=ReactiveFlightApiComparisonTest -Dairline.loadtest=true}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Reactive vs Servlet Flight API Tests")
+class ReactiveFlightApiComparisonTest {
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+    private static String servletUrl;
+    private static String reactiveUrl;
+
+    @BeforeAll
+    static void startBothStacks() {
+        servlet = SpringApplication.run(AirlineReservationApiApplication.class, "--server.port=0");
+        reactive = ReactiveFlightApiApplication.application()
+            .run("--server.port=0", "--spring.sql.init.mode=never");
+        servletUrl = "http://localhost:" + servlet.getEnvironment().getProperty("local.server.port");
+        reactiveUrl = "http://localhost:" + reactive.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopBothStacks() {
+        if (reactive != null) {
+            reactive.close();
+        }
+        if (servlet != null) {
+            servlet.close();
+        }
+    }
+
+    @Order(1)
+    @ParameterizedTest(name = "GET {0} should match the servlet API")
+    @CsvSource(delimiter = '|', value = {
+        "/api/v1/flights                                                    | false",
+        "/api/v1/flights/1                                                  | false",
+        "/api/v1/flights/search?departure_city=Berlin&status=ACTIVE         | true",
+        "/api/v1/flights/search?departure_city=Berlin&sort=price&limit=2    | true",
+        "/api/v1/flights/search?sort=duration                               | true",
+        "/api/v1/flights/search?departure_city=_erlin&sort=price            | true",
+        "/api/v1/flights/search?arrival_city=%25&sort=price                 | true",
+        "/api/v1/flights/filter?status=ACTIVE&airline=Lufthansa&airline=KLM | false",
+        "/api/v1/flights/departure-city/Berlin                              | false",
+        "/api/v1/flights/arrival-city/Rome                                  | false",
+        "/api/v1/flights/status/ACTIVE                                      | false",
+        "/api/v1/flights/departing-after/2020-01-01T00:00:00                | true",
+        "/api/v1/flights/airline/lufthansa                                  | false"
+    })
+    @DisplayName("Shared read routes should return the same JSON")
+    void testSameResponses(String uri, boolean ordered) throws Exception {
+        // Act
+        HttpResponse<String> expected = get(servletUrl + uri);
+        HttpResponse<String> actual = get(reactiveUrl + uri);
+
+        // Assert
+        assertEquals(200, expected.statusCode());
+        assertEquals(200, actual.statusCode());
+        assertEquals(normalize(expected.body(), ordered), normalize(actual.body(), ordered), uri);
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Errors should use the same status and error body")
+    void testSameErrors() throws Exception {
+        for (String uri : List.of("/api/v1/flights/999999", "/api/v1/flights/search?limit=0",
+                                  "/api/v1/flights/status/BOARDING")) {
+            // Act
+            JsonNode expected = OBJECT_MAPPER.readTree(get(servletUrl + uri).body());
+            JsonNode actual = OBJECT_MAPPER.readTree(get(reactiveUrl + uri).body());
+
+            // Assert
+            assertEquals(expected.get("status"), actual.get("status"), uri);
+            assertEquals(expected.get("error"), actual.get("error"), uri);
+            assertEquals(expected.get("message"), actual.get("message"), uri);
+        }
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("NDJSON should stream one flight per line")
+    void testNdjsonStreaming() throws Exception {
+        // Act
+        HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(URI.create(reactiveUrl + "/api/v1/flights"))
+            .header("Accept", "application/x-ndjson").build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode all = OBJECT_MAPPER.readTree(get(reactiveUrl + "/api/v1/flights").body());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(all.size(), lines.size());
+        for (String line : lines) {
+            assertTrue(OBJECT_MAPPER.readTree(line).has("id"));
+        }
+    }
+
+    @Order(4)
+    @Test
+    @EnabledIfSystemProperty(named = "airline.loadtest", matches = "true")
+    @DisplayName("Load comparison of the search routes on both stacks")
+    void compareSearchUnderLoad() throws Exception {
+        // Arrange
+        int rows = Integer.getInteger("airline.loadtest.rows", 20_000);
+        int concurrency = Integer.getInteger("airline.loadtest.concurrency", 64);
+        Duration duration = Duration.ofSeconds(Long.getLong("airline.loadtest.seconds", 20));
+        seedFlights(rows);
+        List<String> routes = List.of(
+            "/api/v1/flights/search?departure_city=Berlin&sort=price&limit=20",
+            "/api/v1/flights/search?departure_city=Berlin&limit=1000");
+
+        System.out.printf("%n%d flights, %d concurrent clients, %ds per run%n", rows + 6, concurrency, duration.toSeconds());
+        System.out.printf("%-70s %-9s %10s %9s %9s %9s %7s%n", "route", "stack", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (String route : routes) {
+            for (String stack : List.of("servlet", "reactive")) {
+                String url = (stack.equals("servlet") ? servletUrl : reactiveUrl) + route;
+                // Act
+                drive(url, concurrency, Duration.ofSeconds(3));
+                LoadResult result = drive(url, concurrency, duration);
+
+                // Assert
+                System.out.printf("%-70s %-9s %10.0f %9.1f %9.1f %9.1f %7d%n", route, stack,
+                    result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(1.0),
+                    result.errors());
+                assertEquals(0, result.errors(), stack + " " + route);
+            }
+        }
+    }
+
+    private static HttpResponse<String> get(String url) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Parsed body; arrays from unordered routes are sorted by id.
+     */
+    private static JsonNode normalize(String body, boolean ordered) throws Exception {
+        JsonNode node = OBJECT_MAPPER.readTree(body);
+        if (ordered || !node.isArray()) {
+            return node;
+        }
+        ArrayNode sorted = OBJECT_MAPPER.createArrayNode();
+        StreamSupport.stream(node.spliterator(), false)
+            .sorted(Comparator.comparingLong(flight -> flight.get("id").asLong()))
+            .forEach(sorted::add);
+        return sorted;
+    }
+
+    private static void seedFlights(int rows) {
+        JdbcTemplate jdbcTemplate = servlet.getBean(JdbcTemplate.class);
+        String[] arrivals = {"Munich", "Frankfurt", "Rome", "Vienna", "Hamburg", "Amsterdam"};
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime departure = start.plusMinutes(7L * i);
+            batch.add(new Object[]{"LoadTest Air", "Airbus A320", 50.0 + (i * 37) % 450, "Berlin", arrivals[i % arrivals.length],
+                Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusMinutes(60 + i % 120)), "ACTIVE",
+                "loadtest@airline.com", 180, 180 - i % 180});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO flight (airline, type, price, dep_city, arr_city, dep_dt, arr_dt, status, " +
+            "email, seats_total, seats_avail) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    /**
+     * Closed-loop load: {@code concurrency} virtual threads each send the next request as soon
+     * as the previous response body has been read.
+     */
+    private static LoadResult drive(String url, int concurrency, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        int[] errors = new int[concurrency];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        HttpResponse<byte[]> response = HTTP.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            errors[worker]++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - begin;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        List<long[]> samples = new ArrayList<>(concurrency);
+        for (Future<long[]> worker : workers) {
+            samples.add(worker.get());
+        }
+        long[] latencies = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadResult(latencies, Arrays.stream(errors).sum(), duration);
+    }
+
+    private record LoadResult(long[] sortedLatencies, int errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
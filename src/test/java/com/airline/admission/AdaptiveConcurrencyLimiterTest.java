@@ -0,0 +1,79 @@
+package com.airline.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AIMD concurrency limiter used by admission control.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("Should reject requests beyond the current limit")
+    void testRejectsBeyondLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_NANOS, 0.5);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit multiplicatively on slow requests")
+    void testDecreasesOnSlowRequest() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, TARGET_NANOS, 0.5);
+        limiter.tryAcquire();
+
+        // Act
+        limiter.release(TARGET_NANOS * 2, false);
+
+        // Assert
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should never shrink below the minimum limit")
+    void testRespectsMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 3, 10, TARGET_NANOS, 0.5);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(0, true);
+        }
+
+        // Assert
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit additively while it is saturated and fast")
+    void testIncreasesWhenSaturated() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, TARGET_NANOS, 0.5);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(0, false);
+            limiter.release(0, false);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 2);
+    }
+}
@@ -0,0 +1,43 @@
+package com.airline.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-client token buckets used by admission control.
+ */
+@DisplayName("ClientRateLimiter Tests")
+class ClientRateLimiterTest {
+
+    @Test
+    @DisplayName("Should reject requests once a client's burst is used up")
+    void testRejectsBeyondBurst() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 10);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should reject new clients at capacity and keep serving tracked ones")
+    void testCapsTrackedClients() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 100, 2);
+        limiter.tryAcquire("10.0.0.1");
+        limiter.tryAcquire("10.0.0.2");
+
+        // Act
+        long newClientWait = limiter.tryAcquire("10.0.0.3");
+
+        // Assert
+        assertTrue(newClientWait > 0);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(2, limiter.trackedClients());
+    }
+}
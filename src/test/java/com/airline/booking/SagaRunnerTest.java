@@ -0,0 +1,151 @@
+package com.airline.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the saga runner behind bookings. Steps record what ran into a shared log.
+ */
+@DisplayName("SagaRunner Tests")
+class SagaRunnerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final SagaRunner runner = new SagaRunner(executor, timer, 10);
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run the steps in order and complete with the context")
+    void testRunsStepsInOrder() throws Exception {
+        // Arrange
+        List<SagaStep<String>> steps = List.of(local("reserve", 1, null), remote("payment", 1, null), local("confirm", 1, null));
+
+        // Act
+        String result = runner.run("booking", steps).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("booking", result);
+        assertEquals(List.of("reserve", "payment", "confirm"), log);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed attempt the step allows")
+    void testRetriesTransientFailure() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        SagaStep<String> flaky = SagaStep.remote("payment", 1000, 3, failure -> failure instanceof IllegalStateException,
+            context -> calls.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new IllegalStateException("unavailable"))
+                : CompletableFuture.completedFuture(null),
+            null);
+
+        // Act
+        runner.run("booking", List.of(flaky)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should compensate completed steps in reverse order when a local step fails")
+    void testCompensatesInReverse() {
+        // Arrange
+        List<SagaStep<String>> steps = List.of(
+            local("reserve", 1, null), remote("payment", 1, null), local("confirm", 2, new IllegalArgumentException("hold expired")));
+
+        // Act
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> runner.run("booking", steps).get(5, TimeUnit.SECONDS));
+
+        // Assert
+        SagaStepException cause = assertInstanceOf(SagaStepException.class, failure.getCause());
+        assertEquals("confirm", cause.getStep());
+        assertEquals(1, cause.getAttempts());
+        assertEquals(List.of("reserve", "payment", "confirm", "undo payment", "undo reserve"), log);
+    }
+
+    @Test
+    @DisplayName("Should compensate a remote step that timed out on every attempt")
+    void testCompensatesTimedOutRemoteStep() {
+        // Arrange
+        SagaStep<String> hanging = SagaStep.remote("payment", 50, 2, failure -> failure instanceof TimeoutException,
+            context -> {
+                log.add("payment");
+                return new CompletableFuture<>();
+            },
+            context -> {
+                log.add("undo payment");
+                return CompletableFuture.completedFuture(null);
+            });
+
+        // Act
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> runner.run("booking", List.of(local("reserve", 1, null), hanging)).get(5, TimeUnit.SECONDS));
+
+        // Assert
+        SagaStepException cause = assertInstanceOf(SagaStepException.class, failure.getCause());
+        assertInstanceOf(TimeoutException.class, cause.getCause());
+        assertEquals(List.of("reserve", "payment", "payment", "undo payment", "undo reserve"), log);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed compensation the step allows")
+    void testRetriesCompensation() {
+        // Arrange
+        AtomicInteger refunds = new AtomicInteger();
+        SagaStep<String> payment = SagaStep.remote("payment", 1000, 3, failure -> failure instanceof IllegalStateException,
+            context -> step("payment", null),
+            context -> refunds.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new IllegalStateException("unavailable"))
+                : undo("payment"));
+
+        // Act
+        assertThrows(ExecutionException.class, () -> runner.run("booking",
+            List.of(payment, local("confirm", 1, new IllegalArgumentException("hold expired")))).get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(3, refunds.get());
+        assertEquals(List.of("payment", "confirm", "undo payment"), log);
+    }
+
+    private SagaStep<String> local(String name, int maxAttempts, RuntimeException failure) {
+        return SagaStep.local(name, 1000, maxAttempts, cause -> false, context -> step(name, failure), context -> undo(name));
+    }
+
+    private SagaStep<String> remote(String name, int maxAttempts, RuntimeException failure) {
+        return SagaStep.remote(name, 1000, maxAttempts, cause -> false, context -> step(name, failure), context -> undo(name));
+    }
+
+    private CompletableFuture<?> step(String name, RuntimeException failure) {
+        return CompletableFuture.runAsync(() -> {
+            log.add(name);
+            if (failure != null) {
+                throw failure;
+            }
+        }, executor);
+    }
+
+    private CompletableFuture<?> undo(String name) {
+        return CompletableFuture.runAsync(() -> log.add("undo " + name), executor);
+    }
+}
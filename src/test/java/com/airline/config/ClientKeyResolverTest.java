@@ -0,0 +1,38 @@
+package com.airline.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the client key behind rate limits, idempotency scopes and replica routing.
+ */
+@DisplayName("ClientKeyResolver Tests")
+class ClientKeyResolverTest {
+
+    @Test
+    @DisplayName("Should key on the remote address and ignore client-supplied ids")
+    void testIgnoresClientHeader() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Client-Id", "someone-else");
+
+        // Act & Assert
+        assertEquals("10.0.0.1", ClientKeyResolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("Should key on the authenticated principal when there is one")
+    void testPrefersPrincipal() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.setUserPrincipal(() -> "jane");
+
+        // Act & Assert
+        assertEquals("user:jane", ClientKeyResolver.resolve(request));
+    }
+}
@@ -0,0 +1,38 @@
+package com.airline.config;
+
+import com.airline.entity.Flight;
+import com.airline.exception.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the mapping of exceptions to error responses.
+ */
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Should answer a lost optimistic lock with 409 rather than 500")
+    void testOptimisticLockingFailure() {
+        // Arrange
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("PUT", "/api/v1/flights/1"));
+
+        // Act
+        ResponseEntity<ErrorResponse> response = handler.handleOptimisticLockingFailureException(
+            new ObjectOptimisticLockingFailureException(Flight.class, 1L), request);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("/api/v1/flights/1", response.getBody().getPath());
+    }
+}
@@ -0,0 +1,104 @@
+package com.airline.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaLagMonitor: the lag query decides whether reads may use the replica.
+ */
+@DisplayName("ReplicaLagMonitor Tests")
+class ReplicaLagMonitorTest {
+
+    private JdbcDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:replica_lag_test");
+    }
+
+    @Test
+    @DisplayName("Should not use the replica before the first probe")
+    void testNotUsableBeforeProbe() {
+        // Act
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", 2000);
+
+        // Assert
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should use the replica while its lag is within the limit")
+    void testLagWithinLimit() {
+        // Arrange
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 1.5", 2000);
+
+        // Act
+        monitor.checkLag();
+
+        // Assert
+        assertTrue(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should route reads to the primary when lag exceeds the limit, and back once it recovers")
+    void testLagAboveLimit() {
+        // Arrange
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "SELECT 2.5", 2000);
+        ReplicaLagMonitor recovered = new ReplicaLagMonitor(replica, "SELECT 0", 2000);
+
+        // Act
+        lagging.checkLag();
+        recovered.checkLag();
+
+        // Assert
+        assertFalse(lagging.isReplicaUsable());
+        assertTrue(recovered.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should treat an empty or NULL lag result as unusable")
+    void testNoLagResult() {
+        // Arrange
+        ReplicaLagMonitor empty = new ReplicaLagMonitor(replica, "SELECT 0 WHERE 1 = 0", 2000);
+        ReplicaLagMonitor nullLag = new ReplicaLagMonitor(replica, "SELECT CAST(NULL AS DOUBLE PRECISION)", 2000);
+
+        // Act
+        empty.checkLag();
+        nullLag.checkLag();
+
+        // Assert
+        assertFalse(empty.isReplicaUsable());
+        assertFalse(nullLag.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when the probe fails")
+    void testProbeFails() throws SQLException {
+        // Arrange
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(unreachable, "SELECT 0", 2000);
+
+        // Act
+        monitor.checkLag();
+
+        // Assert
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Should require a lag query")
+    void testLagQueryRequired() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ReplicaLagMonitor(replica, " ", 2000));
+    }
+}
@@ -0,0 +1,155 @@
+package com.airline.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for read/write routing: read-only transactions go to the replica unless it lags
+ * or the client's cookie says it wrote recently.
+ */
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(lagMonitor);
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        tracker = new ReadYourWritesTracker(60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    /** A client that keeps the cookies it is given, as a browser or cookie-aware HTTP client does. */
+    private final class Client {
+
+        private Cookie[] cookies;
+
+        /** Runs a request through the tracker and returns the route its read-only transaction takes. */
+        private Object routeDuring(String method, String uri, int status) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+            if (cookies != null) {
+                request.setCookies(cookies);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            Object[] route = new Object[1];
+            tracker.doFilter(request, response, (req, res) -> {
+                try {
+                    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                    route[0] = routingDataSource.determineCurrentLookupKey();
+                } finally {
+                    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+                }
+                ((HttpServletResponse) res).setStatus(status);
+                if (status != 204) {
+                    res.getWriter().write("{}");
+                }
+            });
+            if (response.getCookies().length > 0) {
+                cookies = response.getCookies();
+            }
+            return route[0];
+        }
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and writes to the primary")
+    void testRouting_ReadOnly() {
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary while the replica lags")
+    void testRouting_ReplicaLagging() {
+        // Arrange
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should pin a client's reads to the primary after its write")
+    void testReadYourWrites_Pinned() throws Exception {
+        // Arrange
+        Client client = new Client();
+        Client otherClient = new Client();
+
+        // Act
+        Object beforeWrite = client.routeDuring("GET", "/api/v1/flights/1", 200);
+        client.routeDuring("PUT", "/api/v1/flights/1", 200);
+        Object afterWrite = client.routeDuring("GET", "/api/v1/flights/1", 200);
+        Object otherRead = otherClient.routeDuring("GET", "/api/v1/flights/1", 200);
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, beforeWrite);
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, afterWrite);
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, otherRead);
+        assertFalse(ReadYourWritesTracker.isPinnedToPrimary(), "the pin must not outlive the request");
+    }
+
+    @Test
+    @DisplayName("Should pin reads served by another instance after the client's write")
+    void testReadYourWrites_PinnedAcrossInstances() throws Exception {
+        // Arrange
+        Client client = new Client();
+        client.routeDuring("DELETE", "/api/v1/flights/1", 204);
+
+        // Act
+        tracker = new ReadYourWritesTracker(60_000);
+        Object read = client.routeDuring("GET", "/api/v1/flights/1", 200);
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, read);
+    }
+
+    @Test
+    @DisplayName("Should not pin after failed writes or lookups")
+    void testReadYourWrites_NotPinned() throws Exception {
+        // Arrange
+        Client client = new Client();
+
+        // Act
+        client.routeDuring("POST", "/api/v1/flights", 400);
+        client.routeDuring("POST", "/api/v1/flights/lookup", 200);
+        Object read = client.routeDuring("GET", "/api/v1/flights/1", 200);
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, read);
+    }
+
+    @Test
+    @DisplayName("Should release the pin once the window has passed")
+    void testReadYourWrites_WindowExpires() throws Exception {
+        // Arrange
+        tracker = new ReadYourWritesTracker(50);
+        Client client = new Client();
+        client.routeDuring("DELETE", "/api/v1/flights/1", 204);
+
+        // Act
+        Thread.sleep(100);
+        Object read = client.routeDuring("GET", "/api/v1/flights/1", 200);
+
+        // Assert
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, read);
+    }
+}
@@ -0,0 +1,148 @@
+package com.airline.diagnostics;
+
+import com.airline.repository.FlightRepository;
+import com.airline.service.FlightService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the advice that turns FlightService and repository calls into JFR events.
+ */
+@DisplayName("FlightRecorderAspect Tests")
+class FlightRecorderAspectTest {
+
+    private final FlightRecorderAspect aspect = new FlightRecorderAspect();
+
+    @TempDir
+    Path tempDir;
+
+    private ProceedingJoinPoint joinPoint(Method method, Object[] args, Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(args);
+        if (result instanceof Throwable failure) {
+            when(joinPoint.proceed()).thenThrow(failure);
+        } else {
+            when(joinPoint.proceed()).thenReturn(result);
+        }
+        return joinPoint;
+    }
+
+    private List<RecordedEvent> record(String eventName, ThrowingRunnable calls) throws Throwable {
+        Path file = tempDir.resolve(eventName + ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            calls.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Should record a FlightService call with its criteria, row count and transaction mode")
+    void testRecordServiceCall() throws Throwable {
+        // Arrange
+        Method method = FlightService.class.getMethod("getFlightById", Long.class);
+        ProceedingJoinPoint joinPoint = joinPoint(method, new Object[]{42L}, Optional.of("flight"));
+
+        // Act
+        List<RecordedEvent> events = record("com.airline.FlightService", () -> aspect.recordServiceCall(joinPoint));
+
+        // Assert
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("getFlightById", event.getString("method"));
+        assertEquals("42", event.getString("criteria"));
+        assertEquals(1, event.getInt("rowCount"));
+        assertEquals(FlightRecorderAspect.READ_ONLY, event.getString("transactionMode"));
+        assertFalse(event.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Should record a failed repository call and rethrow its exception")
+    void testRecordRepositoryCall_Failed() throws Throwable {
+        // Arrange
+        Method method = FlightRepository.class.getMethod("findAll", Sort.class);
+        ProceedingJoinPoint joinPoint = joinPoint(method, new Object[]{Sort.by("price")}, new IllegalStateException("down"));
+        when(joinPoint.getTarget()).thenReturn(mock(FlightRepository.class));
+
+        // Act
+        List<RecordedEvent> events = record("com.airline.RepositoryCall", () ->
+            assertThrows(IllegalStateException.class, () -> aspect.recordRepositoryCall(joinPoint)));
+
+        // Assert
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("FlightRepository", event.getString("repository"));
+        assertEquals("findAll", event.getString("method"));
+        assertEquals("price: ASC", event.getString("criteria"));
+        assertEquals(-1, event.getInt("rowCount"));
+        assertTrue(event.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Should only proceed when no recording has the events enabled")
+    void testNoRecording() throws Throwable {
+        // Arrange
+        Method method = FlightService.class.getMethod("getFlightById", Long.class);
+        ProceedingJoinPoint joinPoint = joinPoint(method, new Object[]{42L}, "flight");
+
+        // Act
+        Object result = aspect.recordServiceCall(joinPoint);
+
+        // Assert
+        assertEquals("flight", result);
+        verify(joinPoint, never()).getArgs();
+    }
+
+    @Test
+    @DisplayName("Should describe arguments compactly and cap the criteria length")
+    void testCriteria() {
+        // Act & Assert
+        assertEquals("Berlin, 3 items, null", FlightRecorderAspect.criteria(new Object[]{"Berlin", List.of(1, 2, 3), null}));
+        assertEquals("Object", FlightRecorderAspect.criteria(new Object[]{new Object()}));
+        assertEquals(256, FlightRecorderAspect.criteria(new Object[]{"x".repeat(300)}).length());
+    }
+
+    @Test
+    @DisplayName("Should count rows of collections, slices, optionals and updates")
+    void testRowCount() {
+        // Act & Assert
+        assertEquals(0, FlightRecorderAspect.rowCount(null));
+        assertEquals(2, FlightRecorderAspect.rowCount(List.of("a", "b")));
+        assertEquals(3, FlightRecorderAspect.rowCount(new PageImpl<>(List.of(1, 2, 3))));
+        assertEquals(0, FlightRecorderAspect.rowCount(Optional.empty()));
+        assertEquals(5, FlightRecorderAspect.rowCount(5));
+        assertEquals(-1, FlightRecorderAspect.rowCount(5L));
+        assertEquals(-1, FlightRecorderAspect.rowCount(new byte[8]));
+        assertEquals(1, FlightRecorderAspect.rowCount(new Object()));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+}
@@ -0,0 +1,107 @@
+package com.airline.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the actuator endpoint that starts, stops and dumps flight recordings.
+ */
+@DisplayName("FlightRecorderEndpoint Tests")
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecorderEndpoint(dumpDirectory.toString(), "default", 0, 30, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report no recording before one is started")
+    void testStatus_NoRecording() {
+        // Act
+        Map<String, Object> status = endpoint.status();
+
+        // Assert
+        assertEquals("NONE", status.get("state"));
+        assertEquals(List.of(), status.get("dumps"));
+    }
+
+    @Test
+    @DisplayName("Should start, dump, download and stop a recording")
+    void testRecordingLifecycle() throws Exception {
+        // Act
+        WebEndpointResponse<Map<String, Object>> started = endpoint.control("start", null);
+        WebEndpointResponse<Map<String, Object>> dumped = endpoint.control("dump", null);
+        WebEndpointResponse<Map<String, Object>> stopped = endpoint.control("stop", null);
+
+        // Assert
+        assertEquals(200, started.getStatus());
+        assertEquals("RUNNING", String.valueOf(started.getBody().get("state")));
+        assertEquals("default", started.getBody().get("settings"));
+
+        assertEquals(200, dumped.getStatus());
+        String file = (String) dumped.getBody().get("file");
+        assertTrue(Files.isRegularFile(dumpDirectory.resolve(file)));
+        assertEquals("/actuator/flightrecorder/" + file, dumped.getBody().get("download"));
+        assertEquals(List.of(file), endpoint.status().get("dumps"));
+
+        WebEndpointResponse<Resource> download = endpoint.download(file);
+        assertEquals(200, download.getStatus());
+        assertEquals(Files.size(dumpDirectory.resolve(file)), download.getBody().contentLength());
+
+        assertEquals(200, stopped.getStatus());
+        assertEquals("STOPPED", String.valueOf(stopped.getBody().get("state")));
+    }
+
+    @Test
+    @DisplayName("Should reject a second start and a stop without a running recording")
+    void testConflicts() {
+        // Act & Assert
+        assertEquals(409, endpoint.control("stop", null).getStatus());
+        assertEquals(404, endpoint.control("dump", null).getStatus());
+        assertEquals(200, endpoint.control("start", "profile").getStatus());
+        assertEquals(409, endpoint.control("start", null).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown actions and settings")
+    void testBadRequests() {
+        // Act & Assert
+        assertEquals(400, endpoint.control("restart", null).getStatus());
+        assertEquals(400, endpoint.control("start", "no-such-profile").getStatus());
+        assertEquals("NONE", endpoint.status().get("state"));
+    }
+
+    @Test
+    @DisplayName("Should only serve .jfr files from the dump directory")
+    void testDownload_Rejected() throws Exception {
+        // Arrange
+        Files.writeString(dumpDirectory.resolve("notes.txt"), "secret");
+
+        // Act & Assert
+        assertEquals(400, endpoint.download("notes.txt").getStatus());
+        assertEquals(400, endpoint.download("../etc/passwd.jfr").getStatus());
+        assertEquals(404, endpoint.download("missing.jfr").getStatus());
+    }
+}
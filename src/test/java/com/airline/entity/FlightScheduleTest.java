@@ -0,0 +1,86 @@
+package com.airline.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for expanding a recurring schedule into departure dates.
+ */
+@DisplayName("FlightSchedule Tests")
+class FlightScheduleTest {
+
+    // 2027-03-01 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2027, 3, 1);
+
+    private FlightSchedule schedule(EnumSet<DayOfWeek> days, LocalDate validFrom, LocalDate validTo) {
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setDaysOfWeek(days);
+        schedule.setDepartureTime(LocalTime.of(23, 10));
+        schedule.setDurationMinutes(95);
+        schedule.setValidFrom(validFrom);
+        schedule.setValidTo(validTo);
+        return schedule;
+    }
+
+    @Test
+    @DisplayName("Should list only the scheduled weekdays inside the window")
+    void testDatesBetween() {
+        // Arrange
+        FlightSchedule schedule = schedule(
+            EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), MONDAY, MONDAY.plusDays(30));
+
+        // Act
+        List<LocalDate> dates = schedule.datesBetween(MONDAY.plusDays(1), MONDAY.plusDays(11));
+
+        // Assert
+        assertEquals(List.of(MONDAY.plusDays(4), MONDAY.plusDays(7), MONDAY.plusDays(11)), dates);
+    }
+
+    @Test
+    @DisplayName("Should clip the window to the validity range")
+    void testDatesBetweenClipsToValidity() {
+        // Arrange
+        FlightSchedule schedule = schedule(EnumSet.allOf(DayOfWeek.class), MONDAY.plusDays(2), MONDAY.plusDays(4));
+
+        // Act
+        List<LocalDate> dates = schedule.datesBetween(MONDAY.minusDays(10), MONDAY.plusDays(10));
+
+        // Assert
+        assertEquals(List.of(MONDAY.plusDays(2), MONDAY.plusDays(3), MONDAY.plusDays(4)), dates);
+        assertTrue(schedule.datesBetween(MONDAY.plusDays(5), MONDAY.plusDays(9)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should operate only on scheduled days within validity")
+    void testOperatesOn() {
+        // Arrange
+        FlightSchedule schedule = schedule(EnumSet.of(DayOfWeek.SUNDAY), MONDAY, MONDAY.plusDays(13));
+
+        // Act & Assert
+        assertTrue(schedule.operatesOn(MONDAY.plusDays(6)));
+        assertTrue(schedule.operatesOn(MONDAY.plusDays(13)));
+        assertFalse(schedule.operatesOn(MONDAY.plusDays(5)));
+        assertFalse(schedule.operatesOn(MONDAY.plusDays(20)));
+        assertEquals(EnumSet.of(DayOfWeek.SUNDAY), schedule.getDaysOfWeek());
+    }
+
+    @Test
+    @DisplayName("Should derive departure and arrival across midnight")
+    void testDepartureAndArrival() {
+        // Arrange
+        FlightSchedule schedule = schedule(EnumSet.of(DayOfWeek.MONDAY), MONDAY, MONDAY);
+
+        // Act & Assert
+        assertEquals(LocalDateTime.of(2027, 3, 1, 23, 10), schedule.departureOn(MONDAY));
+        assertEquals(LocalDateTime.of(2027, 3, 2, 0, 45), schedule.arrivalOn(MONDAY));
+    }
+}
@@ -0,0 +1,81 @@
+package com.airline.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the k-d tree behind nearby-airport search. Radius queries are checked
+ * against a brute-force haversine scan over the same points.
+ */
+@DisplayName("SphericalKdTree Tests")
+class SphericalKdTreeTest {
+
+    @Test
+    @DisplayName("Should return the cities within the radius of Berlin")
+    void testWithinRadiusOfBerlin() {
+        // Arrange
+        SphericalKdTree<Place> tree = new SphericalKdTree<>(List.of(
+            new Place("Berlin", 52.5200, 13.4050),
+            new Place("Leipzig", 51.3397, 12.3731),
+            new Place("Dresden", 51.0504, 13.7373),
+            new Place("Hamburg", 53.5511, 9.9937),
+            new Place("Munich", 48.1351, 11.5820)), Place::latitude, Place::longitude);
+
+        // Act
+        Set<String> names = new HashSet<>();
+        tree.withinRadius(52.5200, 13.4050, 150).forEach(place -> names.add(place.name()));
+
+        // Assert
+        assertEquals(Set.of("Berlin", "Leipzig"), names);
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force scan, including across the antimeridian and near the poles")
+    void testMatchesBruteForce() {
+        // Arrange
+        Random random = new Random(42);
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double latitude = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            places.add(new Place("p" + i, latitude, random.nextDouble() * 360 - 180));
+        }
+        SphericalKdTree<Place> tree = new SphericalKdTree<>(places, Place::latitude, Place::longitude);
+        double[][] queries = {{0, 179.9, 800}, {0, -179.9, 800}, {89.9, 0, 1500}, {-89.9, 45, 1500},
+            {52.52, 13.405, 300}, {10, 10, 0}};
+
+        for (double[] query : queries) {
+            // Act
+            Set<Place> found = new HashSet<>(tree.withinRadius(query[0], query[1], query[2]));
+
+            // Assert
+            Set<Place> expected = new HashSet<>();
+            for (Place place : places) {
+                if (SphericalKdTree.distanceKm(query[0], query[1], place.latitude(), place.longitude()) <= query[2]) {
+                    expected.add(place);
+                }
+            }
+            assertEquals(expected, found, () -> "query " + query[0] + "," + query[1] + " r=" + query[2]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return nothing from an empty tree")
+    void testEmptyTree() {
+        // Arrange
+        SphericalKdTree<Place> tree = new SphericalKdTree<>(List.of(), Place::latitude, Place::longitude);
+
+        // Act & Assert
+        assertTrue(tree.withinRadius(52.52, 13.405, 500).isEmpty());
+    }
+
+    private record Place(String name, double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.airline.hold;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the timing wheel used for seat hold expiry. The wheel is advanced by hand
+ * with a one-minute tick so wall-clock drift during the test cannot move a deadline.
+ */
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MILLIS = 60_000;
+
+    @Test
+    @DisplayName("Should fire a timeout held in a higher level after cascading down")
+    void testFiresAfterCascade() {
+        // Arrange
+        List<String> fired = new ArrayList<>();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 4, fired::add);
+        wheel.schedule("hold-1", System.currentTimeMillis() + 100 * TICK_MILLIS);
+
+        // Act
+        int ticks = 0;
+        while (fired.isEmpty() && ticks < 1000) {
+            wheel.advance();
+            ticks++;
+        }
+
+        // Assert
+        assertEquals(List.of("hold-1"), fired);
+        assertTrue(ticks >= 100 && ticks <= 101, "fired after " + ticks + " ticks");
+    }
+
+    @Test
+    @DisplayName("Should not fire a cancelled timeout")
+    void testCancelledTimeoutDoesNotFire() {
+        // Arrange
+        List<String> fired = new ArrayList<>();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 4, fired::add);
+        HierarchicalTimingWheel.Timeout<String> timeout =
+            wheel.schedule("hold-1", System.currentTimeMillis() + 10 * TICK_MILLIS);
+        wheel.schedule("hold-2", System.currentTimeMillis() + 10 * TICK_MILLIS);
+
+        // Act
+        timeout.cancel();
+        for (int i = 0; i < 20; i++) {
+            wheel.advance();
+        }
+
+        // Assert
+        assertEquals(List.of("hold-2"), fired);
+    }
+
+    @Test
+    @DisplayName("Should fire past deadlines on the next tick")
+    void testPastDeadlineFiresImmediately() {
+        // Arrange
+        List<String> fired = new ArrayList<>();
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 4, fired::add);
+        wheel.schedule("hold-1", System.currentTimeMillis() - TICK_MILLIS);
+
+        // Act
+        wheel.advance();
+
+        // Assert
+        assertEquals(List.of("hold-1"), fired);
+    }
+}
@@ -0,0 +1,148 @@
+package com.airline.idempotency;
+
+import com.airline.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Idempotency-Key filter: replays, fingerprints covering the body and
+ * keys scoped per client.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyFilter filter;
+    private final List<String> executedBodies = new ArrayList<>();
+
+    private final FilterChain chain = (request, response) -> {
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        executedBodies.add(body);
+        ((HttpServletResponse) response).setStatus(201);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"created\":" + executedBodies.size() + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(repository.findById(anyString())).thenReturn(Optional.empty());
+        filter = new IdempotencyFilter(new IdempotencyStore(repository, 24, 60, 100), new ObjectMapper().findAndRegisterModules(),
+            true, 1000, 10, 65536);
+    }
+
+    private MockHttpServletResponse post(String client, String key, String body) throws Exception {
+        return post(filter, client, key, body);
+    }
+
+    private MockHttpServletResponse post(IdempotencyFilter filter, String client, String key, String body)
+        throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/flights");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setRemoteAddr(client);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retry with the same body")
+    void testRetryReplays() throws Exception {
+        // Act
+        MockHttpServletResponse first = post("client-a", "key-1", "{\"airline\":\"KLM\"}");
+        MockHttpServletResponse retry = post("client-a", "key-1", "{\"airline\":\"KLM\"}");
+
+        // Assert
+        assertEquals(201, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(List.of("{\"airline\":\"KLM\"}"), executedBodies);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void testDifferentBodyRejected() throws Exception {
+        // Act
+        post("client-a", "key-1", "{\"airline\":\"KLM\"}");
+        MockHttpServletResponse reused = post("client-a", "key-1", "{\"airline\":\"Ryanair\"}");
+
+        // Assert
+        assertEquals(422, reused.getStatus());
+        assertTrue(reused.getContentAsString().contains("Idempotency Key Reused"));
+        assertEquals(1, executedBodies.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the same key of different clients apart")
+    void testKeysScopedPerClient() throws Exception {
+        // Act
+        MockHttpServletResponse first = post("client-a", "key-1", "{\"airline\":\"KLM\"}");
+        MockHttpServletResponse other = post("client-b", "key-1", "{\"airline\":\"KLM\"}");
+
+        // Assert
+        assertEquals(201, other.getStatus());
+        assertNull(other.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNotEquals(first.getContentAsString(), other.getContentAsString());
+        assertEquals(2, executedBodies.size());
+    }
+
+    @Test
+    @DisplayName("Should not execute a retry sent to another instance while the first request runs")
+    void testRetryOnOtherInstance() throws Exception {
+        // Arrange: two instances sharing the table; the first one is executing the request
+        InMemoryIdempotencyTable table = new InMemoryIdempotencyTable();
+        IdempotencyStore firstStore = new IdempotencyStore(table.repository, 24, 60, 100);
+        IdempotencyFilter second = new IdempotencyFilter(new IdempotencyStore(table.repository, 24, 60, 100),
+            new ObjectMapper().findAndRegisterModules(), true, 200, 10, 65536);
+        String body = "{\"airline\":\"KLM\"}";
+        String key = IdempotencyFilter.sha256(("client-a\nkey-1").getBytes(StandardCharsets.UTF_8));
+        String fingerprint = "POST /api/v1/flights " + IdempotencyFilter.sha256(body.getBytes(StandardCharsets.UTF_8));
+        firstStore.tryClaim(key, fingerprint);
+
+        // Act
+        MockHttpServletResponse whileRunning = post(second, "client-a", "key-1", body);
+        firstStore.complete(key, fingerprint, 201, "application/json", "{\"created\":1}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse afterwards = post(second, "client-a", "key-1", body);
+
+        // Assert
+        assertEquals(409, whileRunning.getStatus());
+        assertEquals(201, afterwards.getStatus());
+        assertEquals("true", afterwards.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"created\":1}", afterwards.getContentAsString());
+        assertTrue(executedBodies.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty key")
+    void testInvalidKey() throws Exception {
+        // Act
+        MockHttpServletResponse response = post("client-a", " ", "{}");
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertTrue(executedBodies.isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.airline.idempotency;
+
+import com.airline.entity.IdempotencyRecord;
+import com.airline.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the idempotency store's memory/database layering and execution claims.
+ * Two stores share one table to stand in for two instances behind a load balancer.
+ */
+@DisplayName("IdempotencyStore Tests")
+class IdempotencyStoreTest {
+
+    private static final String FINGERPRINT = "POST /api/v1/flights";
+
+    private InMemoryIdempotencyTable table;
+    private IdempotencyRecordRepository repository;
+    private IdempotencyStore store;
+    private IdempotencyStore otherInstance;
+
+    @BeforeEach
+    void setUp() {
+        table = new InMemoryIdempotencyTable();
+        repository = table.repository;
+        store = new IdempotencyStore(repository, 24, 60, 100);
+        otherInstance = new IdempotencyStore(repository, 24, 60, 100);
+    }
+
+    @Test
+    @DisplayName("Should serve a completed key from memory without reading the table")
+    void testFindAfterCompleteUsesMemory() {
+        // Arrange
+        byte[] body = "{\"message\":\"Flight created successfully\"}".getBytes(StandardCharsets.UTF_8);
+        store.tryClaim("key-1", FINGERPRINT);
+        store.complete("key-1", FINGERPRINT, 201, "application/json", body);
+
+        // Act
+        Optional<StoredResponse> result = store.find("key-1");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(201, result.get().status());
+        assertArrayEquals(body, result.get().body());
+        assertEquals(IdempotencyRecord.State.COMPLETED, table.rows.get("key-1").getState());
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should hand the first execution's response to concurrent duplicates")
+    void testDuplicateWaitsOnFirstExecution() throws Exception {
+        // Arrange
+        assertEquals(IdempotencyStore.Claim.State.OWNED, store.tryClaim("key-2", FINGERPRINT).state());
+        IdempotencyStore.Claim duplicate = store.tryClaim("key-2", FINGERPRINT);
+
+        // Act
+        store.complete("key-2", FINGERPRINT, 201, "application/json", new byte[0]);
+
+        // Assert
+        assertEquals(IdempotencyStore.Claim.State.RUNNING_HERE, duplicate.state());
+        assertEquals(201, duplicate.running().get().status());
+    }
+
+    @Test
+    @DisplayName("Should let a waiter retry when the first execution is released without a response")
+    void testReleaseWithoutResponse() throws Exception {
+        // Arrange
+        store.tryClaim("key-3", FINGERPRINT);
+        IdempotencyStore.Claim duplicate = store.tryClaim("key-3", FINGERPRINT);
+
+        // Act
+        store.release("key-3", null);
+
+        // Assert
+        assertNull(duplicate.running().get());
+        assertFalse(table.rows.containsKey("key-3"));
+        assertEquals(IdempotencyStore.Claim.State.OWNED, otherInstance.tryClaim("key-3", FINGERPRINT).state());
+    }
+
+    @Test
+    @DisplayName("Should not let another instance execute a key that is claimed or completed")
+    void testDuplicateOnOtherInstance() {
+        // Arrange
+        store.tryClaim("key-4", FINGERPRINT);
+
+        // Act
+        IdempotencyStore.Claim whileRunning = otherInstance.tryClaim("key-4", FINGERPRINT);
+        Optional<StoredResponse> beforeCompletion = otherInstance.find("key-4");
+        store.complete("key-4", FINGERPRINT, 201, "application/json", new byte[0]);
+        IdempotencyStore.Claim afterCompletion = otherInstance.tryClaim("key-4", FINGERPRINT);
+
+        // Assert
+        assertEquals(IdempotencyStore.Claim.State.RUNNING_ELSEWHERE, whileRunning.state());
+        assertTrue(beforeCompletion.isEmpty());
+        assertEquals(IdempotencyStore.Claim.State.RUNNING_ELSEWHERE, afterCompletion.state());
+        assertEquals(201, otherInstance.find("key-4").orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Should take over a claim left behind by a crashed instance once it expires")
+    void testExpiredClaimTakenOver() {
+        // Arrange
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(5);
+        table.rows.put("key-5", IdempotencyRecord.pending("key-5", FINGERPRINT, claimedAt, claimedAt.plusSeconds(60)));
+
+        // Act
+        IdempotencyStore.Claim claim = store.tryClaim("key-5", FINGERPRINT);
+
+        // Assert
+        assertEquals(IdempotencyStore.Claim.State.OWNED, claim.state());
+        assertTrue(table.rows.get("key-5").getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.airline.idempotency;
+
+import com.airline.entity.IdempotencyRecord;
+import com.airline.repository.IdempotencyRecordRepository;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Mock {@link IdempotencyRecordRepository} backed by a map, shared by the stores of several
+ * simulated instances. Inserting an existing key fails like the primary key does.
+ */
+final class InMemoryIdempotencyTable {
+
+    final Map<String, IdempotencyRecord> rows = new ConcurrentHashMap<>();
+    final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class,
+        withSettings().strictness(Strictness.LENIENT));
+
+    InMemoryIdempotencyTable() {
+        when(repository.findById(anyString())).thenAnswer(invocation ->
+            Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            if (rows.putIfAbsent(record.getId(), record) != null) {
+                throw new DataIntegrityViolationException("Unique index or primary key violation");
+            }
+            return record;
+        });
+        when(repository.complete(anyString(), anyInt(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            IdempotencyRecord pending = rows.get(key);
+            if (pending == null || pending.getState() != IdempotencyRecord.State.PENDING) {
+                return 0;
+            }
+            rows.put(key, new IdempotencyRecord(key, pending.getFingerprint(), invocation.getArgument(1),
+                invocation.getArgument(2), invocation.getArgument(3), pending.getCreatedAt(), invocation.getArgument(4)));
+            return 1;
+        });
+        when(repository.deleteInState(anyString(), any())).thenAnswer(invocation ->
+            delete(invocation.getArgument(0), invocation.getArgument(1), LocalDateTime.MAX));
+        when(repository.deleteIfExpired(anyString(), any(), any())).thenAnswer(invocation ->
+            delete(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    private int delete(String key, IdempotencyRecord.State state, LocalDateTime expiredBefore) {
+        IdempotencyRecord record = rows.get(key);
+        if (record == null || record.getState() != state || !record.getExpiresAt().isBefore(expiredBefore)) {
+            return 0;
+        }
+        return rows.remove(key, record) ? 1 : 0;
+    }
+}
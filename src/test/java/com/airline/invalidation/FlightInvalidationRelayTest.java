@@ -0,0 +1,130 @@
+package com.airline.invalidation;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for cross-node invalidation, with two relays ("nodes") sharing a loopback bus.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightInvalidationRelay Tests")
+class FlightInvalidationRelayTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisherA;
+
+    @Mock
+    private ApplicationEventPublisher publisherB;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoopbackInvalidationBus bus;
+    private FlightInvalidationRelay nodeA;
+    private FlightInvalidationRelay nodeB;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackInvalidationBus();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        nodeA = new FlightInvalidationRelay(bus, flightRepository, publisherA, transactionTemplate, 100);
+        nodeB = new FlightInvalidationRelay(bus, flightRepository, publisherB, transactionTemplate, 100);
+    }
+
+    private Flight flight(long version) {
+        return Flight.builder().id(1L).airline("Lufthansa").version(version).build();
+    }
+
+    @Test
+    @DisplayName("Should refresh other nodes from the database after a local update")
+    void testRemoteNodeRefreshes() {
+        // Arrange
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight(2)));
+
+        // Act
+        nodeA.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight(2)));
+
+        // Assert
+        ArgumentCaptor<FlightChangedEvent> event = ArgumentCaptor.forClass(FlightChangedEvent.class);
+        verify(publisherB).publishEvent(event.capture());
+        assertTrue(event.getValue().isRemote());
+        assertEquals(2L, event.getValue().getFlight().getVersion());
+        verifyNoInteractions(publisherA);
+    }
+
+    @Test
+    @DisplayName("Should ignore invalidations older than the version already seen")
+    void testIgnoresStaleInvalidation() {
+        // Arrange
+        bus.publish(new FlightInvalidation(1L, 3, true, "other-node"));
+
+        // Act
+        bus.publish(new FlightInvalidation(1L, 2, false, "another-node"));
+
+        // Assert
+        verify(publisherB, times(1)).publishEvent(any(FlightChangedEvent.class));
+        verify(flightRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should apply a delete that carries the version of the update before it")
+    void testRemovalWinsOverSameVersionUpdate() {
+        // Arrange
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight(2)));
+        nodeA.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight(2)));
+
+        // Act
+        nodeA.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED, flight(2)));
+        bus.publish(new FlightInvalidation(1L, 2, false, "late-node"));
+
+        // Assert
+        ArgumentCaptor<FlightChangedEvent> events = ArgumentCaptor.forClass(FlightChangedEvent.class);
+        verify(publisherB, times(2)).publishEvent(events.capture());
+        assertEquals(FlightChangedEvent.ChangeType.UPDATED, events.getAllValues().get(0).getType());
+        assertEquals(FlightChangedEvent.ChangeType.DELETED, events.getAllValues().get(1).getType());
+        verify(flightRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not rebroadcast events that came from another node")
+    void testDoesNotEchoRemoteEvents() {
+        // Act
+        nodeA.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight(5), true));
+
+        // Assert
+        verifyNoInteractions(publisherB, flightRepository);
+    }
+
+    @Test
+    @DisplayName("Should round-trip the NOTIFY payload")
+    void testPayloadRoundTrip() {
+        // Arrange
+        FlightInvalidation invalidation = new FlightInvalidation(42L, 7L, true, nodeA.getNodeId());
+
+        // Act
+        FlightInvalidation decoded = FlightInvalidation.decode(invalidation.encode());
+
+        // Assert
+        assertEquals(invalidation, decoded);
+    }
+}
@@ -0,0 +1,125 @@
+package com.airline.pricing;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PricingEngine: fares from the tiers, the per-flight quote cache and its
+ * invalidation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PricingEngine Tests")
+class PricingEngineTest {
+
+    @Mock
+    private LoadFactorProvider loadFactorProvider;
+
+    private PricingEngine pricingEngine;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine(loadFactorProvider, "60:0.85,30:1.0,14:1.15,7:1.3,0:1.5", "0.9:1.4,0.8:1.2,0.5:1.05");
+        flight = Flight.builder().id(1L).price(200.0).version(3L)
+            .departureDateTime(LocalDateTime.now().plusDays(45)).build();
+    }
+
+    private Map<?, ?> cache() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(pricingEngine, "fares");
+    }
+
+    @Test
+    @DisplayName("Should multiply the base price by every rule and round to cents")
+    void testQuote_Tiers() {
+        // Arrange
+        when(loadFactorProvider.loadFactor(flight)).thenReturn(0.85);
+        Flight lastMinute = Flight.builder().id(2L).price(99.99).version(0L)
+            .departureDateTime(LocalDateTime.now().plusHours(1)).build();
+        when(loadFactorProvider.loadFactor(lastMinute)).thenReturn(0.95);
+
+        // Act & Assert
+        assertEquals(240.0, pricingEngine.quote(flight));
+        assertEquals(209.98, pricingEngine.quote(lastMinute));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated quotes from the cache while the inputs are unchanged")
+    void testQuote_Cached() {
+        // Arrange
+        when(loadFactorProvider.loadFactor(flight)).thenReturn(0.4);
+
+        // Act
+        double first = pricingEngine.quote(flight);
+        Object cached = cache().get(1L);
+        double second = pricingEngine.quote(flight);
+
+        // Assert
+        assertEquals(200.0, first);
+        assertEquals(first, second);
+        assertSame(cached, cache().get(1L));
+    }
+
+    @Test
+    @DisplayName("Should recompute when the load factor crosses a whole percent or the flight is updated")
+    void testQuote_InputsChanged() {
+        // Arrange
+        when(loadFactorProvider.loadFactor(flight)).thenReturn(0.499, 0.5, 0.5);
+
+        // Act
+        double belowTier = pricingEngine.quote(flight);
+        double inTier = pricingEngine.quote(flight);
+        flight.setPrice(300.0);
+        flight.setVersion(4L);
+        double updated = pricingEngine.quote(flight);
+
+        // Assert
+        assertEquals(200.0, belowTier);
+        assertEquals(210.0, inTier);
+        assertEquals(315.0, updated);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached fare when the flight changes")
+    void testOnFlightChanged_Invalidates() {
+        // Arrange
+        when(loadFactorProvider.loadFactor(flight)).thenReturn(0.4);
+        pricingEngine.quote(flight);
+        Object cached = cache().get(1L);
+
+        // Act
+        pricingEngine.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight));
+
+        // Assert
+        assertFalse(cache().containsKey(1L));
+        pricingEngine.quote(flight);
+        assertNotSame(cached, cache().get(1L));
+    }
+
+    @Test
+    @DisplayName("Should price unsaved flights without caching them")
+    void testQuote_Unsaved() {
+        // Arrange
+        Flight unsaved = Flight.builder().price(100.0).departureDateTime(LocalDateTime.now().plusDays(20)).build();
+        when(loadFactorProvider.loadFactor(unsaved)).thenReturn(0.0);
+
+        // Act
+        double fare = pricingEngine.quote(unsaved);
+
+        // Assert
+        assertEquals(115.0, fare);
+        assertTrue(cache().isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.airline.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TieredPricingRule: tier boundaries and tier parsing.
+ */
+@DisplayName("TieredPricingRule Tests")
+class TieredPricingRuleTest {
+
+    private static PricingContext days(long daysToDeparture) {
+        return new PricingContext(100.0, daysToDeparture, 0.0);
+    }
+
+    private static PricingContext load(double loadFactor) {
+        return new PricingContext(100.0, 90, loadFactor);
+    }
+
+    @Test
+    @DisplayName("Should apply the multiplier of the highest threshold reached, inclusive at the boundary")
+    void testAdvancePurchase_Boundaries() {
+        // Arrange
+        TieredPricingRule rule = TieredPricingRule.advancePurchase("60:0.85,30:1.0,14:1.15,7:1.3,0:1.5");
+
+        // Act & Assert
+        assertEquals(0.85, rule.multiplier(days(120)));
+        assertEquals(0.85, rule.multiplier(days(60)));
+        assertEquals(1.0, rule.multiplier(days(59)));
+        assertEquals(1.0, rule.multiplier(days(30)));
+        assertEquals(1.15, rule.multiplier(days(14)));
+        assertEquals(1.3, rule.multiplier(days(13)));
+        assertEquals(1.3, rule.multiplier(days(7)));
+        assertEquals(1.5, rule.multiplier(days(6)));
+        assertEquals(1.5, rule.multiplier(days(0)));
+    }
+
+    @Test
+    @DisplayName("Should keep the base price below every threshold")
+    void testLoadFactor_BelowAllTiers() {
+        // Arrange
+        TieredPricingRule rule = TieredPricingRule.loadFactor("0.9:1.4,0.8:1.2,0.5:1.05");
+
+        // Act & Assert
+        assertEquals(1.0, rule.multiplier(load(0.0)));
+        assertEquals(1.0, rule.multiplier(load(0.49)));
+        assertEquals(1.05, rule.multiplier(load(0.5)));
+        assertEquals(1.2, rule.multiplier(load(0.8)));
+        assertEquals(1.4, rule.multiplier(load(0.9)));
+        assertEquals(1.4, rule.multiplier(load(1.0)));
+    }
+
+    @Test
+    @DisplayName("Should accept tiers in any order and with spaces")
+    void testParse_UnorderedTiers() {
+        // Arrange
+        TieredPricingRule rule = TieredPricingRule.loadFactor(" 0.5:1.05, 0.9 : 1.4 ,0.8:1.2");
+
+        // Act & Assert
+        assertEquals(1.05, rule.multiplier(load(0.6)));
+        assertEquals(1.4, rule.multiplier(load(0.95)));
+        assertEquals("load-factor", rule.toString());
+    }
+
+    @Test
+    @DisplayName("Should treat an empty spec as no tiers and reject malformed tiers")
+    void testParse_EmptyAndInvalid() {
+        // Act & Assert
+        assertEquals(1.0, TieredPricingRule.advancePurchase("").multiplier(days(0)));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> TieredPricingRule.advancePurchase("60:0.85,30"));
+        assertTrue(exception.getMessage().contains("advance-purchase"));
+        assertThrows(NumberFormatException.class, () -> TieredPricingRule.loadFactor("high:1.4"));
+    }
+}
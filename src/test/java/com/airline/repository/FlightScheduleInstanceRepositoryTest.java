@@ -0,0 +1,80 @@
+package com.airline.repository;
+
+import com.airline.entity.FlightSchedule;
+import com.airline.entity.FlightScheduleInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the constraints on materialized schedule occurrences, against H2.
+ */
+@DataJpaTest
+@DisplayName("FlightScheduleInstanceRepository Tests")
+class FlightScheduleInstanceRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 5, 6);
+
+    @Autowired
+    private FlightScheduleRepository scheduleRepository;
+
+    @Autowired
+    private FlightScheduleInstanceRepository instanceRepository;
+
+    private FlightSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        FlightSchedule daily = new FlightSchedule();
+        daily.setAirline("KLM");
+        daily.setType("Boeing 737");
+        daily.setPrice(120.0);
+        daily.setDepartureCity("Amsterdam");
+        daily.setArrivalCity("Oslo");
+        daily.setDaysOfWeek(EnumSet.allOf(DayOfWeek.class));
+        daily.setDepartureTime(LocalTime.of(9, 30));
+        daily.setDurationMinutes(110);
+        daily.setValidFrom(DATE.minusDays(10));
+        daily.setValidTo(DATE.plusDays(10));
+        daily.setEmail("ops@klm.example");
+        schedule = scheduleRepository.saveAndFlush(daily);
+    }
+
+    @Test
+    @DisplayName("Should reject a second instance row for the same occurrence")
+    void testDuplicateOccurrenceRejected() {
+        // Arrange
+        instanceRepository.saveAndFlush(new FlightScheduleInstance(schedule.getId(), DATE, 1L));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+            () -> instanceRepository.saveAndFlush(new FlightScheduleInstance(schedule.getId(), DATE, 2L)));
+    }
+
+    @Test
+    @DisplayName("Should delete instance rows with their schedule and reject rows of unknown schedules")
+    void testInstancesFollowSchedule() {
+        // Arrange
+        instanceRepository.saveAndFlush(new FlightScheduleInstance(schedule.getId(), DATE, 1L));
+        instanceRepository.saveAndFlush(new FlightScheduleInstance(schedule.getId(), DATE.plusDays(1), 2L));
+
+        // Act
+        scheduleRepository.delete(schedule);
+        scheduleRepository.flush();
+
+        // Assert
+        assertEquals(0, instanceRepository.count());
+        assertThrows(DataIntegrityViolationException.class,
+            () -> instanceRepository.saveAndFlush(new FlightScheduleInstance(schedule.getId(), DATE, 3L)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.airline.repository;
+
+import com.airline.entity.Flight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the SQL city searches match LIKE wildcards literally, like the snapshot, against H2.
+ */
+@DataJpaTest
+@DisplayName("FlightSpecifications Tests")
+class FlightSpecificationsTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private Long save(String departureCity) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(30);
+        return flightRepository.save(Flight.builder()
+            .airline("Test Air").type("Airbus A320").price(50.0)
+            .departureCity(departureCity).arrivalCity("Rome")
+            .departureDateTime(departure).arrivalDateTime(departure.plusHours(2))
+            .status(Flight.FlightStatus.ACTIVE).email("ops@test.example")
+            .build()).getId();
+    }
+
+    private List<Long> bothPaths(String fragment) {
+        List<Long> jpql = flightRepository.searchFlights(FlightSpecifications.escapeLike(fragment), null, null)
+            .stream().map(Flight::getId).toList();
+        List<Long> criteria = flightRepository.findAll(FlightSpecifications.search(fragment, null, null))
+            .stream().map(Flight::getId).sorted().toList();
+        assertEquals(jpql.stream().sorted().toList(), criteria, "JPQL and criteria searches disagree");
+        return jpql;
+    }
+
+    @Test
+    @DisplayName("Should treat % and _ in a city fragment as literal characters")
+    void testWildcardsMatchLiterally() {
+        // Arrange
+        Long underscore = save("Test_City");
+        Long percent = save("100% City");
+
+        // Act & Assert
+        assertEquals(List.of(underscore), bothPaths("_"));
+        assertEquals(List.of(percent), bothPaths("%"));
+        assertEquals(List.of(), bothPaths("b_rlin"));
+        assertEquals(List.of(), bothPaths("\\"));
+        assertFalse(bothPaths("berlin").isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.airline.repository;
+
+import com.airline.entity.IdempotencyRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for claiming and completing idempotency keys, against H2. Runs without a test
+ * transaction so every call commits on its own, as it does from IdempotencyStore.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IdempotencyRecordRepository Tests")
+class IdempotencyRecordRepositoryTest {
+
+    private static final String FINGERPRINT = "POST /api/v1/flights";
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    private void claim(String key, LocalDateTime expiresAt) {
+        repository.saveAndFlush(IdempotencyRecord.pending(key, FINGERPRINT, LocalDateTime.now(), expiresAt));
+    }
+
+    @Test
+    @DisplayName("Should let only one claim on a key succeed and complete it in place")
+    void testClaimAndComplete() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(24);
+        claim("key-1", LocalDateTime.now().plusMinutes(1));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> claim("key-1", LocalDateTime.now().plusMinutes(1)));
+        assertEquals(1, repository.complete("key-1", 201, "application/json", "{}".getBytes(StandardCharsets.UTF_8),
+            expiresAt, IdempotencyRecord.State.PENDING, IdempotencyRecord.State.COMPLETED));
+        assertEquals(0, repository.complete("key-1", 500, null, null,
+            expiresAt, IdempotencyRecord.State.PENDING, IdempotencyRecord.State.COMPLETED));
+        IdempotencyRecord completed = repository.findById("key-1").orElseThrow();
+        assertEquals(IdempotencyRecord.State.COMPLETED, completed.getState());
+        assertEquals(201, completed.getStatusCode());
+        assertEquals("{}", new String(completed.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should delete a claim only while pending, and an expired claim only once expired")
+    void testDeleteClaims() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        claim("live", now.plusMinutes(1));
+        claim("stale", now.minusMinutes(1));
+
+        // Act & Assert
+        assertEquals(0, repository.deleteIfExpired("live", IdempotencyRecord.State.PENDING, now));
+        assertEquals(1, repository.deleteIfExpired("stale", IdempotencyRecord.State.PENDING, now));
+        assertEquals(0, repository.deleteInState("live", IdempotencyRecord.State.COMPLETED));
+        assertEquals(1, repository.deleteInState("live", IdempotencyRecord.State.PENDING));
+        assertEquals(0, repository.count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.airline.repository;
+
+import com.airline.entity.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the waitlist queries that define promotion order, against H2.
+ */
+@DataJpaTest
+@DisplayName("WaitlistEntryRepository Tests")
+class WaitlistEntryRepositoryTest {
+
+    private static final Long FLIGHT_ID = 4L;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistRepository;
+
+    private WaitlistEntry standard;
+    private WaitlistEntry platinum;
+    private WaitlistEntry silver;
+    private WaitlistEntry gold;
+    private WaitlistEntry laterPlatinum;
+
+    @BeforeEach
+    void setUp() {
+        standard = join(WaitlistEntry.PriorityTier.STANDARD);
+        platinum = join(WaitlistEntry.PriorityTier.PLATINUM);
+        silver = join(WaitlistEntry.PriorityTier.SILVER);
+        gold = join(WaitlistEntry.PriorityTier.GOLD);
+        laterPlatinum = join(WaitlistEntry.PriorityTier.PLATINUM);
+        waitlistRepository.save(new WaitlistEntry(5L, 1, "other@example.com", WaitlistEntry.PriorityTier.PLATINUM));
+    }
+
+    private WaitlistEntry join(WaitlistEntry.PriorityTier tier) {
+        return waitlistRepository.save(new WaitlistEntry(FLIGHT_ID, 1, tier.name().toLowerCase() + "@example.com", tier));
+    }
+
+    private static List<Long> ids(List<WaitlistEntry> entries) {
+        return entries.stream().map(WaitlistEntry::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should order waiting entries by tier and then by join order")
+    void testFindWaiting_PromotionOrder() {
+        // Act
+        List<WaitlistEntry> waiting = waitlistRepository.findWaiting(FLIGHT_ID);
+
+        // Assert
+        assertEquals(List.of(platinum.getId(), laterPlatinum.getId(), gold.getId(), silver.getId(), standard.getId()),
+            ids(waiting));
+    }
+
+    @Test
+    @DisplayName("Should lock only the first waiting entries and skip promoted ones")
+    void testLockWaiting_FirstEntries() {
+        // Arrange
+        waitlistRepository.promote(platinum.getId(), 99L, LocalDateTime.now());
+
+        // Act
+        List<WaitlistEntry> locked = waitlistRepository.lockWaiting(FLIGHT_ID, PageRequest.of(0, 2));
+
+        // Assert
+        assertEquals(List.of(laterPlatinum.getId(), gold.getId()), ids(locked));
+    }
+
+    @Test
+    @DisplayName("Should list the flights with waiting entries")
+    void testFindFlightIdsWithWaitingEntries() {
+        // Arrange
+        waitlistRepository.cancelWaiting(
+            waitlistRepository.findWaiting(5L).get(0).getId());
+
+        // Act & Assert
+        assertEquals(List.of(FLIGHT_ID), waitlistRepository.findFlightIdsWithWaitingEntries());
+        assertTrue(waitlistRepository.existsByFlightIdAndStatus(FLIGHT_ID, WaitlistEntry.WaitlistStatus.WAITING));
+        assertFalse(waitlistRepository.existsByFlightIdAndStatus(5L, WaitlistEntry.WaitlistStatus.WAITING));
+    }
+}
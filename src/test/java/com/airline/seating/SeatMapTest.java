@@ -0,0 +1,116 @@
+package com.airline.seating;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bitset seat map used for seat selection.
+ */
+@DisplayName("SeatMap Tests")
+class SeatMapTest {
+
+    private static final SeatLayout LAYOUT = SeatLayout.parse("BUSINESS:4:AC DF;ECONOMY:38:ABC DEFG HJK");
+
+    @Test
+    @DisplayName("Should map seat labels to bits and back")
+    void testSeatLabels() {
+        // Act & Assert
+        assertEquals(396, LAYOUT.getTotalSeats());
+        assertEquals(64, LAYOUT.getWords() * Long.BYTES);
+        for (String label : List.of("1A", "4F", "5A", "5K", "42K")) {
+            assertEquals(label, LAYOUT.label(LAYOUT.seat(label)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> LAYOUT.seat("1B"));
+        assertThrows(IllegalArgumentException.class, () -> LAYOUT.seat("43A"));
+        assertEquals(LAYOUT.toSpec(), SeatLayout.parse(LAYOUT.toSpec()).toSpec());
+    }
+
+    @Test
+    @DisplayName("Should only pick free seats in one row without an aisle between them")
+    void testReserveAdjacent() {
+        // Arrange
+        SeatMap seatMap = new SeatMap(LAYOUT);
+        Random random = new Random(42);
+        for (int i = 0; i < 150; i++) {
+            seatMap.tryReserve(LAYOUT.seat(random.nextInt(5, 43) + "" + "ABCDEFGHJK".charAt(random.nextInt(10))));
+        }
+
+        for (int count = 1; count <= 4; count++) {
+            // Act
+            int first = seatMap.reserveAdjacent(SeatLayout.CabinClass.ECONOMY, count);
+
+            // Assert
+            assertTrue(first >= 0, "block of " + count);
+            String firstLabel = LAYOUT.label(first);
+            String row = firstLabel.substring(0, firstLabel.length() - 1);
+            String group = List.of("ABC", "DEFG", "HJK").stream()
+                .filter(letters -> letters.indexOf(firstLabel.charAt(firstLabel.length() - 1)) >= 0)
+                .findFirst().orElseThrow();
+            for (int seat = first; seat < first + count; seat++) {
+                String label = LAYOUT.label(seat);
+                assertEquals(row, label.substring(0, label.length() - 1));
+                assertTrue(group.indexOf(label.charAt(label.length() - 1)) >= 0, label + " crosses an aisle");
+                assertTrue(seatMap.isOccupied(seat));
+            }
+        }
+        assertEquals(-1, seatMap.reserveAdjacent(SeatLayout.CabinClass.BUSINESS, 3));
+    }
+
+    @Test
+    @DisplayName("Should give every seat to exactly one of many concurrent selections")
+    void testConcurrentSelection() throws Exception {
+        // Arrange
+        SeatMap seatMap = new SeatMap(LAYOUT);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Integer>> picks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            picks.add(executor.submit(() -> seatMap.reserveAdjacent(SeatLayout.CabinClass.ECONOMY, 2)));
+        }
+        Set<Integer> taken = new HashSet<>();
+        int granted = 0;
+        for (Future<Integer> pick : picks) {
+            int first = pick.get();
+            if (first >= 0) {
+                granted++;
+                assertTrue(taken.add(first));
+                assertTrue(taken.add(first + 1));
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        // Two blocks of two fit in DEFG, one in ABC and one in HJK
+        assertEquals(38 * 4, granted);
+        assertEquals(380 - 2 * granted, seatMap.freeSeats(SeatLayout.CabinClass.ECONOMY));
+    }
+
+    @Test
+    @DisplayName("Should restore occupancy and revision from bytes")
+    void testBytesRoundTrip() {
+        // Arrange
+        SeatMap seatMap = new SeatMap(LAYOUT);
+        seatMap.tryReserve(LAYOUT.seat("3C"));
+        seatMap.reserveAdjacent(SeatLayout.CabinClass.ECONOMY, 3);
+
+        // Act
+        SeatMap restored = new SeatMap(LAYOUT, seatMap.toBytes(), seatMap.getRevision());
+
+        // Assert
+        assertEquals(seatMap.occupiedSeats(), restored.occupiedSeats());
+        assertEquals(2, restored.getRevision());
+        assertFalse(restored.tryReserve(LAYOUT.seat("3C")));
+    }
+}
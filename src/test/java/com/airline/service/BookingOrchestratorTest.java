@@ -0,0 +1,276 @@
+package com.airline.service;
+
+import com.airline.dto.BookingRequest;
+import com.airline.dto.FlightHoldDTO;
+import com.airline.entity.Booking;
+import com.airline.entity.Flight;
+import com.airline.exception.ServiceOverloadedException;
+import com.airline.payment.PaymentGateway;
+import com.airline.payment.PaymentRequest;
+import com.airline.payment.PaymentResult;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.BookingRepository;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the booking saga: the reserve, payment and confirm path, its compensations,
+ * the in-flight cap and the settlement of interrupted bookings.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BookingOrchestrator Tests")
+class BookingOrchestratorTest {
+
+    private static final long HOLD_TTL_SECONDS = 300;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightHoldService flightHoldService;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FlightHoldDTO hold;
+
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private BookingOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        Flight flight = new Flight();
+        flight.setId(1L);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(flightRepository.existsById(1L)).thenReturn(true);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(pricingEngine.quote(flight)).thenReturn(120.0);
+        when(hold.getId()).thenReturn(7L);
+        when(flightHoldService.createHold(eq(1L), any())).thenReturn(hold);
+        when(paymentGateway.refund(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            ReflectionTestUtils.setField(booking, "id", ids.incrementAndGet());
+            bookings.put(booking.getId(), booking);
+            return booking;
+        });
+        when(bookingRepository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(bookings.get(invocation.<Long>getArgument(0))));
+        when(bookingRepository.findByStatus(any())).thenAnswer(invocation -> bookings.values().stream()
+            .filter(booking -> booking.getStatus() == invocation.getArgument(0))
+            .toList());
+        orchestrator = orchestrator(10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orchestrator.shutdown();
+    }
+
+    private BookingOrchestrator orchestrator(int maxInFlight, long paymentTimeoutMillis) {
+        return new BookingOrchestrator(bookingRepository, flightRepository, flightHoldService, pricingEngine,
+            paymentGateway, transactionManager, 2, maxInFlight, HOLD_TTL_SECONDS, 1000, paymentTimeoutMillis, 2, 10);
+    }
+
+    private BookingRequest request(int seats) {
+        BookingRequest request = new BookingRequest();
+        request.setFlightId(1L);
+        request.setSeats(seats);
+        request.setPassengerEmail("jane@example.com");
+        return request;
+    }
+
+    private Booking awaitSettled(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Booking booking = bookings.get(id);
+        while (booking.getStatus() == Booking.BookingStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return booking;
+    }
+
+    private void awaitStatus(Booking booking, Booking.BookingStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (booking.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reserve, charge and confirm a booking")
+    void testBooking_Confirmed() throws Exception {
+        // Arrange
+        when(paymentGateway.charge(any())).thenReturn(CompletableFuture.completedFuture(new PaymentResult("pay-1", 240.0)));
+        when(flightHoldService.convertHold(1L, 7L)).thenReturn(true);
+
+        // Act
+        Long id = orchestrator.startBooking(request(2)).getId();
+        Booking booking = awaitSettled(id);
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, booking.getStatus());
+        assertEquals(7L, booking.getHoldId());
+        assertEquals("pay-1", booking.getPaymentId());
+        assertEquals(240.0, booking.getAmount());
+        ArgumentCaptor<PaymentRequest> payment = ArgumentCaptor.forClass(PaymentRequest.class);
+        verify(paymentGateway).charge(payment.capture());
+        assertEquals("booking-" + id, payment.getValue().idempotencyKey());
+        verify(paymentGateway, never()).refund(anyString());
+        verify(flightHoldService, never()).releaseHold(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should refund and release when the hold expired before confirm")
+    void testBooking_HoldExpiredBeforeConfirm() throws Exception {
+        // Arrange
+        when(paymentGateway.charge(any())).thenReturn(CompletableFuture.completedFuture(new PaymentResult("pay-1", 120.0)));
+        when(flightHoldService.convertHold(1L, 7L)).thenReturn(false);
+
+        // Act
+        Long id = orchestrator.startBooking(request(1)).getId();
+        Booking booking = awaitSettled(id);
+
+        // Assert
+        assertEquals(Booking.BookingStatus.FAILED, booking.getStatus());
+        assertTrue(booking.getFailureReason().contains("expired"));
+        verify(flightHoldService, times(1)).convertHold(1L, 7L);
+        verify(paymentGateway, timeout(1000)).refund("booking-" + id);
+        verify(flightHoldService, timeout(1000)).releaseHold(1L, 7L);
+    }
+
+    @Test
+    @DisplayName("Should refund a payment that timed out on every attempt")
+    void testBooking_PaymentTimeout() throws Exception {
+        // Arrange
+        orchestrator.shutdown();
+        orchestrator = orchestrator(10, 50);
+        when(paymentGateway.charge(any())).thenAnswer(invocation -> new CompletableFuture<PaymentResult>());
+
+        // Act
+        Long id = orchestrator.startBooking(request(1)).getId();
+        Booking booking = awaitSettled(id);
+
+        // Assert
+        assertEquals(Booking.BookingStatus.FAILED, booking.getStatus());
+        verify(paymentGateway, times(2)).charge(any());
+        verify(paymentGateway, timeout(1000)).refund("booking-" + id);
+        verify(flightHoldService, timeout(1000)).releaseHold(1L, 7L);
+        verify(flightHoldService, never()).convertHold(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should shed bookings over the in-flight cap with 503")
+    void testBooking_InFlightCap() {
+        // Arrange
+        orchestrator.shutdown();
+        orchestrator = orchestrator(1, 60000);
+        when(paymentGateway.charge(any())).thenAnswer(invocation -> new CompletableFuture<PaymentResult>());
+        orchestrator.startBooking(request(1));
+
+        // Act & Assert
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+            () -> orchestrator.startBooking(request(1)));
+        assertEquals(1, exception.getRetryAfterSeconds());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should only settle pending bookings older than any saga can run")
+    void testSettleInterruptedBookings() throws Exception {
+        // Arrange
+        Booking interrupted = bookingRepository.save(new Booking(1L, 1, "jane@example.com"));
+        interrupted.setHoldId(7L);
+        when(bookingRepository.findByStatusAndCreatedAtBefore(eq(Booking.BookingStatus.PENDING), any()))
+            .thenReturn(List.of(interrupted));
+
+        // Act
+        orchestrator.settleInterruptedBookings();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).findByStatusAndCreatedAtBefore(eq(Booking.BookingStatus.PENDING), cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusSeconds(HOLD_TTL_SECONDS)));
+        verify(flightHoldService).releaseHold(1L, 7L);
+        verify(paymentGateway).refund("booking-" + interrupted.getId());
+        awaitStatus(interrupted, Booking.BookingStatus.FAILED);
+        assertEquals(Booking.BookingStatus.FAILED, interrupted.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep a refund that failed every attempt and retry it on the next settlement")
+    void testRefundPending_RetriedBySettler() throws Exception {
+        // Arrange
+        when(paymentGateway.charge(any())).thenReturn(CompletableFuture.completedFuture(new PaymentResult("pay-1", 120.0)));
+        when(flightHoldService.convertHold(1L, 7L)).thenReturn(false);
+        when(paymentGateway.refund(anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+        Long id = orchestrator.startBooking(request(1)).getId();
+        Booking booking = awaitSettled(id);
+        assertEquals(Booking.BookingStatus.REFUND_PENDING, booking.getStatus());
+        verify(paymentGateway, times(2)).refund("booking-" + id);
+        when(paymentGateway.refund(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        orchestrator.settleInterruptedBookings();
+
+        // Assert
+        awaitStatus(booking, Booking.BookingStatus.FAILED);
+        assertEquals(Booking.BookingStatus.FAILED, booking.getStatus());
+        verify(paymentGateway, times(3)).refund("booking-" + id);
+    }
+
+    @Test
+    @DisplayName("Should not settle a booking that completed in the meantime")
+    void testSettleInterruptedBookings_AlreadyConfirmed() {
+        // Arrange
+        Booking confirmed = bookingRepository.save(new Booking(1L, 1, "jane@example.com"));
+        confirmed.setHoldId(7L);
+        confirmed.setStatus(Booking.BookingStatus.CONFIRMED);
+        when(bookingRepository.findByStatusAndCreatedAtBefore(eq(Booking.BookingStatus.PENDING), any()))
+            .thenReturn(List.of(confirmed));
+
+        // Act
+        orchestrator.settleInterruptedBookings();
+
+        // Assert
+        assertEquals(Booking.BookingStatus.CONFIRMED, confirmed.getStatus());
+        verify(flightHoldService, never()).releaseHold(anyLong(), anyLong());
+        verify(paymentGateway, never()).refund(anyString());
+    }
+}
@@ -0,0 +1,136 @@
+package com.airline.service;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.ArchivedFlightRepository;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the archival job against H2: batches, versioned deletes and flights updated
+ * while their batch is archived. Runs without a test transaction so the concurrent
+ * transaction sees the flights.
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.airline.service.SqlStatementRecorder")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("FlightArchiver Tests")
+class FlightArchiverTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private ArchivedFlightRepository archivedFlightRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final List<Long> completed = new ArrayList<>();
+    private FlightArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            LocalDateTime departure = LocalDateTime.now().minusDays(3).plusHours(i);
+            completed.add(flightRepository.save(Flight.builder()
+                .airline("Archive Air").type("Airbus A320").price(99.0)
+                .departureCity("Berlin").arrivalCity("Vienna")
+                .departureDateTime(departure).arrivalDateTime(departure.plusHours(1))
+                .status(Flight.FlightStatus.ACTIVE).email("ops@archive.example")
+                .build()).getId());
+        }
+        archiver = new FlightArchiver(flightRepository, archivedFlightRepository, eventPublisher,
+            new TransactionTemplate(transactionManager), 2, 10, 0, 24);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRepository.deleteAllById(completed.stream().filter(flightRepository::existsById).toList());
+        archivedFlightRepository.deleteAllById(completed.stream().filter(archivedFlightRepository::existsById).toList());
+    }
+
+    @Test
+    @DisplayName("Should move completed flights to the archive in batches")
+    void testArchiveCompletedFlights() {
+        // Act
+        SqlStatementRecorder.start();
+        archiver.archiveCompletedFlights();
+        List<String> statements = SqlStatementRecorder.stop();
+
+        // Assert
+        for (Long id : completed) {
+            assertFalse(flightRepository.existsById(id));
+            assertTrue(archivedFlightRepository.existsById(id));
+        }
+        assertTrue(flightRepository.findById(1L).isPresent(), "flights still to come are not archived");
+        List<String> deletes = statements.stream()
+            .map(sql -> sql.toLowerCase(Locale.ROOT))
+            .filter(sql -> sql.contains("delete from flight "))
+            .toList();
+        assertEquals(3, deletes.size());
+        deletes.forEach(sql -> assertTrue(sql.contains("version=?") || sql.contains("version = ?"), sql));
+        verify(eventPublisher, times(3)).publishEvent(argThat((Object event) ->
+            event instanceof FlightChangedEvent changed && changed.getType() == FlightChangedEvent.ChangeType.ARCHIVED));
+    }
+
+    @Test
+    @DisplayName("Should keep a flight that was updated after the batch was read")
+    void testArchiveSkipsConcurrentlyUpdatedFlight() {
+        // Arrange
+        Long updated = completed.get(0);
+        FlightRepository racingRepository = mock(FlightRepository.class, AdditionalAnswers.delegatesTo(flightRepository));
+        doAnswer(invocation -> {
+            List<Flight> batch = flightRepository.findArchivableBatch(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE flight SET price = 149.0, version = version + 1 WHERE id = ?", updated)))
+                .join();
+            return batch;
+        }).when(racingRepository).findArchivableBatch(any(), anyLong(), any());
+        archiver = new FlightArchiver(racingRepository, archivedFlightRepository, eventPublisher,
+            new TransactionTemplate(transactionManager), 2, 10, 0, 24);
+
+        // Act
+        archiver.archiveCompletedFlights();
+
+        // Assert
+        assertFalse(archivedFlightRepository.existsById(updated));
+        assertEquals(149.0, flightRepository.findById(updated).orElseThrow().getPrice());
+        assertTrue(archivedFlightRepository.existsById(completed.get(1)));
+        assertTrue(archivedFlightRepository.existsById(completed.get(2)));
+        verify(eventPublisher, times(2)).publishEvent(any(FlightChangedEvent.class));
+
+        // The next run archives the updated flight
+        new FlightArchiver(flightRepository, archivedFlightRepository, eventPublisher,
+            new TransactionTemplate(transactionManager), 2, 10, 0, 24).archiveCompletedFlights();
+        assertEquals(149.0, archivedFlightRepository.findById(updated).orElseThrow().getPrice());
+        assertFalse(flightRepository.existsById(updated));
+    }
+}
@@ -0,0 +1,98 @@
+package com.airline.service;
+
+import com.airline.dto.FlightFilter;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightBitmapIndex: filter resolution, incremental maintenance and flight
+ * ids beyond the int range.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightBitmapIndex Tests")
+class FlightBitmapIndexTest {
+
+    private static final long LARGE_ID = Integer.MAX_VALUE + 10L;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findAll()).thenReturn(List.of(
+            flight(1L, "Lufthansa", "Berlin", Flight.FlightStatus.ACTIVE),
+            flight(2L, "Ryanair", "Berlin", Flight.FlightStatus.CANCELLED),
+            flight(LARGE_ID, "Lufthansa", "Munich", Flight.FlightStatus.ACTIVE)));
+        index = new FlightBitmapIndex(flightRepository, true);
+        index.onApplicationReady();
+    }
+
+    private static Flight flight(Long id, String airline, String departureCity, Flight.FlightStatus status) {
+        return Flight.builder().id(id).airline(airline).type("Boeing 737")
+            .departureCity(departureCity).arrivalCity("Rome").status(status).build();
+    }
+
+    private static FlightFilter filter(FlightFilter.Attribute attribute, String... values) {
+        return new FlightFilter().with(attribute, List.of(values));
+    }
+
+    private Set<Long> resolve(FlightFilter filter) {
+        return Set.copyOf(index.resolve(filter));
+    }
+
+    @Test
+    @DisplayName("Should resolve filters including flights with ids beyond the int range")
+    void testResolve_LargeIds() {
+        // Act & Assert
+        assertTrue(index.isReady());
+        assertEquals(Set.of(1L, LARGE_ID), resolve(filter(FlightFilter.Attribute.AIRLINE, "lufthansa")));
+        assertEquals(Set.of(LARGE_ID), resolve(filter(FlightFilter.Attribute.AIRLINE, "lufthansa")
+            .with(FlightFilter.Attribute.DEPARTURE_CITY, List.of("munich"))));
+        assertEquals(Set.of(1L, 2L, LARGE_ID), resolve(new FlightFilter()));
+    }
+
+    @Test
+    @DisplayName("Should move a flight between values on update and drop it on removal")
+    void testIncrementalMaintenance() {
+        // Act
+        index.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED,
+            flight(LARGE_ID, "Ryanair", "Munich", Flight.FlightStatus.ACTIVE)));
+        index.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.ARCHIVED,
+            flight(1L, "Lufthansa", "Berlin", Flight.FlightStatus.ACTIVE)));
+
+        // Assert
+        assertEquals(Set.of(), resolve(filter(FlightFilter.Attribute.AIRLINE, "lufthansa")));
+        assertEquals(Set.of(2L, LARGE_ID), resolve(filter(FlightFilter.Attribute.AIRLINE, "ryanair")));
+        assertEquals(Set.of(LARGE_ID), resolve(filter(FlightFilter.Attribute.STATUS, "active")));
+    }
+
+    @Test
+    @DisplayName("Should reuse the slot of a removed flight without mixing up ids")
+    void testRemovedSlotReused() {
+        // Act
+        index.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED,
+            flight(2L, "Ryanair", "Berlin", Flight.FlightStatus.CANCELLED)));
+        index.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.CREATED,
+            flight(LARGE_ID + 1, "KLM", "Berlin", Flight.FlightStatus.ACTIVE)));
+
+        // Assert
+        assertEquals(Set.of(1L, LARGE_ID + 1), resolve(filter(FlightFilter.Attribute.DEPARTURE_CITY, "berlin")));
+        assertEquals(Set.of(), resolve(filter(FlightFilter.Attribute.STATUS, "cancelled")));
+        assertEquals(Set.of(LARGE_ID + 1), resolve(filter(FlightFilter.Attribute.AIRLINE, "klm")));
+    }
+}
@@ -0,0 +1,174 @@
+package com.airline.service;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.HoldRequest;
+import com.airline.entity.Flight;
+import com.airline.entity.FlightHold;
+import com.airline.event.FlightChangedEvent;
+import com.airline.exception.InsufficientSeatsException;
+import com.airline.repository.FlightHoldRepository;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightHoldService: placing and releasing holds, and expiry through the
+ * timing wheel returning the seats.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("FlightHoldService Tests")
+class FlightHoldServiceTest {
+
+    private static final Long FLIGHT_ID = 1L;
+    private static final Long HOLD_ID = 7L;
+
+    @Mock
+    private FlightHoldRepository holdRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FlightHoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findById(FLIGHT_ID)).thenReturn(Optional.of(Flight.builder().id(FLIGHT_ID).build()));
+        when(holdRepository.save(any(FlightHold.class))).thenAnswer(invocation -> {
+            FlightHold hold = invocation.getArgument(0);
+            ReflectionTestUtils.setField(hold, "id", HOLD_ID);
+            return hold;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        holdService = new FlightHoldService(holdRepository, flightRepository, eventPublisher, transactionTemplate,
+            600, 3600, 10, 16, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdService.shutdown();
+    }
+
+    private static HoldRequest request(int seats, Long ttlSeconds) {
+        HoldRequest request = new HoldRequest();
+        request.setSeats(seats);
+        request.setTtlSeconds(ttlSeconds);
+        request.setHolderEmail("jane@example.com");
+        return request;
+    }
+
+    private static FlightHold activeHold(LocalDateTime expiresAt) {
+        FlightHold hold = new FlightHold(FLIGHT_ID, 2, "jane@example.com", expiresAt);
+        ReflectionTestUtils.setField(hold, "id", HOLD_ID);
+        return hold;
+    }
+
+    @Test
+    @DisplayName("Should take the seats and persist an active hold")
+    void testCreateHold() {
+        // Arrange
+        when(flightRepository.reserveSeats(FLIGHT_ID, 2)).thenReturn(1);
+
+        // Act
+        FlightHoldDTO hold = holdService.createHold(FLIGHT_ID, request(2, 300L));
+
+        // Assert
+        assertEquals(HOLD_ID, hold.getId());
+        assertEquals(2, hold.getSeats());
+        assertEquals("ACTIVE", hold.getStatus());
+        assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(290)));
+        verify(eventPublisher).publishEvent(any(FlightChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a hold when the flight has too few seats or the TTL is too long")
+    void testCreateHold_Rejected() {
+        // Arrange
+        when(flightRepository.reserveSeats(FLIGHT_ID, 5)).thenReturn(0);
+        when(flightRepository.existsById(FLIGHT_ID)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InsufficientSeatsException.class, () -> holdService.createHold(FLIGHT_ID, request(5, null)));
+        assertThrows(IllegalArgumentException.class, () -> holdService.createHold(FLIGHT_ID, request(1, 7200L)));
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should return the seats on release and cancel the expiry")
+    void testReleaseHold() {
+        // Arrange
+        holdService.restoreActiveHolds();
+        when(flightRepository.reserveSeats(FLIGHT_ID, 2)).thenReturn(1);
+        holdService.createHold(FLIGHT_ID, request(2, 1L));
+        when(holdRepository.findByIdAndFlightId(HOLD_ID, FLIGHT_ID)).thenReturn(Optional.of(activeHold(LocalDateTime.now())));
+        when(holdRepository.closeActive(HOLD_ID, FlightHold.HoldStatus.RELEASED)).thenReturn(1);
+
+        // Act
+        holdService.releaseHold(FLIGHT_ID, HOLD_ID);
+
+        // Assert
+        verify(flightRepository).releaseSeats(FLIGHT_ID, 2);
+        verify(holdRepository, after(1500).never()).closeActive(HOLD_ID, FlightHold.HoldStatus.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("Should expire a hold through the timing wheel and return its seats")
+    void testHoldExpires() {
+        // Arrange
+        holdService.restoreActiveHolds();
+        when(flightRepository.reserveSeats(FLIGHT_ID, 2)).thenReturn(1);
+        when(holdRepository.closeActive(HOLD_ID, FlightHold.HoldStatus.EXPIRED)).thenReturn(1);
+
+        // Act
+        holdService.createHold(FLIGHT_ID, request(2, 1L));
+
+        // Assert
+        verify(holdRepository, timeout(3000)).closeActive(HOLD_ID, FlightHold.HoldStatus.EXPIRED);
+        verify(flightRepository, timeout(1000)).releaseSeats(FLIGHT_ID, 2);
+        verify(eventPublisher, timeout(1000).times(2)).publishEvent(any(FlightChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should expire overdue holds on startup without returning seats twice")
+    void testRestoreActiveHolds() {
+        // Arrange
+        when(holdRepository.findByStatus(FlightHold.HoldStatus.ACTIVE))
+            .thenReturn(List.of(activeHold(LocalDateTime.now().minusSeconds(5))));
+        when(holdRepository.closeActive(HOLD_ID, FlightHold.HoldStatus.EXPIRED)).thenReturn(0);
+
+        // Act
+        holdService.restoreActiveHolds();
+
+        // Assert
+        verify(holdRepository, timeout(2000)).closeActive(HOLD_ID, FlightHold.HoldStatus.EXPIRED);
+        verify(flightRepository, never()).releaseSeats(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,119 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.pricing.PricingEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the pre-serialized flight JSON cache.
+ */
+@DisplayName("FlightJsonCache Tests")
+class FlightJsonCacheTest {
+
+    private ObjectMapper objectMapper;
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setFilterProvider(new SimpleFilterProvider()
+                .addFilter(FlightDTO.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+        pricingEngine = new PricingEngine(flight -> 0.0, "0:1.0", "1.0:1.0");
+    }
+
+    private Flight createTestFlight(long id, long version) {
+        return Flight.builder()
+            .id(id)
+            .airline("Lufthansa")
+            .type("Boeing 737")
+            .price(299.99)
+            .departureCity("Berlin")
+            .arrivalCity("Munich")
+            .departureDateTime(LocalDateTime.now().plusDays(7))
+            .arrivalDateTime(LocalDateTime.now().plusDays(7).plusHours(2))
+            .status(Flight.FlightStatus.ACTIVE)
+            .email("admin@airline.com")
+            .version(version)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should reuse the fragment while the flight version is unchanged")
+    void testReusesFragmentForSameVersion() {
+        // Arrange
+        FlightJsonCache cache = new FlightJsonCache(objectMapper, pricingEngine, true, 1 << 20);
+
+        // Act
+        byte[] first = cache.toJson(createTestFlight(1L, 0L));
+        byte[] second = cache.toJson(createTestFlight(1L, 0L));
+        byte[] updated = cache.toJson(createTestFlight(1L, 1L));
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, updated);
+    }
+
+    @Test
+    @DisplayName("Should concatenate fragments into a valid JSON array")
+    void testJsonArray() throws Exception {
+        // Arrange
+        FlightJsonCache cache = new FlightJsonCache(objectMapper, pricingEngine, true, 1 << 20);
+
+        // Act
+        byte[] json = cache.toJsonArray(List.of(createTestFlight(1L, 0L), createTestFlight(2L, 0L)));
+
+        // Assert
+        JsonNode array = objectMapper.readTree(json);
+        assertEquals(2, array.size());
+        assertEquals(2, array.get(1).get("id").asInt());
+        assertEquals("Berlin", array.get(0).get("departure_city").asText());
+        assertEquals("[]", new String(cache.toJsonArray(List.of())));
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used fragments to stay within the byte bound")
+    void testEvictsToByteBound() {
+        // Arrange
+        int fragmentSize = new FlightJsonCache(objectMapper, pricingEngine, true, 1 << 20)
+            .toJson(createTestFlight(1L, 0L)).length;
+        FlightJsonCache cache = new FlightJsonCache(objectMapper, pricingEngine, true, fragmentSize * 2L);
+
+        // Act
+        for (long id = 1; id <= 5; id++) {
+            cache.toJson(createTestFlight(id, 0L));
+        }
+
+        // Assert
+        assertTrue(cache.getTotalBytes() <= fragmentSize * 2L);
+    }
+
+    @Test
+    @DisplayName("Should drop a flight's fragment when it changes")
+    void testInvalidatesOnChange() {
+        // Arrange
+        FlightJsonCache cache = new FlightJsonCache(objectMapper, pricingEngine, true, 1 << 20);
+        Flight flight = createTestFlight(1L, 0L);
+        cache.toJson(flight);
+
+        // Act
+        cache.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED, flight));
+
+        // Assert
+        assertEquals(0, cache.getTotalBytes());
+    }
+}
@@ -0,0 +1,143 @@
+package com.airline.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightPartitionManager: which partitions it creates, and how rows already
+ * in the default partition are moved into a new one.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("FlightPartitionManager Tests")
+class FlightPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FlightPartitionManager partitionManager;
+    private String currentPartition;
+    private String nextPartition;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), anyString())).thenReturn(false);
+        when(jdbcTemplate.queryForObject(contains("FROM flight_default"), eq(Integer.class), any(), any())).thenReturn(0);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        partitionManager = new FlightPartitionManager(jdbcTemplate, transactionTemplate, 1);
+
+        YearMonth now = YearMonth.now();
+        currentPartition = String.format("flight_y%04dm%02d", now.getYear(), now.getMonthValue());
+        nextPartition = String.format("flight_y%04dm%02d", now.plusMonths(1).getYear(), now.plusMonths(1).getMonthValue());
+    }
+
+    private void rowsInDefault(YearMonth month, int rows) {
+        when(jdbcTemplate.queryForObject(contains("FROM flight_default"), eq(Integer.class),
+            eq(month.atDay(1).atStartOfDay()), any(LocalDateTime.class))).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("Should create the current and upcoming monthly partitions")
+    void testEnsurePartitions_CreatesMissing() {
+        // Act
+        partitionManager.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + currentPartition + " PARTITION OF flight"));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + nextPartition + " PARTITION OF flight"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH"));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should leave existing partitions alone")
+    void testEnsurePartitions_Existing() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), eq(currentPartition))).thenReturn(true);
+
+        // Act
+        partitionManager.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE " + currentPartition));
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + nextPartition));
+    }
+
+    @Test
+    @DisplayName("Should move rows out of the default partition into the new one")
+    void testEnsurePartitions_MovesDefaultRows() {
+        // Arrange
+        YearMonth next = YearMonth.now().plusMonths(1);
+        rowsInDefault(next, 7);
+
+        // Act
+        partitionManager.ensurePartitions();
+
+        // Assert
+        InOrder order = inOrder(transactionTemplate, jdbcTemplate);
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(jdbcTemplate).execute("ALTER TABLE flight DETACH PARTITION flight_default");
+        order.verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + nextPartition + " PARTITION OF flight"));
+        order.verify(jdbcTemplate).update(
+            argThat((String sql) -> sql.startsWith("WITH moved AS (DELETE FROM flight_default")
+                && sql.contains("INSERT INTO flight (") && !sql.contains("duration_sec")),
+            eq(next.atDay(1).atStartOfDay()), eq(next.plusMonths(1).atDay(1).atStartOfDay()));
+        order.verify(jdbcTemplate).execute("ALTER TABLE flight ATTACH PARTITION flight_default DEFAULT");
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + currentPartition));
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should keep going with later months when one partition fails")
+    void testEnsurePartitions_FailureIsolated() {
+        // Arrange
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+            .when(jdbcTemplate).execute(startsWith("CREATE TABLE " + currentPartition));
+
+        // Act
+        partitionManager.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + nextPartition));
+    }
+
+    @Test
+    @DisplayName("Should do nothing on databases other than PostgreSQL")
+    void testEnsurePartitions_NotPostgres() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        // Act
+        partitionManager.ensurePartitions();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class));
+    }
+}
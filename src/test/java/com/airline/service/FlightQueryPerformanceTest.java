@@ -0,0 +1,456 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.entity.Flight;
+import com.airline.entity.FlightHold;
+import com.airline.repository.FlightHoldRepository;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSpecifications;
+import com.airline.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Query regression tests against the seeded H2 database.
+ *
+ * Every FlightController route has a budget of SQL statements per request, so an N+1 or an
+ * extra round trip fails the build. Repository lookups on indexed columns are also run
+ * through EXPLAIN and must not fall back to a full table scan. Substring searches
+ * (LIKE '%x%') cannot use a B-tree index and are only held to their statement budget.
+ *
+ * The in-memory snapshot, bitmap index and write batching are switched off so every route
+ * reaches the database. Requests run without a test transaction, whose deferred flushes
+ * would hide the statements being counted; instead the rows a test writes are removed and
+ * the seeded flight it holds seats on is restored afterwards.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.airline.service.SqlStatementRecorder",
+    "airline.snapshot.enabled=false",
+    "airline.bitmap-index.enabled=false",
+    "airline.write-batching.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Flight Query Performance Tests")
+class FlightQueryPerformanceTest {
+
+    private static final long SEEDED_FLIGHT_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightHoldRepository flightHoldRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long lastFlightId;
+    private long lastHoldId;
+    private Map<String, Object> seededFlightSeats;
+
+    @BeforeEach
+    void rememberSeededState() {
+        lastFlightId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM flight", Long.class);
+        lastHoldId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM flight_hold", Long.class);
+        seededFlightSeats = jdbcTemplate.queryForMap(
+            "SELECT seats_avail, version FROM flight WHERE id = ?", SEEDED_FLIGHT_ID);
+    }
+
+    @AfterEach
+    void restoreSeededState() {
+        jdbcTemplate.update("DELETE FROM flight_hold WHERE id > ?", lastHoldId);
+        jdbcTemplate.update("DELETE FROM flight_archive WHERE id > ?", lastFlightId);
+        jdbcTemplate.update("DELETE FROM flight WHERE id > ?", lastFlightId);
+        jdbcTemplate.update("UPDATE flight SET seats_avail = ?, version = ? WHERE id = ?",
+            seededFlightSeats.get("SEATS_AVAIL"), seededFlightSeats.get("VERSION"), SEEDED_FLIGHT_ID);
+    }
+
+    @ParameterizedTest(name = "GET {0} issues at most {1} statement(s)")
+    @CsvSource(delimiter = '|', value = {
+        "/api/v1/flights                                                   | 1",
+        "/api/v1/flights?fields=id,airline,departure_city                  | 1",
+        "/api/v1/flights/1                                                 | 1",
+        "/api/v1/flights/lookup?ids=3,1,2                                  | 1",
+        "/api/v1/flights/search?departure_city=Berlin&status=ACTIVE        | 1",
+        "/api/v1/flights/search?arrival_city=Munich&fields=id,fare         | 1",
+        "/api/v1/flights/search?departure_city=Berlin&sort=price&limit=2   | 1",
+        "/api/v1/flights/search?departure_city=Berlin&radius_km=150        | 1",
+        "/api/v1/flights/filter?status=ACTIVE&airline=Lufthansa&airline=KLM | 1",
+        "/api/v1/flights/departure-city/Berlin                             | 1",
+        "/api/v1/flights/arrival-city/Rome                                 | 1",
+        "/api/v1/flights/status/ACTIVE                                     | 1",
+        "/api/v1/flights/departing-after/2020-01-01T00:00:00               | 1",
+        "/api/v1/flights/airline/lufthansa                                 | 1",
+        "/api/v1/suggest?q=ber                                             | 0"
+    })
+    @DisplayName("Read routes should stay within their statement budget")
+    void testReadRouteStatementBudget(String uri, int budget) throws Exception {
+        // Act
+        Recorded response = perform(get(uri));
+
+        // Assert
+        assertEquals(200, response.status());
+        assertStatementCount(budget, response.statements());
+        if (budget > 0) {
+            assertFalse(response.statements().isEmpty(), () -> uri + " did not reach the database");
+        }
+    }
+
+    @Test
+    @DisplayName("Missing flight should cost one lookup in each of flight and flight_archive")
+    void testMissingFlightStatementBudget() throws Exception {
+        // Act
+        Recorded response = perform(get("/api/v1/flights/999999"));
+
+        // Assert
+        assertEquals(404, response.status());
+        assertStatementCount(2, response.statements());
+    }
+
+    @Test
+    @DisplayName("Create, update and delete should each stay within their statement budget")
+    void testWriteRouteStatementBudget() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(newFlight(150));
+
+        // Act
+        Recorded created = perform(post("/api/v1/flights")
+            .contentType(MediaType.APPLICATION_JSON).content(body));
+        long id = dataId(created);
+        Recorded updated = perform(put("/api/v1/flights/" + id)
+            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(newFlight(160))));
+        Recorded deleted = perform(delete("/api/v1/flights/" + id));
+
+        // Assert
+        assertEquals(201, created.status());
+        assertEquals(200, updated.status());
+        assertEquals(200, deleted.status());
+        assertStatementCount(1, created.statements());
+        assertStatementCount(2, updated.statements());
+        assertStatementCount(2, deleted.statements());
+    }
+
+    @Test
+    @DisplayName("Creating and releasing a hold should stay within their statement budget")
+    void testHoldRouteStatementBudget() throws Exception {
+        // Arrange
+        String uri = "/api/v1/flights/" + SEEDED_FLIGHT_ID + "/holds";
+
+        // Act
+        Recorded created = perform(post(uri).contentType(MediaType.APPLICATION_JSON).content("{\"seats\": 2}"));
+        long holdId = dataId(created);
+        Recorded fetched = perform(get(uri + "/" + holdId));
+        Recorded released = perform(delete(uri + "/" + holdId));
+
+        // Assert
+        assertEquals(201, created.status());
+        assertEquals(200, fetched.status());
+        assertEquals(200, released.status());
+        assertStatementCount(3, created.statements());
+        assertStatementCount(1, fetched.statements());
+        assertStatementCount(4, released.statements());
+    }
+
+    @Test
+    @DisplayName("findById should use the primary key")
+    void testFindByIdUsesPrimaryKey() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findById(SEEDED_FLIGHT_ID));
+
+        // Assert
+        assertIndexedStatement(statements, "PRIMARY_KEY", SEEDED_FLIGHT_ID);
+    }
+
+    @Test
+    @DisplayName("findByDepartureCity should use idx_dep_city")
+    void testFindByDepartureCityUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findByDepartureCity("Berlin"));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_DEP_CITY", "Berlin");
+    }
+
+    @Test
+    @DisplayName("findByArrivalCity should use idx_arr_city")
+    void testFindByArrivalCityUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findByArrivalCity("Rome"));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_ARR_CITY", "Rome");
+    }
+
+    @Test
+    @DisplayName("findByStatus should use idx_status")
+    void testFindByStatusUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findByStatus(Flight.FlightStatus.DELAYED));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_STATUS", "DELAYED");
+    }
+
+    @Test
+    @DisplayName("findByDepartureCityAndArrivalCityAndStatus should use one of the flight indexes")
+    void testFindByRouteAndStatusUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findByDepartureCityAndArrivalCityAndStatus(
+            "Berlin", "Munich", Flight.FlightStatus.ACTIVE));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_", "Berlin", "Munich", "ACTIVE");
+    }
+
+    @Test
+    @DisplayName("findFlightsDepartingAfter should use idx_dep_dt")
+    void testFindFlightsDepartingAfterUsesIndex() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().plusDays(6);
+
+        // Act
+        List<String> statements = record(() -> flightRepository.findFlightsDepartingAfter(from));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_DEP_DT", from);
+    }
+
+    @Test
+    @DisplayName("findAllById should use the primary key")
+    void testFindAllByIdUsesPrimaryKey() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findAllById(List.of(1L, 2L, 3L)));
+
+        // Assert
+        assertIndexedStatement(statements, "PRIMARY_KEY", 1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("findByAirlineIn should use idx_airline")
+    void testFindByAirlineInUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findByAirlineIn(List.of("Lufthansa", "KLM")));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_AIRLINE", "Lufthansa", "KLM");
+    }
+
+    @Test
+    @DisplayName("existsByDepartureCityAndArrivalCity should use one of the city indexes")
+    void testExistsByRouteUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.existsByDepartureCityAndArrivalCity("Berlin", "Munich"));
+
+        // Assert
+        assertIndexedStatement(statements, "_CITY", "Berlin", "Munich");
+    }
+
+    @Test
+    @DisplayName("findArchivableBatch should walk the primary key")
+    void testFindArchivableBatchUsesPrimaryKey() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        // Act
+        List<String> statements = record(() -> flightRepository.findArchivableBatch(cutoff, 0L, PageRequest.of(0, 50)));
+
+        // Assert
+        assertIndexedStatement(statements, "PRIMARY_KEY", cutoff, 0L, 50);
+    }
+
+    @Test
+    @DisplayName("Versioned delete and seat updates should use the primary key")
+    void testFlightWritesUsePrimaryKey() {
+        // Arrange: an id that does not exist, so nothing is changed
+        long id = 999_999L;
+
+        // Act
+        List<String> delete = record(() -> transactionTemplate.executeWithoutResult(status ->
+            flightRepository.deleteIfUnchanged(id, 0L)));
+        List<String> reserve = record(() -> transactionTemplate.executeWithoutResult(status ->
+            flightRepository.reserveSeats(id, 2)));
+        List<String> release = record(() -> transactionTemplate.executeWithoutResult(status ->
+            flightRepository.releaseSeats(id, 2)));
+
+        // Assert
+        assertIndexedStatement(delete, "PRIMARY_KEY", id, 0L);
+        assertIndexedStatement(reserve, "PRIMARY_KEY", 2, id, 2);
+        assertIndexedStatement(release, "PRIMARY_KEY", 2, id, 2);
+    }
+
+    @Test
+    @DisplayName("Projected reads should use the index of their filter")
+    void testFindProjectedUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightRepository.findProjected(
+            FlightSpecifications.between(Set.of("Berlin"), null, null),
+            Set.of(FlightField.ID, FlightField.AIRLINE), Sort.by("price"), 10));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_DEP_CITY", "Berlin", 10);
+    }
+
+    @Test
+    @DisplayName("Active hold lookup should use idx_hold_status")
+    void testFindActiveHoldsUsesIndex() {
+        // Act
+        List<String> statements = record(() -> flightHoldRepository.findByStatus(FlightHold.HoldStatus.ACTIVE));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_HOLD_STATUS", "ACTIVE");
+    }
+
+    @Test
+    @DisplayName("Idempotency purge should use idx_idem_expires_at")
+    void testIdempotencyPurgeUsesIndex() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        List<String> statements = record(() -> idempotencyRecordRepository.deleteExpired(now));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_IDEM_EXPIRES_AT", now);
+    }
+
+    @Test
+    @DisplayName("Nearby-city search should read the IN list through idx_dep_city")
+    void testNearbyCitySearchUsesIndex() {
+        // Arrange
+        List<String> cities = List.of("Berlin", "Leipzig");
+
+        // Act
+        List<String> statements = record(() -> flightRepository.findAll(
+            FlightSpecifications.between(new LinkedHashSet<>(cities), null, null)));
+
+        // Assert
+        assertIndexedStatement(statements, "IDX_DEP_CITY", cities.toArray());
+    }
+
+    @Test
+    @DisplayName("Substring searches should stay a single statement")
+    void testSubstringSearchesStatementBudget() {
+        // Act
+        List<String> search = record(() -> flightRepository.searchFlights("ber", "mun", Flight.FlightStatus.ACTIVE));
+        List<String> airline = record(() -> flightRepository.findByAirlineContainingIgnoreCase("hansa"));
+
+        // Assert
+        assertStatementCount(1, search);
+        assertStatementCount(1, airline);
+    }
+
+    @Test
+    @DisplayName("Prefix counts for suggestions should stay a single statement")
+    void testPrefixCountsStatementBudget() {
+        // Act
+        List<String> departure = record(() -> flightRepository.countByDepartureCityLike("ber%"));
+        List<String> arrival = record(() -> flightRepository.countByArrivalCityLike("mun%"));
+        List<String> airline = record(() -> flightRepository.countByAirlineLike("luf%"));
+
+        // Assert
+        assertStatementCount(1, departure);
+        assertStatementCount(1, arrival);
+        assertStatementCount(1, airline);
+    }
+
+    private Recorded perform(RequestBuilder request) throws Exception {
+        MvcResult result;
+        List<String> statements;
+        SqlStatementRecorder.start();
+        try {
+            result = mockMvc.perform(request).andReturn();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        return new Recorded(result.getResponse().getStatus(), result.getResponse().getContentAsString(), statements);
+    }
+
+    private List<String> record(Runnable action) {
+        List<String> statements;
+        SqlStatementRecorder.start();
+        try {
+            action.run();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        return statements;
+    }
+
+    private void assertStatementCount(int budget, List<String> statements) {
+        assertTrue(statements.size() <= budget, () -> "Expected at most " + budget + " statement(s) but got "
+            + statements.size() + ":\n" + String.join("\n", statements));
+    }
+
+    /**
+     * Single statement whose H2 plan reads through the given index rather than scanning the table.
+     */
+    private void assertIndexedStatement(List<String> statements, String index, Object... parameters) {
+        assertEquals(1, statements.size(), () -> "Expected one statement but got:\n" + String.join("\n", statements));
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class, parameters);
+        String normalized = plan.toUpperCase(Locale.ROOT);
+        assertFalse(normalized.contains("TABLESCAN"), () -> "Full table scan:\n" + plan);
+        assertTrue(normalized.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private long dataId(Recorded recorded) throws Exception {
+        return objectMapper.readTree(recorded.body()).path("data").path("id").asLong();
+    }
+
+    private FlightDTO newFlight(int seatCapacity) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(3).withNano(0);
+        return FlightDTO.builder()
+            .airline("Lufthansa")
+            .type("Airbus A320")
+            .price(149.99)
+            .departureCity("Hamburg")
+            .arrivalCity("Vienna")
+            .departureDateTime(departure)
+            .arrivalDateTime(departure.plusHours(2))
+            .status("ACTIVE")
+            .email("ops@lufthansa.com")
+            .seatCapacity(seatCapacity)
+            .build();
+    }
+
+    private record Recorded(int status, String body, List<String> statements) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.entity.FlightSchedule;
+import com.airline.entity.FlightScheduleInstance;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightScheduleInstanceRepository;
+import com.airline.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for materializing schedule occurrences, including two requests racing for the
+ * same occurrence. The instance table is a map that rejects a second insert of a key, like
+ * the primary key does.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("FlightScheduleService Tests")
+class FlightScheduleServiceTest {
+
+    private static final Long SCHEDULE_ID = 3L;
+
+    @Mock
+    private FlightScheduleRepository scheduleRepository;
+
+    @Mock
+    private FlightScheduleInstanceRepository instanceRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private FlightHoldService flightHoldService;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<FlightScheduleInstance.Key, FlightScheduleInstance> instances = new ConcurrentHashMap<>();
+    private final AtomicLong flightIds = new AtomicLong(100);
+    private FlightScheduleService scheduleService;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(7);
+        FlightSchedule schedule = new FlightSchedule();
+        schedule.setAirline("KLM");
+        schedule.setDaysOfWeek(EnumSet.allOf(DayOfWeek.class));
+        schedule.setDepartureTime(LocalTime.of(9, 30));
+        schedule.setDurationMinutes(80);
+        schedule.setValidFrom(date.minusDays(30));
+        schedule.setValidTo(date.plusDays(30));
+        when(scheduleRepository.findById(SCHEDULE_ID)).thenReturn(Optional.of(schedule));
+
+        when(instanceRepository.findById(any())).thenAnswer(invocation ->
+            Optional.ofNullable(instances.get(invocation.<FlightScheduleInstance.Key>getArgument(0))));
+        when(instanceRepository.saveAndFlush(any(FlightScheduleInstance.class))).thenAnswer(invocation -> {
+            FlightScheduleInstance instance = invocation.getArgument(0);
+            if (instances.putIfAbsent(instance.getId(), instance) != null) {
+                throw new DataIntegrityViolationException("Unique index or primary key violation");
+            }
+            return instance;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(flightService.createFlight(any(FlightDTO.class))).thenAnswer(invocation -> withId(invocation.getArgument(0),
+            flightIds.incrementAndGet()));
+        when(flightService.getFlightById(anyLong())).thenAnswer(invocation -> withId(new FlightDTO(), invocation.getArgument(0)));
+
+        scheduleService = new FlightScheduleService(scheduleRepository, instanceRepository, flightRepository,
+            flightService, flightHoldService, pricingEngine, transactionTemplate, 366);
+    }
+
+    private static FlightDTO withId(FlightDTO flight, Long id) {
+        flight.setId(id);
+        return flight;
+    }
+
+    @Test
+    @DisplayName("Should create the flight on the first materialization and reuse it afterwards")
+    void testMaterialize_CreatesOnce() {
+        // Act
+        FlightScheduleService.Materialization first = scheduleService.materialize(SCHEDULE_ID, date);
+        FlightScheduleService.Materialization again = scheduleService.materialize(SCHEDULE_ID, date);
+
+        // Assert
+        assertTrue(first.created());
+        assertEquals("KLM", first.flight().getAirline());
+        assertEquals(date.atTime(9, 30), first.flight().getDepartureDateTime());
+        assertFalse(again.created());
+        assertEquals(first.flight().getId(), again.flight().getId());
+        verify(flightService, times(1)).createFlight(any());
+    }
+
+    @Test
+    @DisplayName("Should give the loser of a concurrent materialization the winner's flight")
+    void testMaterialize_ConcurrentDuplicateKey() throws Exception {
+        // Arrange: both requests get past the lookup before either inserts its instance row
+        CyclicBarrier bothCreating = new CyclicBarrier(2);
+        when(flightService.createFlight(any(FlightDTO.class))).thenAnswer(invocation -> {
+            bothCreating.await(5, TimeUnit.SECONDS);
+            return withId(invocation.getArgument(0), flightIds.incrementAndGet());
+        });
+
+        // Act
+        CompletableFuture<FlightScheduleService.Materialization> first =
+            CompletableFuture.supplyAsync(() -> scheduleService.materialize(SCHEDULE_ID, date));
+        CompletableFuture<FlightScheduleService.Materialization> second =
+            CompletableFuture.supplyAsync(() -> scheduleService.materialize(SCHEDULE_ID, date));
+        List<FlightScheduleService.Materialization> results =
+            List.of(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+
+        // Assert
+        Long winnerFlightId = instances.get(new FlightScheduleInstance.Key(SCHEDULE_ID, date)).getFlightId();
+        assertEquals(1, results.stream().filter(FlightScheduleService.Materialization::created).count());
+        results.forEach(result -> assertEquals(winnerFlightId, result.flight().getId()));
+        verify(flightService, times(2)).createFlight(any());
+        verify(flightService).getFlightById(winnerFlightId);
+    }
+
+    @Test
+    @DisplayName("Should reject dates the schedule does not operate on")
+    void testMaterialize_NotOperating() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> scheduleService.materialize(SCHEDULE_ID, date.plusDays(60)));
+        verifyNoInteractions(flightService);
+    }
+}
@@ -1,424 +1,668 @@
-package com.airline.service;
-
-import com.airline.dto.FlightDTO;
-import com.airline.entity.Flight;
-import com.airline.exception.FlightNotFoundException;
-import com.airline.repository.FlightRepository;
-import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.*;
-
-/**
- * Unit tests for FlightService using JUnit 5 and Mockito.
- * Tests cover CRUD operations and business logic.
- * Follows AAA (Arrange-Act-Assert) pattern.
- */
-@ExtendWith(MockitoExtension.class)
-@DisplayName("FlightService Tests")
-class FlightServiceTest {
-
-    @Mock
-    private FlightRepository flightRepository;
-
-    @InjectMocks
-    private FlightService flightService;
-
-    private FlightDTO createTestFlightDTO() {
-        return FlightDTO.builder()
-            .id(1L)
-            .airline("Lufthansa")
-            .type("Boeing 737")
-            .price(299.99)
-            .departureCity("Berlin")
-            .arrivalCity("Munich")
-            .departureDateTime(LocalDateTime.now().plusDays(7))
-            .arrivalDateTime(LocalDateTime.now().plusDays(7).plusHours(2))
-            .status("ACTIVE")
-            .imageUrl("https://example.com/plane.jpg")
-            .email("admin@airline.com")
-            .build();
-    }
-
-    private Flight createTestFlight() {
-        return Flight.builder()
-            .id(1L)
-            .airline("Lufthansa")
-            .type("Boeing 737")
-            .price(299.99)
-            .departureCity("Berlin")
-            .arrivalCity("Munich")
-            .departureDateTime(LocalDateTime.now().plusDays(7))
-            .arrivalDateTime(LocalDateTime.now().plusDays(7).plusHours(2))
-            .status(Flight.FlightStatus.ACTIVE)
-            .imageUrl("https://example.com/plane.jpg")
-            .email("admin@airline.com")
-            .build();
-    }
-
-    // ==================== GET Tests ====================
-
-    @Test
-    @DisplayName("Should retrieve all flights successfully")
-    void testGetAllFlights() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-        flightList.add(createTestFlight());
-
-        when(flightRepository.findAll()).thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getAllFlights();
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Lufthansa", result.get(0).getAirline());
-        verify(flightRepository, times(1)).findAll();
-    }
-
-    @Test
-    @DisplayName("Should retrieve flight by ID successfully")
-    void testGetFlightById_Success() {
-        // Arrange
-        Flight flight = createTestFlight();
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-
-        // Act
-        FlightDTO result = flightService.getFlightById(1L);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals("Lufthansa", result.getAirline());
-        assertEquals(1L, result.getId());
-        verify(flightRepository, times(1)).findById(1L);
-    }
-
-    @Test
-    @DisplayName("Should throw FlightNotFoundException when flight ID not found")
-    void testGetFlightById_NotFound() {
-        // Arrange
-        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(FlightNotFoundException.class, () -> flightService.getFlightById(999L));
-        verify(flightRepository, times(1)).findById(999L);
-    }
-
-    // ==================== CREATE Tests ====================
-
-    @Test
-    @DisplayName("Should create a new flight successfully")
-    void testCreateFlight_Success() {
-        // Arrange
-        FlightDTO flightDTO = createTestFlightDTO();
-        flightDTO.setId(null); // New flight should not have ID
-        Flight flight = createTestFlight();
-        flight.setId(1L);
-
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
-
-        // Act
-        FlightDTO result = flightService.createFlight(flightDTO);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals("Lufthansa", result.getAirline());
-        assertEquals(1L, result.getId());
-        assertEquals("ACTIVE", result.getStatus());
-        verify(flightRepository, times(1)).save(any(Flight.class));
-    }
-
-    @Test
-    @DisplayName("Should set default status to ACTIVE when creating flight")
-    void testCreateFlight_DefaultStatus() {
-        // Arrange
-        FlightDTO flightDTO = createTestFlightDTO();
-        flightDTO.setStatus(null);
-        Flight flight = createTestFlight();
-
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
-
-        // Act
-        FlightDTO result = flightService.createFlight(flightDTO);
-
-        // Assert
-        assertEquals("ACTIVE", result.getStatus());
-        verify(flightRepository, times(1)).save(any(Flight.class));
-    }
-
-    // ==================== UPDATE Tests ====================
-
-    @Test
-    @DisplayName("Should update flight successfully")
-    void testUpdateFlight_Success() {
-        // Arrange
-        Long flightId = 1L;
-        FlightDTO updateDTO = createTestFlightDTO();
-        updateDTO.setAirline("Lufthansa Premium");
-        updateDTO.setPrice(399.99);
-
-        Flight existingFlight = createTestFlight();
-        Flight updatedFlight = createTestFlight();
-        updatedFlight.setAirline("Lufthansa Premium");
-        updatedFlight.setPrice(399.99);
-
-        when(flightRepository.findById(flightId)).thenReturn(Optional.of(existingFlight));
-        when(flightRepository.save(any(Flight.class))).thenReturn(updatedFlight);
-
-        // Act
-        FlightDTO result = flightService.updateFlight(flightId, updateDTO);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals("Lufthansa Premium", result.getAirline());
-        assertEquals(399.99, result.getPrice());
-        verify(flightRepository, times(1)).findById(flightId);
-        verify(flightRepository, times(1)).save(any(Flight.class));
-    }
-
-    @Test
-    @DisplayName("Should throw FlightNotFoundException when updating non-existent flight")
-    void testUpdateFlight_NotFound() {
-        // Arrange
-        FlightDTO updateDTO = createTestFlightDTO();
-        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(FlightNotFoundException.class, () -> flightService.updateFlight(999L, updateDTO));
-        verify(flightRepository, times(1)).findById(999L);
-        verify(flightRepository, never()).save(any(Flight.class));
-    }
-
-    // ==================== DELETE Tests ====================
-
-    @Test
-    @DisplayName("Should delete flight successfully")
-    void testDeleteFlight_Success() {
-        // Arrange
-        Long flightId = 1L;
-        Flight flight = createTestFlight();
-        when(flightRepository.findById(flightId)).thenReturn(Optional.of(flight));
-        doNothing().when(flightRepository).delete(any(Flight.class));
-
-        // Act
-        flightService.deleteFlight(flightId);
-
-        // Assert
-        verify(flightRepository, times(1)).findById(flightId);
-        verify(flightRepository, times(1)).delete(any(Flight.class));
-    }
-
-    @Test
-    @DisplayName("Should throw FlightNotFoundException when deleting non-existent flight")
-    void testDeleteFlight_NotFound() {
-        // Arrange
-        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(FlightNotFoundException.class, () -> flightService.deleteFlight(999L));
-        verify(flightRepository, times(1)).findById(999L);
-        verify(flightRepository, never()).delete(any(Flight.class));
-    }
-
-    // ==================== SEARCH Tests ====================
-
-    @Test
-    @DisplayName("Should search flights with all criteria successfully")
-    void testSearchFlights_AllCriteria() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.searchFlights("Berlin", "Munich", Flight.FlightStatus.ACTIVE))
-            .thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.searchFlights("Berlin", "Munich", "ACTIVE");
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(flightRepository, times(1)).searchFlights("Berlin", "Munich", Flight.FlightStatus.ACTIVE);
-    }
-
-    @Test
-    @DisplayName("Should search flights with partial criteria")
-    void testSearchFlights_PartialCriteria() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.searchFlights("Berlin", null, null))
-            .thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.searchFlights("Berlin", null, null);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(flightRepository, times(1)).searchFlights("Berlin", null, null);
-    }
-
-    @Test
-    @DisplayName("Should throw IllegalArgumentException for invalid status")
-    void testSearchFlights_InvalidStatus() {
-        // Act & Assert
-        assertThrows(IllegalArgumentException.class, 
-            () -> flightService.searchFlights("Berlin", "Munich", "INVALID_STATUS"));
-    }
-
-    // ==================== FILTER Tests ====================
-
-    @Test
-    @DisplayName("Should retrieve flights by departure city")
-    void testGetFlightsByDepartureCity() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.findByDepartureCity("Berlin")).thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getFlightsByDepartureCity("Berlin");
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Berlin", result.get(0).getDepartureCity());
-        verify(flightRepository, times(1)).findByDepartureCity("Berlin");
-    }
-
-    @Test
-    @DisplayName("Should retrieve flights by arrival city")
-    void testGetFlightsByArrivalCity() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.findByArrivalCity("Munich")).thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getFlightsByArrivalCity("Munich");
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Munich", result.get(0).getArrivalCity());
-        verify(flightRepository, times(1)).findByArrivalCity("Munich");
-    }
-
-    @Test
-    @DisplayName("Should retrieve flights by status")
-    void testGetFlightsByStatus() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.findByStatus(Flight.FlightStatus.ACTIVE)).thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getFlightsByStatus("ACTIVE");
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("ACTIVE", result.get(0).getStatus());
-        verify(flightRepository, times(1)).findByStatus(Flight.FlightStatus.ACTIVE);
-    }
-
-    @Test
-    @DisplayName("Should throw IllegalArgumentException for invalid status in getFlightsByStatus")
-    void testGetFlightsByStatus_InvalidStatus() {
-        // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> flightService.getFlightsByStatus("INVALID"));
-    }
-
-    @Test
-    @DisplayName("Should retrieve flights by airline")
-    void testGetFlightsByAirline() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.findByAirlineContainingIgnoreCase("Lufthansa"))
-            .thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getFlightsByAirline("Lufthansa");
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Lufthansa", result.get(0).getAirline());
-        verify(flightRepository, times(1)).findByAirlineContainingIgnoreCase("Lufthansa");
-    }
-
-    @Test
-    @DisplayName("Should retrieve flights departing after specific date")
-    void testGetFlightsDepartingAfter() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-        LocalDateTime departureDateTime = LocalDateTime.now().plusDays(5);
-
-        when(flightRepository.findFlightsDepartingAfter(departureDateTime)).thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.getFlightsDepartingAfter(departureDateTime);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(flightRepository, times(1)).findFlightsDepartingAfter(departureDateTime);
-    }
-
-    // ==================== EDGE CASES ====================
-
-    @Test
-    @DisplayName("Should return empty list when no flights exist")
-    void testGetAllFlights_Empty() {
-        // Arrange
-        when(flightRepository.findAll()).thenReturn(new ArrayList<>());
-
-        // Act
-        List<FlightDTO> result = flightService.getAllFlights();
-
-        // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(flightRepository, times(1)).findAll();
-    }
-
-    @Test
-    @DisplayName("Should handle null values in search criteria")
-    void testSearchFlights_AllNull() {
-        // Arrange
-        List<Flight> flightList = new ArrayList<>();
-        flightList.add(createTestFlight());
-
-        when(flightRepository.searchFlights(null, null, null))
-            .thenReturn(flightList);
-
-        // Act
-        List<FlightDTO> result = flightService.searchFlights(null, null, null);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(flightRepository, times(1)).searchFlights(null, null, null);
-    }
-}
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.dto.FlightField;
+import com.airline.dto.FlightFilter;
+import com.airline.dto.FlightSort;
+import com.airline.entity.ArchivedFlight;
+import com.airline.entity.Flight;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.geo.NearbyCityIndex;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.ArchivedFlightRepository;
+import com.airline.repository.FlightRepository;
+import com.airline.suggest.FlightSuggestIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightService using JUnit 5 and Mockito.
+ * Tests cover CRUD operations and business logic.
+ * Follows AAA (Arrange-Act-Assert) pattern.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightService Tests")
+class FlightServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private ArchivedFlightRepository archivedFlightRepository;
+
+    @Mock
+    private FlightSnapshot flightSnapshot;
+
+    @Mock
+    private FlightBitmapIndex flightBitmapIndex;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private FlightJsonCache flightJsonCache;
+
+    @Mock
+    private NearbyCityIndex nearbyCityIndex;
+
+    @Mock
+    private FlightSuggestIndex flightSuggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private FlightService flightService;
+
+    private FlightDTO createTestFlightDTO() {
+        return FlightDTO.builder()
+            .id(1L)
+            .airline("Lufthansa")
+            .type("Boeing 737")
+            .price(299.99)
+            .departureCity("Berlin")
+            .arrivalCity("Munich")
+            .departureDateTime(LocalDateTime.now().plusDays(7))
+            .arrivalDateTime(LocalDateTime.now().plusDays(7).plusHours(2))
+            .status("ACTIVE")
+            .imageUrl("https://example.com/plane.jpg")
+            .email("admin@airline.com")
+            .build();
+    }
+
+    private Flight createTestFlight() {
+        return Flight.builder()
+            .id(1L)
+            .airline("Lufthansa")
+            .type("Boeing 737")
+            .price(299.99)
+            .departureCity("Berlin")
+            .arrivalCity("Munich")
+            .departureDateTime(LocalDateTime.now().plusDays(7))
+            .arrivalDateTime(LocalDateTime.now().plusDays(7).plusHours(2))
+            .status(Flight.FlightStatus.ACTIVE)
+            .imageUrl("https://example.com/plane.jpg")
+            .email("admin@airline.com")
+            .build();
+    }
+
+    // ==================== GET Tests ====================
+
+    @Test
+    @DisplayName("Should retrieve all flights successfully")
+    void testGetAllFlights() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+        flightList.add(createTestFlight());
+
+        when(flightRepository.findAll()).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getAllFlights();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertEquals("Lufthansa", result.get(0).getAirline());
+        verify(flightRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should retrieve flight by ID successfully")
+    void testGetFlightById_Success() {
+        // Arrange
+        Flight flight = createTestFlight();
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+
+        // Act
+        FlightDTO result = flightService.getFlightById(1L);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("Lufthansa", result.getAirline());
+        assertEquals(1L, result.getId());
+        verify(flightRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw FlightNotFoundException when flight ID not found")
+    void testGetFlightById_NotFound() {
+        // Arrange
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(FlightNotFoundException.class, () -> flightService.getFlightById(999L));
+        verify(flightRepository, times(1)).findById(999L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the archive when flight is no longer in the hot table")
+    void testGetFlightById_FromArchive() {
+        // Arrange
+        Flight flight = createTestFlight();
+        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedFlightRepository.findById(1L))
+            .thenReturn(Optional.of(ArchivedFlight.from(flight, LocalDateTime.now())));
+
+        // Act
+        FlightDTO result = flightService.getFlightById(1L);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertEquals("Lufthansa", result.getAirline());
+        verify(archivedFlightRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should fetch many flights in request order and report missing ids")
+    void testGetFlightsByIds() {
+        // Arrange
+        Flight first = createTestFlight();
+        Flight third = createTestFlight();
+        third.setId(3L);
+        Flight archived = createTestFlight();
+        archived.setId(2L);
+
+        when(flightRepository.findAllById(List.of(3L, 9L, 1L, 2L))).thenReturn(List.of(first, third));
+        when(archivedFlightRepository.findAllById(List.of(9L, 2L)))
+            .thenReturn(List.of(ArchivedFlight.from(archived, LocalDateTime.now())));
+
+        // Act
+        FlightService.FlightLookup result = flightService.getFlightsByIds(List.of(3L, 9L, 1L, 3L, 2L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), result.flights().stream().map(FlightDTO::getId).toList());
+        assertEquals(List.of(9L), result.missingIds());
+        verify(flightRepository, never()).findById(any());
+    }
+
+    // ==================== CREATE Tests ====================
+
+    @Test
+    @DisplayName("Should create a new flight successfully")
+    void testCreateFlight_Success() {
+        // Arrange
+        FlightDTO flightDTO = createTestFlightDTO();
+        flightDTO.setId(null); // New flight should not have ID
+        Flight flight = createTestFlight();
+        flight.setId(1L);
+
+        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+
+        // Act
+        FlightDTO result = flightService.createFlight(flightDTO);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("Lufthansa", result.getAirline());
+        assertEquals(1L, result.getId());
+        assertEquals("ACTIVE", result.getStatus());
+        verify(flightRepository, times(1)).save(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should set default status to ACTIVE when creating flight")
+    void testCreateFlight_DefaultStatus() {
+        // Arrange
+        FlightDTO flightDTO = createTestFlightDTO();
+        flightDTO.setStatus(null);
+        Flight flight = createTestFlight();
+
+        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+
+        // Act
+        FlightDTO result = flightService.createFlight(flightDTO);
+
+        // Assert
+        assertEquals("ACTIVE", result.getStatus());
+        verify(flightRepository, times(1)).save(any(Flight.class));
+    }
+
+    // ==================== UPDATE Tests ====================
+
+    @Test
+    @DisplayName("Should update flight successfully")
+    void testUpdateFlight_Success() {
+        // Arrange
+        Long flightId = 1L;
+        FlightDTO updateDTO = createTestFlightDTO();
+        updateDTO.setAirline("Lufthansa Premium");
+        updateDTO.setPrice(399.99);
+
+        Flight existingFlight = createTestFlight();
+        Flight updatedFlight = createTestFlight();
+        updatedFlight.setAirline("Lufthansa Premium");
+        updatedFlight.setPrice(399.99);
+
+        when(flightRepository.findById(flightId)).thenReturn(Optional.of(existingFlight));
+        when(flightRepository.save(any(Flight.class))).thenReturn(updatedFlight);
+
+        // Act
+        FlightDTO result = flightService.updateFlight(flightId, updateDTO);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("Lufthansa Premium", result.getAirline());
+        assertEquals(399.99, result.getPrice());
+        verify(flightRepository, times(1)).findById(flightId);
+        verify(flightRepository, times(1)).save(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should throw FlightNotFoundException when updating non-existent flight")
+    void testUpdateFlight_NotFound() {
+        // Arrange
+        FlightDTO updateDTO = createTestFlightDTO();
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(FlightNotFoundException.class, () -> flightService.updateFlight(999L, updateDTO));
+        verify(flightRepository, times(1)).findById(999L);
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should apply a write batch and report per-write failures without throwing")
+    void testApplyWrites_PartialFailure() {
+        // Arrange
+        FlightDTO createDTO = createTestFlightDTO();
+        createDTO.setId(null);
+        when(flightRepository.save(any(Flight.class))).thenReturn(createTestFlight());
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        List<FlightWrite.Result> results = flightService.applyWrites(List.of(
+            FlightWrite.create(createDTO),
+            FlightWrite.update(999L, createTestFlightDTO())));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals("Lufthansa", results.get(0).flight().getAirline());
+        assertNull(results.get(0).error());
+        assertInstanceOf(FlightNotFoundException.class, results.get(1).error());
+        verify(flightRepository, times(1)).save(any(Flight.class));
+    }
+
+    // ==================== DELETE Tests ====================
+
+    @Test
+    @DisplayName("Should delete flight successfully")
+    void testDeleteFlight_Success() {
+        // Arrange
+        Long flightId = 1L;
+        Flight flight = createTestFlight();
+        when(flightRepository.findById(flightId)).thenReturn(Optional.of(flight));
+        doNothing().when(flightRepository).delete(any(Flight.class));
+
+        // Act
+        flightService.deleteFlight(flightId);
+
+        // Assert
+        verify(flightRepository, times(1)).findById(flightId);
+        verify(flightRepository, times(1)).delete(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should throw FlightNotFoundException when deleting non-existent flight")
+    void testDeleteFlight_NotFound() {
+        // Arrange
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(FlightNotFoundException.class, () -> flightService.deleteFlight(999L));
+        verify(flightRepository, times(1)).findById(999L);
+        verify(flightRepository, never()).delete(any(Flight.class));
+    }
+
+    // ==================== SEARCH Tests ====================
+
+    @Test
+    @DisplayName("Should search flights with all criteria successfully")
+    void testSearchFlights_AllCriteria() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.searchFlights("Berlin", "Munich", Flight.FlightStatus.ACTIVE))
+            .thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights("Berlin", "Munich", "ACTIVE");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        verify(flightRepository, times(1)).searchFlights("Berlin", "Munich", Flight.FlightStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should search flights with partial criteria")
+    void testSearchFlights_PartialCriteria() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.searchFlights("Berlin", null, null))
+            .thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights("Berlin", null, null);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        verify(flightRepository, times(1)).searchFlights("Berlin", null, null);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for invalid status")
+    void testSearchFlights_InvalidStatus() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, 
+            () -> flightService.searchFlights("Berlin", "Munich", "INVALID_STATUS"));
+    }
+
+    @Test
+    @DisplayName("Should push sort and limit down into the projected search query")
+    void testSearchFlights_SortedAndLimited() {
+        // Arrange
+        Set<FlightField> fields = FlightField.parse("id,price");
+        FlightDTO cheapest = FlightDTO.builder().id(3L).price(89.99).build();
+        when(flightRepository.findProjected(any(), eq(fields), eq(FlightSort.PRICE.toSort()), eq(20)))
+            .thenReturn(List.of(cheapest));
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights("Berlin", null, null, fields, FlightSort.PRICE, 20);
+
+        // Assert
+        assertEquals(List.of(cheapest), result);
+        verify(flightRepository, never()).searchFlights(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a search limit outside the allowed range")
+    void testSearchFlights_InvalidLimit() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> flightService.searchFlights("Berlin", null, null, FlightField.parse(null), FlightSort.PRICE, 0));
+        verifyNoInteractions(flightRepository);
+    }
+
+    // ==================== FILTER Tests ====================
+
+    @Test
+    @DisplayName("Should retrieve flights by departure city")
+    void testGetFlightsByDepartureCity() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.findByDepartureCity("Berlin")).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByDepartureCity("Berlin");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Berlin", result.get(0).getDepartureCity());
+        verify(flightRepository, times(1)).findByDepartureCity("Berlin");
+    }
+
+    @Test
+    @DisplayName("Should retrieve flights by arrival city")
+    void testGetFlightsByArrivalCity() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.findByArrivalCity("Munich")).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByArrivalCity("Munich");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Munich", result.get(0).getArrivalCity());
+        verify(flightRepository, times(1)).findByArrivalCity("Munich");
+    }
+
+    @Test
+    @DisplayName("Should retrieve flights by status")
+    void testGetFlightsByStatus() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.findByStatus(Flight.FlightStatus.ACTIVE)).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByStatus("ACTIVE");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("ACTIVE", result.get(0).getStatus());
+        verify(flightRepository, times(1)).findByStatus(Flight.FlightStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for invalid status in getFlightsByStatus")
+    void testGetFlightsByStatus_InvalidStatus() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> flightService.getFlightsByStatus("INVALID"));
+    }
+
+    @Test
+    @DisplayName("Should retrieve flights by airline")
+    void testGetFlightsByAirline() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.findByAirlineContainingIgnoreCase("Lufthansa"))
+            .thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByAirline("Lufthansa");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals("Lufthansa", result.get(0).getAirline());
+        verify(flightRepository, times(1)).findByAirlineContainingIgnoreCase("Lufthansa");
+    }
+
+    @Test
+    @DisplayName("Should correct a misspelled airline and look it up exactly")
+    void testGetFlightsByAirline_Fuzzy() {
+        // Arrange
+        when(flightSuggestIndex.isReady()).thenReturn(true);
+        when(flightSuggestIndex.resolveAirline("Lufthnasa")).thenReturn(List.of("Lufthansa"));
+        when(flightRepository.findByAirlineIn(List.of("Lufthansa"))).thenReturn(List.of(createTestFlight()));
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByAirline("Lufthnasa", true);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Lufthansa", result.get(0).getAirline());
+        verify(flightRepository, never()).findByAirlineContainingIgnoreCase(any());
+    }
+
+    @Test
+    @DisplayName("Should retrieve flights departing after specific date")
+    void testGetFlightsDepartingAfter() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+        LocalDateTime departureDateTime = LocalDateTime.now().plusDays(5);
+
+        when(flightRepository.findFlightsDepartingAfter(departureDateTime)).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsDepartingAfter(departureDateTime);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        verify(flightRepository, times(1)).findFlightsDepartingAfter(departureDateTime);
+    }
+
+    @Test
+    @DisplayName("Should answer status queries from the snapshot when it is serving")
+    void testGetFlightsByStatus_FromSnapshot() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightSnapshot.isServing()).thenReturn(true);
+        when(flightSnapshot.findByStatus(Flight.FlightStatus.ACTIVE)).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.getFlightsByStatus("ACTIVE");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(flightRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve filters through the bitmap index when it is ready")
+    void testFilterFlights_FromBitmapIndex() {
+        // Arrange
+        FlightFilter filter = new FlightFilter()
+            .with(FlightFilter.Attribute.STATUS, List.of("active"))
+            .with(FlightFilter.Attribute.AIRLINE, List.of("Lufthansa"));
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightBitmapIndex.isReady()).thenReturn(true);
+        when(flightBitmapIndex.resolve(filter)).thenReturn(List.of(1L));
+        when(flightRepository.findAllById(List.of(1L))).thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.filterFlights(filter);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(flightRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should load a broad bitmap match in chunks")
+    void testFilterFlights_FromBitmapIndexInChunks() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 450).boxed().toList();
+        when(flightBitmapIndex.isReady()).thenReturn(true);
+        when(flightBitmapIndex.resolve(any())).thenReturn(ids);
+        when(flightRepository.findAllById(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+            .map(id -> {
+                Flight flight = createTestFlight();
+                flight.setId(id);
+                return flight;
+            })
+            .toList());
+
+        // Act
+        List<FlightDTO> result = flightService.filterFlights(new FlightFilter());
+
+        // Assert
+        assertEquals(450, result.size());
+        verify(flightRepository).findAllById(ids.subList(0, 200));
+        verify(flightRepository).findAllById(ids.subList(200, 400));
+        verify(flightRepository).findAllById(ids.subList(400, 450));
+    }
+
+    @Test
+    @DisplayName("Should carry the computed fare in search results")
+    void testSearchFlights_IncludesFare() {
+        // Arrange
+        Flight flight = createTestFlight();
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(flight);
+
+        when(flightRepository.searchFlights("Berlin", null, null)).thenReturn(flightList);
+        when(pricingEngine.quote(flight)).thenReturn(344.99);
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights("Berlin", null, null);
+
+        // Assert
+        assertEquals(299.99, result.get(0).getPrice());
+        assertEquals(344.99, result.get(0).getFare());
+    }
+
+    @Test
+    @DisplayName("Should push a column-only sparse fieldset down into the query")
+    void testGetAllFlights_ProjectedFields() {
+        // Arrange
+        Set<FlightField> fields = FlightField.parse("id,price");
+        FlightDTO projected = FlightDTO.builder().id(1L).price(299.99).build();
+        when(flightRepository.findProjected(isNull(), eq(fields), any(Sort.class))).thenReturn(List.of(projected));
+
+        // Act
+        List<FlightDTO> result = flightService.getAllFlights(fields);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(299.99, result.get(0).getPrice());
+        verify(flightRepository, never()).findAll();
+        verifyNoInteractions(pricingEngine);
+    }
+
+    // ==================== EDGE CASES ====================
+
+    @Test
+    @DisplayName("Should return empty list when no flights exist")
+    void testGetAllFlights_Empty() {
+        // Arrange
+        when(flightRepository.findAll()).thenReturn(new ArrayList<>());
+
+        // Act
+        List<FlightDTO> result = flightService.getAllFlights();
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+        verify(flightRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should handle null values in search criteria")
+    void testSearchFlights_AllNull() {
+        // Arrange
+        List<Flight> flightList = new ArrayList<>();
+        flightList.add(createTestFlight());
+
+        when(flightRepository.searchFlights(null, null, null))
+            .thenReturn(flightList);
+
+        // Act
+        List<FlightDTO> result = flightService.searchFlights(null, null, null);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        verify(flightRepository, times(1)).searchFlights(null, null, null);
+    }
+}
@@ -0,0 +1,141 @@
+package com.airline.service;
+
+import com.airline.dto.FlightSort;
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightSnapshot: the initial load, deltas applied from change events without
+ * going back to the database, and literal city matching.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightSnapshot Tests")
+class FlightSnapshotTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 8, 0);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightSnapshot snapshot;
+    private Flight berlinRome;
+    private Flight berlinMunich;
+    private Flight parisRome;
+
+    @BeforeEach
+    void setUp() {
+        berlinRome = flight(1L, "Berlin", "Rome", 2, 89.99, 0);
+        berlinMunich = flight(2L, "Berlin", "Munich", 1, 299.99, 0);
+        parisRome = flight(3L, "Paris", "Rome", 3, 149.0, 0);
+        when(flightRepository.findAll()).thenReturn(new ArrayList<>(List.of(berlinRome, berlinMunich, parisRome)));
+        snapshot = new FlightSnapshot(flightRepository, true);
+        snapshot.onApplicationReady();
+        awaitServing();
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.shutdown();
+    }
+
+    private static Flight flight(Long id, String from, String to, int departureDay, double price, long version) {
+        LocalDateTime departure = BASE.plusDays(departureDay);
+        return Flight.builder().id(id).airline("Test Air").type("Airbus A320").price(price)
+            .departureCity(from).arrivalCity(to)
+            .departureDateTime(departure).arrivalDateTime(departure.plusHours(2))
+            .status(Flight.FlightStatus.ACTIVE).email("ops@test.example").version(version)
+            .build();
+    }
+
+    private void change(FlightChangedEvent.ChangeType type, Flight flight) {
+        snapshot.onFlightChanged(new FlightChangedEvent(type, flight));
+        awaitServing();
+    }
+
+    private void awaitServing() {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!snapshot.isServing()) {
+            assertTrue(System.nanoTime() < deadline, "snapshot did not catch up");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static List<Long> ids(List<Flight> flights) {
+        return flights.stream().map(Flight::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should load once and keep rows in departure order")
+    void testInitialLoad() {
+        // Act & Assert
+        assertEquals(List.of(2L, 1L, 3L), ids(snapshot.search(null, null, null)));
+        assertEquals(List.of(2L, 1L), ids(snapshot.search("berl", null, Flight.FlightStatus.ACTIVE)));
+        assertEquals(List.of(1L, 3L), ids(snapshot.findDepartingAfter(BASE.plusDays(2))));
+        verify(flightRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should apply creates, updates and deletes without reloading")
+    void testDeltasApplied() {
+        // Arrange
+        Flight viennaOslo = flight(4L, "Vienna", "Oslo", 0, 120.0, 0);
+        Flight movedLater = flight(2L, "Berlin", "Munich", 5, 310.0, 1);
+
+        // Act
+        change(FlightChangedEvent.ChangeType.CREATED, viennaOslo);
+        change(FlightChangedEvent.ChangeType.UPDATED, movedLater);
+        change(FlightChangedEvent.ChangeType.DELETED, parisRome);
+
+        // Assert
+        assertEquals(List.of(4L, 1L, 2L), ids(snapshot.search(null, null, null)));
+        assertEquals(List.of(4L), ids(snapshot.search("vienna", "OSLO", null)));
+        assertEquals(310.0, snapshot.findById(2L).getPrice());
+        assertNull(snapshot.findById(3L));
+        assertEquals(List.of(1L, 4L), ids(snapshot.search(null, null, null, FlightSort.PRICE, 2)));
+        verify(flightRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should ignore updates older than the row held and updates of removed flights")
+    void testStaleDeltasIgnored() {
+        // Arrange
+        change(FlightChangedEvent.ChangeType.UPDATED, flight(1L, "Berlin", "Rome", 2, 95.0, 2));
+        change(FlightChangedEvent.ChangeType.ARCHIVED, parisRome);
+
+        // Act
+        change(FlightChangedEvent.ChangeType.UPDATED, flight(1L, "Berlin", "Rome", 2, 91.0, 1));
+        change(FlightChangedEvent.ChangeType.UPDATED, flight(3L, "Paris", "Rome", 3, 150.0, 1));
+
+        // Assert
+        assertEquals(95.0, snapshot.findById(1L).getPrice());
+        assertNull(snapshot.findById(3L));
+        assertEquals(List.of(2L, 1L), ids(snapshot.search(null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should match LIKE wildcards in a city fragment literally")
+    void testWildcardsMatchLiterally() {
+        // Arrange
+        change(FlightChangedEvent.ChangeType.CREATED, flight(5L, "Test_City", "Rome", 4, 50.0, 0));
+
+        // Act & Assert
+        assertEquals(List.of(5L), ids(snapshot.search("_", null, null)));
+        assertEquals(List.of(), ids(snapshot.search("%", null, null)));
+        assertEquals(List.of(), ids(snapshot.search("b_rlin", null, null)));
+    }
+}
@@ -0,0 +1,189 @@
+package com.airline.service;
+
+import com.airline.dto.FlightDTO;
+import com.airline.entity.Flight;
+import com.airline.exception.FlightNotFoundException;
+import com.airline.exception.ServiceOverloadedException;
+import com.airline.exception.WriteTicketNotFoundException;
+import com.airline.geo.NearbyCityIndex;
+import com.airline.pricing.PricingEngine;
+import com.airline.repository.ArchivedFlightRepository;
+import com.airline.repository.FlightRepository;
+import com.airline.suggest.FlightSuggestIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FlightWriteBatcher: flushing on batch size and on max delay, and how
+ * failures reach the callers waiting on their tickets.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightWriteBatcher Tests")
+class FlightWriteBatcherTest {
+
+    @Mock
+    private FlightService flightService;
+
+    private FlightWriteBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    private static FlightWrite write(String airline) {
+        FlightDTO flight = new FlightDTO();
+        flight.setAirline(airline);
+        return FlightWrite.create(flight);
+    }
+
+    /** Answers every write in a batch with its own flight, failing the ones for "Broken Air". */
+    private static List<FlightWrite.Result> results(List<FlightWrite> writes) {
+        return writes.stream()
+            .map(write -> "Broken Air".equals(write.flight().getAirline())
+                ? FlightWrite.Result.failure(new IllegalArgumentException("Invalid flight"))
+                : FlightWrite.Result.success(write.flight()))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Should flush as soon as a batch is full, in one transaction")
+    void testFlush_BatchFull() {
+        // Arrange
+        batcher = new FlightWriteBatcher(flightService, true, 100, 3, 60_000, 5_000, 600);
+        when(flightService.applyWrites(anyList())).thenAnswer(invocation -> results(invocation.getArgument(0)));
+
+        // Act
+        String first = batcher.submit(write("KLM"));
+        String second = batcher.submit(write("Lufthansa"));
+        String third = batcher.submit(write("Ryanair"));
+
+        // Assert
+        assertEquals("KLM", batcher.await(first).orElseThrow().getAirline());
+        assertEquals("Lufthansa", batcher.await(second).orElseThrow().getAirline());
+        assertEquals("Ryanair", batcher.await(third).orElseThrow().getAirline());
+        verify(flightService, times(1)).applyWrites(argThat((List<FlightWrite> writes) -> writes.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Should flush a partial batch once the max delay has passed")
+    void testFlush_MaxDelay() {
+        // Arrange
+        batcher = new FlightWriteBatcher(flightService, true, 100, 100, 20, 5_000, 600);
+        when(flightService.applyWrites(anyList())).thenAnswer(invocation -> results(invocation.getArgument(0)));
+
+        // Act
+        String ticket = batcher.submit(write("KLM"));
+        Optional<FlightDTO> result = batcher.await(ticket);
+
+        // Assert
+        assertEquals("KLM", result.orElseThrow().getAirline());
+        assertTrue(batcher.status(ticket).isDone());
+        verify(flightService).applyWrites(argThat((List<FlightWrite> writes) -> writes.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should fail only the caller whose write was rejected within the batch")
+    void testFailure_PerWrite() {
+        // Arrange
+        batcher = new FlightWriteBatcher(flightService, true, 100, 2, 60_000, 5_000, 600);
+        when(flightService.applyWrites(anyList())).thenAnswer(invocation -> results(invocation.getArgument(0)));
+
+        // Act
+        String broken = batcher.submit(write("Broken Air"));
+        String fine = batcher.submit(write("KLM"));
+
+        // Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> batcher.await(broken));
+        assertEquals("Invalid flight", exception.getMessage());
+        assertEquals("KLM", batcher.await(fine).orElseThrow().getAirline());
+        assertTrue(batcher.status(broken).isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should retry writes one by one when the batch transaction fails, failing only the offender")
+    void testFailure_BatchRetriedIndividually() {
+        // Arrange
+        batcher = new FlightWriteBatcher(flightService, true, 100, 2, 60_000, 5_000, 600);
+        FlightWrite missing = FlightWrite.update(99L, new FlightDTO());
+        when(flightService.applyWrites(anyList())).thenAnswer(invocation -> {
+            List<FlightWrite> writes = invocation.getArgument(0);
+            if (writes.contains(missing)) {
+                throw new FlightNotFoundException(99L);
+            }
+            return results(writes);
+        });
+
+        // Act
+        String failing = batcher.submit(missing);
+        String fine = batcher.submit(write("KLM"));
+
+        // Assert
+        assertThrows(FlightNotFoundException.class, () -> batcher.await(failing));
+        assertEquals("KLM", batcher.await(fine).orElseThrow().getAirline());
+        verify(flightService, times(3)).applyWrites(anyList());
+    }
+
+    @Test
+    @DisplayName("Should leave the flight untouched when an update in the batch has an unknown status")
+    void testFailure_InvalidStatusLeavesEntityUnchanged() {
+        // Arrange: a real service, so the update runs against the managed entity
+        FlightRepository flightRepository = mock(FlightRepository.class);
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        FlightService realService = new FlightService(flightRepository, mock(ArchivedFlightRepository.class),
+            mock(FlightSnapshot.class), mock(FlightBitmapIndex.class), mock(PricingEngine.class),
+            mock(FlightJsonCache.class), mock(NearbyCityIndex.class), mock(FlightSuggestIndex.class), eventPublisher);
+        LocalDateTime departure = LocalDateTime.now().plusDays(7);
+        Flight managed = Flight.builder().id(1L).airline("Lufthansa").price(299.99)
+            .departureCity("Berlin").arrivalCity("Munich")
+            .departureDateTime(departure).arrivalDateTime(departure.plusHours(2))
+            .status(Flight.FlightStatus.ACTIVE).build();
+        lenient().when(flightRepository.findById(1L)).thenReturn(Optional.of(managed));
+        FlightDTO update = FlightDTO.builder().airline("Ryanair").price(19.99)
+            .departureCity("Rome").arrivalCity("Vienna")
+            .departureDateTime(departure.plusDays(1)).arrivalDateTime(departure.plusDays(1).plusHours(2))
+            .status("GROUNDED").build();
+        batcher = new FlightWriteBatcher(realService, true, 100, 1, 60_000, 5_000, 600);
+
+        // Act
+        String ticket = batcher.submit(FlightWrite.update(1L, update));
+
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> batcher.await(ticket));
+        assertEquals("Lufthansa", managed.getAirline());
+        assertEquals(299.99, managed.getPrice());
+        assertEquals("Berlin", managed.getDepartureCity());
+        assertEquals(departure, managed.getDepartureDateTime());
+        verify(flightRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the queue is full and reject unknown tickets")
+    void testQueueFull() {
+        // Arrange
+        batcher = new FlightWriteBatcher(flightService, false, 1, 10, 5, 50, 600);
+        String queued = batcher.submit(write("KLM"));
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> batcher.submit(write("Ryanair")));
+        assertEquals(Optional.empty(), batcher.await(queued));
+        assertThrows(WriteTicketNotFoundException.class, () -> batcher.status("no-such-ticket"));
+        verifyNoInteractions(flightService);
+    }
+}
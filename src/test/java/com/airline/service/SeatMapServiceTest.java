@@ -0,0 +1,170 @@
+package com.airline.service;
+
+import com.airline.dto.SeatAssignmentDTO;
+import com.airline.dto.SeatAssignmentRequest;
+import com.airline.entity.Flight;
+import com.airline.entity.FlightSeatMap;
+import com.airline.event.FlightChangedEvent;
+import com.airline.exception.SeatUnavailableException;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.FlightSeatMapRepository;
+import com.airline.seating.SeatLayout;
+import com.airline.seating.SeatMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatMapService: writes guarded by the stored revision and reloads after
+ * another instance changed the seats.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatMapService Tests")
+class SeatMapServiceTest {
+
+    private static final SeatLayout LAYOUT = SeatLayout.parse("ECONOMY:10:ABC DEF");
+
+    @Mock
+    private FlightSeatMapRepository seatMapRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private SeatMapService seatMapService;
+
+    @BeforeEach
+    void setUp() {
+        seatMapService = new SeatMapService(seatMapRepository, flightRepository);
+    }
+
+    private FlightSeatMap stored(long revision, String... occupied) {
+        SeatMap seatMap = new SeatMap(LAYOUT, null, revision);
+        for (String label : occupied) {
+            seatMap.tryReserve(LAYOUT.seat(label));
+        }
+        FlightSeatMap stored = new FlightSeatMap(1L);
+        stored.setLayout(LAYOUT.toSpec());
+        stored.setOccupied(seatMap.toBytes());
+        stored.setRevision(revision);
+        return stored;
+    }
+
+    private SeatAssignmentRequest seats(String... labels) {
+        SeatAssignmentRequest request = new SeatAssignmentRequest();
+        request.setSeats(List.of(labels));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should write the seat map back with the revision it was loaded at")
+    void testAssignSeats_Stored() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4)));
+        when(seatMapRepository.storeOccupancy(eq(1L), any(), eq(4L), eq(5L), any())).thenReturn(1);
+        when(seatMapRepository.findRevision(1L)).thenReturn(Optional.of(5L));
+
+        // Act
+        SeatAssignmentDTO result = seatMapService.assignSeats(1L, seats("1A"));
+
+        // Assert
+        assertEquals(List.of("1A"), result.getSeats());
+        assertEquals(List.of("1A"), seatMapService.getSeatMap(1L).getOccupied());
+        verify(seatMapRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload and apply the change again when another instance stored first")
+    void testAssignSeats_ReloadedAfterConflict() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4)), Optional.of(stored(5, "2B")));
+        when(seatMapRepository.storeOccupancy(eq(1L), any(), eq(4L), anyLong(), any())).thenReturn(0);
+        when(seatMapRepository.storeOccupancy(eq(1L), any(), eq(5L), eq(6L), any())).thenReturn(1);
+
+        // Act
+        SeatAssignmentDTO result = seatMapService.assignSeats(1L, seats("1A"));
+
+        // Assert
+        assertEquals(List.of("1A"), result.getSeats());
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(seatMapRepository).storeOccupancy(eq(1L), written.capture(), eq(5L), eq(6L), any());
+        SeatMap stored = new SeatMap(LAYOUT, written.getValue(), 6);
+        assertTrue(stored.isOccupied(LAYOUT.seat("1A")));
+        assertTrue(stored.isOccupied(LAYOUT.seat("2B")));
+    }
+
+    @Test
+    @DisplayName("Should reject a seat that another instance assigned in the meantime")
+    void testAssignSeats_TakenByAnotherInstance() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4)), Optional.of(stored(5, "1A")));
+        when(seatMapRepository.storeOccupancy(eq(1L), any(), eq(4L), anyLong(), any())).thenReturn(0);
+        when(seatMapRepository.findRevision(1L)).thenReturn(Optional.of(5L));
+
+        // Act & Assert
+        assertThrows(SeatUnavailableException.class, () -> seatMapService.assignSeats(1L, seats("1A")));
+        verify(seatMapRepository, never()).storeOccupancy(eq(1L), any(), eq(5L), anyLong(), any());
+        assertEquals(List.of("1A"), seatMapService.getSeatMap(1L).getOccupied());
+    }
+
+    @Test
+    @DisplayName("Should assign a seat that another instance released since the map was cached")
+    void testAssignSeats_ReleasedByAnotherInstance() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4, "1A")), Optional.of(stored(5)));
+        when(seatMapRepository.findRevision(1L)).thenReturn(Optional.of(5L));
+        when(seatMapRepository.storeOccupancy(eq(1L), any(), eq(5L), eq(6L), any())).thenReturn(1);
+        seatMapService.getSeatMap(1L);
+
+        // Act
+        SeatAssignmentDTO result = seatMapService.assignSeats(1L, seats("1A"));
+
+        // Assert
+        assertEquals(List.of("1A"), result.getSeats());
+        verify(seatMapRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload a cached seat map on read once the stored revision moved on")
+    void testGetSeatMap_ReloadedWhenStale() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4)), Optional.of(stored(5, "3C")));
+        when(seatMapRepository.findRevision(1L)).thenReturn(Optional.of(5L));
+        seatMapService.getSeatMap(1L);
+
+        // Act
+        List<String> occupied = seatMapService.getSeatMap(1L).getOccupied();
+
+        // Assert
+        assertEquals(List.of("3C"), occupied);
+        assertEquals(List.of("3C"), seatMapService.getSeatMap(1L).getOccupied());
+        verify(seatMapRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached seat map when another instance reports a flight change")
+    void testRemoteFlightChangeEvictsSeatMap() {
+        // Arrange
+        when(seatMapRepository.findById(1L)).thenReturn(Optional.of(stored(4)), Optional.of(stored(5, "3C")));
+        seatMapService.getSeatMap(1L);
+        Flight flight = new Flight();
+        flight.setId(1L);
+
+        // Act
+        seatMapService.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight, true));
+
+        // Assert
+        assertEquals(List.of("3C"), seatMapService.getSeatMap(1L).getOccupied());
+        verify(seatMapRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,35 @@
+package com.airline.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector that records the SQL prepared on the current thread between
+ * {@link #start()} and {@link #stop()}. Recording is per thread so statements issued by
+ * scheduled jobs running alongside a test are not counted against it.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,83 @@
+package com.airline.service;
+
+import com.airline.dto.SuggestionDTO;
+import com.airline.repository.FlightRepository;
+import com.airline.suggest.FlightSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for autocomplete: answered from the suggest index, with a read-only database
+ * fallback while the index is not ready.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestService Tests")
+class SuggestServiceTest {
+
+    @Mock
+    private FlightSuggestIndex flightSuggestIndex;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new SuggestService(flightSuggestIndex, flightRepository, transactionManager, 50);
+    }
+
+    @Test
+    @DisplayName("Should answer from the index without opening a transaction")
+    void testSuggest_FromIndex() {
+        // Arrange
+        List<SuggestionDTO> indexed = List.of(new SuggestionDTO("Berlin", SuggestionDTO.Type.CITY, 3));
+        when(flightSuggestIndex.isReady()).thenReturn(true);
+        when(flightSuggestIndex.suggest("ber", 5)).thenReturn(indexed);
+
+        // Act
+        List<SuggestionDTO> result = suggestService.suggest(" ber ", 5);
+
+        // Assert
+        assertEquals(indexed, result);
+        verifyNoInteractions(transactionManager, flightRepository);
+    }
+
+    @Test
+    @DisplayName("Should query the database in a read-only transaction while the index is not ready")
+    void testSuggest_FromDatabase() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(flightRepository.countByDepartureCityLike("ber%")).thenReturn(List.<Object[]>of(new Object[]{"Berlin", 2L}));
+        when(flightRepository.countByArrivalCityLike("ber%")).thenReturn(List.<Object[]>of(new Object[]{"Berlin", 1L}));
+        when(flightRepository.countByAirlineLike("ber%")).thenReturn(List.of());
+
+        // Act
+        List<SuggestionDTO> result = suggestService.suggest("ber", 5);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Berlin", result.get(0).getValue());
+        assertEquals(3, result.get(0).getFlightCount());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+}
@@ -0,0 +1,228 @@
+package com.airline.service;
+
+import com.airline.dto.FlightHoldDTO;
+import com.airline.dto.WaitlistEntryDTO;
+import com.airline.dto.WaitlistRequest;
+import com.airline.entity.Flight;
+import com.airline.entity.WaitlistEntry;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import com.airline.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WaitlistService: joining, strict queue order and batched promotion. The
+ * waiting entries are kept in a list that stands in for the table, already in promotion order.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WaitlistService Tests")
+class WaitlistServiceTest {
+
+    private static final Long FLIGHT_ID = 1L;
+
+    @Mock
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightHoldService flightHoldService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<WaitlistEntry> waiting = new CopyOnWriteArrayList<>();
+    private final AtomicInteger freeSeats = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+    private Flight flight;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        flight = Flight.builder().id(FLIGHT_ID).status(Flight.FlightStatus.ACTIVE).seatCapacity(100).availableSeats(0).build();
+        when(flightRepository.findById(FLIGHT_ID)).thenReturn(Optional.of(flight));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(waitlistRepository.findWaiting(FLIGHT_ID)).thenAnswer(invocation -> List.copyOf(waiting));
+        when(waitlistRepository.existsByFlightIdAndStatus(FLIGHT_ID, WaitlistEntry.WaitlistStatus.WAITING))
+            .thenAnswer(invocation -> !waiting.isEmpty());
+        when(waitlistRepository.lockWaiting(eq(FLIGHT_ID), any(Pageable.class))).thenAnswer(invocation -> {
+            int limit = invocation.<Pageable>getArgument(1).getPageSize();
+            return List.copyOf(waiting.subList(0, Math.min(limit, waiting.size())));
+        });
+        when(waitlistRepository.promote(anyLong(), anyLong(), any())).thenAnswer(invocation ->
+            waiting.removeIf(entry -> entry.getId().equals(invocation.getArgument(0))) ? 1 : 0);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            ReflectionTestUtils.setField(entry, "id", ids.incrementAndGet());
+            waiting.add(entry);
+            return entry;
+        });
+        when(flightHoldService.tryHold(eq(FLIGHT_ID), anyInt(), anyString(), anyLong())).thenAnswer(invocation -> {
+            int seats = invocation.getArgument(1);
+            if (freeSeats.get() < seats) {
+                return Optional.empty();
+            }
+            freeSeats.addAndGet(-seats);
+            FlightHoldDTO hold = mock(FlightHoldDTO.class);
+            when(hold.getId()).thenReturn(100 + ids.incrementAndGet());
+            return Optional.of(hold);
+        });
+        waitlistService = new WaitlistService(waitlistRepository, flightRepository, flightHoldService, transactionTemplate, 10, 2, 900);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistService.shutdown();
+    }
+
+    private WaitlistEntry entry(int seats, String holderEmail) {
+        WaitlistEntry entry = new WaitlistEntry(FLIGHT_ID, seats, holderEmail, WaitlistEntry.PriorityTier.STANDARD);
+        ReflectionTestUtils.setField(entry, "id", ids.incrementAndGet());
+        waiting.add(entry);
+        return entry;
+    }
+
+    private WaitlistRequest request(int seats) {
+        WaitlistRequest request = new WaitlistRequest();
+        request.setSeats(seats);
+        request.setHolderEmail("jane@example.com");
+        request.setTier(WaitlistEntry.PriorityTier.GOLD);
+        return request;
+    }
+
+    private void freeUp(int seats) {
+        freeSeats.set(seats);
+        flight.setAvailableSeats(seats);
+        waitlistService.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight));
+    }
+
+    @Test
+    @DisplayName("Should promote freed seats in batches of max-batch-size in queue order")
+    void testPromotion_Batched() {
+        // Arrange
+        WaitlistEntry first = entry(1, "first@example.com");
+        WaitlistEntry second = entry(1, "second@example.com");
+        WaitlistEntry third = entry(1, "third@example.com");
+
+        // Act
+        freeUp(3);
+
+        // Assert
+        verify(waitlistRepository, timeout(2000)).promote(eq(third.getId()), anyLong(), any());
+        verify(transactionTemplate, times(2)).execute(any());
+        InOrder order = inOrder(flightHoldService);
+        order.verify(flightHoldService).tryHold(FLIGHT_ID, 1, "first@example.com", 900);
+        order.verify(flightHoldService).tryHold(FLIGHT_ID, 1, "second@example.com", 900);
+        order.verify(flightHoldService).tryHold(FLIGHT_ID, 1, "third@example.com", 900);
+        verify(waitlistRepository).promote(eq(first.getId()), anyLong(), any());
+        verify(waitlistRepository).promote(eq(second.getId()), anyLong(), any());
+        assertTrue(waiting.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should retry a flight whose promotion transaction failed")
+    void testPromotion_RetriedAfterFailure() {
+        // Arrange
+        WaitlistEntry entry = entry(1, "jane@example.com");
+        doThrow(new CannotCreateTransactionException("database unavailable"))
+            .doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+            .when(transactionTemplate).execute(any());
+
+        // Act
+        freeUp(1);
+
+        // Assert
+        verify(waitlistRepository, timeout(2000)).promote(eq(entry.getId()), anyLong(), any());
+        verify(transactionTemplate, times(2)).execute(any());
+        assertTrue(waiting.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep entries behind one that needs more seats than are free")
+    void testPromotion_HeadBlocks() {
+        // Arrange
+        WaitlistEntry large = entry(3, "large@example.com");
+        WaitlistEntry small = entry(1, "small@example.com");
+
+        // Act
+        freeUp(2);
+
+        // Assert
+        verify(flightHoldService, timeout(2000)).tryHold(FLIGHT_ID, 3, "large@example.com", 900);
+        verify(flightHoldService, never()).tryHold(FLIGHT_ID, 1, "small@example.com", 900);
+        verify(waitlistRepository, never()).promote(anyLong(), anyLong(), any());
+        assertEquals(List.of(large, small), waiting);
+    }
+
+    @Test
+    @DisplayName("Should refuse to waitlist a flight that has the seats and nobody waiting")
+    void testJoinWaitlist_SeatsAvailable() {
+        // Arrange
+        flight.setAvailableSeats(5);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> waitlistService.joinWaitlist(FLIGHT_ID, request(2)));
+        assertTrue(exception.getMessage().contains("place a hold instead"));
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should queue behind waiting entries even when seats are free, then promote")
+    void testJoinWaitlist_SeatsAvailableBehindQueue() {
+        // Arrange
+        entry(4, "ahead@example.com");
+        freeSeats.set(5);
+        flight.setAvailableSeats(5);
+
+        // Act
+        WaitlistEntryDTO joined = waitlistService.joinWaitlist(FLIGHT_ID, request(1));
+
+        // Assert
+        assertEquals(2, joined.getPosition());
+        verify(flightHoldService, timeout(2000)).tryHold(FLIGHT_ID, 1, "jane@example.com", 900);
+        verify(flightHoldService).tryHold(FLIGHT_ID, 4, "ahead@example.com", 900);
+    }
+
+    @Test
+    @DisplayName("Should treat a flight without an available seat count as full")
+    void testJoinWaitlist_NoAvailableSeatCount() {
+        // Arrange
+        flight.setAvailableSeats(null);
+
+        // Act
+        WaitlistEntryDTO joined = waitlistService.joinWaitlist(FLIGHT_ID, request(1));
+        waitlistService.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.UPDATED, flight));
+
+        // Assert
+        assertEquals(1, joined.getPosition());
+        verify(waitlistRepository, after(100).never()).lockWaiting(anyLong(), any());
+    }
+}
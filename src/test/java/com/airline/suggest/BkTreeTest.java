@@ -0,0 +1,57 @@
+package com.airline.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BK-tree used to correct misspelled city and airline names.
+ */
+@DisplayName("BkTree Tests")
+class BkTreeTest {
+
+    private static final List<String> CITIES = List.of(
+        "berlin", "bern", "bremen", "frankfurt", "munich", "rome", "rota", "amsterdam", "new york", "shanghai");
+
+    @Test
+    @DisplayName("Should compute Levenshtein distances")
+    void testDistance() {
+        // Act & Assert
+        assertEquals(0, BkTree.distance("rome", "rome"));
+        assertEquals(2, BkTree.distance("frankfrut", "frankfurt"));
+        assertEquals(1, BkTree.distance("berln", "berlin"));
+        assertEquals(3, BkTree.distance("", "kln"));
+    }
+
+    @Test
+    @DisplayName("Should find exactly the terms within the edit bound")
+    void testSearchMatchesBruteForce() {
+        // Arrange
+        BkTree tree = new BkTree();
+        CITIES.forEach(tree::add);
+        tree.add("berlin");
+
+        for (String query : List.of("berln", "frankfrut", "rme", "ber", "nwe york", "zzz")) {
+            for (int edits = 0; edits <= 3; edits++) {
+                // Act
+                Set<String> found = new HashSet<>();
+                tree.search(query, edits).forEach(match -> found.add(match.term()));
+
+                // Assert
+                Set<String> expected = new HashSet<>();
+                for (String city : CITIES) {
+                    if (BkTree.distance(query, city) <= edits) {
+                        expected.add(city);
+                    }
+                }
+                assertEquals(expected, found, query + " within " + edits);
+            }
+        }
+        assertEquals(CITIES.size(), tree.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.airline.suggest;
+
+import com.airline.entity.Flight;
+import com.airline.event.FlightChangedEvent;
+import com.airline.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for typo-tolerant city and airline resolution over the flights in the table.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightSuggestIndex Tests")
+class FlightSuggestIndexTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(flightRepository.findAll()).thenReturn(List.of(
+            flight(1L, "Berlin", "Munich", "Lufthansa"),
+            flight(2L, "Berlin", "Rome", "Lufthansa"),
+            flight(3L, "BERLIN", "Munich", "LUFTHANSA")));
+        index = new FlightSuggestIndex(flightRepository, true, 2);
+        index.onApplicationReady();
+    }
+
+    private static Flight flight(Long id, String departureCity, String arrivalCity, String airline) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setDepartureCity(departureCity);
+        flight.setArrivalCity(arrivalCity);
+        flight.setAirline(airline);
+        return flight;
+    }
+
+    @Test
+    @DisplayName("Should resolve a misspelled city to every spelling in use")
+    void testResolveKeepsEverySpelling() {
+        // Act & Assert
+        assertEquals(List.of("Berlin", "BERLIN"), index.resolveCity("Berln"));
+        assertEquals(List.of("Berlin", "BERLIN"), index.resolveCity("berlin"));
+        assertEquals(List.of("Lufthansa", "LUFTHANSA"), index.resolveAirline("Lufthansaa"));
+    }
+
+    @Test
+    @DisplayName("Should drop a spelling once no flight uses it")
+    void testSpellingRetiredWithFlight() {
+        // Act
+        index.onFlightChanged(new FlightChangedEvent(FlightChangedEvent.ChangeType.DELETED,
+            flight(3L, "BERLIN", "Munich", "LUFTHANSA")));
+
+        // Assert
+        assertEquals(List.of("Berlin"), index.citySpellings("BERLIN"));
+        assertEquals(List.of(), index.citySpellings("Paris"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.airline.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the prefix trie behind /api/v1/suggest.
+ */
+@DisplayName("PrefixTrie Tests")
+class PrefixTrieTest {
+
+    @Test
+    @DisplayName("Should rank completions of a prefix by count, then alphabetically")
+    void testTopRanksByCount() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie();
+        trie.adjust("Berlin", 3);
+        trie.adjust("Bern", 1);
+        trie.adjust("Bremen", 1);
+        trie.adjust("Barcelona", 2);
+        trie.adjust("Munich", 5);
+
+        // Act
+        List<PrefixTrie.Match> matches = trie.top("b", 3);
+
+        // Assert
+        assertEquals(List.of(
+            new PrefixTrie.Match("Berlin", 3),
+            new PrefixTrie.Match("Barcelona", 2),
+            new PrefixTrie.Match("Bern", 1)), matches);
+    }
+
+    @Test
+    @DisplayName("Should match case-insensitively and keep the original spelling")
+    void testCaseInsensitive() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie();
+        trie.adjust("New York", 1);
+        trie.adjust("new york", 1);
+
+        // Act
+        List<PrefixTrie.Match> matches = trie.top("NEW Y", 10);
+
+        // Assert
+        assertEquals(List.of(new PrefixTrie.Match("New York", 2)), matches);
+    }
+
+    @Test
+    @DisplayName("Should drop a term and re-rank once its count reaches zero")
+    void testDecrementRemovesTerm() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie();
+        trie.adjust("Frankfurt", 2);
+        trie.adjust("Frankfurt", -2);
+        trie.adjust("Florence", 1);
+
+        // Act
+        List<PrefixTrie.Match> matches = trie.top("f", 10);
+
+        // Assert
+        assertEquals(List.of(new PrefixTrie.Match("Florence", 1)), matches);
+        assertEquals(0, trie.count("frankfurt"));
+        assertEquals(1, trie.size());
+        assertTrue(trie.top("fra", 10).isEmpty());
+    }
+}